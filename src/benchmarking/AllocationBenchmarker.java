@@ -0,0 +1,108 @@
+package benchmarking;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import datastructures.FibonacciHeap;
+
+/**
+ * Measures how many bytes the current thread allocates per Fibonacci Heap operation.
+ * This relies on the HotSpot extension of {@link java.lang.management.ThreadMXBean},
+ * which counts every byte allocated by a thread, so the numbers are exact rather than
+ * sampled. <br>
+ *
+ * Usage: {@code java benchmarking.AllocationBenchmarker [size] [rounds]}
+ */
+public class AllocationBenchmarker {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        final int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        final int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        if(size < 2 || rounds < 1) {
+            throw new IllegalArgumentException("Please ensure size is >= 2 and rounds is >= 1");
+        }
+        for(int round = 1; round <= rounds; round++) {
+            System.out.printf("round %d: first extractMin after %d inserts: %d bytes, "
+                            + "steady-state extractMin: %.1f bytes/op, "
+                            + "insert/extractMin churn: %.1f bytes/op, pooled churn: %.1f bytes/op%n",
+                    round, size, firstExtractMin(size), steadyStateExtractMin(size),
+                    churn(size, 0), churn(size, 1024));
+        }
+    }
+
+    /**
+     * Fills a heap with random keys and measures the first extractMin, which
+     * consolidates a root list holding every inserted node.
+     * @param size the number of keys to insert.
+     * @return the number of bytes allocated by the extractMin call.
+     */
+    private static long firstExtractMin(int size) {
+        FibonacciHeap<Integer> fh = fill(size);
+        long before = allocatedBytes();
+        fh.extractMin();
+        return allocatedBytes() - before;
+    }
+
+    /**
+     * Fills a heap with random keys, consolidates it once and then measures
+     * extracting half of the nodes.
+     * @param size the number of keys to insert.
+     * @return the average number of bytes allocated per extractMin call.
+     */
+    private static double steadyStateExtractMin(int size) {
+        FibonacciHeap<Integer> fh = fill(size);
+        fh.extractMin();
+        final int operations = size / 2;
+        long before = allocatedBytes();
+        for(int i = 0; i < operations; i++) {
+            fh.extractMin();
+        }
+        return (double) (allocatedBytes() - before) / operations;
+    }
+
+    /**
+     * Fills a heap with random keys and measures size insert/extractMin pairs, releasing
+     * every extracted node back to the heap.
+     * @param size the number of keys to insert, and the number of pairs to measure.
+     * @param poolCapacity the node pool capacity, or 0 to disable pooling.
+     * @return the average number of bytes allocated per insert/extractMin pair.
+     */
+    private static double churn(int size, int poolCapacity) {
+        Random generator = new Random(size);
+        FibonacciHeap<Integer> fh = new FibonacciHeap<>(poolCapacity);
+        for(int i = 0; i < size; i++) {
+            fh.insert(null, generator.nextInt(Integer.MAX_VALUE));
+        }
+        fh.extractMin();
+        long before = allocatedBytes();
+        for(int i = 0; i < size; i++) {
+            fh.insert(null, generator.nextInt(Integer.MAX_VALUE));
+            fh.release(fh.extractMin());
+        }
+        return (double) (allocatedBytes() - before) / size;
+    }
+
+    /**
+     * Creates a heap holding size random keys.
+     * @param size the number of keys.
+     * @return the filled heap.
+     */
+    private static FibonacciHeap<Integer> fill(int size) {
+        Random generator = new Random(size);
+        FibonacciHeap<Integer> fh = new FibonacciHeap<>();
+        for(int i = 0; i < size; i++) {
+            fh.insert(null, generator.nextInt(Integer.MAX_VALUE));
+        }
+        return fh;
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread so far.
+     * @return the allocated bytes.
+     */
+    private static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,72 @@
+package benchmarking;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import datastructures.FibonacciHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares {@link FibonacciHeap#extractMin(int, java.util.function.Consumer)} with a loop of
+ * k single {@link FibonacciHeap#extractMin()} calls. Each invocation is one tick of a
+ * consumer: k new nodes are inserted and then the k smallest nodes are popped, so the heap
+ * keeps its size and every tick starts with k unconsolidated roots.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class BatchExtractBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    @Param({"64", "256", "1024"})
+    private int k;
+
+    private SplittableRandom generator;
+    private FibonacciHeap<Integer> heap;
+
+    @Setup(Level.Iteration)
+    public void buildHeap() {
+        generator = new SplittableRandom(size);
+        heap = FibonacciHeap.of(generator.ints(size, 0, Integer.MAX_VALUE).toArray(), null);
+        heap.extractMin();
+    }
+
+    @Benchmark
+    public void singleExtractMinLoop(Blackhole bh) {
+        insertTick();
+        for(int i = 0; i < k; i++) {
+            bh.consume(heap.extractMin());
+        }
+    }
+
+    @Benchmark
+    public int batchExtractMin(Blackhole bh) {
+        insertTick();
+        return heap.extractMin(k, bh::consume);
+    }
+
+    /**
+     * Inserts k nodes with random keys.
+     */
+    private void insertTick() {
+        for(int i = 0; i < k; i++) {
+            heap.insert(null, generator.nextInt(Integer.MAX_VALUE));
+        }
+    }
+}
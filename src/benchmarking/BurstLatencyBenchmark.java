@@ -0,0 +1,77 @@
+package benchmarking;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import datastructures.FibonacciHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The latency distribution of single operations on a bursty workload: burst inserts in a
+ * row, then burst extractMins, over and over. With {@code classic} consolidation the first
+ * extractMin after a burst links the whole root list, which shows up in the p99.9 and
+ * maximum of the histogram, while {@code incremental} spreads that work over the inserts
+ * with {@link FibonacciHeap#enableIncrementalConsolidation(int)}. <br>
+ *
+ * JMH samples the time of individual calls in {@link Mode#SampleTime} and prints the
+ * percentiles, for example:
+ * {@code java -cp <classpath> org.openjdk.jmh.Main BurstLatencyBenchmark}.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class BurstLatencyBenchmark {
+
+    /**
+     * The most consolidation steps per operation in incremental mode.
+     */
+    private static final int BUDGET = 64;
+
+    @Param({"classic", "incremental"})
+    private String consolidation;
+
+    @Param({"100000", "1000000"})
+    private int burst;
+
+    private SplittableRandom generator;
+    private FibonacciHeap<Integer> heap;
+    private int remaining;
+    private boolean inserting;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        generator = new SplittableRandom(burst);
+        heap = new FibonacciHeap<>();
+        if(consolidation.equals("incremental")) {
+            heap.enableIncrementalConsolidation(BUDGET);
+        }
+        remaining = burst;
+        inserting = true;
+    }
+
+    @Benchmark
+    public Object operation() {
+        if(remaining == 0) {
+            inserting = !inserting;
+            remaining = burst;
+        }
+        remaining--;
+        if(inserting) {
+            return heap.insert(null, generator.nextInt(Integer.MAX_VALUE));
+        }
+        return heap.extractMin();
+    }
+}
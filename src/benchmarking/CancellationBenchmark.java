@@ -0,0 +1,115 @@
+package benchmarking;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import datastructures.FibonacciHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A timer queue in which a share of the entries is cancelled before it fires. Every
+ * operation inserts one entry and then, with probability {@link #CANCEL_PERCENT}, deletes
+ * a random pending entry, or otherwise extracts the minimum, so the heap keeps its size. <br>
+ *
+ * {@code sentinel} deletes the way {@link FibonacciHeap#delete(FibonacciHeap.Node)} used to,
+ * with decreaseKey to {@link Integer#MIN_VALUE} followed by extractMin, which consolidates
+ * on every cancellation. {@code direct} uses delete, which cuts the node out without
+ * consolidating, and {@code lazy} uses delete after
+ * {@link FibonacciHeap#enableLazyDelete()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class CancellationBenchmark {
+
+    /**
+     * The share of operations, in percent, that cancel an entry instead of extracting one.
+     */
+    private static final int CANCEL_PERCENT = 40;
+
+    @Param({"sentinel", "direct", "lazy"})
+    private String implementation;
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private SplittableRandom generator;
+    private FibonacciHeap<int[]> heap;
+
+    /**
+     * The pending nodes, in no particular order. The value of every node is a one-element
+     * array holding its index here, updated when the node moves.
+     */
+    private FibonacciHeap.Node<int[]>[] pending;
+    private int pendingCount;
+    private int now;
+
+    @Setup(Level.Iteration)
+    @SuppressWarnings("unchecked")
+    public void fill() {
+        generator = new SplittableRandom(size);
+        heap = new FibonacciHeap<>();
+        if(implementation.equals("lazy")) {
+            heap.enableLazyDelete();
+        }
+        pending = new FibonacciHeap.Node[size + 1];
+        pendingCount = 0;
+        now = 0;
+        for(int i = 0; i < size; i++) {
+            add();
+        }
+    }
+
+    @Benchmark
+    public int insertThenCancelOrExtract() {
+        add();
+        if(generator.nextInt(100) < CANCEL_PERCENT) {
+            FibonacciHeap.Node<int[]> node = pending[generator.nextInt(pendingCount)];
+            forget(node);
+            if(implementation.equals("sentinel")) {
+                heap.decreaseKey(node, Integer.MIN_VALUE);
+                heap.extractMin();
+            } else {
+                heap.delete(node);
+            }
+            return pendingCount;
+        }
+        FibonacciHeap.Node<int[]> node = heap.extractMin();
+        forget(node);
+        now = node.getKey();
+        return now;
+    }
+
+    /**
+     * Inserts an entry that fires a random delay after the current time.
+     */
+    private void add() {
+        pending[pendingCount] = heap.insert(new int[] {pendingCount}, now + generator.nextInt(16 * size));
+        pendingCount++;
+    }
+
+    /**
+     * Removes a node from the pending array by moving the last pending node into its slot.
+     * @param node a pending node.
+     */
+    private void forget(FibonacciHeap.Node<int[]> node) {
+        int index = node.getValue()[0];
+        FibonacciHeap.Node<int[]> last = pending[--pendingCount];
+        pending[index] = last;
+        last.getValue()[0] = index;
+        pending[pendingCount] = null;
+    }
+}
@@ -0,0 +1,81 @@
+package benchmarking;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import datastructures.FibonacciHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how building a {@link FibonacciHeap} from a stream scales with the number of
+ * threads. {@link #sequentialInsert()} is the single-threaded baseline that inserts every
+ * key in a loop and ignores threads. {@link #parallelCollector()} runs a parallel stream with
+ * {@link FibonacciHeap#collector(java.util.function.ToIntFunction)} inside a
+ * {@link ForkJoinPool} of the given parallelism, so every worker fills its own heap and
+ * the heaps are spliced together at the end. <br>
+ *
+ * The keys are precomputed, so the time is spent allocating and linking nodes. Run on a
+ * machine with at least as many cores as the largest thread count, for example:
+ * {@code java -cp <classpath> org.openjdk.jmh.Main CollectorBenchmark -p threads=8,16,32,64}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class CollectorBenchmark {
+
+    @Param({"1", "8", "16", "32", "64"})
+    private int threads;
+
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    private Integer[] keys;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom generator = new SplittableRandom(size);
+        keys = new Integer[size];
+        for(int i = 0; i < size; i++) {
+            keys[i] = generator.nextInt(Integer.MAX_VALUE);
+        }
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public FibonacciHeap<Integer> sequentialInsert() {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        for(Integer key : keys) {
+            heap.insert(key, key);
+        }
+        return heap;
+    }
+
+    @Benchmark
+    public FibonacciHeap<Integer> parallelCollector() throws InterruptedException, ExecutionException {
+        return pool.submit(() -> Arrays.stream(keys).parallel()
+                .collect(FibonacciHeap.collector(Integer::intValue))).get();
+    }
+}
@@ -0,0 +1,107 @@
+package benchmarking;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import datastructures.ConcurrentFibonacciHeap;
+import datastructures.FibonacciHeap;
+import datastructures.MultiFibonacciQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Multi-threaded throughput of {@link ConcurrentFibonacciHeap} and the relaxed
+ * {@link MultiFibonacciQueue} compared with a {@link FibonacciHeap} behind a
+ * {@code synchronized} wrapper and with {@link PriorityBlockingQueue}. Every thread
+ * repeatedly inserts a random key and extracts the minimum, so the shared heap keeps
+ * its initial size. <br>
+ *
+ * Choose the thread count on the command line, for example:
+ * {@code java -cp <classpath> org.openjdk.jmh.Main ConcurrentHeapBenchmark -t 32}.
+ * To measure scaling, run it once per thread count from 1 to the number of cores.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class ConcurrentHeapBenchmark {
+
+    @Param({"flatCombining", "multiQueue", "synchronized", "priorityBlockingQueue"})
+    private String implementation;
+
+    @Param({"1000", "1000000"})
+    private int size;
+
+    private ConcurrentFibonacciHeap<Integer> combiningHeap;
+    private MultiFibonacciQueue<Integer> multiQueue;
+    private FibonacciHeap<Integer> lockedHeap;
+    private PriorityBlockingQueue<Integer> blockingQueue;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        combiningHeap = new ConcurrentFibonacciHeap<>();
+        multiQueue = new MultiFibonacciQueue<>();
+        lockedHeap = new FibonacciHeap<>();
+        blockingQueue = new PriorityBlockingQueue<>(size);
+        ThreadLocalRandom generator = ThreadLocalRandom.current();
+        for(int i = 0; i < size; i++) {
+            int key = generator.nextInt(Integer.MAX_VALUE);
+            switch (implementation) {
+                case "flatCombining":
+                    combiningHeap.insert(null, key);
+                    break;
+                case "multiQueue":
+                    multiQueue.insert(null, key);
+                    break;
+                case "synchronized":
+                    lockedHeap.insert(null, key);
+                    break;
+                case "priorityBlockingQueue":
+                    blockingQueue.add(key);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown implementation " + implementation);
+            }
+        }
+    }
+
+    @Benchmark
+    public void insertExtractMin(Blackhole bh) {
+        int key = ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE);
+        switch (implementation) {
+            case "flatCombining":
+                combiningHeap.insert(null, key);
+                bh.consume(combiningHeap.extractMin());
+                break;
+            case "multiQueue":
+                multiQueue.insert(null, key);
+                bh.consume(multiQueue.extractMin());
+                break;
+            case "synchronized":
+                synchronized (lockedHeap) {
+                    lockedHeap.insert(null, key);
+                }
+                synchronized (lockedHeap) {
+                    bh.consume(lockedHeap.extractMin());
+                }
+                break;
+            default:
+                blockingQueue.add(key);
+                bh.consume(blockingQueue.poll());
+                break;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package benchmarking;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import datastructures.FibonacciHeap;
+import datastructures.IndexedDaryHeap;
+import datastructures.IntFibonacciHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Looks for the heap size at which {@link FibonacciHeap} and {@link IntFibonacciHeap}
+ * start to beat a 4-ary or 8-ary {@link IndexedDaryHeap}. Every heap holds size nodes
+ * numbered 0 to size - 1, and an extracted node is immediately reinserted under the same
+ * number, so the int heaps hand its handle straight back and every number stays valid. <br>
+ *
+ * {@link #insertExtractMin()} is a plain event queue. {@link #decreaseKeyMix()} is shaped
+ * like Dijkstra: the keys only grow past the current minimum, and every extraction is
+ * accompanied by decreaseKey calls on random nodes. {@link #build()} measures loading
+ * size keys into an empty heap, using {@link IndexedDaryHeap#insertAll(int[])} and
+ * {@link FibonacciHeap#of(int[], Object[])}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class DaryHeapBenchmark {
+
+    /**
+     * Keys and delays are drawn from [0, SPREAD * size), so the minimum advances by about
+     * SPREAD / 2 per extraction and stays far from overflow during an iteration.
+     */
+    private static final int SPREAD = 16;
+
+    /**
+     * The number of decreaseKey calls per extraction in {@link #decreaseKeyMix()}.
+     */
+    private static final int DECREASES_PER_EXTRACT = 3;
+
+    @Param({"dary4", "dary8", "intFibonacci", "fibonacci"})
+    private String implementation;
+
+    @Param({"1000", "10000", "100000", "1000000", "4000000"})
+    private int size;
+
+    private SplittableRandom generator;
+    private int range;
+    private int[] keys;
+    private IndexedDaryHeap daryHeap;
+    private IntFibonacciHeap intHeap;
+    private FibonacciHeap<Integer> objectHeap;
+    private FibonacciHeap.Node<Integer>[] objectNodes;
+    private Integer[] numbers;
+
+    @Setup(Level.Iteration)
+    @SuppressWarnings("unchecked")
+    public void fill() {
+        generator = new SplittableRandom(size);
+        range = SPREAD * size;
+        keys = generator.ints(size, 0, range).toArray();
+        daryHeap = null;
+        intHeap = null;
+        objectHeap = null;
+        switch (implementation) {
+            case "dary4":
+            case "dary8":
+                daryHeap = new IndexedDaryHeap(implementation.equals("dary4") ? 4 : 8, size);
+                daryHeap.insertAll(keys);
+                break;
+            case "intFibonacci":
+                intHeap = new IntFibonacciHeap(size);
+                for(int key : keys) {
+                    intHeap.insert(key);
+                }
+                intHeap.insert(intHeap.getKey(intHeap.extractMin()));
+                break;
+            case "fibonacci":
+                numbers = new Integer[size];
+                objectNodes = new FibonacciHeap.Node[size];
+                objectHeap = new FibonacciHeap<>();
+                for(int i = 0; i < size; i++) {
+                    numbers[i] = i;
+                    objectNodes[i] = objectHeap.insert(numbers[i], keys[i]);
+                }
+                FibonacciHeap.Node<Integer> min = objectHeap.extractMin();
+                objectNodes[min.getValue()] = objectHeap.insert(min.getValue(), min.getKey());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown implementation " + implementation);
+        }
+    }
+
+    @Benchmark
+    public int insertExtractMin() {
+        return extractAndReinsert();
+    }
+
+    @Benchmark
+    public int decreaseKeyMix() {
+        for(int i = 0; i < DECREASES_PER_EXTRACT; i++) {
+            decreaseRandomKey();
+        }
+        return extractAndReinsert();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object build() {
+        switch (implementation) {
+            case "dary4":
+            case "dary8":
+                IndexedDaryHeap heap = new IndexedDaryHeap(daryHeap.arity(), size);
+                heap.insertAll(keys);
+                return heap;
+            case "intFibonacci":
+                IntFibonacciHeap built = new IntFibonacciHeap(size);
+                for(int key : keys) {
+                    built.insert(key);
+                }
+                return built;
+            default:
+                return FibonacciHeap.of(keys, numbers);
+        }
+    }
+
+    /**
+     * Extracts the minimum and reinserts its number a random delay later.
+     * @return the extracted key.
+     */
+    private int extractAndReinsert() {
+        final int delay = 1 + generator.nextInt(range);
+        switch (implementation) {
+            case "dary4":
+            case "dary8": {
+                int key = daryHeap.getKey(daryHeap.extractMin());
+                daryHeap.insert(key + delay);
+                return key;
+            }
+            case "intFibonacci": {
+                int key = intHeap.getKey(intHeap.extractMin());
+                intHeap.insert(key + delay);
+                return key;
+            }
+            default: {
+                FibonacciHeap.Node<Integer> min = objectHeap.extractMin();
+                int number = min.getValue();
+                objectNodes[number] = objectHeap.insert(numbers[number], min.getKey() + delay);
+                return min.getKey();
+            }
+        }
+    }
+
+    /**
+     * Lowers the key of a random node to a random value that is still at least the minimum.
+     */
+    private void decreaseRandomKey() {
+        final int number = generator.nextInt(size);
+        switch (implementation) {
+            case "dary4":
+            case "dary8": {
+                int key = daryHeap.getKey(number);
+                int min = daryHeap.getKey(daryHeap.minimum());
+                if(key > min) {
+                    daryHeap.decreaseKey(number, min + generator.nextInt(key - min));
+                }
+                break;
+            }
+            case "intFibonacci": {
+                int key = intHeap.getKey(number);
+                int min = intHeap.getKey(intHeap.minimum());
+                if(key > min) {
+                    intHeap.decreaseKey(number, min + generator.nextInt(key - min));
+                }
+                break;
+            }
+            default: {
+                FibonacciHeap.Node<Integer> node = objectNodes[number];
+                int key = node.getKey();
+                int min = objectHeap.minimum().getKey();
+                if(key > min) {
+                    objectHeap.decreaseKey(node, min + generator.nextInt(key - min));
+                }
+                break;
+            }
+        }
+    }
+}
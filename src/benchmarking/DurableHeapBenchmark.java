@@ -0,0 +1,97 @@
+package benchmarking;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import datastructures.DurableFibonacciHeap;
+import datastructures.DurableFibonacciHeap.FsyncPolicy;
+import datastructures.ValueCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput and latency of {@link DurableFibonacciHeap} under each {@link FsyncPolicy}.
+ * Every operation inserts a job and extracts the minimum, which appends two log records.
+ * The sample-time mode reports latency percentiles, which show the cost of waiting for
+ * fsync with the {@code always} policy. <br>
+ *
+ * Run it with several thread counts to see group commit at work, for example
+ * {@code java -cp <classpath> org.openjdk.jmh.Main DurableHeapBenchmark -t 8}: with
+ * {@code always}, threads that wait at the same time share one fsync, so throughput
+ * grows with the thread count even though each fsync takes as long as before.
+ * The log is written to a temporary directory, so the numbers depend on its file system.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class DurableHeapBenchmark {
+
+    @Param({"always", "periodic", "none"})
+    private String policy;
+
+    @Param({"10000"})
+    private int size;
+
+    private Path directory;
+    private DurableFibonacciHeap<Long> heap;
+
+    @Setup(Level.Trial)
+    public void open() throws IOException {
+        directory = Files.createTempDirectory("durable-heap");
+        FsyncPolicy fsyncPolicy;
+        switch (policy) {
+            case "always":
+                fsyncPolicy = FsyncPolicy.always();
+                break;
+            case "periodic":
+                fsyncPolicy = FsyncPolicy.periodic(10);
+                break;
+            case "none":
+                fsyncPolicy = FsyncPolicy.none();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown policy " + policy);
+        }
+        heap = DurableFibonacciHeap.open(directory, ValueCodec.longs(), fsyncPolicy);
+        ThreadLocalRandom generator = ThreadLocalRandom.current();
+        for(int i = 0; i < size; i++) {
+            heap.insert((long) i, generator.nextInt(Integer.MAX_VALUE));
+        }
+        heap.sync();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws IOException {
+        heap.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for(Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public DurableFibonacciHeap.Handle<Long> insertExtractMin() {
+        ThreadLocalRandom generator = ThreadLocalRandom.current();
+        heap.insert(generator.nextLong(), generator.nextInt(Integer.MAX_VALUE));
+        return heap.extractMin();
+    }
+}
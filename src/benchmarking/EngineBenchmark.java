@@ -0,0 +1,186 @@
+package benchmarking;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import datastructures.AddressablePriorityQueue;
+import datastructures.AddressablePriorityQueues;
+import graphs.CsrGraph;
+import graphs.ShortestPaths;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The same workloads run against every {@link AddressablePriorityQueue} engine, created
+ * through {@link AddressablePriorityQueues} so a new engine only needs to be added to the
+ * {@code engine} parameter. The queue keeps a constant size: every removal is paired with
+ * an insert that reuses the slot of the removed entry. <br>
+ *
+ * Run with, for example:
+ * {@code java -cp <classpath> org.openjdk.jmh.Main EngineBenchmark -p engine=fibonacci}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class EngineBenchmark {
+
+    @Param({"fibonacci", "pairing"})
+    private String engine;
+
+    @Param({"1000", "1000000"})
+    private int size;
+
+    private SplittableRandom generator;
+    private AddressablePriorityQueue<Integer> queue;
+    private AddressablePriorityQueue.Handle<Integer>[] handles;
+    private Integer[] values;
+
+    /**
+     * Fills the queue with size random keys. Every entry's value is its slot in {@link #handles}.
+     */
+    @Setup(Level.Iteration)
+    @SuppressWarnings("unchecked")
+    public void fill() {
+        generator = new SplittableRandom(size);
+        queue = AddressablePriorityQueues.create(engine);
+        handles = new AddressablePriorityQueue.Handle[size];
+        values = new Integer[size];
+        for(int i = 0; i < size; i++) {
+            values[i] = i;
+            handles[i] = queue.insert(values[i], randomKey());
+        }
+        replaceMin();
+    }
+
+    @Benchmark
+    public AddressablePriorityQueue.Handle<Integer> insertExtractMin() {
+        return replaceMin();
+    }
+
+    /**
+     * Lowers a random key by a small amount, as a shortest path search does, and extracts
+     * the minimum every fourth call.
+     */
+    @Benchmark
+    public void dijkstraMix() {
+        int index = generator.nextInt(size);
+        AddressablePriorityQueue.Handle<Integer> handle = handles[index];
+        int key = handle.getKey();
+        if(key > Integer.MIN_VALUE + 64) {
+            queue.decreaseKey(handle, key - 1 - generator.nextInt(64));
+        }
+        if((index & 3) == 0) {
+            replaceMin();
+        }
+    }
+
+    /**
+     * A timer queue: the earliest deadline fires and is rescheduled a random delay later,
+     * and every eighth call a random pending timer is cancelled and scheduled again.
+     */
+    @Benchmark
+    public void schedulerMix() {
+        AddressablePriorityQueue.Handle<Integer> fired = queue.extractMin();
+        int index = fired.getValue();
+        long deadline = (long) fired.getKey() + 1 + generator.nextInt(1 << 20);
+        handles[index] = queue.insert(values[index], (int) Math.min(deadline, Integer.MAX_VALUE));
+        if((generator.nextInt() & 7) == 0) {
+            int cancelled = generator.nextInt(size);
+            queue.delete(handles[cancelled]);
+            handles[cancelled] = queue.insert(values[cancelled], randomKey());
+        }
+    }
+
+    @Benchmark
+    public void deleteInsert() {
+        int index = generator.nextInt(size);
+        queue.delete(handles[index]);
+        handles[index] = queue.insert(values[index], randomKey());
+    }
+
+    /**
+     * Generated graphs for {@link #dijkstraTrace(GraphState)}, built once per trial.
+     */
+    @State(Scope.Thread)
+    public static class GraphState {
+        @Param({"road", "powerLaw"})
+        private String shape;
+
+        private CsrGraph graph;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            SplittableRandom generator = new SplittableRandom(42);
+            graph = shape.equals("road")
+                    ? GraphBenchmark.roadNetwork(500, generator)
+                    : GraphBenchmark.powerLaw(250_000, generator);
+        }
+    }
+
+    /**
+     * A full Dijkstra run from vertex 0 on a 250,000 vertex graph with the engine as the queue,
+     * using decreaseKey for every improved distance.
+     * @param state the graph.
+     * @return the distance to every vertex.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @SuppressWarnings("unchecked")
+    public int[] dijkstraTrace(GraphState state) {
+        final CsrGraph graph = state.graph;
+        final int n = graph.vertexCount();
+        final int[] distance = new int[n];
+        final boolean[] settled = new boolean[n];
+        final AddressablePriorityQueue.Handle<Integer>[] vertexHandles = new AddressablePriorityQueue.Handle[n];
+        Arrays.fill(distance, ShortestPaths.UNREACHABLE);
+        final AddressablePriorityQueue<Integer> frontier = AddressablePriorityQueues.create(engine);
+        distance[0] = 0;
+        vertexHandles[0] = frontier.insert(0, 0);
+        while(!frontier.isEmpty()) {
+            final int u = frontier.extractMin().getValue();
+            settled[u] = true;
+            for(int edge = graph.firstEdge(u), end = graph.endEdge(u); edge < end; edge++) {
+                final int v = graph.target(edge);
+                final int newDistance = distance[u] + graph.weight(edge);
+                if(settled[v] || newDistance >= distance[v]) {
+                    continue;
+                }
+                if(vertexHandles[v] == null) {
+                    vertexHandles[v] = frontier.insert(v, newDistance);
+                } else {
+                    frontier.decreaseKey(vertexHandles[v], newDistance);
+                }
+                distance[v] = newDistance;
+            }
+        }
+        return distance;
+    }
+
+    /**
+     * Extracts the minimum and inserts a new entry with a random key in its slot.
+     * @return the extracted entry.
+     */
+    private AddressablePriorityQueue.Handle<Integer> replaceMin() {
+        AddressablePriorityQueue.Handle<Integer> extracted = queue.extractMin();
+        int index = extracted.getValue();
+        handles[index] = queue.insert(values[index], randomKey());
+        return extracted;
+    }
+
+    private int randomKey() {
+        return generator.nextInt(Integer.MAX_VALUE);
+    }
+}
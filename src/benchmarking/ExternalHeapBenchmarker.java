@@ -0,0 +1,63 @@
+package benchmarking;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import datastructures.ExternalFibonacciHeap;
+import datastructures.ValueCodec;
+
+/**
+ * Loads {@link ExternalFibonacciHeap} with more items than fit in the JVM heap and then
+ * drains it, reporting the time and the bytes written to and read from run files per
+ * operation. Each item has a {@link Long} value, so a run record is 16 bytes while an
+ * in-memory item costs about 100 bytes. Run it with a small heap to force spilling, for
+ * example {@code java -Xmx128m benchmarking.ExternalHeapBenchmarker 20000000 500000},
+ * where 20 million in-memory items would need about 2 GB. <br>
+ *
+ * Usage: {@code java benchmarking.ExternalHeapBenchmarker [items] [memoryLimit] [directory]}
+ */
+public class ExternalHeapBenchmarker {
+
+    public static void main(String[] args) throws IOException {
+        final long items = args.length > 0 ? Long.parseLong(args[0]) : 20_000_000L;
+        final int memoryLimit = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+        final Path directory = args.length > 2
+                ? Files.createDirectories(Path.of(args[2]))
+                : Files.createTempDirectory("external-heap");
+        if(items < 1 || memoryLimit < 2) {
+            throw new IllegalArgumentException("Please ensure items is >= 1 and memoryLimit is >= 2");
+        }
+        System.out.printf("max JVM heap %d MB, %d items%n", Runtime.getRuntime().maxMemory() >> 20, items);
+        final SplittableRandom generator = new SplittableRandom(items);
+        try (ExternalFibonacciHeap<Long> heap = new ExternalFibonacciHeap<>(directory, ValueCodec.longs(), memoryLimit)) {
+            long start = System.nanoTime();
+            for(long i = 0; i < items; i++) {
+                heap.insert(i, generator.nextInt(Integer.MAX_VALUE));
+            }
+            report("insert", items, System.nanoTime() - start, heap.getBytesWritten(), heap.getBytesRead(), heap);
+
+            final long writtenBefore = heap.getBytesWritten();
+            final long readBefore = heap.getBytesRead();
+            start = System.nanoTime();
+            int last = Integer.MIN_VALUE;
+            while(!heap.isEmpty()) {
+                int key = heap.extractMin().getKey();
+                if(key < last) {
+                    throw new IllegalStateException("Keys out of order");
+                }
+                last = key;
+            }
+            report("extractMin", items, System.nanoTime() - start,
+                    heap.getBytesWritten() - writtenBefore, heap.getBytesRead() - readBefore, heap);
+        }
+    }
+
+    private static void report(String operation, long operations, long nanos, long written, long read,
+                               ExternalFibonacciHeap<Long> heap) {
+        System.out.printf("%s: %.0f ns/op, %.1f bytes written/op, %.1f bytes read/op, "
+                        + "%d spills, %d runs open%n",
+                operation, (double) nanos / operations, (double) written / operations,
+                (double) read / operations, heap.getSpills(), heap.getRunCount());
+    }
+}
@@ -25,8 +25,8 @@ public class FibonacciHeapBenchmarker {
         checkInputNumbers(size, multiplier, numberOfTests);
         long[] elapsedTimes = new long[numberOfTests];
         for(int i = 0; i < numberOfTests; i++) {
-            Integer[] arr = fillList(size);
-            FibonacciHeap<Integer> fh = new FibonacciHeap<>(arr);
+            int[] arr = fillList(size);
+            FibonacciHeap<Integer> fh = FibonacciHeap.of(arr, null);
             elapsedTimes[i] = runOperation(fh, operation);
             size *= multiplier;
         }
@@ -39,9 +39,9 @@ public class FibonacciHeapBenchmarker {
      * @param size the size of the array.
      * @return an array of integers with random integers from 0 to 2^31 -1.
      */
-    private static Integer[] fillList(int size) {
+    private static int[] fillList(int size) {
         Random generator = new Random();
-        Integer[] arr = new Integer[size];
+        int[] arr = new int[size];
         for(int i = 0; i < size; i++) {
             arr[i] = generator.nextInt(Integer.MAX_VALUE);
         }
@@ -68,8 +68,8 @@ public class FibonacciHeapBenchmarker {
                 endTime = System.nanoTime();
                 break;
             case "union":
-                Integer[] arr = fillList(fh.size());
-                FibonacciHeap<Integer> fh2 = new FibonacciHeap<>(arr);
+                int[] arr = fillList(fh.size());
+                FibonacciHeap<Integer> fh2 = FibonacciHeap.of(arr, null);
                 startTime = System.nanoTime();
                 fh.union(fh2);
                 endTime = System.nanoTime();
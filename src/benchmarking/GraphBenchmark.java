@@ -0,0 +1,225 @@
+package benchmarking;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import graphs.AStar;
+import graphs.CsrGraph;
+import graphs.Dijkstra;
+import graphs.Prim;
+import graphs.ShortestPaths;
+import graphs.SpanningForest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for the {@code graphs} package on large generated graphs, with a
+ * textbook lazy-deletion {@link PriorityQueue} Dijkstra as the baseline. <br>
+ *
+ * Two graph shapes are generated:
+ * {@code road}, a square grid with random weights plus a few random long-range
+ * "highway" edges, which has low, uniform degree like a road network; and
+ * {@code powerLaw}, a Barabasi-Albert preferential attachment graph with a few very
+ * high degree hubs, where vertices are reached many times and decreaseKey is frequent. <br>
+ *
+ * Run with, for example:
+ * {@code java -cp <classpath> org.openjdk.jmh.Main GraphBenchmark -p vertices=1000000}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class GraphBenchmark {
+
+    /**
+     * The number of edges each new vertex attaches with in the power-law graph.
+     */
+    private static final int ATTACHMENTS = 4;
+
+    /**
+     * The maximum weight of a grid edge.
+     */
+    private static final int MAX_WEIGHT = 100;
+
+    @Param({"road", "powerLaw"})
+    private String shape;
+
+    @Param({"100000", "1000000"})
+    private int vertices;
+
+    private CsrGraph graph;
+    private int width;
+    private int source;
+    private int target;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom generator = new SplittableRandom(vertices);
+        switch (shape) {
+            case "road":
+                width = (int) Math.sqrt(vertices);
+                graph = roadNetwork(width, generator);
+                source = 0;
+                target = width * width - 1;
+                break;
+            case "powerLaw":
+                graph = powerLaw(vertices, generator);
+                source = 0;
+                target = vertices - 1;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown shape " + shape);
+        }
+    }
+
+    @Benchmark
+    public ShortestPaths fibonacciDijkstra() {
+        return Dijkstra.shortestPaths(graph, source);
+    }
+
+    @Benchmark
+    public int[] priorityQueueDijkstra() {
+        return lazyDijkstra(graph, source);
+    }
+
+    @Benchmark
+    public SpanningForest fibonacciPrim() {
+        return Prim.minimumSpanningForest(graph);
+    }
+
+    /**
+     * A* from one corner of the grid to the opposite one, with the Manhattan distance as
+     * the heuristic. Every grid weight is at least 1, so it is consistent. On the power-law
+     * graph there is no geometry, so the heuristic is 0 and this is a Dijkstra that stops
+     * at the target.
+     */
+    @Benchmark
+    public int fibonacciAStar() {
+        final int goalX = target % Math.max(width, 1);
+        final int goalY = target / Math.max(width, 1);
+        ShortestPaths paths = AStar.shortestPath(graph, source, target, shape.equals("road")
+                ? v -> Math.abs(v % width - goalX) + Math.abs(v / width - goalY)
+                : v -> 0);
+        return paths.distanceTo(target);
+    }
+
+    /**
+     * Dijkstra with a {@link PriorityQueue} of (distance, vertex) pairs packed into a
+     * {@code long}. An improved distance adds a new entry instead of decreasing the old
+     * one, and stale entries are skipped when they are polled.
+     * @param graph the graph to search.
+     * @param source the source vertex.
+     * @return the distance to every vertex.
+     */
+    static int[] lazyDijkstra(CsrGraph graph, int source) {
+        final int[] distance = new int[graph.vertexCount()];
+        Arrays.fill(distance, ShortestPaths.UNREACHABLE);
+        final PriorityQueue<Long> queue = new PriorityQueue<>();
+        distance[source] = 0;
+        queue.add((long) source);
+        while (!queue.isEmpty()) {
+            final long entry = queue.poll();
+            final int u = (int) entry;
+            final int d = (int) (entry >>> 32);
+            if (d > distance[u]) {
+                continue;
+            }
+            for (int edge = graph.firstEdge(u), end = graph.endEdge(u); edge < end; edge++) {
+                final int v = graph.target(edge);
+                final int newDistance = d + graph.weight(edge);
+                if (newDistance < distance[v]) {
+                    distance[v] = newDistance;
+                    queue.add(((long) newDistance << 32) | v);
+                }
+            }
+        }
+        return distance;
+    }
+
+    /**
+     * Generates a width x width grid whose edges have random weights from 1 to
+     * {@link #MAX_WEIGHT}, plus width * width / 100 random edges between distant vertices
+     * whose weight is their Manhattan distance times the minimum weight, like highways.
+     * @param width the number of vertices per row and column.
+     * @param generator the source of randomness.
+     * @return the undirected graph.
+     */
+    static CsrGraph roadNetwork(int width, SplittableRandom generator) {
+        final int n = width * width;
+        final int highways = n / 100;
+        final int edges = 2 * width * (width - 1) + highways;
+        final int[] sources = new int[edges];
+        final int[] targets = new int[edges];
+        final int[] weights = new int[edges];
+        int e = 0;
+        for(int y = 0; y < width; y++) {
+            for(int x = 0; x < width; x++) {
+                int v = y * width + x;
+                if(x + 1 < width) {
+                    sources[e] = v;
+                    targets[e] = v + 1;
+                    weights[e++] = 1 + generator.nextInt(MAX_WEIGHT);
+                }
+                if(y + 1 < width) {
+                    sources[e] = v;
+                    targets[e] = v + width;
+                    weights[e++] = 1 + generator.nextInt(MAX_WEIGHT);
+                }
+            }
+        }
+        while(e < edges) {
+            int u = generator.nextInt(n);
+            int v = generator.nextInt(n);
+            sources[e] = u;
+            targets[e] = v;
+            weights[e++] = Math.abs(u % width - v % width) + Math.abs(u / width - v / width);
+        }
+        return CsrGraph.undirected(n, sources, targets, weights);
+    }
+
+    /**
+     * Generates a Barabasi-Albert graph: every new vertex attaches to {@link #ATTACHMENTS}
+     * existing vertices chosen with probability proportional to their degree, which is done
+     * by picking a random endpoint of an existing edge. Weights are random from 1 to
+     * {@link #MAX_WEIGHT}.
+     * @param n the number of vertices.
+     * @param generator the source of randomness.
+     * @return the undirected graph.
+     */
+    static CsrGraph powerLaw(int n, SplittableRandom generator) {
+        final int edges = (n - ATTACHMENTS) * ATTACHMENTS;
+        final int[] sources = new int[edges];
+        final int[] targets = new int[edges];
+        final int[] weights = new int[edges];
+        int e = 0;
+        for(int v = ATTACHMENTS; v < n; v++) {
+            final int existing = e; // Only sample edges of earlier vertices, so v gets no self loops.
+            for(int i = 0; i < ATTACHMENTS; i++) {
+                int u;
+                if(existing == 0) {
+                    u = i;
+                } else {
+                    int endpoint = generator.nextInt(2 * existing);
+                    u = (endpoint & 1) == 0 ? sources[endpoint >>> 1] : targets[endpoint >>> 1];
+                }
+                sources[e] = v;
+                targets[e] = u;
+                weights[e++] = 1 + generator.nextInt(MAX_WEIGHT);
+            }
+        }
+        return CsrGraph.undirected(n, sources, targets, weights);
+    }
+}
@@ -0,0 +1,379 @@
+package benchmarking;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import datastructures.FibonacciHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmarks for every public operation of {@link FibonacciHeap}, with
+ * {@link PriorityQueue} as a baseline. <br>
+ *
+ * Per-operation benchmarks keep the heap at a constant size by pairing each removal
+ * with an insert, so a measurement is the steady-state cost of the operation at the
+ * given heap size rather than the cost of one call. Operations that cannot be repeated
+ * without rebuilding the heap ({@code union}, draining a heap) are measured per
+ * invocation on a heap rebuilt outside the timed region. <br>
+ *
+ * Run headless with, for example:
+ * {@code java -cp <classpath> org.openjdk.jmh.Main HeapOperationsBenchmark -prof gc}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class HeapOperationsBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private SplittableRandom generator;
+    private Integer[] values;
+    private FibonacciHeap<Integer> heap;
+    private FibonacciHeap.Node<Integer>[] nodes;
+    private PriorityQueue<Entry> queue;
+    private Entry[] entries;
+
+    /**
+     * An element of the {@link PriorityQueue} baseline. PriorityQueue has no handles, so
+     * entries are removed by identity and stale entries are recognised by comparing them
+     * with the live entry for their index.
+     */
+    static final class Entry {
+        private static final Comparator<Entry> BY_KEY = Comparator.comparingInt(e -> e.key);
+        private final int index;
+        private int key;
+
+        Entry(int index, int key) {
+            this.index = index;
+            this.key = key;
+        }
+    }
+
+    /**
+     * Builds both heaps with size random keys. Every node's value is its index in
+     * {@link #nodes}, so a removed node can be replaced in place.
+     */
+    @Setup(Level.Iteration)
+    @SuppressWarnings("unchecked")
+    public void buildHeaps() {
+        generator = new SplittableRandom(size);
+        values = new Integer[size];
+        heap = new FibonacciHeap<>();
+        nodes = new FibonacciHeap.Node[size];
+        queue = new PriorityQueue<>(size, Entry.BY_KEY);
+        entries = new Entry[size];
+        for(int i = 0; i < size; i++) {
+            int key = randomKey();
+            values[i] = i;
+            nodes[i] = heap.insert(values[i], key);
+            entries[i] = new Entry(i, key);
+            queue.add(entries[i]);
+        }
+        // Consolidate once so the heap starts in the shape it has during normal use.
+        replaceMin();
+    }
+
+    @Benchmark
+    public void fibonacciInsertExtractMin(Blackhole bh) {
+        bh.consume(replaceMin());
+    }
+
+    @Benchmark
+    public void priorityQueueInsertExtractMin(Blackhole bh) {
+        Entry polled = queue.poll();
+        entries[polled.index] = new Entry(polled.index, randomKey());
+        queue.add(entries[polled.index]);
+        bh.consume(polled);
+    }
+
+    @Benchmark
+    public FibonacciHeap.Node<Integer> fibonacciMinimum() {
+        return heap.minimum();
+    }
+
+    @Benchmark
+    public Entry priorityQueueMinimum() {
+        return queue.peek();
+    }
+
+    @Benchmark
+    public void fibonacciSizeAndIsEmpty(Blackhole bh) {
+        bh.consume(heap.size());
+        bh.consume(heap.isEmpty());
+    }
+
+    @Benchmark
+    public void priorityQueueSizeAndIsEmpty(Blackhole bh) {
+        bh.consume(queue.size());
+        bh.consume(queue.isEmpty());
+    }
+
+    @Benchmark
+    public void fibonacciDecreaseKey() {
+        FibonacciHeap.Node<Integer> node = nodes[generator.nextInt(size)];
+        heap.decreaseKey(node, node.getKey() - 1 - generator.nextInt(1024));
+    }
+
+    /**
+     * PriorityQueue has no decrease-key, so the entry is removed, updated and added back.
+     */
+    @Benchmark
+    public void priorityQueueDecreaseKey() {
+        Entry entry = entries[generator.nextInt(size)];
+        queue.remove(entry);
+        entry.key -= 1 + generator.nextInt(1024);
+        queue.add(entry);
+    }
+
+    @Benchmark
+    public void fibonacciDeleteInsert() {
+        int index = generator.nextInt(size);
+        heap.delete(nodes[index]);
+        nodes[index] = heap.insert(values[index], randomKey());
+    }
+
+    /**
+     * Reschedules a node in place, the alternative to {@link #fibonacciDeleteInsert()}.
+     * PriorityQueue's equivalent is {@link #priorityQueueDeleteInsert()}.
+     */
+    @Benchmark
+    public void fibonacciUpdateKey() {
+        heap.updateKey(nodes[generator.nextInt(size)], randomKey());
+    }
+
+    @Benchmark
+    public void priorityQueueDeleteInsert() {
+        int index = generator.nextInt(size);
+        queue.remove(entries[index]);
+        entries[index] = new Entry(index, randomKey());
+        queue.add(entries[index]);
+    }
+
+    /**
+     * A Dijkstra-like mix: extract the minimum, decrease three random keys and insert a
+     * replacement for the extracted node.
+     */
+    @Benchmark
+    public void fibonacciDijkstraMix(Blackhole bh) {
+        FibonacciHeap.Node<Integer> extracted = heap.extractMin();
+        for(int i = 0; i < 3; i++) {
+            FibonacciHeap.Node<Integer> node = nodes[generator.nextInt(size)];
+            if(node != extracted && node.getKey() > 0) {
+                heap.decreaseKey(node, generator.nextInt(node.getKey()));
+            }
+        }
+        int index = extracted.getValue();
+        nodes[index] = heap.insert(values[index], randomKey());
+        bh.consume(extracted);
+    }
+
+    /**
+     * The same mix as {@link #fibonacciDijkstraMix(Blackhole)} on PriorityQueue, using
+     * lazy deletion: a decreased key is added as a new entry and the old one is skipped
+     * when it reaches the head of the queue.
+     */
+    @Benchmark
+    public void priorityQueueDijkstraMix(Blackhole bh) {
+        Entry polled = queue.poll();
+        while(entries[polled.index] != polled) {
+            polled = queue.poll();
+        }
+        for(int i = 0; i < 3; i++) {
+            int index = generator.nextInt(size);
+            Entry entry = entries[index];
+            if(entry != polled && entry.key > 0) {
+                entries[index] = new Entry(index, generator.nextInt(entry.key));
+                queue.add(entries[index]);
+            }
+        }
+        entries[polled.index] = new Entry(polled.index, randomKey());
+        queue.add(entries[polled.index]);
+        bh.consume(polled);
+    }
+
+    /**
+     * A scheduler-like mix: schedule two entries, cancel one random entry and run
+     * the earliest one.
+     */
+    @Benchmark
+    public void fibonacciSchedulerMix(Blackhole bh) {
+        int cancelled = generator.nextInt(size);
+        heap.delete(nodes[cancelled]);
+        nodes[cancelled] = heap.insert(values[cancelled], randomKey());
+        bh.consume(replaceMin());
+    }
+
+    @Benchmark
+    public void priorityQueueSchedulerMix(Blackhole bh) {
+        priorityQueueDeleteInsert();
+        priorityQueueInsertExtractMin(bh);
+    }
+
+    /**
+     * Two heaps of size nodes each, rebuilt before every invocation.
+     */
+    @State(Scope.Thread)
+    public static class UnionState {
+        @Param({"1000", "100000", "1000000"})
+        private int size;
+        private FibonacciHeap<Integer> heap1;
+        private FibonacciHeap<Integer> heap2;
+        private PriorityQueue<Integer> queue1;
+        private PriorityQueue<Integer> queue2;
+
+        @Setup(Level.Invocation)
+        public void buildHeaps() {
+            SplittableRandom generator = new SplittableRandom(size);
+            heap1 = new FibonacciHeap<>();
+            heap2 = new FibonacciHeap<>();
+            queue1 = new PriorityQueue<>(2 * size);
+            queue2 = new PriorityQueue<>(size);
+            for(int i = 0; i < size; i++) {
+                heap1.insert(null, generator.nextInt(Integer.MAX_VALUE));
+                heap2.insert(null, generator.nextInt(Integer.MAX_VALUE));
+                queue1.add(generator.nextInt(Integer.MAX_VALUE));
+                queue2.add(generator.nextInt(Integer.MAX_VALUE));
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 20)
+    @Measurement(iterations = 50)
+    public FibonacciHeap<Integer> fibonacciUnion(UnionState state) {
+        state.heap1.union(state.heap2);
+        return state.heap1;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 20)
+    @Measurement(iterations = 50)
+    public PriorityQueue<Integer> priorityQueueUnion(UnionState state) {
+        state.queue1.addAll(state.queue2);
+        return state.queue1;
+    }
+
+    /**
+     * Keys and a heap rebuilt before every invocation, for benchmarks that build or
+     * drain a whole heap.
+     */
+    @State(Scope.Thread)
+    public static class BulkState {
+        @Param({"1000", "100000", "1000000"})
+        private int size;
+        private int[] keys;
+        private FibonacciHeap<Integer> heap;
+        private PriorityQueue<Integer> queue;
+
+        @Setup(Level.Trial)
+        public void generateKeys() {
+            keys = new SplittableRandom(size).ints(size, 0, Integer.MAX_VALUE).toArray();
+            heap = new FibonacciHeap<>();
+            queue = new PriorityQueue<>(size);
+        }
+
+        @Setup(Level.Invocation)
+        public void fillHeaps() {
+            heap.clear();
+            queue.clear();
+            for(int key : keys) {
+                heap.insert(null, key);
+                queue.add(key);
+            }
+        }
+    }
+
+    /**
+     * Inserts size keys into a cleared heap.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public FibonacciHeap<Integer> fibonacciClearAndInsertAll(BulkState state) {
+        FibonacciHeap<Integer> fh = state.heap;
+        fh.clear();
+        for(int key : state.keys) {
+            fh.insert(null, key);
+        }
+        return fh;
+    }
+
+    /**
+     * Builds a heap from the same keys in one pass with {@link FibonacciHeap#of(int[], Object[])}.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public FibonacciHeap<Integer> fibonacciBulkBuild(BulkState state) {
+        return FibonacciHeap.of(state.keys, null);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public PriorityQueue<Integer> priorityQueueClearAndInsertAll(BulkState state) {
+        PriorityQueue<Integer> pq = state.queue;
+        pq.clear();
+        for(int key : state.keys) {
+            pq.add(key);
+        }
+        return pq;
+    }
+
+    /**
+     * Extracts every node of a freshly filled heap, so the first extractMin consolidates
+     * the whole root list.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void fibonacciDrain(BulkState state, Blackhole bh) {
+        FibonacciHeap<Integer> fh = state.heap;
+        while(!fh.isEmpty()) {
+            bh.consume(fh.extractMin());
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void priorityQueueDrain(BulkState state, Blackhole bh) {
+        PriorityQueue<Integer> pq = state.queue;
+        while(!pq.isEmpty()) {
+            bh.consume(pq.poll());
+        }
+    }
+
+    /**
+     * Extracts the minimum and inserts a replacement node with a random key.
+     * @return the extracted node.
+     */
+    private FibonacciHeap.Node<Integer> replaceMin() {
+        FibonacciHeap.Node<Integer> extracted = heap.extractMin();
+        int index = extracted.getValue();
+        nodes[index] = heap.insert(values[index], randomKey());
+        return extracted;
+    }
+
+    /**
+     * Returns a random non-negative key.
+     * @return a key from 0 to 2^31 - 2.
+     */
+    private int randomKey() {
+        return generator.nextInt(Integer.MAX_VALUE);
+    }
+}
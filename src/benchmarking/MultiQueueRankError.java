@@ -0,0 +1,110 @@
+package benchmarking;
+
+import java.util.Random;
+import datastructures.MultiFibonacciQueue;
+
+/**
+ * Measures how far the nodes extracted from a {@link MultiFibonacciQueue} are from the ones a
+ * strict priority queue would return. The rank error of an extraction is the number of nodes
+ * still in the queue with a smaller key than the extracted node, so a strict priority queue
+ * always has a rank error of 0. <br>
+ *
+ * The queue is filled with a random permutation of distinct keys and then used in a steady
+ * state where every extraction is followed by an insert. A Fenwick tree over the keys tracks
+ * which keys are still present, so each rank is computed in O(log n). The result is printed as
+ * a histogram with power-of-two buckets. <br>
+ *
+ * Usage: {@code java benchmarking.MultiQueueRankError [size] [operations] [shardsPerThread] [threads]}
+ */
+public class MultiQueueRankError {
+
+    public static void main(String[] args) {
+        final int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        final int operations = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        final int shardsPerThread = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        final int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        if(size < 1 || operations < 1) {
+            throw new IllegalArgumentException("Please ensure size and operations are >= 1");
+        }
+
+        final int[] keys = permutation(size + operations);
+        final MultiFibonacciQueue<Integer> queue = new MultiFibonacciQueue<>(shardsPerThread, threads);
+        final long[] present = new long[keys.length + 1];
+        for(int i = 0; i < size; i++) {
+            queue.insert(null, keys[i]);
+            add(present, keys[i], 1);
+        }
+
+        final long[] histogram = new long[33];
+        long total = 0;
+        long max = 0;
+        for(int i = 0; i < operations; i++) {
+            MultiFibonacciQueue.Handle<Integer> node = queue.extractMin();
+            add(present, node.getKey(), -1);
+            long rank = prefixSum(present, node.getKey());
+            histogram[64 - Long.numberOfLeadingZeros(rank)]++;
+            total += rank;
+            max = Math.max(max, rank);
+
+            queue.insert(null, keys[size + i]);
+            add(present, keys[size + i], 1);
+        }
+
+        System.out.printf("shards=%d size=%d operations=%d mean rank error=%.2f max=%d%n",
+                queue.shardCount(), size, operations, (double) total / operations, max);
+        for(int bucket = 0; bucket < histogram.length; bucket++) {
+            if(histogram[bucket] > 0) {
+                long low = bucket == 0 ? 0 : 1L << (bucket - 1);
+                long high = bucket == 0 ? 0 : (1L << bucket) - 1;
+                System.out.printf("  [%d, %d]: %d (%.2f%%)%n", low, high, histogram[bucket],
+                        100.0 * histogram[bucket] / operations);
+            }
+        }
+    }
+
+    /**
+     * Returns the numbers 0 to count - 1 in random order.
+     * @param count the number of keys.
+     * @return a shuffled array of distinct keys.
+     */
+    private static int[] permutation(int count) {
+        Random generator = new Random(count);
+        int[] keys = new int[count];
+        for(int i = 0; i < count; i++) {
+            keys[i] = i;
+        }
+        for(int i = count - 1; i > 0; i--) {
+            int j = generator.nextInt(i + 1);
+            int swap = keys[i];
+            keys[i] = keys[j];
+            keys[j] = swap;
+        }
+        return keys;
+    }
+
+    /**
+     * Adds delta to the count of key in a Fenwick tree.
+     * @param tree the Fenwick tree, indexed from 1.
+     * @param key the key to update.
+     * @param delta the amount to add.
+     */
+    private static void add(long[] tree, int key, int delta) {
+        for(int i = key + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Returns how many keys smaller than key are present.
+     * @param tree the Fenwick tree, indexed from 1.
+     * @param key the exclusive upper bound.
+     * @return the number of present keys below key.
+     */
+    private static long prefixSum(long[] tree, int key) {
+        long sum = 0;
+        for(int i = key; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,62 @@
+package benchmarking;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import datastructures.FibonacciHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Insert/extractMin churn on a {@link FibonacciHeap} of constant size, with and without
+ * node pooling. In pooled mode every extracted node is handed back with
+ * {@link FibonacciHeap#release(FibonacciHeap.Node)} and reused by the next insert. <br>
+ *
+ * Run with the GC profiler to see the allocation rate:
+ * {@code java -cp <classpath> org.openjdk.jmh.Main NodePoolBenchmark -prof gc}.
+ * {@code gc.alloc.rate.norm} should be close to 0 B/op in pooled mode and about one
+ * node per op otherwise.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class NodePoolBenchmark {
+
+    @Param({"1000", "1000000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean pooled;
+
+    private SplittableRandom generator;
+    private FibonacciHeap<Integer> heap;
+
+    @Setup(Level.Iteration)
+    public void buildHeap() {
+        generator = new SplittableRandom(size);
+        heap = new FibonacciHeap<>(pooled ? 1024 : 0);
+        heap.insertAll(generator.ints(size, 0, Integer.MAX_VALUE).toArray(), null);
+        heap.extractMin();
+    }
+
+    @Benchmark
+    public int insertExtractMin() {
+        heap.insert(null, generator.nextInt(Integer.MAX_VALUE));
+        FibonacciHeap.Node<Integer> extracted = heap.extractMin();
+        int key = extracted.getKey();
+        heap.release(extracted);
+        return key;
+    }
+}
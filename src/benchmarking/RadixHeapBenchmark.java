@@ -0,0 +1,165 @@
+package benchmarking;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import datastructures.FibonacciHeap;
+import datastructures.RadixHeap;
+import graphs.CsrGraph;
+import graphs.ShortestPaths;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link RadixHeap} with {@link FibonacciHeap} on monotone workloads, which are
+ * the only ones a radix heap supports: an event-time queue where every fired event
+ * schedules a new one a random delay later, and Dijkstra with decreaseKey on generated
+ * road-like and power-law graphs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class RadixHeapBenchmark {
+
+    /**
+     * The largest delay between an event and the event it schedules.
+     */
+    private static final int MAX_DELAY = 1 << 20;
+
+    @Param({"1000", "1000000"})
+    private int size;
+
+    private SplittableRandom generator;
+    private RadixHeap<Integer> radixHeap;
+    private FibonacciHeap<Integer> fibonacciHeap;
+
+    @Setup(Level.Iteration)
+    public void fill() {
+        generator = new SplittableRandom(size);
+        radixHeap = new RadixHeap<>();
+        fibonacciHeap = new FibonacciHeap<>();
+        for(int i = 0; i < size; i++) {
+            int time = generator.nextInt(MAX_DELAY);
+            radixHeap.insert(null, time);
+            fibonacciHeap.insert(null, time);
+        }
+        fibonacciHeap.extractMin();
+        radixHeap.extractMin();
+    }
+
+    @Benchmark
+    public long radixEventTime() {
+        long now = radixHeap.extractMin().getKey();
+        radixHeap.insert(null, now + 1 + generator.nextInt(MAX_DELAY));
+        return now;
+    }
+
+    /**
+     * The same event loop on a {@link FibonacciHeap}. Its keys are {@code int}s, which
+     * overflow after about 2^31 / 2^19 events per slot, far more than one run performs.
+     */
+    @Benchmark
+    public int fibonacciEventTime() {
+        int now = fibonacciHeap.extractMin().getKey();
+        fibonacciHeap.insert(null, now + 1 + generator.nextInt(MAX_DELAY));
+        return now;
+    }
+
+    /**
+     * A 250,000 vertex graph for the Dijkstra benchmarks, built once per trial.
+     */
+    @State(Scope.Thread)
+    public static class GraphState {
+        @Param({"road", "powerLaw"})
+        private String shape;
+
+        private CsrGraph graph;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            SplittableRandom generator = new SplittableRandom(42);
+            graph = shape.equals("road")
+                    ? GraphBenchmark.roadNetwork(500, generator)
+                    : GraphBenchmark.powerLaw(250_000, generator);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @SuppressWarnings("unchecked")
+    public int[] radixDijkstra(GraphState state) {
+        final CsrGraph graph = state.graph;
+        final int n = graph.vertexCount();
+        final int[] distance = new int[n];
+        final boolean[] settled = new boolean[n];
+        final RadixHeap.Node<Integer>[] nodes = new RadixHeap.Node[n];
+        Arrays.fill(distance, ShortestPaths.UNREACHABLE);
+        final RadixHeap<Integer> heap = new RadixHeap<>();
+        distance[0] = 0;
+        nodes[0] = heap.insert(0, 0);
+        while(!heap.isEmpty()) {
+            final int u = heap.extractMin().getValue();
+            settled[u] = true;
+            for(int edge = graph.firstEdge(u), end = graph.endEdge(u); edge < end; edge++) {
+                final int v = graph.target(edge);
+                final int newDistance = distance[u] + graph.weight(edge);
+                if(settled[v] || newDistance >= distance[v]) {
+                    continue;
+                }
+                if(nodes[v] == null) {
+                    nodes[v] = heap.insert(v, newDistance);
+                } else {
+                    heap.decreaseKey(nodes[v], newDistance);
+                }
+                distance[v] = newDistance;
+            }
+        }
+        return distance;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @SuppressWarnings("unchecked")
+    public int[] fibonacciDijkstra(GraphState state) {
+        final CsrGraph graph = state.graph;
+        final int n = graph.vertexCount();
+        final int[] distance = new int[n];
+        final boolean[] settled = new boolean[n];
+        final FibonacciHeap.Node<Integer>[] nodes = new FibonacciHeap.Node[n];
+        Arrays.fill(distance, ShortestPaths.UNREACHABLE);
+        final FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        distance[0] = 0;
+        nodes[0] = heap.insert(0, 0);
+        while(!heap.isEmpty()) {
+            final int u = heap.extractMin().getValue();
+            settled[u] = true;
+            for(int edge = graph.firstEdge(u), end = graph.endEdge(u); edge < end; edge++) {
+                final int v = graph.target(edge);
+                final int newDistance = distance[u] + graph.weight(edge);
+                if(settled[v] || newDistance >= distance[v]) {
+                    continue;
+                }
+                if(nodes[v] == null) {
+                    nodes[v] = heap.insert(v, newDistance);
+                } else {
+                    heap.decreaseKey(nodes[v], newDistance);
+                }
+                distance[v] = newDistance;
+            }
+        }
+        return distance;
+    }
+}
@@ -0,0 +1,157 @@
+package benchmarking;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import scheduling.FibonacciScheduler;
+
+/**
+ * Schedule- and cancel-heavy timer workloads, such as request timeouts that almost never
+ * fire, on a {@link FibonacciScheduler} and on a {@link ScheduledThreadPoolExecutor} with
+ * remove-on-cancel enabled, so that both keep only live tasks in their queue. <br>
+ *
+ * Every thread keeps {@link #size} pending tasks, all due at least an hour from now, so none
+ * of them runs during the benchmark. {@code scheduleThenCancel} schedules a task and cancels
+ * a random pending one; {@code reschedule} moves a random pending task to a new random
+ * deadline, which the executor can only do by cancelling and scheduling again. Run with
+ * {@code -t} to add threads that share one scheduler.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class SchedulerBenchmark {
+
+    private static final long BASE_DELAY = TimeUnit.HOURS.toMillis(1);
+
+    private static final Runnable NOTHING = () -> { };
+
+    /**
+     * The scheduler shared by all benchmark threads.
+     */
+    @State(Scope.Benchmark)
+    public static class Schedulers {
+
+        @Param({"fibonacci", "threadPool"})
+        private String implementation;
+
+        private FibonacciScheduler fibonacci;
+        private ScheduledThreadPoolExecutor threadPool;
+
+        @Setup(Level.Trial)
+        public void start() {
+            if(implementation.equals("fibonacci")) {
+                fibonacci = new FibonacciScheduler();
+            } else {
+                threadPool = new ScheduledThreadPoolExecutor(1);
+                threadPool.setRemoveOnCancelPolicy(true);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            if(fibonacci != null) {
+                fibonacci.close();
+            } else {
+                threadPool.shutdownNow();
+            }
+        }
+    }
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private SplittableRandom generator;
+    private FibonacciScheduler fibonacci;
+    private ScheduledThreadPoolExecutor threadPool;
+
+    /**
+     * The pending tasks of this thread. Only the array of the chosen implementation is used.
+     */
+    private FibonacciScheduler.ScheduledTask[] tasks;
+    private ScheduledFuture<?>[] futures;
+
+    @Setup(Level.Trial)
+    public void fill(Schedulers schedulers) {
+        generator = new SplittableRandom(size);
+        fibonacci = schedulers.fibonacci;
+        threadPool = schedulers.threadPool;
+        if(fibonacci != null) {
+            tasks = new FibonacciScheduler.ScheduledTask[size];
+        } else {
+            futures = new ScheduledFuture<?>[size];
+        }
+        for(int i = 0; i < size; i++) {
+            schedule(i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cancelAll() {
+        for(int i = 0; i < size; i++) {
+            if(fibonacci != null) {
+                tasks[i].cancel();
+            } else {
+                futures[i].cancel(false);
+            }
+        }
+    }
+
+    @Benchmark
+    public int scheduleThenCancel() {
+        int slot = generator.nextInt(size);
+        if(fibonacci != null) {
+            tasks[slot].cancel();
+        } else {
+            futures[slot].cancel(false);
+        }
+        schedule(slot);
+        return slot;
+    }
+
+    @Benchmark
+    public int reschedule() {
+        int slot = generator.nextInt(size);
+        long delay = nextDelay();
+        if(fibonacci != null) {
+            tasks[slot].reschedule(delay, TimeUnit.MILLISECONDS);
+        } else {
+            futures[slot].cancel(false);
+            futures[slot] = threadPool.schedule(NOTHING, delay, TimeUnit.MILLISECONDS);
+        }
+        return slot;
+    }
+
+    /**
+     * Schedules a new task into a slot of the pending array.
+     * @param slot the index of the task in the pending array.
+     */
+    private void schedule(int slot) {
+        long delay = nextDelay();
+        if(fibonacci != null) {
+            tasks[slot] = fibonacci.schedule(NOTHING, delay, TimeUnit.MILLISECONDS);
+        } else {
+            futures[slot] = threadPool.schedule(NOTHING, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private long nextDelay() {
+        return BASE_DELAY + generator.nextInt(1_000_000);
+    }
+}
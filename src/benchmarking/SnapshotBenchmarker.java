@@ -0,0 +1,69 @@
+package benchmarking;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import datastructures.FibonacciHeap;
+import datastructures.FibonacciHeapSnapshot;
+import datastructures.ValueCodec;
+
+/**
+ * Measures the throughput of {@link FibonacciHeapSnapshot} in MB/s and compares restoring
+ * a heap with rebuilding it by calling insert for every node followed by the extractMin
+ * that consolidates it. The heap has {@link Integer} values, so a record is 13 bytes.
+ * The snapshot is written to a temporary file, which is likely to stay in the page cache,
+ * so the numbers show the cost of encoding and decoding rather than of the disk. <br>
+ *
+ * Usage: {@code java benchmarking.SnapshotBenchmarker [size] [rounds]}
+ */
+public class SnapshotBenchmarker {
+
+    public static void main(String[] args) throws IOException {
+        final int size = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        final int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        if(size < 2 || rounds < 1) {
+            throw new IllegalArgumentException("Please ensure size is >= 2 and rounds is >= 1");
+        }
+        final Random generator = new Random(size);
+        final int[] keys = new int[size];
+        final Integer[] values = new Integer[size];
+        for(int i = 0; i < size; i++) {
+            keys[i] = generator.nextInt(Integer.MAX_VALUE);
+            values[i] = i;
+        }
+        final FibonacciHeap<Integer> heap = FibonacciHeap.of(keys, values);
+        heap.extractMin();
+
+        final Path file = Files.createTempFile("fibonacci-heap", ".snapshot");
+        try {
+            for(int round = 1; round <= rounds; round++) {
+                long start = System.nanoTime();
+                final long bytes = FibonacciHeapSnapshot.write(heap, file, ValueCodec.integers());
+                final long writeNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                final FibonacciHeap<Integer> restored = FibonacciHeapSnapshot.read(file, ValueCodec.integers());
+                final long readNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                final FibonacciHeap<Integer> rebuilt = new FibonacciHeap<>();
+                for(int i = 0; i < size; i++) {
+                    rebuilt.insert(values[i], keys[i]);
+                }
+                rebuilt.extractMin();
+                final long rebuildNanos = System.nanoTime() - start;
+
+                if(restored.size() != heap.size() || rebuilt.size() != heap.size()) {
+                    throw new IllegalStateException("Restored heap has the wrong size");
+                }
+                System.out.printf("round %d: %d nodes, %.1f MB: snapshot %.0f ms (%.0f MB/s), "
+                                + "restore %.0f ms (%.0f MB/s), rebuild by insert %.0f ms%n",
+                        round, size, bytes / 1e6, writeNanos / 1e6, bytes * 1e3 / writeNanos,
+                        readNanos / 1e6, bytes * 1e3 / readNanos, rebuildNanos / 1e6);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package benchmarking;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import datastructures.FibonacciHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares ways of reading the k smallest nodes of a live {@link FibonacciHeap} that must
+ * keep all of its nodes. {@link #peek()} uses {@link FibonacciHeap#peek(int)}, which walks
+ * the trees with a private frontier and writes nothing. {@link #extractReinsert()} calls
+ * extractMin k times and then inserts the values again, and
+ * {@link #batchExtractReinsert()} does the same with {@link FibonacciHeap#extractMin(int,
+ * java.util.function.Consumer)}. Both of those rebuild part of the trees on every call. <br>
+ *
+ * The heap is filled once per iteration, consolidated and given some cuts, so it has the
+ * shape of a heap that has been in use for a while.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class TopKBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    @Param({"10", "100", "1000"})
+    private int k;
+
+    private FibonacciHeap<Integer> heap;
+    private List<FibonacciHeap.Node<Integer>> extracted;
+
+    @Setup(Level.Iteration)
+    @SuppressWarnings("unchecked")
+    public void fill() {
+        SplittableRandom generator = new SplittableRandom(size);
+        heap = new FibonacciHeap<>();
+        FibonacciHeap.Node<Integer>[] nodes = new FibonacciHeap.Node[size];
+        nodes[0] = heap.insert(0, 0);
+        for(int i = 1; i < size; i++) {
+            nodes[i] = heap.insert(i, generator.nextInt(Integer.MAX_VALUE / 2) + size);
+        }
+        heap.extractMin(); // Removes node 0, so every other node stays in the heap.
+        for(int i = 0; i < size / 10; i++) {
+            FibonacciHeap.Node<Integer> node = nodes[generator.nextInt(1, size)];
+            heap.decreaseKey(node, node.getKey() - 1 - generator.nextInt(size));
+        }
+        extracted = new ArrayList<>(k);
+    }
+
+    @Benchmark
+    public List<FibonacciHeap.Node<Integer>> peek() {
+        return heap.peek(k);
+    }
+
+    @Benchmark
+    public int extractReinsert() {
+        extracted.clear();
+        for(int i = 0; i < k; i++) {
+            extracted.add(heap.extractMin());
+        }
+        return reinsert();
+    }
+
+    @Benchmark
+    public int batchExtractReinsert() {
+        extracted.clear();
+        heap.drainTo(extracted, k);
+        return reinsert();
+    }
+
+    /**
+     * Inserts every extracted value again under its old key.
+     * @return the key of the last node, so the work is not optimized away.
+     */
+    private int reinsert() {
+        int last = 0;
+        for(FibonacciHeap.Node<Integer> node : extracted) {
+            heap.insert(node.getValue(), node.getKey());
+            last = node.getKey();
+        }
+        return last;
+    }
+}
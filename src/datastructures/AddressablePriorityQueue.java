@@ -0,0 +1,88 @@
+package datastructures;
+
+/**
+ * A priority queue with {@code int} keys whose entries can be addressed after they are
+ * inserted: {@link #insert(Object, int)} returns a {@link Handle} that can later be passed
+ * to {@link #decreaseKey(Handle, int)} and {@link #delete(Handle)}. <br>
+ *
+ * Callers that only use this interface can switch between heap engines, e.g. with
+ * {@link AddressablePriorityQueues#create(String)}, without other changes. A handle is
+ * only valid for the queue that returned it and only while its entry is in the queue.
+ *
+ * @param <T> The type of the values stored in the queue. This can be any object type.
+ */
+public interface AddressablePriorityQueue<T> {
+
+    /**
+     * An entry of an {@link AddressablePriorityQueue}. Engines return their own handle
+     * type and only accept handles they created.
+     * @param <T> the type of the value.
+     */
+    interface Handle<T> {
+
+        T getValue();
+
+        int getKey();
+    }
+
+    /**
+     * Inserts a new entry.
+     * @param value the value of the new entry.
+     * @param key the key of the new entry.
+     * @return the handle of the new entry.
+     */
+    Handle<T> insert(T value, int key);
+
+    /**
+     * Returns the entry with the smallest key without removing it.
+     * @return the entry with the minimum key, or {@code null} if the queue is empty.
+     */
+    Handle<T> minimum();
+
+    /**
+     * Removes and returns the entry with the smallest key.
+     * @return the entry with the minimum key, or {@code null} if the queue is empty.
+     */
+    Handle<T> extractMin();
+
+    /**
+     * Decreases the key of an entry.
+     * @param handle the handle of an entry in this queue.
+     * @param newKey the new key, which must be smaller than the current key.
+     * @throws IllegalArgumentException If the new key is greater than or equal to the current
+     *                                  key, or the handle was not created by this engine.
+     */
+    void decreaseKey(Handle<T> handle, int newKey);
+
+    /**
+     * Removes an entry.
+     * @param handle the handle of an entry in this queue.
+     * @throws IllegalArgumentException If the handle was not created by this engine.
+     */
+    void delete(Handle<T> handle);
+
+    /**
+     * Moves every entry of other into this queue. Handles of other's entries stay valid
+     * for this queue, and other must not be used afterwards.
+     * @param other a queue of the same engine.
+     * @throws IllegalArgumentException If other is a different engine, or is this queue.
+     */
+    void union(AddressablePriorityQueue<T> other);
+
+    /**
+     * Returns the number of entries.
+     * @return the number of entries in the queue.
+     */
+    int size();
+
+    /**
+     * Checks if the queue is empty.
+     * @return {@code true} if the queue has no entries, {@code false} otherwise.
+     */
+    boolean isEmpty();
+
+    /**
+     * Removes every entry.
+     */
+    void clear();
+}
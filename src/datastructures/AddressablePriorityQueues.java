@@ -0,0 +1,83 @@
+package datastructures;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Creates {@link AddressablePriorityQueue} engines by name, so the engine can be chosen
+ * from configuration instead of in code. The built-in engines are {@code "fibonacci"}
+ * ({@link FibonacciHeap}) and {@code "pairing"} ({@link PairingHeap}); other engines can
+ * be added with {@link #register(String, Supplier)}.
+ */
+public final class AddressablePriorityQueues {
+
+    /**
+     * The configuration property read by {@link #create(Properties)}.
+     */
+    public static final String ENGINE_PROPERTY = "priorityQueue.engine";
+
+    /**
+     * The engine used when the configuration does not name one.
+     */
+    public static final String DEFAULT_ENGINE = "fibonacci";
+
+    private static final Map<String, Supplier<? extends AddressablePriorityQueue<?>>> ENGINES =
+            new ConcurrentHashMap<>();
+
+    static {
+        register(DEFAULT_ENGINE, FibonacciHeap::new);
+        register("pairing", PairingHeap::new);
+    }
+
+    private AddressablePriorityQueues() {
+    }
+
+    /**
+     * Adds an engine, or replaces the engine registered under the same name.
+     * @param name the name the engine is created by.
+     * @param factory creates a new, empty queue of the engine.
+     */
+    public static void register(String name, Supplier<? extends AddressablePriorityQueue<?>> factory) {
+        ENGINES.put(name, factory);
+    }
+
+    /**
+     * Returns the names of every registered engine.
+     * @return the engine names in alphabetical order.
+     */
+    public static Set<String> engines() {
+        return new TreeSet<>(ENGINES.keySet());
+    }
+
+    /**
+     * Creates an empty queue of the named engine.
+     * @param engine the name of a registered engine.
+     * @param <T> the type of the values.
+     * @return a new, empty queue.
+     * @throws IllegalArgumentException If no engine is registered under that name.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> AddressablePriorityQueue<T> create(String engine) {
+        Supplier<? extends AddressablePriorityQueue<?>> factory = ENGINES.get(engine);
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown priority queue engine " + engine + ", expected one of " + engines());
+        }
+        return (AddressablePriorityQueue<T>) factory.get();
+    }
+
+    /**
+     * Creates an empty queue of the engine named by the {@value #ENGINE_PROPERTY} property,
+     * or of {@value #DEFAULT_ENGINE} if the property is not set.
+     * @param config the configuration.
+     * @param <T> the type of the values.
+     * @return a new, empty queue.
+     * @throws IllegalArgumentException If no engine is registered under the configured name.
+     */
+    public static <T> AddressablePriorityQueue<T> create(Properties config) {
+        return create(config.getProperty(ENGINE_PROPERTY, DEFAULT_ENGINE).trim());
+    }
+}
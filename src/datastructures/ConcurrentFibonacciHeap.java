@@ -0,0 +1,326 @@
+package datastructures;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A thread-safe Fibonacci Heap that uses flat combining instead of locking the heap for
+ * every operation. <br>
+ *
+ * Each thread owns a request record in a shared publication list. To perform an operation
+ * a thread writes it into its record and then either becomes the combiner, by winning a
+ * single try-lock, or spins until another combiner has served the request. The combiner
+ * walks the publication list and applies every pending request to an ordinary
+ * {@link FibonacciHeap} in one batch. Only one thread touches the heap at a time, so
+ * under contention the heap stays in one core's cache and each lock hand-off serves a
+ * whole batch of requests instead of one. <br>
+ *
+ * The nodes returned by {@link #insert(Object, int)} and {@link #extractMin()} are the
+ * handles for {@link #decreaseKey(FibonacciHeap.Node, int)} and
+ * {@link #delete(FibonacciHeap.Node)}. Their keys are changed by the combiner thread,
+ * so reading {@link FibonacciHeap.Node#getKey()} while other threads use the heap
+ * may return a stale key. <br>
+ *
+ * A record is added to the publication list the first time a thread uses the heap. The
+ * combiner unlinks records that have been idle for {@link #MAX_IDLE_PASSES} combining
+ * passes, so threads that stopped using the heap, or died, do not slow down every later
+ * pass. A thread whose record was unlinked publishes it again on its next operation.
+ *
+ * @param <T> The type of the values stored in the heap. This can be any object type.
+ */
+public class ConcurrentFibonacciHeap<T> {
+
+    private static final int NONE = 0;
+    private static final int INSERT = 1;
+    private static final int MINIMUM = 2;
+    private static final int EXTRACT_MIN = 3;
+    private static final int DECREASE_KEY = 4;
+    private static final int DELETE = 5;
+
+    /**
+     * The number of times a waiting thread spins before it yields its time slice.
+     */
+    private static final int SPINS_BEFORE_YIELD = 256;
+
+    /**
+     * The number of combining passes after which a record that has not been used is
+     * removed from the publication list.
+     */
+    private static final int MAX_IDLE_PASSES = 1024;
+
+    /**
+     * The heap all operations are applied to. Only the combiner touches it.
+     */
+    private final FibonacciHeap<T> heap = new FibonacciHeap<>();
+
+    /**
+     * Held by the thread that is currently combining.
+     */
+    private final AtomicBoolean combining = new AtomicBoolean();
+
+    /**
+     * The head of the publication list, a stack of every thread's request record.
+     */
+    private final AtomicReference<Request<T>> publications = new AtomicReference<>();
+
+    /**
+     * The calling thread's request record, published by {@link #execute(Request, int)}.
+     */
+    private final ThreadLocal<Request<T>> requests = ThreadLocal.withInitial(Request::new);
+
+    /**
+     * The number of combining passes so far. Only the combiner touches it.
+     */
+    private int pass;
+
+    /**
+     * The size of the heap after the last combining pass.
+     */
+    private volatile int size;
+
+    /**
+     * A thread's slot in the publication list. The owner writes the arguments and then the
+     * volatile {@link #operation}; the combiner reads the operation, applies it, writes
+     * the result and then sets the operation back to {@link #NONE}. The volatile accesses
+     * order the plain fields in both directions.
+     * @param <T> the type of the values stored in the heap.
+     */
+    private static final class Request<T> {
+        private Request<T> next;
+        private volatile int operation;
+
+        /**
+         * Whether the record is in the publication list. Set by the owner before it pushes
+         * the record and cleared by the combiner after it unlinks the record.
+         */
+        private volatile boolean active;
+
+        /**
+         * The pass in which the combiner last applied an operation. Only the combiner touches it.
+         */
+        private int lastUsed;
+        private T value;
+        private int key;
+        private FibonacciHeap.Node<T> node;
+        private FibonacciHeap.Node<T> result;
+        private Throwable failure;
+    }
+
+    /**
+     * Inserts a new node into the heap.
+     * @param value the value of the new node.
+     * @param key the key of the new node.
+     * @return the new node.
+     * @see FibonacciHeap#insert(Object, int)
+     */
+    public FibonacciHeap.Node<T> insert(T value, int key) {
+        Request<T> request = requests.get();
+        request.value = value;
+        request.key = key;
+        return execute(request, INSERT);
+    }
+
+    /**
+     * Returns the minimum node in the heap.
+     * @return the node with the minimum key in the heap, or {@code null} if the heap is empty.
+     * @see FibonacciHeap#minimum()
+     */
+    public FibonacciHeap.Node<T> minimum() {
+        return execute(requests.get(), MINIMUM);
+    }
+
+    /**
+     * Removes and returns the node with the smallest key in the heap.
+     * @return the node with the smallest key, or {@code null} if the heap is empty.
+     * @see FibonacciHeap#extractMin()
+     */
+    public FibonacciHeap.Node<T> extractMin() {
+        return execute(requests.get(), EXTRACT_MIN);
+    }
+
+    /**
+     * Decreases the key value of a node in the heap.
+     * @param node the node whose key is to be decreased.
+     * @param newKey the new key value, which must be smaller than the current key.
+     * @throws IllegalArgumentException If the new key is greater than or equal to the current key.
+     * @see FibonacciHeap#decreaseKey(FibonacciHeap.Node, int)
+     */
+    public void decreaseKey(FibonacciHeap.Node<T> node, int newKey) {
+        Request<T> request = requests.get();
+        request.node = node;
+        request.key = newKey;
+        execute(request, DECREASE_KEY);
+    }
+
+    /**
+     * Deletes a node from the heap.
+     * @param node the node to be deleted.
+     * @see FibonacciHeap#delete(FibonacciHeap.Node)
+     */
+    public void delete(FibonacciHeap.Node<T> node) {
+        Request<T> request = requests.get();
+        request.node = node;
+        execute(request, DELETE);
+    }
+
+    /**
+     * Returns the number of nodes in the heap as of the last combining pass.
+     * @return the total number of nodes in the heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the heap was empty as of the last combining pass.
+     * @return {@code true} if the heap is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Publishes an operation in the caller's record and waits until it has been applied,
+     * combining all pending requests whenever the combiner lock is free. The record is
+     * pushed onto the publication list again whenever the combiner has unlinked it, which
+     * may happen after the operation was written but before the combiner saw it.
+     * @param request the caller's record, with the arguments already written.
+     * @param operation the operation to apply.
+     * @return the node produced by the operation, if any.
+     */
+    private FibonacciHeap.Node<T> execute(Request<T> request, int operation) {
+        request.operation = operation;
+        int spins = 0;
+        while (request.operation != NONE) {
+            if (!request.active) {
+                publish(request);
+            }
+            if (!combining.get() && combining.compareAndSet(false, true)) {
+                try {
+                    combine();
+                } finally {
+                    combining.set(false);
+                }
+            } else if (++spins % SPINS_BEFORE_YIELD == 0) {
+                Thread.yield();
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+
+        FibonacciHeap.Node<T> result = request.result;
+        Throwable failure = request.failure;
+        request.result = null;
+        request.failure = null;
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw new IllegalStateException(failure);
+        }
+        return result;
+    }
+
+    /**
+     * Applies every pending request in the publication list and unlinks the records that
+     * have been idle for too long. Must only be called by the thread holding {@link #combining}.
+     */
+    private void combine() {
+        pass++;
+        Request<T> previous = null;
+        for (Request<T> request = publications.get(); request != null; ) {
+            // Read before the record can be unlinked, because its owner may then push it
+            // again and overwrite next.
+            Request<T> next = request.next;
+            int operation = request.operation;
+            if (operation != NONE) {
+                request.lastUsed = pass;
+                apply(request, operation);
+                previous = request;
+            } else if (pass - request.lastUsed > MAX_IDLE_PASSES && unlink(previous, request, next)) {
+                request.active = false;
+            } else {
+                previous = request;
+            }
+            request = next;
+        }
+        size = heap.size();
+    }
+
+    /**
+     * Removes a record from the publication list. Records are only pushed at the head, so
+     * the head is the only link that other threads change and the only one that needs a CAS.
+     * @param previous the record before request, or {@code null} if request is the head.
+     * @param request the record to remove.
+     * @param next the record after request.
+     * @return {@code false} if request is the head and another thread has just pushed a record.
+     */
+    private boolean unlink(Request<T> previous, Request<T> request, Request<T> next) {
+        if (previous == null) {
+            return publications.compareAndSet(request, next);
+        }
+        previous.next = next;
+        return true;
+    }
+
+    /**
+     * Applies one request to the heap and hands the result back to its owner. Any failure,
+     * including an {@link Error}, is handed back too and rethrown by the owner, because the
+     * owner may be another thread spinning until its request is served.
+     * @param request a record with a pending operation.
+     * @param operation the pending operation.
+     */
+    private void apply(Request<T> request, int operation) {
+        try {
+            switch (operation) {
+                case INSERT:
+                    request.result = heap.insert(request.value, request.key);
+                    break;
+                case MINIMUM:
+                    request.result = heap.minimum();
+                    break;
+                case EXTRACT_MIN:
+                    request.result = heap.extractMin();
+                    break;
+                case DECREASE_KEY:
+                    heap.decreaseKey(request.node, request.key);
+                    break;
+                case DELETE:
+                    heap.delete(request.node);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown operation " + operation);
+            }
+        } catch (Throwable e) {
+            request.failure = e;
+        }
+        request.value = null;
+        request.node = null;
+        request.operation = NONE; // Must be last: releases the owner.
+    }
+
+    /**
+     * Pushes the calling thread's record onto the publication list.
+     * @param request a record that is not in the list.
+     */
+    private void publish(Request<T> request) {
+        request.active = true;
+        Request<T> head;
+        do {
+            head = publications.get();
+            request.next = head;
+        } while (!publications.compareAndSet(head, request));
+    }
+
+    /**
+     * Returns a string representation of the heap as of the last combining pass.
+     * @return a string with the size of the heap.
+     */
+    @Override
+    public String toString() {
+        return "ConcurrentFibonacciHeap{size=" + size + "}";
+    }
+}
@@ -0,0 +1,634 @@
+package datastructures;
+
+/**
+ * A {@link FibonacciHeap} whose keys are primitive {@code double}s, for fractional priorities
+ * such as edge weights. Keys are stored and compared as primitives, so there is no boxing
+ * and no {@code Comparator}. <br>
+ *
+ * Keys are ordered by {@code <}, so {@code -0.0} and {@code 0.0} are equal and NaN, which is
+ * not ordered with any key, is rejected. {@link #delete(Node)} removes a node without changing
+ * its key, so the infinities are valid keys.
+ *
+ * @param <T> The type of the values stored in the heap. This can be any object type.
+ */
+public class DoubleFibonacciHeap<T> {
+
+    /**
+     * The minimum node in the Fibonacci heap. This node has the smallest key value
+     * among all the nodes in the heap. The `min` node is used to efficiently perform
+     * the `extract-min` operation, which removes the node with the smallest key from the heap. <br>
+     *
+     * The `min` node is always maintained at the root level and is updated after
+     * each operation (e.g., insert, extract-min, etc.).
+     */
+    private Node<T> min;
+
+    /**
+     * The total number of nodes in the Fibonacci heap.
+     */
+    private int size;
+
+    /**
+     * The degree table used by {@link #consolidate()}, indexed by degree. It is kept between
+     * calls so consolidation does not allocate, and it is always empty outside of consolidation.
+     */
+    private Node<T>[] degreeTable;
+
+    /**
+     * The largest heap size {@link #degreeTable} is long enough for.
+     */
+    private int degreeTableLimit;
+
+    /**
+     * A node in a Fibonacci Heap which has a value and a key.
+     * A node has a reference to its left and right neighbors
+     * as well as its parent and child if any.
+     * @param <T> the type of the value.
+     */
+    public static final class Node<T> {
+
+        /**
+         * The value stored in the node. This is the data associated with the node,
+         * which may be of any generic type.
+         */
+        private final T value;
+
+        /**
+         * The key associated with the node. Used for ordering the node in the heap.
+         */
+        private double key;
+
+        /**
+         * The parent node of this node. This node's parent is the node in the heap's
+         * tree structure that directly points to one of its siblings in the child list.
+         * If the node is in the root list, this pointer is null.
+         */
+        private Node<T> parent;
+
+        /**
+         * The first child node of this node. If the node has no children, this pointer
+         * is null. The child pointer is used to represent the node's subtree.
+         */
+        private Node<T> child;
+
+        /**
+         * A pointer to the left sibling of this node in the doubly linked circular list
+         * of siblings. This is used to traverse the sibling list of a node.
+         */
+        private Node<T> left;
+
+        /**
+         * A pointer to the right sibling of this node in the doubly linked circular list
+         * of siblings. This is used to traverse the sibling list of a node.
+         */
+        private Node<T> right;
+
+        /**
+         * The degree of the node. Represents the number of direct children the node has.
+         * The degree is incremented when a new child is added to the node, and decremented
+         * when a child is removed.
+         */
+        private int degree;
+
+        /**
+         * A flag indicating whether the node has lost a child since it was last marked.
+         * This is used in the cascading cut mechanism during decrease-key operations.
+         * The node is marked after losing a child, and the mark is reset when the node
+         * is moved to the root list.
+         */
+        private boolean marked;
+
+        /**
+         * Initializes a Node with a value and key.
+         * Since the root list and child lists are doubly circular linked lists,
+         * left and right are automatically initialized to itself.
+         * @param value the data value to store.
+         * @param key the priority of this node.
+         */
+        public Node(T value, double key) {
+            this.key = key;
+            this.value = value;
+            left = this;
+            right = this;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public double getKey() {
+            return key;
+        }
+
+        /**
+         * Returns a string representation of the node.
+         * The representation includes the node's value, key, degree,
+         * and whether it is marked.
+         *
+         * @return a string representing the node's attributes.
+         */
+        @Override
+        public String toString() {
+            return "Node{value=" + value + ", key=" + key
+                    + ", degree=" + degree + ", marked=" + marked + "}";
+        }
+    }
+
+    /**
+     * Initializes a new Fibonacci Heap with a size of 0 and min points to null.
+     */
+    @SuppressWarnings("unchecked")
+    public DoubleFibonacciHeap() {
+        this.min = null;
+        this.size = 0;
+        this.degreeTable = new Node[0];
+        this.degreeTableLimit = 0;
+    }
+
+    /**
+     * Initializes a new Fibonacci Heap given a list of keys.
+     * @param keys every key to be added to the Fibonacci Heap.
+     */
+    public DoubleFibonacciHeap(double[] keys) {
+        this();
+        for (double key : keys) {
+            this.insert(null, key);
+        }
+    }
+
+    /**
+     * Inserts a new node in the root list to the right of the current minimum node.
+     * No consolidation is performed when a new node is inserted.
+     * Operation is performed in O(1) time. <br>
+     *
+     * Before: insert(..., 2) <br>
+     * min------------| <br>
+     * |-> (...) <-> (3) <-> (4) <-> (5) <-> (...) <-| <br>
+     * |---------------------------------------------| <br>
+     *
+     * After: <br>
+     * min--------------------| <br>
+     * |-> (...) <-> (3) <-> (2) <-> (4) <-> (5) <-> (...) <-| <br>
+     * |-----------------------------------------------------|
+     *
+     * @param value the value of the new node.
+     * @param key the key of the new node.
+     * @return the new node.
+     * @throws IllegalArgumentException If the key is NaN.
+     */
+    public Node<T> insert(T value, double key) {
+        checkKey(key);
+        Node<T> newNode = new Node<>(value, key);
+        addToRootList(newNode);
+        size++;
+        return newNode;
+    }
+
+    /**
+     * Merges 2 Fibonacci Heaps in O(1) time. Adds other's root list to the current root list.
+     * No consolidation is performed when union is called. Either heap may be empty.
+     * @param other the Fibonacci Heap which is being merged with the current Fibonacci Heap.
+     * @throws IllegalArgumentException If other is this heap.
+     */
+    public void union(DoubleFibonacciHeap<T> other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot union a heap with itself");
+        }
+        if (other.min != null) {
+            if (this.min == null) {
+                min = other.min;
+            } else {
+                Node<T> oldThisLeftNode = this.min.left;
+                Node<T> oldOtherLeftNode = other.min.left;
+                oldThisLeftNode.right = other.min;
+                other.min.left = oldThisLeftNode;
+                oldOtherLeftNode.right = this.min;
+                this.min.left = oldOtherLeftNode;
+                if (other.min.key < this.min.key) {
+                    min = other.min;
+                }
+            }
+            size = this.size + other.size;
+        }
+    }
+
+    /**
+     * Returns the minimum node in the Fibonacci heap.
+     * @return the node with the minimum key in the heap, or {@code null} if the heap is empty.
+     */
+    public Node<T> minimum() {
+        return min;
+    }
+
+    /**
+     * Removes and returns the node with the smallest key in the Fibonacci heap. <br>
+     *
+     * This method performs the following steps: <br>
+     * - Identifies the current minimum node in the heap. <br>
+     * - Moves all children of the minimum node to the root list of the heap,
+     *   resetting their parent pointers to {@code null}.
+     * - Removes the minimum node from the root list. <br>
+     * - If the heap is not empty after removal, selects a new minimum node
+     *   and calls {@link #consolidate()} to merge trees and restore heap structure. <br>
+     * - Updates the size of the heap. <br>
+     *
+     * If the heap is empty, this method returns {@code null}.
+     *
+     * @return The node with the smallest key, or {@code null} if the heap is empty.
+     */
+    public Node<T> extractMin() {
+        Node<T> extractedMin = min;
+        if (extractedMin != null) {
+
+            if (extractedMin.child != null) {
+                // Move all children of extractedMin to root list.
+                Node<T> current = extractedMin.child;
+                do {
+                    Node<T> next = current.right; // addToRootList updates right so save right before addToRootList is called.
+                    current.parent = null; // Set all the children of the new min to null since they are added to root list.
+                    addToRootList(current);
+                    current = next;
+                } while (current != extractedMin.child);
+            }
+            size--;
+
+            if (extractedMin.right == extractedMin) {
+                min = null; // no other nodes in heap so min is now null.
+            } else {
+                min.left.right = min.right;
+                min.right.left = min.left;
+                min = min.right; // arbitrary min, min will be updated in consolidate.
+
+                consolidate();
+            }
+        }
+        return extractedMin;
+    }
+
+    /**
+     * Returns the number of nodes in the Fibonacci heap.
+     * @return the total number of nodes in the Fibonacci heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the Fibonacci heap is empty.
+     * @return {@code true} if the Fibonacci heap is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return min == null;
+    }
+
+    /**
+     * Clears the Fibonacci heap, removing all nodes.
+     */
+    public void clear() {
+        min = null;
+        size = 0;
+    }
+
+    /**
+     * Decreases the key value of a given node in the Fibonacci Heap.
+     * If the new key value violates the heap property (i.e., the node's key
+     * becomes smaller than its parent's key), the node is cut from its parent
+     * and added to the root list. This may trigger cascading cuts on its ancestors
+     * if necessary.
+     *
+     * @param node The node whose key is to be decreased.
+     * @param newKey The new key value, which must be smaller than the current key.
+     * @throws IllegalArgumentException If the new key is NaN or greater than or equal to the current key.
+     */
+    public void decreaseKey(Node<T> node, double newKey) {
+        checkKey(newKey);
+        if (newKey >= node.key) {
+            throw new IllegalArgumentException("The new key must be less than the current key");
+        }
+
+        node.key = newKey;
+
+        if (node.parent != null && node.key < node.parent.key) {
+            cut(node, node.parent);
+        }
+
+        // A node that ties with its parent is not cut, and only roots may become min.
+        if (node.parent == null && node.key <= min.key) {
+            min = node;
+        }
+    }
+
+    /**
+     * Deletes a specified node from the Fibonacci Heap.
+     * Deleting the minimum is an {@link #extractMin()}. Any other node is cut from its parent
+     * without changing its key, which may trigger cascading cuts on its ancestors, and is then
+     * unlinked from the root list with its children spliced in its place. No consolidation is
+     * done, so deleting a non-min node is O(1) amortized. Because no sentinel key is needed,
+     * any key can be deleted.
+     *
+     * @param node The node to be deleted from the Fibonacci Heap.
+     */
+    public void delete(Node<T> node) {
+        if (node == min) {
+            extractMin();
+            return;
+        }
+        if (node.parent != null) {
+            cut(node, node.parent);
+        }
+        // node is now a root and not min, so min stays in the root list.
+        node.left.right = node.right;
+        node.right.left = node.left;
+        final Node<T> child = node.child;
+        if (child != null) {
+            Node<T> current = child;
+            do {
+                current.parent = null;
+                current.marked = false;
+                current = current.right;
+            } while (current != child);
+            // Children are never smaller than min, so min does not change.
+            final Node<T> oldMinLeft = min.left;
+            final Node<T> oldChildLeft = child.left;
+            oldMinLeft.right = child;
+            child.left = oldMinLeft;
+            oldChildLeft.right = min;
+            min.left = oldChildLeft;
+            node.child = null;
+            node.degree = 0;
+        }
+        node.left = node;
+        node.right = node;
+        size--;
+    }
+
+    /**
+     * Links two trees of the same degree by making node y a child of node x.
+     * This method is used in the consolidate step of the Fibonacci heap to
+     * reduce the number of trees in the root list by combining trees with the
+     * same degree.
+     * <p>
+     * The method assumes that the key of x is less than or equal to the key of y,
+     * making x the new parent of y. Node y is removed from the root list and added
+     * as a child of x, and the degree of x is incremented to reflect the addition
+     * of a new child.
+     *
+     * @param y The node to be made a child. This node will be removed from the root list.
+     * @param x The node that will become the parent of y. This node's degree will be increased.
+     */
+    private void link(Node<T> y, Node<T> x) {
+        y.right.left = y.left;
+        y.left.right = y.right;
+
+        y.parent = x;
+        x.degree++;
+        y.marked = false;
+
+        if (x.child == null) {
+            x.child = y;
+            y.left = y;
+            y.right = y;
+        } else {
+            y.left = x.child;
+            y.right = x.child.right;
+            x.child.right.left = y;
+            x.child.right = y;
+        }
+    }
+
+    /**
+     * Cuts the specified node from its parent and moves it to the root list.
+     * This operation is used during a decrease-key operation when a node
+     * violates the heap property. The cut method also handles cascading cuts
+     * if necessary, ensuring that any marked ancestors of the node are also
+     * cut and added to the root list.
+     *
+     * @param node The node to be cut from its parent and added to the root list.
+     * @param parent The parent of the node being cut.
+     */
+    private void cut(Node<T> node, Node<T> parent) {
+        if (node.right == node) {
+            parent.child = null;
+        } else {
+            node.right.left = node.left;
+            node.left.right = node.right;
+            if (parent.child == node) {
+                parent.child = node.right;
+            }
+        }
+
+        parent.degree--;
+        node.parent = null;
+        node.marked = false;
+
+        addToRootList(node);
+
+        // Ensure we aren't going to cascade cut a node in the root list
+        if (parent.parent != null) {
+            if (parent.marked) { // Perform a cascading cut if the parent is marked already
+                cut(parent, parent.parent);
+            } else {
+                parent.marked = true;
+            }
+        }
+    }
+
+    /**
+     * Consolidates the trees in the Fibonacci heap. This operation merges trees of the same degree
+     * in the root list into a single tree, ensuring that there is only one tree of each degree in the
+     * root list. The method iterates over all the root nodes, links trees of the same degree, and updates
+     * the minimum node. After consolidation, the heap will have a set of trees with unique degrees,
+     * and the root list will contain the consolidated trees.
+     * <p>
+     * The root list is walked in place: each root's right neighbor is saved before the root can be
+     * linked away, and only roots that have already been visited are ever linked under another root,
+     * so the saved neighbor is always still in the root list. The degree table is kept between calls
+     * and only reallocated when the heap has grown past the size it was sized for, so consolidation
+     * does not allocate.
+     * <p>
+     * This operation maintains the Fibonacci heap property and reduces the number of trees in the root list.
+     * The time complexity of this operation is O(log n), where n is the number of nodes in the heap.
+     *
+     * @see #link(Node, Node)
+     */
+    private void consolidate() {
+        if (size > degreeTableLimit) {
+            growDegreeTable();
+        }
+
+        int rootCount = 0;
+        Node<T> current = min;
+        do {
+            rootCount++;
+            current = current.right;
+        } while (current != min);
+
+        // Consolidate the trees in the root list
+        for (int i = 0; i < rootCount; i++) {
+            final Node<T> next = current.right;
+            Node<T> node = current;
+            int degree = node.degree;
+            while (degreeTable[degree] != null) {
+                Node<T> collisionNode = degreeTable[degree];
+                degreeTable[degree] = null;
+
+                if (collisionNode.key < node.key) {
+                    Node<T> swap = node;
+                    node = collisionNode;
+                    collisionNode = swap;
+                }
+                link(collisionNode, node);
+                degree++;
+            }
+            degreeTable[degree] = node;
+            current = next;
+        }
+
+        // The roots left in the table are the whole root list; find min and empty the table.
+        min = null;
+        for (int degree = 0; degree < degreeTable.length; degree++) {
+            Node<T> node = degreeTable[degree];
+            if (node != null) {
+                if (min == null || node.key < min.key) {
+                    min = node;
+                }
+                degreeTable[degree] = null;
+            }
+        }
+    }
+
+    /**
+     * Grows the degree table so it can hold every degree possible in a heap of the
+     * current size. A node of degree k has at least F(k + 2) descendants, where F is
+     * the Fibonacci sequence, so the largest degree is the largest k with F(k + 2) <= size.
+     */
+    @SuppressWarnings("unchecked")
+    private void growDegreeTable() {
+        int maxDegree = 0;
+        long previous = 1; // F(2)
+        long current = 2; // F(3)
+        while (current <= size) {
+            long next = previous + current;
+            previous = current;
+            current = next;
+            maxDegree++;
+        }
+        degreeTable = new Node[maxDegree + 1];
+        degreeTableLimit = (int) Math.min(current - 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Rejects keys that cannot be ordered.
+     * @param key the key to check.
+     * @throws IllegalArgumentException If the key is NaN.
+     */
+    private static void checkKey(double key) {
+        if (Double.isNaN(key)) {
+            throw new IllegalArgumentException("The key must not be NaN");
+        }
+    }
+
+    /**
+     * Adds a single node to the root list and updates min.
+     * This node will be added to the right of the current node.
+     * @param node a node with no neighbors.
+     */
+    private void addToRootList(Node<T> node) {
+        if (min != null) {
+            node.left = min;
+            node.right = min.right;
+            min.right.left = node;
+            min.right = node;
+            if (node.key < min.key) {
+                min = node;
+            }
+        } else {
+            min = node;
+        }
+    }
+
+    /**
+     * Returns a string representation of the Fibonacci heap.
+     * The representation includes the minimum node (if present),
+     * the heap structure with children, and the overall size of the heap.
+     *
+     * @return a string representing the current state of the Fibonacci heap.
+     */
+    @Override
+    public String toString() {
+        StringBuilder str = new StringBuilder();
+        str.append("DoubleFibonacciHeap{[");
+        if (min != null) {
+            str.append("Min");
+            appendNode(str, min, false);
+        }
+        str.append("], size=").append(size).append("}");
+        return str.toString();
+    }
+
+    /**
+     * Appends a representation of a node and its siblings to the provided StringBuilder.
+     * Each node's structure, including its children (if present), is included.
+     * The method processes the circular doubly-linked list of nodes.
+     *
+     * @param str the {@code StringBuilder} to which the nodes will be appended.
+     * @param node the starting node in the circular doubly-linked list to process.
+     * @param keyOnly true if only printing the key, false if printing all node information
+     */
+    private void appendNode(StringBuilder str, Node<T> node, boolean keyOnly) {
+        Node<T> current = node;
+        do {
+            if (current != min && current.parent == null) {
+                str.append("Root");
+            }
+
+            if (keyOnly) {
+                str.append("{").append(current.key).append("}");
+            } else {
+                str.append(current);
+            }
+
+            if (current.child != null) {
+                appendChildren(str, current.child, keyOnly);
+            }
+
+            if (current.right != node) {
+                str.append(", ");
+            }
+
+            current = current.right;
+        } while (current != node);
+    }
+
+    /**
+     * Appends a representation of the children of a given node to the provided StringBuilder.
+     * The children are recursively processed to include their structure in the heap.
+     *
+     * @param str the {@code StringBuilder} to which the child nodes will be appended.
+     * @param child the first child node to process.
+     * @param keyOnly true if only printing the key, false if printing all node information
+     */
+    private void appendChildren(StringBuilder str, Node<T> child, boolean keyOnly) {
+        str.append(":[");
+        appendNode(str, child, keyOnly);
+        str.append("]");
+    }
+
+    /**
+     * Returns a string representation of the Fibonacci Heap,
+     * focusing only on the keys of the nodes.
+     * The representation includes the minimum node (if present) and the overall size of the heap.
+     *
+     * @return a string representing the keys of the nodes in the Fibonacci heap.
+     */
+    public String toKeyString() {
+        StringBuilder str = new StringBuilder();
+        str.append("DoubleFibonacciHeap{[");
+        if (min != null) {
+            str.append("Min");
+            appendNode(str, min, true);
+        }
+        str.append("], size=").append(size).append("}");
+        return str.toString();
+    }
+}
\ No newline at end of file
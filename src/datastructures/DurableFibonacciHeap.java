@@ -0,0 +1,927 @@
+package datastructures;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * A {@link FibonacciHeap} that survives crashes by appending every insert, decreaseKey,
+ * delete and extractMin to a write-ahead log before applying it. <br>
+ *
+ * Every node gets a 64-bit id that never changes and is never reused, so a log record
+ * names the node it affects and {@link #get(long)} finds a node again after a restart.
+ * {@link #open} loads the latest snapshot, replays the log written since, and cuts off a
+ * record torn by a crash. When the log grows past the compaction threshold, or when
+ * {@link #compact()} is called, the heap is written as a {@link FibonacciHeapSnapshot}
+ * and a new, empty log is started. <br>
+ *
+ * Records are gathered in memory and written in batches. How often they are forced to
+ * disk is set by an {@link FsyncPolicy}. With {@link FsyncPolicy#always()} an operation
+ * returns only once its record is on disk, but threads waiting at the same time share a
+ * single fsync (group commit): while one thread forces the log, records keep being
+ * appended, and the next fsync covers all of them. <br>
+ *
+ * The heap is thread-safe. Operations that fail to write the log throw an
+ * {@link UncheckedIOException}, and every later operation throws an
+ * {@link IllegalStateException}, because memory and disk may no longer agree.
+ *
+ * @param <T> The type of the values stored in the heap.
+ */
+public class DurableFibonacciHeap<T> implements AutoCloseable {
+
+    /**
+     * "FHWL" in ASCII, the first four bytes of every log.
+     */
+    static final int LOG_MAGIC = 0x4648574C;
+
+    /**
+     * The version of the log format.
+     */
+    static final int LOG_VERSION = 1;
+
+    /**
+     * The log header: magic, version and the next id when the log was started.
+     */
+    static final int LOG_HEADER_SIZE = 16;
+
+    /**
+     * The log size at which the heap is compacted when no threshold is given.
+     */
+    public static final long DEFAULT_COMPACTION_THRESHOLD = 64L << 20;
+
+    private static final byte INSERT = 1;
+    private static final byte DECREASE_KEY = 2;
+    private static final byte DELETE = 3;
+    private static final byte EXTRACT_MIN = 4;
+
+    /**
+     * The length of a record body without an inserted value: op, id and key.
+     */
+    private static final int BODY_SIZE = 1 + Long.BYTES + Integer.BYTES;
+
+    /**
+     * Records are written to the log once this many bytes are pending, even if they are
+     * not forced yet.
+     */
+    private static final int WRITE_THRESHOLD = 64 << 10;
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String LOG_PREFIX = "log-";
+
+    /**
+     * A node of the heap and its stable id.
+     * @param <T> the type of the value.
+     */
+    public static final class Handle<T> {
+        private final long id;
+        private final T value;
+        private FibonacciHeap.Node<Handle<T>> node;
+
+        private Handle(long id, T value) {
+            this.id = id;
+            this.value = value;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * Returns the key of the node. The key is changed under the heap's lock, so this
+         * may be stale while other threads decrease it.
+         * @return the key of the node.
+         */
+        public int getKey() {
+            return node.getKey();
+        }
+
+        @Override
+        public String toString() {
+            return "Handle{id=" + id + ", value=" + value + ", key=" + node.getKey() + "}";
+        }
+    }
+
+    /**
+     * When the log is forced to disk.
+     */
+    public static final class FsyncPolicy {
+        private static final FsyncPolicy ALWAYS = new FsyncPolicy(0);
+        private static final FsyncPolicy NONE = new FsyncPolicy(-1);
+
+        /**
+         * 0 to force before every operation returns, -1 to never force, otherwise the
+         * time between background fsyncs in milliseconds.
+         */
+        private final long intervalMillis;
+
+        private FsyncPolicy(long intervalMillis) {
+            this.intervalMillis = intervalMillis;
+        }
+
+        /**
+         * Every operation waits until its record is on disk. Nothing acknowledged is lost.
+         * @return the policy.
+         */
+        public static FsyncPolicy always() {
+            return ALWAYS;
+        }
+
+        /**
+         * A background thread forces the log every intervalMillis. A crash loses at most
+         * the operations of the last interval.
+         * @param intervalMillis the time between fsyncs in milliseconds.
+         * @return the policy.
+         * @throws IllegalArgumentException if intervalMillis is not positive.
+         */
+        public static FsyncPolicy periodic(long intervalMillis) {
+            if (intervalMillis <= 0) {
+                throw new IllegalArgumentException("The interval must be positive");
+            }
+            return new FsyncPolicy(intervalMillis);
+        }
+
+        /**
+         * The log is only forced on {@link #sync()}, {@link #compact()} and {@link #close()}.
+         * Records survive a crash of the process once written, but not of the machine.
+         * @return the policy.
+         */
+        public static FsyncPolicy none() {
+            return NONE;
+        }
+
+        @Override
+        public String toString() {
+            return intervalMillis == 0 ? "always" : intervalMillis < 0 ? "none" : "periodic(" + intervalMillis + "ms)";
+        }
+    }
+
+    private final Path directory;
+    private final ValueCodec<T> codec;
+    private final FsyncPolicy policy;
+    private final long compactionThreshold;
+
+    /**
+     * Guards the heap, the handles, nextId, the pending records and appendedSequence.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Held while writing or forcing the log, or compacting. Taken before {@link #lock}
+     * when both are needed.
+     */
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private final FibonacciHeap<Handle<T>> heap;
+    private final Map<Long, Handle<T>> handles = new HashMap<>();
+    private final CRC32 crc = new CRC32();
+    private long nextId;
+
+    /**
+     * Records appended but not yet written. Swapped with {@link #standby} by each write.
+     */
+    private ByteBuffer pending = ByteBuffer.allocate(WRITE_THRESHOLD);
+    private ByteBuffer standby = ByteBuffer.allocate(WRITE_THRESHOLD);
+
+    /**
+     * The number of records appended, written to the log and forced to disk.
+     */
+    private long appendedSequence;
+    private long writtenSequence;
+    private volatile long durableSequence;
+
+    private FileChannel log;
+    private long generation;
+    private volatile long logBytes;
+
+    /**
+     * Forces the log in the background, or {@code null} unless the policy is periodic.
+     */
+    private final ScheduledExecutorService syncer;
+
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    /**
+     * Opens the heap stored in a directory, creating it if needed, and compacts after
+     * {@link #DEFAULT_COMPACTION_THRESHOLD} bytes of log.
+     * @param directory the directory holding the snapshot and the log.
+     * @param codec turns values into bytes and back.
+     * @param policy when the log is forced to disk.
+     * @param <T> the type of the values.
+     * @return the recovered heap.
+     * @throws IOException if the files cannot be read or are corrupt.
+     */
+    public static <T> DurableFibonacciHeap<T> open(Path directory, ValueCodec<T> codec, FsyncPolicy policy)
+            throws IOException {
+        return open(directory, codec, policy, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Opens the heap stored in a directory, creating it if needed.
+     * @param directory the directory holding the snapshot and the log.
+     * @param codec turns values into bytes and back.
+     * @param policy when the log is forced to disk.
+     * @param compactionThreshold the log size in bytes after which the heap is compacted.
+     * @param <T> the type of the values.
+     * @return the recovered heap.
+     * @throws IOException if the files cannot be read or are corrupt.
+     * @throws IllegalArgumentException if compactionThreshold is not positive.
+     */
+    public static <T> DurableFibonacciHeap<T> open(Path directory, ValueCodec<T> codec, FsyncPolicy policy,
+                                                   long compactionThreshold) throws IOException {
+        if (compactionThreshold <= 0) {
+            throw new IllegalArgumentException("The compaction threshold must be positive");
+        }
+        return new DurableFibonacciHeap<>(directory, codec, policy, compactionThreshold);
+    }
+
+    private DurableFibonacciHeap(Path directory, ValueCodec<T> codec, FsyncPolicy policy,
+                                 long compactionThreshold) throws IOException {
+        this.directory = directory;
+        this.codec = codec;
+        this.policy = policy;
+        this.compactionThreshold = compactionThreshold;
+        Files.createDirectories(directory);
+
+        generation = latestSnapshotGeneration();
+        final Path snapshot = snapshotPath(generation);
+        if (Files.exists(snapshot)) {
+            heap = FibonacciHeapSnapshot.read(snapshot, new HandleCodec(), node -> {
+                Handle<T> handle = node.getValue();
+                handle.node = node;
+                handles.put(handle.id, handle);
+                nextId = Math.max(nextId, handle.id + 1);
+            });
+        } else {
+            heap = new FibonacciHeap<>();
+        }
+        final Path logPath = logPath(generation);
+        if (Files.exists(logPath) && Files.size(logPath) >= LOG_HEADER_SIZE) {
+            log = FileChannel.open(logPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            replay(logPath);
+        } else {
+            log = createLog(generation);
+        }
+        logBytes = log.position();
+        deleteOtherGenerations();
+
+        if (policy.intervalMillis > 0) {
+            syncer = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "DurableFibonacciHeap-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            syncer.scheduleWithFixedDelay(this::backgroundSync, policy.intervalMillis, policy.intervalMillis,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            syncer = null;
+        }
+    }
+
+    /**
+     * Inserts a new node with a new id and logs it.
+     * @param value the value of the new node.
+     * @param key the key of the new node.
+     * @return the handle of the new node.
+     * @throws UncheckedIOException if the log cannot be written.
+     */
+    public Handle<T> insert(T value, int key) {
+        final Handle<T> handle;
+        final long sequence;
+        final boolean full;
+        lock.lock();
+        try {
+            checkOpen();
+            handle = new Handle<>(nextId, value);
+            sequence = append(INSERT, handle.id, key, value);
+            nextId++;
+            handle.node = heap.insert(handle, key);
+            handles.put(handle.id, handle);
+            full = pending.position() >= WRITE_THRESHOLD;
+        } finally {
+            lock.unlock();
+        }
+        finish(sequence, full);
+        return handle;
+    }
+
+    /**
+     * Returns the node with the smallest key without removing it.
+     * @return the handle of the minimum node, or {@code null} if the heap is empty.
+     */
+    public Handle<T> minimum() {
+        lock.lock();
+        try {
+            FibonacciHeap.Node<Handle<T>> min = heap.minimum();
+            return min == null ? null : min.getValue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the node with the smallest key and logs it.
+     * @return the handle of the removed node, or {@code null} if the heap is empty.
+     * @throws UncheckedIOException if the log cannot be written.
+     */
+    public Handle<T> extractMin() {
+        final Handle<T> handle;
+        final long sequence;
+        final boolean full;
+        lock.lock();
+        try {
+            checkOpen();
+            FibonacciHeap.Node<Handle<T>> min = heap.minimum();
+            if (min == null) {
+                return null;
+            }
+            handle = min.getValue();
+            sequence = append(EXTRACT_MIN, handle.id, 0, null);
+            heap.extractMin();
+            handles.remove(handle.id);
+            full = pending.position() >= WRITE_THRESHOLD;
+        } finally {
+            lock.unlock();
+        }
+        finish(sequence, full);
+        return handle;
+    }
+
+    /**
+     * Decreases the key of a node and logs it.
+     * @param handle the handle of a node in this heap.
+     * @param newKey the new key, which must be smaller than the current key.
+     * @throws IllegalArgumentException if the node is not in the heap or the new key is
+     * greater than or equal to the current key.
+     * @throws UncheckedIOException if the log cannot be written.
+     */
+    public void decreaseKey(Handle<T> handle, int newKey) {
+        decreaseKey(handle.id, newKey);
+    }
+
+    /**
+     * Decreases the key of the node with the given id and logs it.
+     * @param id the id of a node in this heap.
+     * @param newKey the new key, which must be smaller than the current key.
+     * @throws IllegalArgumentException if no node has this id or the new key is greater
+     * than or equal to the current key.
+     * @throws UncheckedIOException if the log cannot be written.
+     */
+    public void decreaseKey(long id, int newKey) {
+        final long sequence;
+        final boolean full;
+        lock.lock();
+        try {
+            checkOpen();
+            Handle<T> handle = liveHandle(id);
+            if (newKey >= handle.node.getKey()) {
+                throw new IllegalArgumentException("The new key must be less than the current key");
+            }
+            sequence = append(DECREASE_KEY, id, newKey, null);
+            heap.decreaseKey(handle.node, newKey);
+            full = pending.position() >= WRITE_THRESHOLD;
+        } finally {
+            lock.unlock();
+        }
+        finish(sequence, full);
+    }
+
+    /**
+     * Removes a node and logs it.
+     * @param handle the handle of a node in this heap.
+     * @throws IllegalArgumentException if the node is not in the heap.
+     * @throws UncheckedIOException if the log cannot be written.
+     */
+    public void delete(Handle<T> handle) {
+        delete(handle.id);
+    }
+
+    /**
+     * Removes the node with the given id and logs it.
+     * @param id the id of a node in this heap.
+     * @throws IllegalArgumentException if no node has this id.
+     * @throws UncheckedIOException if the log cannot be written.
+     */
+    public void delete(long id) {
+        final long sequence;
+        final boolean full;
+        lock.lock();
+        try {
+            checkOpen();
+            Handle<T> handle = liveHandle(id);
+            sequence = append(DELETE, id, 0, null);
+            heap.delete(handle.node);
+            handles.remove(id);
+            full = pending.position() >= WRITE_THRESHOLD;
+        } finally {
+            lock.unlock();
+        }
+        finish(sequence, full);
+    }
+
+    /**
+     * Finds a node by its id.
+     * @param id the id of the node.
+     * @return the handle of the node, or {@code null} if no node in the heap has this id.
+     */
+    public Handle<T> get(long id) {
+        lock.lock();
+        try {
+            return handles.get(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of nodes in the heap.
+     * @return the total number of nodes in the heap.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return heap.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks if the heap is empty.
+     * @return {@code true} if the heap is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Writes every logged operation and forces the log to disk, whatever the policy.
+     * @throws IOException if the log cannot be written.
+     */
+    public void sync() throws IOException {
+        final long sequence;
+        lock.lock();
+        try {
+            checkOpen();
+            sequence = appendedSequence;
+        } finally {
+            lock.unlock();
+        }
+        flush(sequence, true);
+    }
+
+    /**
+     * Writes the heap as a snapshot and starts a new, empty log. Operations wait while
+     * the snapshot is written. The snapshot is written to a temporary file and renamed,
+     * so a crash leaves either the old snapshot and log or the new ones.
+     * @throws IOException if the snapshot or the new log cannot be written.
+     */
+    public void compact() throws IOException {
+        compact(0);
+    }
+
+    /**
+     * Compacts unless the log is smaller than minimumLogBytes, which is checked again once
+     * no other thread is writing, so that threads crossing the threshold together compact once.
+     */
+    private void compact(long minimumLogBytes) throws IOException {
+        syncLock.lock();
+        try {
+            lock.lock();
+            try {
+                checkOpen();
+                if (logBytes < minimumLogBytes) {
+                    return;
+                }
+                writePending();
+                final long next = generation + 1;
+                final Path temporary = directory.resolve(SNAPSHOT_PREFIX + next + ".tmp");
+                FibonacciHeapSnapshot.write(heap, temporary, new HandleCodec());
+                // Ids of extracted nodes are not in the snapshot, so the new log, whose header
+                // holds nextId, must be on disk before the rename makes the snapshot current. A log left without its
+                // snapshot by a crash is deleted on the next open.
+                final FileChannel newLog = createLog(next);
+                try {
+                    syncDirectory();
+                    Files.move(temporary, snapshotPath(next), StandardCopyOption.ATOMIC_MOVE);
+                    syncDirectory();
+                } catch (IOException e) {
+                    newLog.close();
+                    throw e;
+                }
+                log.close();
+                log = newLog;
+                logBytes = log.position();
+                durableSequence = writtenSequence;
+                generation = next;
+                deleteOtherGenerations();
+            } finally {
+                lock.unlock();
+            }
+        } catch (IOException e) {
+            failure = e;
+            throw e;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Stops the background sync, forces every logged operation to disk and closes the log.
+     * Calling close again has no effect.
+     * @throws IOException if the log cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        final long sequence;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            sequence = appendedSequence;
+        } finally {
+            lock.unlock();
+        }
+        if (syncer != null) {
+            syncer.shutdown();
+            try {
+                syncer.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        syncLock.lock();
+        try {
+            if (failure == null) {
+                flush(sequence, true);
+            }
+            log.close();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DurableFibonacciHeap{directory=" + directory + ", policy=" + policy + ", size=" + size() + "}";
+    }
+
+    /**
+     * Encodes a record into {@link #pending}: the body length, the CRC32 of the body, and
+     * the body (op, id, key and, for inserts, the value length and bytes).
+     * Must be called with {@link #lock} held.
+     * @return the sequence number of the record.
+     */
+    private long append(byte op, long id, int key, T value) {
+        final int valueLength = op != INSERT || value == null ? -1 : codec.encodedSize(value);
+        final int bodyLength = BODY_SIZE + (op == INSERT ? Integer.BYTES + Math.max(valueLength, 0) : 0);
+        if (pending.remaining() < 2 * Integer.BYTES + bodyLength) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + 2 * Integer.BYTES + bodyLength));
+            pending.flip();
+            pending = grown.put(pending);
+        }
+        final int start = pending.position();
+        pending.putInt(bodyLength).putInt(0).put(op).putLong(id).putInt(key);
+        if (op == INSERT) {
+            pending.putInt(valueLength);
+            if (value != null) {
+                try {
+                    codec.encode(value, pending);
+                } catch (RuntimeException e) {
+                    pending.position(start);
+                    throw e;
+                }
+                if (pending.position() - start - 2 * Integer.BYTES != bodyLength) {
+                    pending.position(start);
+                    throw new IllegalStateException("The codec wrote a different number of bytes than it reported");
+                }
+            }
+        }
+        crc.reset();
+        crc.update(pending.array(), start + 2 * Integer.BYTES, bodyLength);
+        pending.putInt(start + Integer.BYTES, (int) crc.getValue());
+        return ++appendedSequence;
+    }
+
+    /**
+     * Makes a record as durable as the policy asks for, writes the pending records if
+     * there are many, and compacts if the log has grown past the threshold.
+     * Must be called without {@link #lock} held.
+     */
+    private void finish(long sequence, boolean full) {
+        try {
+            if (policy.intervalMillis == 0) {
+                flush(sequence, true);
+            } else if (full) {
+                flush(sequence, false);
+            }
+            if (logBytes >= compactionThreshold) {
+                compact(compactionThreshold);
+            }
+        } catch (IOException e) {
+            failure = e;
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the pending records and forces them if force is true, unless another thread
+     * already did so for every record up to target. Threads that arrive while one thread
+     * is forcing the log wait here and are usually covered by the next fsync.
+     */
+    private void flush(long target, boolean force) throws IOException {
+        syncLock.lock();
+        try {
+            if (force ? durableSequence >= target : writtenSequence >= target) {
+                return;
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            writePending();
+            if (force) {
+                log.force(false);
+                durableSequence = writtenSequence;
+            }
+        } catch (IOException e) {
+            failure = e;
+            throw e;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Swaps the pending buffer for the empty standby one and writes it to the log.
+     * Must be called with {@link #syncLock} held; takes {@link #lock} only for the swap.
+     */
+    private void writePending() throws IOException {
+        final ByteBuffer batch;
+        final long sequence;
+        lock.lock();
+        try {
+            batch = pending;
+            pending = standby;
+            standby = batch;
+            sequence = appendedSequence;
+        } finally {
+            lock.unlock();
+        }
+        batch.flip();
+        while (batch.hasRemaining()) {
+            logBytes += log.write(batch);
+        }
+        batch.clear();
+        writtenSequence = sequence;
+    }
+
+    private void backgroundSync() {
+        try {
+            final long sequence;
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                sequence = appendedSequence;
+            } finally {
+                lock.unlock();
+            }
+            flush(sequence, true);
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    /**
+     * Applies every complete record of the log to the heap, then truncates the log after
+     * the last one, which drops a record torn by a crash, and leaves the channel there.
+     */
+    private void replay(Path logPath) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(log), 1 << 16));
+        if (in.readInt() != LOG_MAGIC || in.readInt() != LOG_VERSION) {
+            throw new IOException("Not a DurableFibonacciHeap log: " + logPath);
+        }
+        nextId = Math.max(nextId, in.readLong());
+        final long size = log.size();
+        long valid = LOG_HEADER_SIZE;
+        byte[] body = new byte[BODY_SIZE];
+        while (true) {
+            final int bodyLength;
+            final int checksum;
+            try {
+                bodyLength = in.readInt();
+                checksum = in.readInt();
+            } catch (EOFException e) {
+                break;
+            }
+            if (bodyLength < BODY_SIZE || bodyLength > size - valid - 2 * Integer.BYTES) {
+                break;
+            }
+            if (body.length < bodyLength) {
+                body = new byte[bodyLength];
+            }
+            if (in.readNBytes(body, 0, bodyLength) < bodyLength) {
+                break;
+            }
+            crc.reset();
+            crc.update(body, 0, bodyLength);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            apply(ByteBuffer.wrap(body, 0, bodyLength), logPath);
+            valid += 2 * Integer.BYTES + bodyLength;
+        }
+        log.truncate(valid);
+        log.position(valid);
+    }
+
+    /**
+     * Applies one logged operation to the heap without logging it again.
+     */
+    private void apply(ByteBuffer record, Path logPath) throws IOException {
+        final byte op = record.get();
+        final long id = record.getLong();
+        final int key = record.getInt();
+        if (op == INSERT) {
+            final int valueLength = record.getInt();
+            T value = null;
+            if (valueLength >= 0) {
+                value = codec.decode(record.slice(record.position(), valueLength));
+            }
+            final Handle<T> handle = new Handle<>(id, value);
+            handle.node = heap.insert(handle, key);
+            handles.put(id, handle);
+            nextId = Math.max(nextId, id + 1);
+            return;
+        }
+        final Handle<T> handle = handles.get(id);
+        if (handle == null) {
+            throw new IOException("Corrupt log, unknown id " + id + ": " + logPath);
+        }
+        switch (op) {
+            case DECREASE_KEY:
+                heap.decreaseKey(handle.node, key);
+                break;
+            case DELETE:
+                heap.delete(handle.node);
+                handles.remove(id);
+                break;
+            case EXTRACT_MIN:
+                // Replay is deterministic, so the same node must be the minimum again.
+                if (heap.extractMin() != handle.node) {
+                    throw new IOException("Corrupt log, node " + id + " is not the minimum: " + logPath);
+                }
+                handles.remove(id);
+                break;
+            default:
+                throw new IOException("Corrupt log, unknown operation " + op + ": " + logPath);
+        }
+    }
+
+    /**
+     * Creates an empty log for a generation, with the current next id in its header.
+     */
+    private FileChannel createLog(long generation) throws IOException {
+        final FileChannel channel = FileChannel.open(logPath(generation), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        final ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_SIZE);
+        header.putInt(LOG_MAGIC).putInt(LOG_VERSION).putLong(nextId).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(true);
+        return channel;
+    }
+
+    private Path snapshotPath(long generation) {
+        return directory.resolve(SNAPSHOT_PREFIX + generation);
+    }
+
+    private Path logPath(long generation) {
+        return directory.resolve(LOG_PREFIX + generation);
+    }
+
+    /**
+     * Returns the newest generation with a snapshot, or 0 if there is none.
+     */
+    private long latestSnapshotGeneration() throws IOException {
+        long latest = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SNAPSHOT_PREFIX + "*")) {
+            for (Path file : files) {
+                long generation = parseGeneration(file, SNAPSHOT_PREFIX);
+                latest = Math.max(latest, generation);
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Deletes the snapshots and logs of every other generation, and leftover temporary
+     * snapshots, whose names do not parse as a generation.
+     */
+    private void deleteOtherGenerations() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if ((name.startsWith(SNAPSHOT_PREFIX) && parseGeneration(file, SNAPSHOT_PREFIX) != generation)
+                        || (name.startsWith(LOG_PREFIX) && parseGeneration(file, LOG_PREFIX) != generation)) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the generation in a file name, or -1 if the name has another form.
+     */
+    private static long parseGeneration(Path file, String prefix) {
+        try {
+            return Long.parseLong(file.getFileName().toString().substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Forces the directory so that a rename survives a crash. Not every platform can
+     * open a directory, in which case the rename is left to the file system.
+     */
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened as channels on this platform.
+        }
+    }
+
+    private Handle<T> liveHandle(long id) {
+        final Handle<T> handle = handles.get(id);
+        if (handle == null) {
+            throw new IllegalArgumentException("No node with id " + id);
+        }
+        return handle;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("The heap is closed");
+        }
+        if (failure != null) {
+            throw new IllegalStateException("The log could not be written", failure);
+        }
+    }
+
+    /**
+     * Stores a handle in a snapshot as its id followed by the value, length-prefixed so
+     * that {@code null} values survive.
+     */
+    private final class HandleCodec implements ValueCodec<Handle<T>> {
+        @Override
+        public int encodedSize(Handle<T> handle) {
+            return Long.BYTES + Integer.BYTES + (handle.value == null ? 0 : codec.encodedSize(handle.value));
+        }
+
+        @Override
+        public void encode(Handle<T> handle, ByteBuffer out) {
+            out.putLong(handle.id);
+            if (handle.value == null) {
+                out.putInt(-1);
+            } else {
+                out.putInt(codec.encodedSize(handle.value));
+                codec.encode(handle.value, out);
+            }
+        }
+
+        @Override
+        public Handle<T> decode(ByteBuffer in) {
+            final long id = in.getLong();
+            final int valueLength = in.getInt();
+            T value = valueLength < 0 ? null : codec.decode(in.slice(in.position(), valueLength));
+            return new Handle<>(id, value);
+        }
+    }
+}
@@ -0,0 +1,541 @@
+package datastructures;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A priority queue for more items than fit in memory. The items with the smallest keys
+ * live in a {@link FibonacciHeap}; the rest are kept on disk in sorted runs. <br>
+ *
+ * When the heap holds more than memoryLimit items, it is spilled: the memoryLimit / 2
+ * smallest items stay in memory and the others are sorted and written to a new run file.
+ * Every run is represented in the heap by a cursor keyed by the run's smallest unread key,
+ * so {@link #extractMin()} simply extracts the minimum of the heap. If that is a cursor,
+ * the run's next item is returned and the cursor is reinserted with the key after it,
+ * reading the run sequentially through a small buffer. <br>
+ *
+ * Runs are merged in tiers so that the number of open files stays small without rewriting
+ * the whole disk contents: a spilled run is at level 0, and whenever a level holds
+ * {@link #MERGE_FACTOR} runs they are merged into one run of the next level. A run at level
+ * L was built from MERGE_FACTOR<sup>L</sup> spills, so with N items inserted and a memory
+ * limit of M there are at most log<sub>MERGE_FACTOR</sub>(2N / M) levels. Each item is
+ * written once when spilled and at most once more per level, for O(N log(N / M)) bytes
+ * written and read in total, and at most MERGE_FACTOR - 1 runs are open per level. <br>
+ *
+ * Items cannot be decreased or deleted, because an item on disk cannot be reached without
+ * reading its run. All file access goes through {@link FileChannel}s with direct buffers,
+ * and the bytes moved are counted by {@link #getBytesWritten()} and {@link #getBytesRead()}.
+ * Operations that fail to read or write a run throw an {@link UncheckedIOException}.
+ *
+ * @param <T> The type of the values stored in the queue.
+ */
+public class ExternalFibonacciHeap<T> implements AutoCloseable {
+
+    /**
+     * The number of runs of one level that are merged into a single run of the next level.
+     */
+    public static final int MERGE_FACTOR = 8;
+
+    /**
+     * The size of the buffer used to write a run.
+     */
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The size of the buffer each open run is read through.
+     */
+    private static final int READ_BUFFER_SIZE = 1 << 14;
+
+    /**
+     * The length of a run record without its value bytes: the key and the value length.
+     */
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+
+    /**
+     * An item removed from the queue.
+     * @param <T> the type of the value.
+     */
+    public static final class Item<T> {
+        private final int key;
+        private final T value;
+
+        private Item(int key, T value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        public int getKey() {
+            return key;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return "Item{key=" + key + ", value=" + value + "}";
+        }
+    }
+
+    /**
+     * A value of the in-memory heap: an item, or the cursor of a run if run is not null,
+     * in which case value is the run's next value.
+     */
+    private static final class Slot<T> {
+        private T value;
+        private final Run<T> run;
+
+        private Slot(T value, Run<T> run) {
+            this.value = value;
+            this.run = run;
+        }
+    }
+
+    private final Path directory;
+    private final ValueCodec<T> codec;
+    private final int memoryLimit;
+    private final FibonacciHeap<Slot<T>> memory = new FibonacciHeap<>();
+    private final List<Run<T>> runs = new ArrayList<>();
+    private int memoryItems;
+    private long size;
+    private long bytesWritten;
+    private long bytesRead;
+    private long spills;
+    private boolean closed;
+
+    /**
+     * Initializes an empty queue.
+     * @param directory the directory in which run files are created.
+     * @param codec turns values into bytes and back.
+     * @param memoryLimit the number of items kept in memory before the largest half is spilled.
+     * @throws IllegalArgumentException if memoryLimit is less than 2.
+     */
+    public ExternalFibonacciHeap(Path directory, ValueCodec<T> codec, int memoryLimit) {
+        if (memoryLimit < 2) {
+            throw new IllegalArgumentException("The memory limit must be at least 2");
+        }
+        this.directory = directory;
+        this.codec = codec;
+        this.memoryLimit = memoryLimit;
+    }
+
+    /**
+     * Inserts an item, spilling the largest half of the in-memory items if the memory
+     * limit is exceeded.
+     * @param value the value of the item.
+     * @param key the key of the item.
+     * @throws UncheckedIOException if a run cannot be written.
+     */
+    public void insert(T value, int key) {
+        checkOpen();
+        memory.insert(new Slot<>(value, null), key);
+        memoryItems++;
+        size++;
+        if (memoryItems > memoryLimit) {
+            try {
+                spill();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Returns the smallest key in the queue.
+     * @return the smallest key.
+     * @throws NoSuchElementException if the queue is empty.
+     */
+    public int minimumKey() {
+        checkOpen();
+        FibonacciHeap.Node<Slot<T>> min = memory.minimum();
+        if (min == null) {
+            throw new NoSuchElementException("The queue is empty");
+        }
+        return min.getKey();
+    }
+
+    /**
+     * Removes the item with the smallest key. If it comes from a run, the run's next item
+     * is read, which may refill the run's buffer from disk.
+     * @return the removed item, or {@code null} if the queue is empty.
+     * @throws UncheckedIOException if a run cannot be read.
+     */
+    public Item<T> extractMin() {
+        checkOpen();
+        final FibonacciHeap.Node<Slot<T>> min = memory.extractMin();
+        if (min == null) {
+            return null;
+        }
+        size--;
+        final Slot<T> slot = min.getValue();
+        final Item<T> item = new Item<>(min.getKey(), slot.value);
+        if (slot.run == null) {
+            memoryItems--;
+            return item;
+        }
+        final Run<T> run = slot.run;
+        try {
+            if (run.advance()) {
+                slot.value = run.headValue;
+                run.cursor = memory.insert(slot, run.headKey);
+            } else {
+                runs.remove(run);
+                run.delete();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return item;
+    }
+
+    /**
+     * Returns the number of items in the queue, in memory and on disk.
+     * @return the total number of items.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Checks if the queue is empty.
+     * @return {@code true} if the queue is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of items held in memory, not counting the heads of runs.
+     * @return the number of in-memory items.
+     */
+    public int memorySize() {
+        return memoryItems;
+    }
+
+    /**
+     * Returns the number of run files.
+     * @return the number of runs that still hold unread items.
+     */
+    public int getRunCount() {
+        return runs.size();
+    }
+
+    /**
+     * Returns how many times the in-memory items were spilled to a new run.
+     * @return the number of spills.
+     */
+    public long getSpills() {
+        return spills;
+    }
+
+    /**
+     * Returns the number of bytes written to run files, including merges.
+     * @return the bytes written.
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Returns the number of bytes read from run files, including merges.
+     * @return the bytes read.
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Closes and deletes every run file. The queue cannot be used afterwards.
+     * Calling close again has no effect.
+     * @throws IOException if a run file cannot be closed or deleted.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        IOException failure = null;
+        for (Run<T> run : runs) {
+            try {
+                run.delete();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        runs.clear();
+        memory.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ExternalFibonacciHeap{size=" + size + ", inMemory=" + memoryItems + ", runs=" + runs.size() + "}";
+    }
+
+    /**
+     * Keeps the memoryLimit / 2 smallest in-memory items and writes the others to a new run.
+     * The run cursors stay in memory. The heap is rebuilt from what is kept, which costs
+     * O(m log m) for m in-memory items, or O(log m) for each item moved to disk.
+     */
+    @SuppressWarnings("unchecked")
+    private void spill() throws IOException {
+        final int count = memory.size();
+        final Slot<T>[] slots = new Slot[count];
+        final int[] keys = new int[count];
+        // Sort the items by key; the index in the low 32 bits makes every entry distinct.
+        final long[] order = new long[memoryItems];
+        final int[] position = {0, 0};
+        memory.writePreorder((slot, key, degree, marked) -> {
+            int index = position[0]++;
+            slots[index] = slot;
+            keys[index] = key;
+            if (slot.run == null) {
+                order[position[1]++] = (long) key << 32 | index;
+            }
+        });
+        Arrays.sort(order);
+
+        final int keep = memoryLimit / 2;
+        final RunWriter writer = new RunWriter();
+        try {
+            for (int i = keep; i < order.length; i++) {
+                int index = (int) order[i];
+                writer.write(keys[index], slots[index].value);
+                slots[index] = null;
+            }
+        } catch (IOException | RuntimeException e) {
+            writer.abort();
+            throw e;
+        }
+        final Run<T> run = writer.finish();
+
+        memory.clear();
+        for (int index = 0; index < count; index++) {
+            Slot<T> slot = slots[index];
+            if (slot != null) {
+                FibonacciHeap.Node<Slot<T>> node = memory.insert(slot, keys[index]);
+                if (slot.run != null) {
+                    slot.run.cursor = node;
+                }
+            }
+        }
+        memoryItems = keep;
+        addRun(run);
+        spills++;
+        for (int level = 0; countRuns(level) >= MERGE_FACTOR; level++) {
+            mergeRuns(level);
+        }
+    }
+
+    /**
+     * Counts the runs of a level.
+     */
+    private int countRuns(int level) {
+        int count = 0;
+        for (Run<T> run : runs) {
+            if (run.level == level) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Merges the runs of a level into one run of the next level, using a {@link FibonacciHeap}
+     * of runs keyed by their next key.
+     */
+    private void mergeRuns(int level) throws IOException {
+        final List<Run<T>> merged = new ArrayList<>();
+        final FibonacciHeap<Run<T>> heads = new FibonacciHeap<>();
+        for (Run<T> run : runs) {
+            if (run.level == level) {
+                memory.delete(run.cursor);
+                heads.insert(run, run.headKey);
+                merged.add(run);
+            }
+        }
+        final RunWriter writer = new RunWriter();
+        try {
+            FibonacciHeap.Node<Run<T>> head;
+            while ((head = heads.extractMin()) != null) {
+                Run<T> run = head.getValue();
+                writer.write(run.headKey, run.headValue);
+                if (run.advance()) {
+                    heads.insert(run, run.headKey);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            writer.abort();
+            throw e;
+        }
+        for (Run<T> run : merged) {
+            run.delete();
+        }
+        runs.removeAll(merged);
+        final Run<T> run = writer.finish();
+        run.level = level + 1;
+        addRun(run);
+    }
+
+    /**
+     * Registers a run whose first item has been read and inserts its cursor.
+     */
+    private void addRun(Run<T> run) {
+        runs.add(run);
+        run.cursor = memory.insert(new Slot<>(run.headValue, run), run.headKey);
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("The queue is closed");
+        }
+    }
+
+    /**
+     * Writes items in ascending key order to a new run file. A record is the key, the
+     * value length (-1 for {@code null}) and the value bytes.
+     */
+    private final class RunWriter {
+        private final Path path;
+        private final FileChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        private long count;
+
+        private RunWriter() throws IOException {
+            path = Files.createTempFile(directory, "run-", ".bin");
+            channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.READ);
+        }
+
+        private void write(int key, T value) throws IOException {
+            final int valueLength = value == null ? -1 : codec.encodedSize(value);
+            final int length = RECORD_HEADER_SIZE + Math.max(valueLength, 0);
+            if (buffer.remaining() < length) {
+                flush();
+                if (buffer.capacity() < length) {
+                    buffer = ByteBuffer.allocateDirect(length);
+                }
+            }
+            buffer.putInt(key).putInt(valueLength);
+            if (value != null) {
+                codec.encode(value, buffer);
+            }
+            count++;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                bytesWritten += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        /**
+         * Writes what is left, rewinds the file and returns it as a run positioned at its
+         * first item.
+         */
+        private Run<T> finish() throws IOException {
+            flush();
+            channel.position(0);
+            final Run<T> run = new Run<>(ExternalFibonacciHeap.this, path, channel, count);
+            run.advance();
+            return run;
+        }
+
+        private void abort() throws IOException {
+            channel.close();
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * A run file being read sequentially. headKey and headValue hold the next item, which
+     * is not yet returned.
+     */
+    private static final class Run<T> {
+        private final ExternalFibonacciHeap<T> owner;
+        private final Path path;
+        private final FileChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        private long unread;
+
+        /**
+         * 0 for a spilled run, or one more than the level of the runs it was merged from.
+         */
+        private int level;
+        private int headKey;
+        private T headValue;
+        private FibonacciHeap.Node<Slot<T>> cursor;
+
+        private Run(ExternalFibonacciHeap<T> owner, Path path, FileChannel channel, long count) {
+            this.owner = owner;
+            this.path = path;
+            this.channel = channel;
+            this.unread = count;
+            buffer.limit(0);
+        }
+
+        /**
+         * Reads the next item into headKey and headValue.
+         * @return {@code false} if the run has no more items.
+         */
+        private boolean advance() throws IOException {
+            if (unread == 0) {
+                return false;
+            }
+            fill(RECORD_HEADER_SIZE);
+            headKey = buffer.getInt();
+            final int valueLength = buffer.getInt();
+            if (valueLength < 0) {
+                headValue = null;
+            } else {
+                fill(valueLength);
+                headValue = owner.codec.decode(buffer.slice(buffer.position(), valueLength));
+                buffer.position(buffer.position() + valueLength);
+            }
+            unread--;
+            return true;
+        }
+
+        /**
+         * Makes sure at least n bytes are buffered, reading more of the file if needed.
+         */
+        private void fill(int n) throws IOException {
+            if (buffer.remaining() >= n) {
+                return;
+            }
+            if (buffer.capacity() < n) {
+                buffer = ByteBuffer.allocateDirect(n).put(buffer);
+            } else {
+                buffer.compact();
+            }
+            while (buffer.position() < n) {
+                int read = channel.read(buffer);
+                if (read < 0) {
+                    throw new EOFException("Truncated run " + path);
+                }
+                owner.bytesRead += read;
+            }
+            buffer.flip();
+        }
+
+        private void delete() throws IOException {
+            channel.close();
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -23,8 +23,20 @@
  */
 package datastructures;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Implements a Fibonacci Heap, a data structure for priority queues that supports
@@ -33,9 +45,17 @@ import java.util.List;
  * to other heap structures like binary heaps, especially in scenarios that involve
  * many decrease-key and extract-min operations.
  *
+ * The heap is an {@link AddressablePriorityQueue} whose handles are its {@link Node}s.
+ *
  * @param <T> The type of the values stored in the heap. This can be any object type.
  */
-public class FibonacciHeap<T> {
+public class FibonacciHeap<T> implements AddressablePriorityQueue<T>, Iterable<FibonacciHeap.Node<T>> {
+
+    /**
+     * The backlog length, in multiples of the budget, above which an extractMin in
+     * incremental mode consolidates the whole backlog instead of scanning it for the new min.
+     */
+    private static final int BACKLOG_FACTOR = 8;
 
     /**
      * The minimum node in the Fibonacci heap. This node has the smallest key value
@@ -52,19 +72,111 @@ public class FibonacciHeap<T> {
      */
     private int size;
 
+    /**
+     * The degree table used by {@link #consolidate()}, indexed by degree. It is kept between
+     * calls so consolidation does not allocate, and it is always empty outside of consolidation.
+     */
+    private Node<T>[] degreeTable;
+
+    /**
+     * The largest heap size {@link #degreeTable} is long enough for.
+     */
+    private int degreeTableLimit;
+
+    /**
+     * A binary min-heap of roots used by {@link #extractMin(int, Consumer)}. It is kept between
+     * calls so batches do not allocate, and it is always empty outside of a batch.
+     */
+    private final Frontier<T> frontier;
+
+    /**
+     * The head of the free list of released nodes, chained through {@link Node#right}.
+     * Always {@code null} unless pooling is enabled.
+     */
+    private Node<T> pool;
+
+    /**
+     * The number of nodes in {@link #pool}.
+     */
+    private int poolSize;
+
+    /**
+     * The maximum number of released nodes kept for reuse. 0 disables pooling.
+     */
+    private final int poolCapacity;
+
+    /**
+     * The operation counters, or {@code null} while metrics are disabled.
+     */
+    private HeapMetrics metrics;
+
+    /**
+     * Nodes deleted in lazy mode that are still linked into the trees, in the first
+     * {@link #tombstoneCount} slots. See {@link #enableLazyDelete()}.
+     */
+    private Node<T>[] tombstones;
+
+    /**
+     * The number of nodes in {@link #tombstones}. {@link #size} still counts them.
+     */
+    private int tombstoneCount;
+
+    /**
+     * Whether {@link #delete(Node)} only marks nodes and leaves removing them to the next
+     * {@link #extractMin()}.
+     */
+    private boolean lazyDelete;
+
+    /**
+     * The most consolidation steps one operation may take in incremental mode, or 0 if
+     * extractMin consolidates the whole root list. See
+     * {@link #enableIncrementalConsolidation(int)}.
+     */
+    private int consolidationBudget;
+
+    /**
+     * In incremental mode, a ring buffer of roots that are neither in {@link #degreeTable}
+     * nor {@link #carry}, oldest first. Entries whose node no longer has
+     * {@link Node#backlogged} set are stale and skipped.
+     */
+    private Node<T>[] backlog;
+
+    /**
+     * The index of the oldest entry in {@link #backlog}.
+     */
+    private int backlogHead;
+
+    /**
+     * The number of entries in {@link #backlog}, including stale ones.
+     */
+    private int backlogCount;
+
+    /**
+     * In incremental mode, the root whose consolidation was interrupted by the budget:
+     * it collided with the root of the same degree in {@link #degreeTable} and has not
+     * found a free slot yet.
+     */
+    private Node<T> carry;
+
+    /**
+     * The number of times the heap's structure or min has changed. Iterators and
+     * spliterators compare it with the value they started with to fail fast.
+     */
+    private int modCount;
+
     /**
      * A node in a Fibonacci Heap which has a value and a key.
      * A node has a reference to its left and right neighbors
      * as well as its parent and child if any.
      * @param <T> the type of the value.
      */
-    public static final class Node<T> {
+    public static final class Node<T> implements AddressablePriorityQueue.Handle<T> {
 
         /**
          * The value stored in the node. This is the data associated with the node,
          * which may be of any generic type.
          */
-        private final T value;
+        private T value;
 
         /**
          * The key associated with the node. Used for ordering the node in the heap.
@@ -111,6 +223,24 @@ public class FibonacciHeap<T> {
          */
         private boolean marked;
 
+        /**
+         * Set while the node sits in its heap's pool after {@link FibonacciHeap#release(Node)}.
+         * Only checked by assertions, to catch a node being used after it was released.
+         */
+        private boolean released;
+
+        /**
+         * Set while the node is a tombstone: deleted in lazy mode but still linked into its tree.
+         * Only checked by assertions, to catch a node being used after it was deleted.
+         */
+        private boolean deleted;
+
+        /**
+         * Set while the node is a root waiting in its heap's backlog to be consolidated.
+         * Only used in incremental consolidation mode.
+         */
+        private boolean backlogged;
+
         /**
          * Initializes a Node with a value and key.
          * Since the root list and child lists are doubly circular linked lists,
@@ -125,11 +255,15 @@ public class FibonacciHeap<T> {
             right = this;
         }
 
+        @Override
         public T getValue() {
+            assert !released : "Node used after release";
             return value;
         }
 
+        @Override
         public int getKey() {
+            assert !released : "Node used after release";
             return key;
         }
 
@@ -151,8 +285,45 @@ public class FibonacciHeap<T> {
      * Initializes a new Fibonacci Heap with a size of 0 and min points to null.
      */
     public FibonacciHeap() {
+        this(0);
+    }
+
+    /**
+     * Initializes a new, empty Fibonacci Heap that recycles nodes. Nodes handed back with
+     * {@link #release(Node)} are kept on a free list of at most poolCapacity nodes and
+     * reused by later inserts instead of allocating new ones, so a steady stream of
+     * insert/extractMin pairs does not create garbage. A capacity of 0 disables pooling,
+     * which is the same as {@link #FibonacciHeap()}. <br>
+     *
+     * Run with assertions enabled ({@code -ea}) while debugging to catch released nodes
+     * that are still used.
+     *
+     * @param poolCapacity the maximum number of released nodes kept for reuse.
+     * @throws IllegalArgumentException If poolCapacity is negative.
+     */
+    @SuppressWarnings("unchecked")
+    public FibonacciHeap(int poolCapacity) {
+        if (poolCapacity < 0) {
+            throw new IllegalArgumentException("poolCapacity must not be negative");
+        }
         this.min = null;
         this.size = 0;
+        this.degreeTable = new Node[0];
+        this.degreeTableLimit = 0;
+        this.frontier = new Frontier<>();
+        this.pool = null;
+        this.poolSize = 0;
+        this.poolCapacity = poolCapacity;
+        this.metrics = null;
+        this.tombstones = new Node[0];
+        this.tombstoneCount = 0;
+        this.lazyDelete = false;
+        this.consolidationBudget = 0;
+        this.backlog = new Node[0];
+        this.backlogHead = 0;
+        this.backlogCount = 0;
+        this.carry = null;
+        this.modCount = 0;
     }
 
     /**
@@ -161,9 +332,30 @@ public class FibonacciHeap<T> {
      */
     public FibonacciHeap(Integer[] keys) {
         this();
-        for (Integer key : keys) {
-            this.insert(null, key);
+        int[] unboxed = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            unboxed[i] = keys[i];
         }
+        appendAll(unboxed, null, null);
+    }
+
+    /**
+     * Creates a Fibonacci Heap holding the given keys and values, built in one linear pass
+     * like {@link #insertAll(int[], Object[])} but without collecting the node handles. Use
+     * {@code insertAll} on an empty heap instead when the handles are needed later, e.g. for
+     * {@link #decreaseKey(Node, int)}.
+     *
+     * @param keys the key of every node.
+     * @param values the value of every node, matched to keys by index,
+     *               or {@code null} to give every node a {@code null} value.
+     * @param <T> the type of the values.
+     * @return a new Fibonacci Heap holding one node per key.
+     * @throws IllegalArgumentException If values is not null and has a different length than keys.
+     */
+    public static <T> FibonacciHeap<T> of(int[] keys, T[] values) {
+        FibonacciHeap<T> heap = new FibonacciHeap<>();
+        heap.appendAll(keys, values, null);
+        return heap;
     }
 
     /**
@@ -185,37 +377,300 @@ public class FibonacciHeap<T> {
      * @param key the key of the new node.
      * @return the new node.
      */
+    @Override
     public Node<T> insert(T value, int key) {
-        Node<T> newNode = new Node<>(value, key);
+        Node<T> newNode = newNode(value, key);
         addToRootList(newNode);
         size++;
+        modCount++;
+        if (metrics != null) {
+            metrics.inserts++;
+        }
+        if (consolidationBudget > 0) {
+            consolidateSteps(consolidationBudget);
+        }
         return newNode;
     }
 
+    /**
+     * Inserts a node for every key. The new nodes are chained into a circular list in one
+     * linear pass that also finds their minimum, and the list is then spliced into the root
+     * list with a single union-style link, so min is only compared once. As with
+     * {@link #insert(Object, int)}, no consolidation is performed. Operation is performed
+     * in O(k) time for k keys.
+     *
+     * @param keys the key of every new node.
+     * @param values the value of every new node, matched to keys by index,
+     *               or {@code null} to give every node a {@code null} value.
+     * @return the new nodes, in the same order as keys.
+     * @throws IllegalArgumentException If values is not null and has a different length than keys.
+     */
+    @SuppressWarnings("unchecked")
+    public Node<T>[] insertAll(int[] keys, T[] values) {
+        final Node<T>[] nodes = new Node[keys.length];
+        appendAll(keys, values, nodes);
+        return nodes;
+    }
+
+    /**
+     * Hands an extracted node back to the heap so a later insert can reuse it. The node's
+     * value and links are cleared right away. The caller must not use the node afterwards,
+     * neither to read it nor as a handle, because the heap may give it out again with a
+     * different key and value. Only nodes that are no longer in the heap, such as those
+     * returned by {@link #extractMin()}, may be released, and each only once. A node deleted
+     * in lazy mode is still linked into its tree until the tombstones are purged, so releasing
+     * it purges them first. <br>
+     *
+     * Does nothing and returns {@code false} if pooling is disabled or the pool is full,
+     * in which case the node is simply left to the garbage collector.
+     *
+     * @param node a node that was removed from this heap.
+     * @return {@code true} if the node was added to the pool, {@code false} otherwise.
+     * @see #FibonacciHeap(int)
+     */
+    public boolean release(Node<T> node) {
+        assert !node.released : "Node released twice";
+        if (node.deleted) {
+            purgeTombstones();
+        }
+        if (poolSize == poolCapacity) {
+            return false;
+        }
+        node.value = null;
+        node.parent = null;
+        node.child = null;
+        node.left = null;
+        node.degree = 0;
+        node.marked = false;
+        node.backlogged = false;
+        node.released = true;
+        node.right = pool;
+        pool = node;
+        poolSize++;
+        return true;
+    }
+
+    /**
+     * Returns a node from the pool with the given value and key, or a new node if the pool
+     * is empty.
+     * @param value the value of the node.
+     * @param key the key of the node.
+     * @return a node whose left and right point to itself.
+     */
+    private Node<T> newNode(T value, int key) {
+        Node<T> node = pool;
+        if (node == null) {
+            return new Node<>(value, key);
+        }
+        pool = node.right;
+        poolSize--;
+        node.released = false;
+        node.value = value;
+        node.key = key;
+        node.left = node;
+        node.right = node;
+        return node;
+    }
+
+    /**
+     * Chains a new node for every key into a circular list and splices it into the root list.
+     * @param keys the key of every new node.
+     * @param values the value of every new node, or {@code null} for all {@code null} values.
+     * @param nodes an array receiving the new nodes by index, or {@code null} if the caller
+     *              does not need them.
+     * @throws IllegalArgumentException If values is not null and has a different length than keys.
+     */
+    private void appendAll(int[] keys, T[] values, Node<T>[] nodes) {
+        if (values != null && values.length != keys.length) {
+            throw new IllegalArgumentException("There must be exactly one value per key");
+        }
+        if (keys.length == 0) {
+            return;
+        }
+
+        final Node<T> first = newNode(values == null ? null : values[0], keys[0]);
+        Node<T> last = first;
+        Node<T> newMin = first;
+        if (nodes != null) {
+            nodes[0] = first;
+        }
+        for (int i = 1; i < keys.length; i++) {
+            Node<T> node = newNode(values == null ? null : values[i], keys[i]);
+            node.left = last;
+            last.right = node;
+            last = node;
+            if (node.key < newMin.key) {
+                newMin = node;
+            }
+            if (nodes != null) {
+                nodes[i] = node;
+            }
+        }
+        last.right = first;
+        first.left = last;
+
+        spliceRootList(newMin);
+        size += keys.length;
+        modCount++;
+        if (metrics != null) {
+            metrics.inserts += keys.length;
+        }
+    }
+
+    /**
+     * Visits every node in preorder: the roots from min rightwards, each followed by its
+     * subtree, whose children are visited from the parent's child pointer rightwards.
+     * Walks up through parent pointers instead of keeping a stack. Tombstones left by lazy
+     * delete are purged first, which counts as a modification of the heap.
+     * Used by {@link FibonacciHeapSnapshot#write}.
+     * @param writer receives every node.
+     * @return the number of roots.
+     * @throws IOException if the writer throws.
+     */
+    int writePreorder(FibonacciHeapSnapshot.NodeWriter<T> writer) throws IOException {
+        purgeTombstones();
+        if (min == null) {
+            return 0;
+        }
+        int rootCount = 0;
+        Node<T> node = min;
+        while (node != null) {
+            writer.write(node.value, node.key, node.degree, node.marked);
+            if (node.parent == null) {
+                rootCount++;
+            }
+            if (node.child != null) {
+                node = node.child;
+                continue;
+            }
+            // Move to the next sibling, climbing up while a child list has been finished.
+            while (node != null) {
+                Node<T> first = node.parent == null ? min : node.parent.child;
+                if (node.right != first) {
+                    node = node.right;
+                    break;
+                }
+                node = node.parent;
+            }
+        }
+        return rootCount;
+    }
+
+    /**
+     * Adds a node to the end of parent's child list, or of the root list if parent is null,
+     * without comparing keys or consolidating. The first root added becomes min.
+     * Used by {@link FibonacciHeapSnapshot#read}, which adds nodes in the order
+     * {@link #writePreorder} visited them, so the restored heap has the same shape.
+     * @param parent the parent of the new node, or {@code null} for a root.
+     * @param value the value of the new node.
+     * @param key the key of the new node.
+     * @param marked whether the new node has lost a child since it was linked.
+     * @return the new node.
+     */
+    Node<T> appendRestored(Node<T> parent, T value, int key, boolean marked) {
+        final Node<T> node = newNode(value, key);
+        node.marked = marked;
+        final Node<T> first = parent == null ? min : parent.child;
+        if (first == null) {
+            if (parent == null) {
+                min = node;
+            } else {
+                parent.child = node;
+            }
+        } else {
+            node.right = first;
+            node.left = first.left;
+            first.left.right = node;
+            first.left = node;
+        }
+        if (parent != null) {
+            node.parent = parent;
+            parent.degree++;
+        } else if (consolidationBudget > 0) {
+            addToBacklog(node);
+        }
+        size++;
+        modCount++;
+        return node;
+    }
+
     /**
      * Merges 2 Fibonacci Heaps in O(1) time. Adds other's root list to the current root list.
-     * No consolidation is performed when union is called.
+     * No consolidation is performed when union is called. Either heap may be empty, and other
+     * must not be used afterwards because its nodes now belong to this heap.
      * @param other the Fibonacci Heap which is being merged with the current Fibonacci Heap.
+     * @throws IllegalArgumentException If other is this heap.
      */
     public void union(FibonacciHeap<T> other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot union a heap with itself");
+        }
+        other.purgeTombstones();
         if (other.min != null) {
-            Node<T> oldThisLeftNode = this.min.left;
-            Node<T> oldOtherLeftNode = other.min.left;
-            oldThisLeftNode.right = other.min;
-            other.min.left = oldThisLeftNode;
-            oldOtherLeftNode.right = this.min;
-            this.min.left = oldOtherLeftNode;
-            if (other.min.key < this.min.key) {
-                min = other.min;
-            }
+            spliceRootList(other.min);
             size = this.size + other.size;
+            modCount++;
+        }
+        if (metrics != null) {
+            metrics.unions++;
         }
     }
 
+    /**
+     * Merges any number of heaps into this one in O(k) time for k heaps, with one root list
+     * splice and one key comparison per non-empty heap. This is how per-thread heaps built
+     * in parallel are combined; see {@link #collector(ToIntFunction)}. None of the other
+     * heaps may be used afterwards, and each may appear only once.
+     * @param others the heaps to merge into this one.
+     * @throws IllegalArgumentException If one of the others is this heap.
+     */
+    @SafeVarargs
+    public final void unionAll(FibonacciHeap<T>... others) {
+        for (FibonacciHeap<T> other : others) {
+            union(other);
+        }
+    }
+
+    /**
+     * Returns a {@link Collector} that inserts stream elements into a new heap, with keys
+     * given by keyFunction. On a parallel stream every fork-join worker fills its own heap,
+     * and the partial heaps are combined with {@link #union(FibonacciHeap)}, which only
+     * splices root lists. No consolidation happens until the first extractMin.
+     * @param keyFunction computes the key of each element.
+     * @param <T> the type of the elements.
+     * @return a collector that builds a Fibonacci heap.
+     */
+    public static <T> Collector<T, ?, FibonacciHeap<T>> collector(ToIntFunction<? super T> keyFunction) {
+        return Collector.of(
+                FibonacciHeap::new,
+                (heap, value) -> heap.insert(value, keyFunction.applyAsInt(value)),
+                (left, right) -> {
+                    left.union(right);
+                    return left;
+                },
+                Collector.Characteristics.UNORDERED,
+                Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * Merges another heap into this one. See {@link #union(FibonacciHeap)}.
+     * @param other a Fibonacci Heap.
+     * @throws IllegalArgumentException If other is not a {@link FibonacciHeap}.
+     */
+    @Override
+    public void union(AddressablePriorityQueue<T> other) {
+        if (!(other instanceof FibonacciHeap)) {
+            throw new IllegalArgumentException("Can only union with another FibonacciHeap, not "
+                    + other.getClass().getName());
+        }
+        union((FibonacciHeap<T>) other);
+    }
+
     /**
      * Returns the minimum node in the Fibonacci heap.
      * @return the node with the minimum key in the heap, or {@code null} if the heap is empty.
      */
+    @Override
     public Node<T> minimum() {
         return min;
     }
@@ -236,9 +691,202 @@ public class FibonacciHeap<T> {
      *
      * @return The node with the smallest key, or {@code null} if the heap is empty.
      */
+    @Override
     public Node<T> extractMin() {
+        purgeTombstones();
+        Node<T> extractedMin = detachMin();
+        if (min != null) {
+            consolidateAfterDetach();
+        }
+        if (metrics != null && extractedMin != null) {
+            metrics.extractMins++;
+        }
+        return extractedMin;
+    }
+
+    /**
+     * Removes up to k nodes with the smallest keys and passes them to action in ascending
+     * key order. This is cheaper than calling {@link #extractMin()} k times because the
+     * root list is consolidated only once, after the last node has been removed. <br>
+     *
+     * Every root is put into a small array-based binary heap, the frontier, which always
+     * holds exactly the current roots. The smallest node is popped from the frontier and
+     * removed from the root list, and its children are promoted to the root list and
+     * pushed onto the frontier, so finding each next minimum only costs O(log r) for r roots
+     * instead of a pass over the root list. The frontier array is kept between calls. <br>
+     *
+     * min is kept up to date after every removed node, so action may read the heap, but it
+     * must not modify it.
+     *
+     * @param k the maximum number of nodes to remove.
+     * @param action called with each removed node.
+     * @return the number of nodes removed, which is less than k only if the heap ran empty.
+     * @throws IllegalArgumentException If k is negative.
+     */
+    public int extractMin(int k, Consumer<? super Node<T>> action) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative");
+        }
+        if (k == 0 || min == null) {
+            return 0;
+        }
+        purgeTombstones();
+
+        Node<T> root = min;
+        do {
+            frontier.push(root);
+            root = root.right;
+        } while (root != min);
+
+        int extracted = 0;
+        try {
+            while (extracted < k && frontier.size > 0) {
+                Node<T> extractedMin = frontier.pop();
+                if (extractedMin.child != null) {
+                    Node<T> child = extractedMin.child;
+                    do {
+                        child.parent = null;
+                        frontier.push(child);
+                        child = child.right;
+                    } while (child != extractedMin.child);
+                }
+                min = extractedMin;
+                detachMin();
+                min = frontier.peek();
+                extracted++;
+                action.accept(extractedMin);
+            }
+        } finally {
+            frontier.clear();
+            if (min != null) {
+                consolidateAfterDetach();
+            }
+            if (metrics != null) {
+                metrics.extractMins += extracted;
+            }
+        }
+        return extracted;
+    }
+
+    /**
+     * Removes up to max nodes with the smallest keys and adds them to a collection in
+     * ascending key order. See {@link #extractMin(int, Consumer)}.
+     *
+     * @param collection the collection to add the removed nodes to.
+     * @param max the maximum number of nodes to remove.
+     * @return the number of nodes removed.
+     * @throws IllegalArgumentException If max is negative.
+     */
+    public int drainTo(Collection<? super Node<T>> collection, int max) {
+        return extractMin(max, collection::add);
+    }
+
+    /**
+     * Returns an iterator over every node in no particular order. It walks the trees in
+     * preorder through parent pointers, so it needs no stack and no recursion. The
+     * iterator is fail-fast: any change to the heap other than through the iterator,
+     * including a decreaseKey, makes its next call throw a
+     * {@link ConcurrentModificationException}. It does not support remove.
+     *
+     * @return an iterator over the nodes of the heap.
+     */
+    @Override
+    public Iterator<Node<T>> iterator() {
+        purgeTombstones();
+        return new NodeIterator();
+    }
+
+    /**
+     * Returns a spliterator over every node in no particular order. It splits by handing
+     * out disjoint sets of sibling subtrees: a range of roots is cut in half, and a single
+     * remaining tree gives away its children, so {@code stream().parallel()} divides the
+     * heap between fork-join workers without copying it. Only the unsplit spliterator is
+     * {@link Spliterator#SIZED}, since subtree sizes are not tracked. Like {@link #iterator()}
+     * it is fail-fast.
+     *
+     * @return a spliterator over the nodes of the heap.
+     */
+    @Override
+    public Spliterator<Node<T>> spliterator() {
+        purgeTombstones();
+        int rootCount = 0;
+        if (min != null) {
+            Node<T> root = min;
+            do {
+                rootCount++;
+                root = root.right;
+            } while (root != min);
+        }
+        return new NodeSpliterator(null, min, rootCount, size, true, modCount);
+    }
+
+    /**
+     * Returns a sequential stream of every node in no particular order. Call
+     * {@code parallel()} on it to aggregate over the heap on several cores.
+     * The heap must not be modified while the stream runs.
+     *
+     * @return a stream of the nodes of the heap.
+     */
+    public Stream<Node<T>> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns an iterator over every node in ascending key order that leaves the heap
+     * unchanged. <br>
+     *
+     * Because every tree is heap-ordered, the next node in order is always a root or a
+     * child of a node that has already been returned. The iterator keeps those candidates
+     * in its own small binary heap of node references: it starts with the roots, and each
+     * returned node adds its children. The first k nodes therefore cost
+     * O(r + k * D * log(r + k * D)) time and O(r + k * D) space for r roots and maximum
+     * degree D, independent of the heap size, and the trees are never touched. Nodes deleted
+     * in lazy mode are skipped, with their children taking their place as candidates, so
+     * the tombstones are not purged either. Nodes with equal keys come out in no particular
+     * order. <br>
+     *
+     * The iterator is fail-fast, like {@link #iterator()}, and does not support remove.
+     *
+     * @return an iterator over the nodes of the heap in ascending key order.
+     */
+    public Iterator<Node<T>> orderedIterator() {
+        return new OrderedIterator();
+    }
+
+    /**
+     * Returns the k nodes with the smallest keys in ascending key order without removing
+     * them. See {@link #orderedIterator()}.
+     *
+     * @param k the maximum number of nodes to return.
+     * @return a new list of at most k nodes, fewer only if the heap is smaller.
+     * @throws IllegalArgumentException If k is negative.
+     */
+    public List<Node<T>> peek(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative");
+        }
+        final List<Node<T>> nodes = new ArrayList<>(Math.min(k, size()));
+        final Iterator<Node<T>> iterator = orderedIterator();
+        while (nodes.size() < k && iterator.hasNext()) {
+            nodes.add(iterator.next());
+        }
+        return nodes;
+    }
+
+    /**
+     * Moves the children of the minimum node to the root list and removes the minimum node
+     * from the root list, without consolidating. Afterwards min points to an arbitrary root,
+     * or is {@code null} if the heap is empty.
+     *
+     * @return the removed node, or {@code null} if the heap is empty.
+     */
+    private Node<T> detachMin() {
         Node<T> extractedMin = min;
         if (extractedMin != null) {
+            modCount++;
+            if (consolidationBudget > 0) {
+                removeFromConsolidation(extractedMin);
+            }
 
             if (extractedMin.child != null) {
                 // Move all children of extractedMin to root list.
@@ -257,9 +905,7 @@ public class FibonacciHeap<T> {
             } else {
                 min.left.right = min.right;
                 min.right.left = min.left;
-                min = min.right; // arbitrary min, min will be updated in consolidate.
-
-                consolidate();
+                min = min.right; // arbitrary min, min will be updated by the caller.
             }
         }
         return extractedMin;
@@ -269,24 +915,59 @@ public class FibonacciHeap<T> {
      * Returns the number of nodes in the Fibonacci heap.
      * @return the total number of nodes in the Fibonacci heap.
      */
+    @Override
     public int size() {
-        return size;
+        return size - tombstoneCount;
     }
 
     /**
      * Checks if the Fibonacci heap is empty.
      * @return {@code true} if the Fibonacci heap is empty, {@code false} otherwise.
      */
+    @Override
     public boolean isEmpty() {
         return min == null;
     }
 
+    /**
+     * Starts counting operations, replacing any counters from an earlier call. While
+     * metrics are enabled every operation does a few extra increments; while disabled
+     * it only checks a field for {@code null}.
+     * @see #getStats()
+     * @see HeapStatsMonitor
+     */
+    public void enableMetrics() {
+        metrics = new HeapMetrics();
+    }
+
+    /**
+     * Stops counting operations and discards the counters.
+     */
+    public void disableMetrics() {
+        metrics = null;
+    }
+
+    /**
+     * Returns a snapshot of the operation counters.
+     * @return the counters since metrics were enabled, or {@code null} if they are disabled.
+     */
+    public HeapStats getStats() {
+        return metrics == null ? null : metrics.snapshot();
+    }
+
     /**
      * Clears the Fibonacci heap, removing all nodes.
      */
+    @Override
     public void clear() {
         min = null;
         size = 0;
+        Arrays.fill(tombstones, 0, tombstoneCount, null);
+        tombstoneCount = 0;
+        if (consolidationBudget > 0) {
+            resetConsolidation();
+        }
+        modCount++;
     }
 
     /**
@@ -301,33 +982,254 @@ public class FibonacciHeap<T> {
      * @throws IllegalArgumentException If the new key is greater than or equal to the current key.
      */
     public void decreaseKey(Node<T> node, int newKey) {
+        assert !node.released : "Node used after release";
+        assert !node.deleted : "Node used after delete";
         if (newKey >= node.key) {
             throw new IllegalArgumentException("The new key must be less than the current key");
         }
+        if (metrics != null) {
+            metrics.decreaseKeys++;
+        }
 
         node.key = newKey;
+        modCount++;
 
         if (node.parent != null && node.key < node.parent.key) {
             cut(node, node.parent);
         }
 
-        if (node.key <= min.key) {
+        // A node that ties with its parent is not cut, and only roots may become min.
+        if (node.parent == null && node.key <= min.key) {
             min = node;
         }
+        if (consolidationBudget > 0) {
+            consolidateSteps(consolidationBudget);
+        }
+    }
+
+    /**
+     * Decreases the key of a node given as an {@link AddressablePriorityQueue.Handle}.
+     * See {@link #decreaseKey(Node, int)}.
+     * @param handle a node of this heap.
+     * @param newKey the new key value, which must be smaller than the current key.
+     * @throws IllegalArgumentException If the new key is greater than or equal to the current key,
+     *                                  or the handle is not a {@link Node}.
+     */
+    @Override
+    public void decreaseKey(AddressablePriorityQueue.Handle<T> handle, int newKey) {
+        decreaseKey(node(handle), newKey);
+    }
+
+    /**
+     * Increases the key of a node in place, so the node stays a valid handle and nothing
+     * is allocated. <br>
+     *
+     * A larger key may be larger than the keys of the node's children, so the children are
+     * moved to the root list. The node is then cut from its parent, with the usual cascading
+     * cuts, and left as a root of degree 0 with its new key. If the node was min, the root
+     * list is consolidated to find the new min, as after an extractMin, otherwise nothing
+     * is consolidated. The cost is O(log n) amortized, the same as a delete and insert,
+     * but without the allocation and without consolidating unless min changes.
+     *
+     * @param node The node whose key is to be increased.
+     * @param newKey The new key value, which must be larger than the current key.
+     * @throws IllegalArgumentException If the new key is less than or equal to the current key.
+     */
+    public void increaseKey(Node<T> node, int newKey) {
+        assert !node.released : "Node used after release";
+        assert !node.deleted : "Node used after delete";
+        if (newKey <= node.key) {
+            throw new IllegalArgumentException("The new key must be greater than the current key");
+        }
+        if (metrics != null) {
+            metrics.increaseKeys++;
+        }
+        modCount++;
+        if (node == min) {
+            // Tombstones must not take part in finding the new min.
+            purgeTombstones();
+        }
+
+        final boolean wasRoot = node.parent == null;
+        if (wasRoot && consolidationBudget > 0) {
+            // The node's degree is about to change, so it must leave its degree table slot.
+            removeFromConsolidation(node);
+        }
+        final Node<T> child = node.child;
+        if (child != null) {
+            Node<T> current = child;
+            do {
+                current.parent = null;
+                current = current.right;
+            } while (current != child);
+            node.child = null;
+            node.degree = 0;
+            spliceRootList(child);
+        }
+        node.key = newKey;
+        if (!wasRoot) {
+            cut(node, node.parent);
+        } else if (consolidationBudget > 0) {
+            addToBacklog(node);
+        }
+
+        if (node == min) {
+            // Every other key is at least the old key, so any root may be the new min.
+            consolidateAfterDetach();
+        } else if (consolidationBudget > 0) {
+            consolidateSteps(consolidationBudget);
+        }
     }
 
     /**
-     * Deletes a specified node from the Fibonacci Heap.
-     * The method works by first decreasing the key of the node to the minimum
-     * possible value, ensuring it becomes the minimum node in the heap. Then, the
-     * minimum node is extracted using the `extractMin` method, effectively removing
-     * the specified node from the heap.
+     * Sets the key of a node to any value, calling {@link #decreaseKey(Node, int)} or
+     * {@link #increaseKey(Node, int)} as needed. Does nothing if the key is unchanged.
+     * The node stays a valid handle.
+     *
+     * @param node The node whose key is to be changed.
+     * @param newKey The new key value.
+     */
+    public void updateKey(Node<T> node, int newKey) {
+        if (newKey < node.key) {
+            decreaseKey(node, newKey);
+        } else if (newKey > node.key) {
+            increaseKey(node, newKey);
+        }
+    }
+
+    /**
+     * Deletes a node given as an {@link AddressablePriorityQueue.Handle}. See {@link #delete(Node)}.
+     * @param handle a node of this heap.
+     * @throws IllegalArgumentException If the handle is not a {@link Node}.
+     */
+    @Override
+    public void delete(AddressablePriorityQueue.Handle<T> handle) {
+        delete(node(handle));
+    }
+
+    /**
+     * Casts a handle to the node it must be.
+     * @param handle a handle returned by this heap.
+     * @return the handle as a node.
+     * @throws IllegalArgumentException If the handle is not a {@link Node}.
+     */
+    private static <T> Node<T> node(AddressablePriorityQueue.Handle<T> handle) {
+        if (!(handle instanceof Node)) {
+            throw new IllegalArgumentException("Not a FibonacciHeap handle: " + handle);
+        }
+        return (Node<T>) handle;
+    }
+
+    /**
+     * Deletes a specified node from the Fibonacci Heap. <br>
+     *
+     * Deleting the minimum node is the same as {@link #extractMin()}. Any other node is
+     * removed directly: it is cut from its parent with the usual cascading cuts, taken out
+     * of the root list, and its children are spliced into the root list. That costs O(1)
+     * amortized, like decreaseKey, because the root list is left for the next extractMin
+     * to consolidate. The key of the node is never changed, so every {@code int} key,
+     * including {@link Integer#MIN_VALUE}, can be deleted. <br>
+     *
+     * In lazy mode a node other than the minimum is only marked as deleted; see
+     * {@link #enableLazyDelete()}.
      *
      * @param node The node to be deleted from the Fibonacci Heap.
      */
     public void delete(Node<T> node) {
-        decreaseKey(node, Integer.MIN_VALUE);
-        extractMin();
+        assert !node.released : "Node used after release";
+        assert !node.deleted : "Node deleted twice";
+        if (node == min) {
+            purgeTombstones();
+            detachMin();
+            if (min != null) {
+                consolidateAfterDetach();
+            }
+        } else if (lazyDelete) {
+            node.deleted = true;
+            if (tombstoneCount == tombstones.length) {
+                tombstones = Arrays.copyOf(tombstones, Math.max(16, tombstoneCount * 2));
+            }
+            tombstones[tombstoneCount++] = node;
+            modCount++;
+        } else {
+            remove(node);
+            if (consolidationBudget > 0) {
+                consolidateSteps(consolidationBudget);
+            }
+        }
+        if (metrics != null) {
+            metrics.deletes++;
+        }
+    }
+
+    /**
+     * Switches to lazy deletion. {@link #delete(Node)} then only flags a node other than
+     * the minimum and queues it, in O(1) worst-case time, and the queued nodes are removed
+     * together by the next {@link #extractMin()}, just before it consolidates. This suits
+     * workloads that cancel many entries between extractions. <br>
+     *
+     * {@link #size()} drops at once, and the queued nodes are also removed before anything
+     * walks the whole heap, such as iterators, union or a snapshot. Until then they still
+     * occupy memory and keep their values reachable.
+     */
+    public void enableLazyDelete() {
+        lazyDelete = true;
+    }
+
+    /**
+     * Switches back to deleting nodes directly, removing any nodes deleted in lazy mode.
+     */
+    public void disableLazyDelete() {
+        lazyDelete = false;
+        purgeTombstones();
+    }
+
+    /**
+     * Removes every node that was deleted in lazy mode from its tree.
+     */
+    private void purgeTombstones() {
+        if (tombstoneCount == 0) {
+            return;
+        }
+        for (int i = 0; i < tombstoneCount; i++) {
+            final Node<T> node = tombstones[i];
+            tombstones[i] = null;
+            node.deleted = false;
+            remove(node);
+        }
+        tombstoneCount = 0;
+    }
+
+    /**
+     * Removes a node other than min from the heap without consolidating. The node is cut
+     * from its parent first, which may cascade, and its children become roots.
+     * @param node a node of this heap that is not min.
+     */
+    private void remove(Node<T> node) {
+        if (node.parent != null) {
+            cut(node, node.parent);
+        }
+        // node is now a root, and not min because no key is smaller than min's.
+        if (consolidationBudget > 0) {
+            removeFromConsolidation(node);
+        }
+        node.left.right = node.right;
+        node.right.left = node.left;
+        final Node<T> child = node.child;
+        if (child != null) {
+            Node<T> current = child;
+            do {
+                current.parent = null;
+                current = current.right;
+            } while (current != child);
+            spliceRootList(child);
+            node.child = null;
+            node.degree = 0;
+        }
+        node.left = node;
+        node.right = node;
+        size--;
+        modCount++;
     }
 
     /**
@@ -369,35 +1271,52 @@ public class FibonacciHeap<T> {
      * This operation is used during a decrease-key operation when a node
      * violates the heap property. The cut method also handles cascading cuts
      * if necessary, ensuring that any marked ancestors of the node are also
-     * cut and added to the root list.
+     * cut and added to the root list. The cascade is walked in a loop rather
+     * than recursively, so a long chain of marked ancestors cannot overflow the stack.
      *
      * @param node The node to be cut from its parent and added to the root list.
      * @param parent The parent of the node being cut.
      */
     private void cut(Node<T> node, Node<T> parent) {
-        if (node.right == node) {
-            parent.child = null;
-        } else {
-            node.right.left = node.left;
-            node.left.right = node.right;
-            if (parent.child == node) {
-                parent.child = node.right;
+        int cascadeDepth = 0;
+        while (true) {
+            if (node.right == node) {
+                parent.child = null;
+            } else {
+                node.right.left = node.left;
+                node.left.right = node.right;
+                if (parent.child == node) {
+                    parent.child = node.right;
+                }
             }
-        }
 
-        parent.degree--;
-        node.parent = null;
-        node.marked = false;
+            parent.degree--;
+            node.parent = null;
+            node.marked = false;
 
-        addToRootList(node);
+            addToRootList(node);
 
-        // Ensure we aren't going to cascade cut a node in the root list
-        if (parent.parent != null) {
-            if (parent.marked) { // Perform a cascading cut if the parent is marked already
-                cut(parent, parent.parent);
-            } else {
+            // Ensure we aren't going to cascade cut a node in the root list
+            if (parent.parent == null) {
+                if (consolidationBudget > 0 && parent.degree + 1 < degreeTable.length
+                        && degreeTable[parent.degree + 1] == parent) {
+                    // The root no longer has the degree of its slot, so it has to find a new one.
+                    degreeTable[parent.degree + 1] = null;
+                    addToBacklog(parent);
+                }
+                break;
+            }
+            if (!parent.marked) {
                 parent.marked = true;
+                break;
             }
+            // Perform a cascading cut since the parent is marked already
+            node = parent;
+            parent = parent.parent;
+            cascadeDepth++;
+        }
+        if (metrics != null) {
+            metrics.recordCut(cascadeDepth);
         }
     }
 
@@ -408,44 +1327,378 @@ public class FibonacciHeap<T> {
      * the minimum node. After consolidation, the heap will have a set of trees with unique degrees,
      * and the root list will contain the consolidated trees.
      * <p>
+     * The root list is walked in place: each root's right neighbor is saved before the root can be
+     * linked away, and only roots that have already been visited are ever linked under another root,
+     * so the saved neighbor is always still in the root list. The degree table is kept between calls
+     * and only reallocated when the heap has grown past the size it was sized for, so consolidation
+     * does not allocate.
+     * <p>
      * This operation maintains the Fibonacci heap property and reduces the number of trees in the root list.
      * The time complexity of this operation is O(log n), where n is the number of nodes in the heap.
      *
      * @see #link(Node, Node)
      */
     private void consolidate() {
-        final double phi = (1 + Math.sqrt(5)) / 2; // golden ratio
-        final int maxDegree = (int) Math.floor(Math.log(size) / Math.log(phi)) + 1;
-        final Node<T>[] degreeTable = new Node[maxDegree];
-        final List<Node<T>> rootList = new ArrayList<>();
+        if (size > degreeTableLimit) {
+            growDegreeTable();
+        }
 
+        int rootCount = 0;
         Node<T> current = min;
-        // Traverse all root nodes and add them to rootList.
         do {
-            rootList.add(current);
+            rootCount++;
             current = current.right;
         } while (current != min);
 
         // Consolidate the trees in the root list
-        for (Node<T> node : rootList) {
-            while (degreeTable[node.degree] != null) {
-                Node<T> collisionNode = degreeTable[node.degree];
-                degreeTable[node.degree] = null;
+        int links = 0;
+        for (int i = 0; i < rootCount; i++) {
+            final Node<T> next = current.right;
+            Node<T> node = current;
+            int degree = node.degree;
+            while (degreeTable[degree] != null) {
+                Node<T> collisionNode = degreeTable[degree];
+                degreeTable[degree] = null;
 
                 if (collisionNode.key < node.key) {
-                    link(node, collisionNode);
-                    // node isn't in root list anymore, so we need to update it to node's parent.
-                    node = node.parent;
-                } else {
-                    link(collisionNode, node);
+                    Node<T> swap = node;
+                    node = collisionNode;
+                    collisionNode = swap;
                 }
+                link(collisionNode, node);
+                links++;
+                degree++;
             }
+            degreeTable[degree] = node;
+            current = next;
+        }
 
-            degreeTable[node.degree] = node;
+        // The roots left in the table are the whole root list; find min and empty the table.
+        min = null;
+        int maxDegree = 0;
+        for (int degree = 0; degree < degreeTable.length; degree++) {
+            Node<T> node = degreeTable[degree];
+            if (node != null) {
+                if (min == null || node.key < min.key) {
+                    min = node;
+                }
+                maxDegree = degree;
+                degreeTable[degree] = null;
+            }
+        }
+        if (metrics != null) {
+            metrics.recordConsolidate(rootCount, links, maxDegree);
+        }
+    }
 
-            if (node.key < min.key) {
-                min = node;
+    /**
+     * Switches to incremental consolidation, which bounds the work of a single operation.
+     * Normally extractMin links every root, so the first extractMin after n inserts takes
+     * O(n) time. In this mode insert, decreaseKey, delete and extractMin instead each do at
+     * most budget consolidation steps, where a step either links two roots of the same
+     * degree or files a root in the degree table, and min is kept up to date separately. <br>
+     *
+     * Every root is then either filed in the degree table, which keeps one root per degree
+     * between operations, or waiting in a backlog. extractMin finds the new min by
+     * scanning both, which takes O(log n + backlog) time, so an extractMin costs
+     * O(budget + log n + backlog) and an insert O(budget). Inserts add one root each and
+     * settle it at once, so a burst of inserts leaves no backlog, and the amortized bounds
+     * are unchanged because every step links or files a root that an earlier operation
+     * added. A budget of about twice the maximum degree, such as 64 to 128, keeps up with
+     * the children extractMin promotes. Union and insertAll put all of their roots in the
+     * backlog; if it grows past eight times the budget, the next
+     * extractMin consolidates all of it at once instead of scanning it repeatedly.
+     *
+     * @param budget the most steps one operation may take, at least 1.
+     * @throws IllegalArgumentException If budget is less than 1.
+     */
+    public void enableIncrementalConsolidation(int budget) {
+        if (budget < 1) {
+            throw new IllegalArgumentException("budget must be at least 1");
+        }
+        if (consolidationBudget == 0 && min != null) {
+            Node<T> root = min;
+            do {
+                addToBacklog(root);
+                root = root.right;
+            } while (root != min);
+        }
+        consolidationBudget = budget;
+    }
+
+    /**
+     * Switches back to consolidating the whole root list in every extractMin.
+     */
+    public void disableIncrementalConsolidation() {
+        if (consolidationBudget > 0) {
+            consolidationBudget = 0;
+            resetConsolidation();
+        }
+    }
+
+    /**
+     * Empties the degree table, the backlog and the carry, so that every root is only in
+     * the root list again.
+     */
+    private void resetConsolidation() {
+        Arrays.fill(degreeTable, null);
+        for (int i = 0; i < backlogCount; i++) {
+            final int index = (backlogHead + i) % backlog.length;
+            backlog[index].backlogged = false;
+            backlog[index] = null;
+        }
+        backlogHead = 0;
+        backlogCount = 0;
+        carry = null;
+    }
+
+    /**
+     * Adds a root to the end of the backlog, growing it if needed.
+     * @param root a root that is not in the degree table.
+     */
+    private void addToBacklog(Node<T> root) {
+        if (backlogCount == backlog.length) {
+            final Node<T>[] grown = Arrays.copyOf(backlog, Math.max(16, backlogCount * 2));
+            // Unwrap the ring so the entries are in order from index 0.
+            for (int i = 0; i < backlogCount; i++) {
+                grown[i] = backlog[(backlogHead + i) % backlog.length];
+            }
+            backlog = grown;
+            backlogHead = 0;
+        }
+        root.backlogged = true;
+        backlog[(backlogHead + backlogCount) % backlog.length] = root;
+        backlogCount++;
+    }
+
+    /**
+     * Removes and returns the oldest root in the backlog, skipping stale entries.
+     * @return the root, or {@code null} if the backlog is empty.
+     */
+    private Node<T> pollBacklog() {
+        while (backlogCount > 0) {
+            final Node<T> root = backlog[backlogHead];
+            backlog[backlogHead] = null;
+            backlogHead = (backlogHead + 1) % backlog.length;
+            backlogCount--;
+            if (root.backlogged) {
+                root.backlogged = false;
+                return root;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Forgets a root that is leaving the root list, wherever it waits to be consolidated.
+     * @param root a root of this heap.
+     */
+    private void removeFromConsolidation(Node<T> root) {
+        if (root == carry) {
+            carry = null;
+        } else if (root.backlogged) {
+            root.backlogged = false; // Its backlog entry is now stale.
+        } else if (root.degree < degreeTable.length && degreeTable[root.degree] == root) {
+            degreeTable[root.degree] = null;
+        }
+    }
+
+    /**
+     * Does up to steps steps of incremental consolidation. Each step files the carry, or
+     * the oldest root in the backlog, in the degree table, or links it with the root that
+     * already has its degree. min is never linked under another root, so it stays valid.
+     * @param steps the most steps to take.
+     */
+    private void consolidateSteps(int steps) {
+        if (size > degreeTableLimit) {
+            growDegreeTable();
+        }
+        int links = 0;
+        int maxDegree = 0;
+        for (int step = 0; step < steps; step++) {
+            if (carry == null) {
+                carry = pollBacklog();
+                if (carry == null) {
+                    break;
+                }
+            }
+            final int degree = carry.degree;
+            final Node<T> collisionNode = degreeTable[degree];
+            if (collisionNode == null) {
+                degreeTable[degree] = carry;
+                carry = null;
+                maxDegree = Math.max(maxDegree, degree);
+                continue;
+            }
+            degreeTable[degree] = null;
+            // The smaller key becomes the parent; on a tie min does, so it stays a root.
+            if (collisionNode.key < carry.key || (collisionNode.key == carry.key && collisionNode == min)) {
+                link(carry, collisionNode);
+                carry = collisionNode;
+            } else {
+                link(collisionNode, carry);
+            }
+            links++;
+        }
+        if (metrics != null) {
+            metrics.links += links;
+            metrics.maxDegree = Math.max(metrics.maxDegree, maxDegree);
+        }
+    }
+
+    /**
+     * Restores min after detachMin left it pointing at an arbitrary root: consolidates the
+     * whole root list, or in incremental mode takes a budget of steps and then scans the
+     * degree table, the carry and the backlog.
+     */
+    private void consolidateAfterDetach() {
+        if (consolidationBudget == 0) {
+            consolidate();
+            return;
+        }
+        consolidateSteps(backlogCount > BACKLOG_FACTOR * consolidationBudget
+                ? Integer.MAX_VALUE : consolidationBudget);
+        Node<T> newMin = carry;
+        for (Node<T> root : degreeTable) {
+            if (root != null && (newMin == null || root.key < newMin.key)) {
+                newMin = root;
+            }
+        }
+        for (int i = 0; i < backlogCount; i++) {
+            final Node<T> root = backlog[(backlogHead + i) % backlog.length];
+            if (root.backlogged && (newMin == null || root.key < newMin.key)) {
+                newMin = root;
+            }
+        }
+        min = newMin;
+    }
+
+    /**
+     * Grows the degree table so it can hold every degree possible in a heap of the
+     * current size. A node of degree k has at least F(k + 2) descendants, where F is
+     * the Fibonacci sequence, so the largest degree is the largest k with F(k + 2) <= size.
+     */
+    @SuppressWarnings("unchecked")
+    private void growDegreeTable() {
+        int maxDegree = 0;
+        long previous = 1; // F(2)
+        long current = 2; // F(3)
+        while (current <= size) {
+            long next = previous + current;
+            previous = current;
+            current = next;
+            maxDegree++;
+        }
+        // Incremental consolidation keeps roots in the table between operations.
+        degreeTable = Arrays.copyOf(degreeTable, maxDegree + 1);
+        degreeTableLimit = (int) Math.min(current - 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * A binary min-heap of node references ordered by key. It only holds references, so
+     * pushing and popping never changes the nodes themselves.
+     */
+    private static final class Frontier<T> {
+        private Node<T>[] nodes;
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        private Frontier() {
+            this.nodes = new Node[0];
+            this.size = 0;
+        }
+
+        /**
+         * Adds a node, growing the array if needed.
+         * @param node the node to add.
+         */
+        private void push(Node<T> node) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, Math.max(16, size * 2));
+            }
+            int index = size++;
+            while (index > 0) {
+                int parentIndex = (index - 1) >>> 1;
+                Node<T> parentNode = nodes[parentIndex];
+                if (parentNode.key <= node.key) {
+                    break;
+                }
+                nodes[index] = parentNode;
+                index = parentIndex;
+            }
+            nodes[index] = node;
+        }
+
+        /**
+         * Removes and returns the node with the smallest key.
+         * @return the smallest node, which must exist.
+         */
+        private Node<T> pop() {
+            Node<T> top = nodes[0];
+            Node<T> last = nodes[--size];
+            nodes[size] = null;
+            if (size > 0) {
+                int index = 0;
+                while (true) {
+                    int childIndex = 2 * index + 1;
+                    if (childIndex >= size) {
+                        break;
+                    }
+                    if (childIndex + 1 < size && nodes[childIndex + 1].key < nodes[childIndex].key) {
+                        childIndex++;
+                    }
+                    if (last.key <= nodes[childIndex].key) {
+                        break;
+                    }
+                    nodes[index] = nodes[childIndex];
+                    index = childIndex;
+                }
+                nodes[index] = last;
             }
+            return top;
+        }
+
+        /**
+         * Returns the node with the smallest key without removing it.
+         * @return the smallest node, or {@code null} if the frontier is empty.
+         */
+        private Node<T> peek() {
+            return size > 0 ? nodes[0] : null;
+        }
+
+        /**
+         * Removes every node, dropping the references so the array keeps nothing alive.
+         */
+        private void clear() {
+            Arrays.fill(nodes, 0, size, null);
+            size = 0;
+        }
+    }
+
+    /**
+     * Splices a circular list of roots into the root list next to min and updates min.
+     * @param otherMin the node with the smallest key in the list being added.
+     */
+    private void spliceRootList(Node<T> otherMin) {
+        if (consolidationBudget > 0) {
+            Node<T> root = otherMin;
+            do {
+                addToBacklog(root);
+                root = root.right;
+            } while (root != otherMin);
+        }
+        if (min == null) {
+            min = otherMin;
+            return;
+        }
+        Node<T> oldThisLeftNode = min.left;
+        Node<T> oldOtherLeftNode = otherMin.left;
+        oldThisLeftNode.right = otherMin;
+        otherMin.left = oldThisLeftNode;
+        oldOtherLeftNode.right = min;
+        min.left = oldOtherLeftNode;
+        if (otherMin.key < min.key) {
+            min = otherMin;
         }
     }
 
@@ -455,6 +1708,9 @@ public class FibonacciHeap<T> {
      * @param node a node with no neighbors.
      */
     private void addToRootList(Node<T> node) {
+        if (consolidationBudget > 0) {
+            addToBacklog(node);
+        }
         if (min != null) {
             node.left = min;
             node.right = min.right;
@@ -468,6 +1724,212 @@ public class FibonacciHeap<T> {
         }
     }
 
+    /**
+     * Returns the node after node in a preorder walk of the tree rooted at subtreeRoot,
+     * climbing through parent pointers when a child list is finished.
+     * @param node a node in the tree.
+     * @param subtreeRoot the root of the tree, where the walk ends.
+     * @return the next node, or {@code null} if node was the last one in the tree.
+     */
+    private static <T> Node<T> nextInSubtree(Node<T> node, Node<T> subtreeRoot) {
+        if (node.child != null) {
+            return node.child;
+        }
+        while (node != subtreeRoot) {
+            if (node.right != node.parent.child) {
+                return node.right;
+            }
+            node = node.parent;
+        }
+        return null;
+    }
+
+    /**
+     * Walks the root list from min and every tree in preorder.
+     */
+    private final class NodeIterator implements Iterator<Node<T>> {
+        private final int expectedModCount = modCount;
+        private Node<T> root = min;
+        private Node<T> next = min;
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Node<T> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            final Node<T> node = next;
+            next = nextInSubtree(node, root);
+            if (next == null) {
+                root = root.right;
+                next = root == min ? null : root;
+            }
+            return node;
+        }
+    }
+
+    /**
+     * Returns nodes in ascending key order by popping candidates from a private frontier.
+     */
+    private final class OrderedIterator implements Iterator<Node<T>> {
+        private final int expectedModCount = modCount;
+        private final Frontier<T> candidates = new Frontier<>();
+
+        private OrderedIterator() {
+            pushSiblings(min);
+            skipDeleted();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return candidates.size > 0;
+        }
+
+        @Override
+        public Node<T> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (candidates.size == 0) {
+                throw new NoSuchElementException();
+            }
+            final Node<T> node = candidates.pop();
+            pushSiblings(node.child);
+            skipDeleted();
+            return node;
+        }
+
+        /**
+         * Replaces tombstones at the top of the candidates by their children, so that
+         * hasNext stays exact without unlinking them.
+         */
+        private void skipDeleted() {
+            while (candidates.size > 0 && candidates.peek().deleted) {
+                pushSiblings(candidates.pop().child);
+            }
+        }
+
+        /**
+         * Adds first and all of its siblings to the candidates.
+         * @param first a node of a circular sibling list, or {@code null}.
+         */
+        private void pushSiblings(Node<T> first) {
+            if (first == null) {
+                return;
+            }
+            Node<T> node = first;
+            do {
+                candidates.push(node);
+                node = node.right;
+            } while (node != first);
+        }
+    }
+
+    /**
+     * Covers the trees of count consecutive siblings starting at first, preceded by a
+     * single pending node whose children those siblings are, if it was split off a tree.
+     */
+    private final class NodeSpliterator implements Spliterator<Node<T>> {
+        private final int expectedModCount;
+        private Node<T> pending;
+        private Node<T> first;
+        private int count;
+        private Node<T> current;
+        private long estimate;
+
+        /**
+         * Whether estimate is exact. Only the spliterator of the whole heap is, until it splits.
+         */
+        private boolean sized;
+
+        private NodeSpliterator(Node<T> pending, Node<T> first, int count, long estimate,
+                                boolean sized, int expectedModCount) {
+            this.pending = pending;
+            this.first = first;
+            this.count = count;
+            this.estimate = estimate;
+            this.sized = sized;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Node<T>> action) {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (pending != null) {
+                final Node<T> node = pending;
+                pending = null;
+                action.accept(node);
+                return true;
+            }
+            if (count == 0) {
+                return false;
+            }
+            current = current == null ? first : nextInSubtree(current, first);
+            if (current == null) {
+                if (--count == 0) {
+                    return false;
+                }
+                first = first.right;
+                current = first;
+            }
+            action.accept(current);
+            return true;
+        }
+
+        @Override
+        public Spliterator<Node<T>> trySplit() {
+            if (current != null) {
+                return null;
+            }
+            if (count == 1 && first.degree > 0) {
+                if (pending != null) {
+                    // Hand off the pending node alone so that the tree can be split next time.
+                    final Node<T> node = pending;
+                    pending = null;
+                    estimate--;
+                    sized = false;
+                    return new NodeSpliterator(node, null, 0, 1, false, expectedModCount);
+                }
+                // A single tree: keep its root and split its children instead.
+                pending = first;
+                first = pending.child;
+                count = pending.degree;
+            }
+            if (count < 2) {
+                return null;
+            }
+            final int half = count >>> 1;
+            final Node<T> prefixFirst = first;
+            for (int i = 0; i < half; i++) {
+                first = first.right;
+            }
+            count -= half;
+            final long prefixEstimate = estimate >>> 1;
+            estimate -= prefixEstimate;
+            sized = false;
+            return new NodeSpliterator(null, prefixFirst, half, prefixEstimate, false, expectedModCount);
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return sized ? Spliterator.SIZED | Spliterator.NONNULL : Spliterator.NONNULL;
+        }
+    }
+
     /**
      * Returns a string representation of the Fibonacci heap.
      * The representation includes the minimum node (if present),
@@ -483,7 +1945,7 @@ public class FibonacciHeap<T> {
             str.append("Min");
             appendNode(str, min, false);
         }
-        str.append("], size=").append(size).append("}");
+        str.append("], size=").append(size()).append("}");
         return str.toString();
     }
 
@@ -549,7 +2011,7 @@ public class FibonacciHeap<T> {
             str.append("Min");
             appendNode(str, min, true);
         }
-        str.append("], size=").append(size).append("}");
+        str.append("], size=").append(size()).append("}");
         return str.toString();
     }
 }
\ No newline at end of file
@@ -0,0 +1,244 @@
+package datastructures;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * A {@link java.util.Queue} view of a {@link FibonacciHeap}, so a heap can be passed to any
+ * API that expects a {@code Queue} or a {@code Collection}. <br>
+ *
+ * Each offered value gets its key from a key function, and {@link #poll()} and
+ * {@link #peek()} return the value with the smallest key. Iteration and
+ * {@link #spliterator()} visit the values in no particular order without changing the
+ * heap, and fail fast if the heap is modified meanwhile. The spliterator splits the heap
+ * into independent subtrees, so {@code queue.parallelStream()} aggregations run on several
+ * cores. <br>
+ *
+ * Like {@link java.util.PriorityQueue} the queue does not accept {@code null} and is not
+ * thread-safe. Node handles stay available through {@link #heap()} for decreaseKey.
+ *
+ * @param <T> The type of the values stored in the queue. This can be any object type.
+ */
+public class FibonacciHeapQueue<T> extends AbstractQueue<T> {
+
+    private final FibonacciHeap<T> heap;
+
+    private final ToIntFunction<? super T> keyFunction;
+
+    /**
+     * Creates an empty queue backed by a new heap.
+     * @param keyFunction computes the key of each offered value.
+     */
+    public FibonacciHeapQueue(ToIntFunction<? super T> keyFunction) {
+        this(new FibonacciHeap<>(), keyFunction);
+    }
+
+    /**
+     * Creates a queue view of an existing heap. Changes through either are visible in both.
+     * @param heap the heap to view.
+     * @param keyFunction computes the key of each offered value.
+     */
+    public FibonacciHeapQueue(FibonacciHeap<T> heap, ToIntFunction<? super T> keyFunction) {
+        this.heap = Objects.requireNonNull(heap, "heap");
+        this.keyFunction = Objects.requireNonNull(keyFunction, "keyFunction");
+    }
+
+    /**
+     * Returns the heap backing this queue.
+     * @return the backing heap.
+     */
+    public FibonacciHeap<T> heap() {
+        return heap;
+    }
+
+    /**
+     * Inserts a value with the key given by the key function.
+     * @param value the value to insert.
+     * @return always {@code true}.
+     * @throws NullPointerException If the value is {@code null}.
+     */
+    @Override
+    public boolean offer(T value) {
+        Objects.requireNonNull(value, "value");
+        heap.insert(value, keyFunction.applyAsInt(value));
+        return true;
+    }
+
+    /**
+     * Removes and returns the value with the smallest key.
+     * @return the value, or {@code null} if the queue is empty.
+     */
+    @Override
+    public T poll() {
+        final FibonacciHeap.Node<T> node = heap.extractMin();
+        return node == null ? null : node.getValue();
+    }
+
+    /**
+     * Returns the value with the smallest key without removing it.
+     * @return the value, or {@code null} if the queue is empty.
+     */
+    @Override
+    public T peek() {
+        final FibonacciHeap.Node<T> node = heap.minimum();
+        return node == null ? null : node.getValue();
+    }
+
+    /**
+     * Removes one occurrence of the value. This scans the heap, so it is O(n).
+     * @param o the value to remove.
+     * @return {@code true} if the value was found and removed.
+     */
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        FibonacciHeap.Node<T> found = null;
+        for (FibonacciHeap.Node<T> node : heap) {
+            if (o.equals(node.getValue())) {
+                found = node;
+                break;
+            }
+        }
+        if (found == null) {
+            return false;
+        }
+        heap.delete(found);
+        return true;
+    }
+
+    /**
+     * Removes every value that matches the filter. The heap is scanned first and the matching
+     * nodes are deleted afterwards, because a delete can move nodes that the scan has not
+     * reached yet.
+     * @param filter returns {@code true} for the values to remove.
+     * @return {@code true} if any value was removed.
+     */
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        Objects.requireNonNull(filter, "filter");
+        final List<FibonacciHeap.Node<T>> matches = new ArrayList<>();
+        for (FibonacciHeap.Node<T> node : heap) {
+            if (filter.test(node.getValue())) {
+                matches.add(node);
+            }
+        }
+        for (FibonacciHeap.Node<T> node : matches) {
+            heap.delete(node);
+        }
+        return !matches.isEmpty();
+    }
+
+    /**
+     * Removes every value contained in the given collection. See {@link #removeIf(Predicate)}.
+     * @param c the values to remove.
+     * @return {@code true} if any value was removed.
+     */
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        Objects.requireNonNull(c, "c");
+        return removeIf(c::contains);
+    }
+
+    /**
+     * Removes every value not contained in the given collection. See {@link #removeIf(Predicate)}.
+     * @param c the values to keep.
+     * @return {@code true} if any value was removed.
+     */
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c, "c");
+        return removeIf(value -> !c.contains(value));
+    }
+
+    @Override
+    public int size() {
+        return heap.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        heap.clear();
+    }
+
+    /**
+     * Returns a fail-fast iterator over the values in no particular order.
+     * It does not support remove, since a delete can move nodes the iterator has not visited
+     * yet; {@link #removeIf(Predicate)}, {@link #removeAll(Collection)} and
+     * {@link #retainAll(Collection)} are implemented without it.
+     * @return an iterator over the values.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        final Iterator<FibonacciHeap.Node<T>> nodes = heap.iterator();
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return nodes.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return nodes.next().getValue();
+            }
+        };
+    }
+
+    /**
+     * Returns a splitting, fail-fast spliterator over the values in no particular order.
+     * See {@link FibonacciHeap#spliterator()}.
+     * @return a spliterator over the values.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ValueSpliterator<>(heap.spliterator());
+    }
+
+    /**
+     * Maps a node spliterator to the values of its nodes.
+     */
+    private static final class ValueSpliterator<T> implements Spliterator<T> {
+        private final Spliterator<FibonacciHeap.Node<T>> nodes;
+
+        private ValueSpliterator(Spliterator<FibonacciHeap.Node<T>> nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            return nodes.tryAdvance(node -> action.accept(node.getValue()));
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            final Spliterator<FibonacciHeap.Node<T>> prefix = nodes.trySplit();
+            return prefix == null ? null : new ValueSpliterator<>(prefix);
+        }
+
+        @Override
+        public long estimateSize() {
+            return nodes.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            // Values may be null when the heap was filled directly, and the heap spliterator
+            // stops being SIZED once split, so report neither.
+            return 0;
+        }
+    }
+}
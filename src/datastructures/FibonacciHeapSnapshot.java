@@ -0,0 +1,356 @@
+package datastructures;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Writes a {@link FibonacciHeap} to a file and restores it, keeping the exact tree shape
+ * that consolidation built, so a restarted process gets its heap back without calling
+ * insert for every node and without re-consolidating. <br>
+ *
+ * The file is a 32 byte header followed by one record per node in preorder (see
+ * {@link FibonacciHeap#writePreorder}). The header holds a magic number, the format
+ * version, the node and root counts, the payload length and a CRC32 of the payload.
+ * A record is the key (4 bytes), the degree shifted left by one with the mark in the low
+ * bit (1 byte), the value length (4 bytes, -1 for {@code null}) and the value bytes
+ * produced by a {@link ValueCodec}. All numbers are big-endian. <br>
+ *
+ * Writing streams through a {@link FileChannel} with a direct buffer. Reading maps the
+ * file in windows of {@link #WINDOW_SIZE} bytes, checks the CRC before building any node,
+ * and then rebuilds the heap in one pass with a stack of the parents whose children are
+ * still being read.
+ */
+public final class FibonacciHeapSnapshot {
+
+    /**
+     * "FHSN" in ASCII, the first four bytes of every snapshot.
+     */
+    static final int MAGIC = 0x4648534E;
+
+    /**
+     * The version of the format written by {@link #write}. {@link #read} rejects any other.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The length of the header in bytes.
+     */
+    static final int HEADER_SIZE = 32;
+
+    /**
+     * The size of the buffer records are gathered in before they are written.
+     */
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * The number of bytes mapped at a time while reading.
+     */
+    private static final int WINDOW_SIZE = 1 << 28;
+
+    /**
+     * The length of a record without its value bytes.
+     */
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES + 1 + Integer.BYTES;
+
+    /**
+     * Receives the nodes of a heap from {@link FibonacciHeap#writePreorder}.
+     * @param <T> the type of the values.
+     */
+    interface NodeWriter<T> {
+        void write(T value, int key, int degree, boolean marked) throws IOException;
+    }
+
+    private FibonacciHeapSnapshot() {
+    }
+
+    /**
+     * Writes a heap to a file, replacing the file if it exists, and forces it to disk.
+     * Keys, values and tree shapes are left unchanged, except that nodes deleted in lazy mode
+     * are purged first, since a tombstone's children cannot be written without it. That purge
+     * is a modification, so iterators that were open on a heap with tombstones fail afterwards.
+     * @param heap the heap to write.
+     * @param path the file to write.
+     * @param codec turns the non-null values into bytes.
+     * @param <T> the type of the values.
+     * @return the number of bytes written.
+     * @throws IOException if the file cannot be written.
+     * @throws IllegalStateException if the codec writes a different number of bytes than it reports.
+     */
+    public static <T> long write(FibonacciHeap<T> heap, Path path, ValueCodec<? super T> codec) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final Writer<T> writer = new Writer<>(channel, codec);
+            channel.position(HEADER_SIZE);
+            final int rootCount = heap.writePreorder(writer);
+            writer.flush();
+
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(heap.size()).putInt(rootCount)
+                    .putLong(writer.payloadLength).putInt((int) writer.crc.getValue()).putInt(0);
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+            return HEADER_SIZE + writer.payloadLength;
+        }
+    }
+
+    /**
+     * Restores a heap written by {@link #write}.
+     * @param path the file to read.
+     * @param codec turns the value bytes back into values.
+     * @param <T> the type of the values.
+     * @return a new heap with the same nodes, keys, marks and tree shape as the one written.
+     * @throws IOException if the file cannot be read, is not a snapshot, has another
+     * version, fails its checksum or does not describe a valid heap.
+     */
+    public static <T> FibonacciHeap<T> read(Path path, ValueCodec<? extends T> codec) throws IOException {
+        return read(path, codec, null);
+    }
+
+    /**
+     * Restores a heap written by {@link #write} and passes every restored node to a callback,
+     * so that callers in this package can index the nodes while they are built.
+     * @param path the file to read.
+     * @param codec turns the value bytes back into values.
+     * @param restored receives every node in file order, or {@code null}.
+     * @param <T> the type of the values.
+     * @return the restored heap.
+     * @throws IOException as {@link #read(Path, ValueCodec)}.
+     */
+    static <T> FibonacciHeap<T> read(Path path, ValueCodec<? extends T> codec,
+                                     Consumer<FibonacciHeap.Node<T>> restored) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("Not a FibonacciHeap snapshot: " + path);
+            }
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException("Truncated snapshot header: " + path);
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a FibonacciHeap snapshot: " + path);
+            }
+            final int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ": " + path);
+            }
+            final int size = header.getInt();
+            final int rootCount = header.getInt();
+            final long payloadLength = header.getLong();
+            final int checksum = header.getInt();
+            if (size < 0 || rootCount < 0 || rootCount > size || (size > 0) != (rootCount > 0)
+                    || payloadLength != fileSize - HEADER_SIZE) {
+                throw new IOException("Corrupt snapshot header: " + path);
+            }
+            if (checksum(channel, payloadLength) != checksum) {
+                throw new IOException("Snapshot checksum mismatch: " + path);
+            }
+            return restore(new Reader(channel, fileSize), size, rootCount, codec, restored, path);
+        }
+    }
+
+    /**
+     * Rebuilds the heap from the records, which are in the preorder written by
+     * {@link FibonacciHeap#writePreorder}. parents[depth] is the node whose children are
+     * being read, with remaining[depth] of them still to come; depth 0 is the root list.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> FibonacciHeap<T> restore(Reader reader, int size, int rootCount,
+                                                ValueCodec<? extends T> codec,
+                                                Consumer<FibonacciHeap.Node<T>> restored,
+                                                Path path) throws IOException {
+        final FibonacciHeap<T> heap = new FibonacciHeap<>();
+        final int maxDegree = maxDegree(size);
+        // Cuts can leave trees much taller than their degree, so the stack grows as needed.
+        FibonacciHeap.Node<T>[] parents = new FibonacciHeap.Node[maxDegree + 2];
+        int[] remaining = new int[maxDegree + 2];
+        int depth = 0;
+        remaining[0] = rootCount;
+        for (int i = 0; i < size; i++) {
+            while (remaining[depth] == 0) {
+                if (depth == 0) {
+                    throw new IOException("Corrupt snapshot, more nodes than roots can hold: " + path);
+                }
+                depth--;
+            }
+            final ByteBuffer record = reader.next(RECORD_HEADER_SIZE);
+            final int key = record.getInt();
+            final int meta = record.get() & 0xFF;
+            final int valueLength = record.getInt();
+            final int degree = meta >>> 1;
+            final FibonacciHeap.Node<T> parent = parents[depth];
+            final FibonacciHeap.Node<T> above = parent != null ? parent : heap.minimum();
+            if (degree > maxDegree || (above != null && key < above.getKey())) {
+                throw new IOException("Corrupt snapshot, invalid node " + i + ": " + path);
+            }
+            T value = null;
+            if (valueLength >= 0) {
+                value = codec.decode(reader.slice(valueLength));
+            } else if (valueLength != -1) {
+                throw new IOException("Corrupt snapshot, invalid value length: " + path);
+            }
+            final FibonacciHeap.Node<T> node = heap.appendRestored(parent, value, key, (meta & 1) != 0);
+            remaining[depth]--;
+            if (restored != null) {
+                restored.accept(node);
+            }
+            if (degree > 0) {
+                if (depth + 1 == parents.length) {
+                    parents = Arrays.copyOf(parents, parents.length * 2);
+                    remaining = Arrays.copyOf(remaining, remaining.length * 2);
+                }
+                depth++;
+                parents[depth] = node;
+                remaining[depth] = degree;
+            }
+        }
+        for (int level = 0; level <= depth; level++) {
+            if (remaining[level] != 0) {
+                throw new IOException("Corrupt snapshot, missing nodes: " + path);
+            }
+        }
+        return heap;
+    }
+
+    /**
+     * Returns the largest degree a node can have in a heap of the given size: the largest
+     * k with F(k + 2) <= size, where F is the Fibonacci sequence.
+     */
+    private static int maxDegree(int size) {
+        int maxDegree = 0;
+        long previous = 1; // F(2)
+        long current = 2; // F(3)
+        while (current <= size) {
+            long next = previous + current;
+            previous = current;
+            current = next;
+            maxDegree++;
+        }
+        return maxDegree;
+    }
+
+    /**
+     * Computes the CRC32 of the payload by mapping it a window at a time.
+     */
+    private static int checksum(FileChannel channel, long payloadLength) throws IOException {
+        final CRC32 crc = new CRC32();
+        for (long offset = 0; offset < payloadLength; offset += WINDOW_SIZE) {
+            long length = Math.min(WINDOW_SIZE, payloadLength - offset);
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + offset, length));
+        }
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Gathers records in a direct buffer, updating the length and CRC of the payload each
+     * time the buffer is written to the channel.
+     */
+    private static final class Writer<T> implements NodeWriter<T> {
+        private final FileChannel channel;
+        private final ValueCodec<? super T> codec;
+        private final CRC32 crc = new CRC32();
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        private long payloadLength;
+
+        private Writer(FileChannel channel, ValueCodec<? super T> codec) {
+            this.channel = channel;
+            this.codec = codec;
+        }
+
+        @Override
+        public void write(T value, int key, int degree, boolean marked) throws IOException {
+            final int valueLength = value == null ? -1 : codec.encodedSize(value);
+            ensureRemaining(RECORD_HEADER_SIZE + Math.max(valueLength, 0));
+            buffer.putInt(key).put((byte) (degree << 1 | (marked ? 1 : 0))).putInt(valueLength);
+            if (value != null) {
+                final int start = buffer.position();
+                codec.encode(value, buffer);
+                if (buffer.position() - start != valueLength) {
+                    throw new IllegalStateException("The codec wrote " + (buffer.position() - start)
+                            + " bytes but reported " + valueLength);
+                }
+            }
+        }
+
+        /**
+         * Flushes the buffer if fewer than n bytes are left, and grows it if n is larger
+         * than the whole buffer.
+         */
+        private void ensureRemaining(int n) throws IOException {
+            if (buffer.remaining() < n) {
+                flush();
+                if (buffer.capacity() < n) {
+                    buffer = ByteBuffer.allocateDirect(n);
+                }
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            payloadLength += buffer.remaining();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Reads the payload through a read-only mapping of at most {@link #WINDOW_SIZE} bytes,
+     * remapping at the current offset whenever the next read does not fit in the window.
+     */
+    private static final class Reader {
+        private final FileChannel channel;
+        private final long fileSize;
+        private MappedByteBuffer window;
+        private long windowStart;
+
+        private Reader(FileChannel channel, long fileSize) {
+            this.channel = channel;
+            this.fileSize = fileSize;
+            this.windowStart = HEADER_SIZE;
+            this.window = null;
+        }
+
+        /**
+         * Returns the window, remapped if needed so that the next n bytes start at its
+         * position. The caller moves past them by reading them.
+         */
+        private ByteBuffer next(int n) throws IOException {
+            if (window == null || window.remaining() < n) {
+                long offset = window == null ? windowStart : windowStart + window.position();
+                long length = Math.min(Math.max(WINDOW_SIZE, n), fileSize - offset);
+                if (length < n) {
+                    throw new IOException("Truncated snapshot");
+                }
+                window = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                windowStart = offset;
+            }
+            return window;
+        }
+
+        /**
+         * Returns a buffer holding exactly the next n bytes and moves past them.
+         */
+        private ByteBuffer slice(int n) throws IOException {
+            final ByteBuffer buffer = next(n);
+            final ByteBuffer value = buffer.slice(buffer.position(), n);
+            buffer.position(buffer.position() + n);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package datastructures;
+
+/**
+ * The mutable counters behind {@link HeapStats}. A {@link FibonacciHeap} only holds an
+ * instance while metrics are enabled, so a disabled heap pays a single null check per
+ * operation. Like the heap, this class is not thread-safe.
+ */
+final class HeapMetrics {
+
+    long inserts;
+    long extractMins;
+    long decreaseKeys;
+    long increaseKeys;
+    long deletes;
+    long unions;
+    long consolidations;
+    long consolidatedRoots;
+    int maxRootListLength;
+    long links;
+    int maxLinksPerConsolidate;
+    long cuts;
+    long cascadingCuts;
+    int maxCascadeDepth;
+    int maxDegree;
+
+    /**
+     * Records one consolidation.
+     * @param rootListLength the number of roots before consolidating.
+     * @param linkCount the number of links performed.
+     * @param degree the largest root degree afterwards.
+     */
+    void recordConsolidate(int rootListLength, int linkCount, int degree) {
+        consolidations++;
+        consolidatedRoots += rootListLength;
+        maxRootListLength = Math.max(maxRootListLength, rootListLength);
+        links += linkCount;
+        maxLinksPerConsolidate = Math.max(maxLinksPerConsolidate, linkCount);
+        maxDegree = Math.max(maxDegree, degree);
+    }
+
+    /**
+     * Records a cut and the cascading cuts it triggered.
+     * @param cascadeDepth the number of marked ancestors that were cut as well.
+     */
+    void recordCut(int cascadeDepth) {
+        cuts += 1 + cascadeDepth;
+        cascadingCuts += cascadeDepth;
+        maxCascadeDepth = Math.max(maxCascadeDepth, cascadeDepth);
+    }
+
+    /**
+     * Copies the counters into an immutable snapshot.
+     * @return the current counters.
+     */
+    HeapStats snapshot() {
+        return new HeapStats(inserts, extractMins, decreaseKeys, increaseKeys, deletes, unions,
+                consolidations, consolidatedRoots, maxRootListLength, links, maxLinksPerConsolidate,
+                cuts, cascadingCuts, maxCascadeDepth, maxDegree);
+    }
+}
@@ -0,0 +1,198 @@
+package datastructures;
+
+/**
+ * An immutable snapshot of the operation counters of a {@link FibonacciHeap}, taken with
+ * {@link FibonacciHeap#getStats()}. <br>
+ *
+ * The counters show where the time of slow operations went: a large
+ * {@link #getMaxRootListLength()} means an extractMin had to consolidate many roots left
+ * behind by inserts, unions or cuts, while a large {@link #getMaxCascadeDepth()} means a
+ * decreaseKey triggered a long chain of cascading cuts.
+ */
+public final class HeapStats {
+
+    private final long inserts;
+    private final long extractMins;
+    private final long decreaseKeys;
+    private final long increaseKeys;
+    private final long deletes;
+    private final long unions;
+    private final long consolidations;
+    private final long consolidatedRoots;
+    private final int maxRootListLength;
+    private final long links;
+    private final int maxLinksPerConsolidate;
+    private final long cuts;
+    private final long cascadingCuts;
+    private final int maxCascadeDepth;
+    private final int maxDegree;
+
+    HeapStats(long inserts, long extractMins, long decreaseKeys, long increaseKeys, long deletes, long unions,
+              long consolidations, long consolidatedRoots, int maxRootListLength,
+              long links, int maxLinksPerConsolidate,
+              long cuts, long cascadingCuts, int maxCascadeDepth, int maxDegree) {
+        this.inserts = inserts;
+        this.extractMins = extractMins;
+        this.decreaseKeys = decreaseKeys;
+        this.increaseKeys = increaseKeys;
+        this.deletes = deletes;
+        this.unions = unions;
+        this.consolidations = consolidations;
+        this.consolidatedRoots = consolidatedRoots;
+        this.maxRootListLength = maxRootListLength;
+        this.links = links;
+        this.maxLinksPerConsolidate = maxLinksPerConsolidate;
+        this.cuts = cuts;
+        this.cascadingCuts = cascadingCuts;
+        this.maxCascadeDepth = maxCascadeDepth;
+        this.maxDegree = maxDegree;
+    }
+
+    /**
+     * Returns the number of inserted nodes, including those added by insertAll.
+     * @return the number of inserted nodes.
+     */
+    public long getInserts() {
+        return inserts;
+    }
+
+    /**
+     * Returns the number of extracted nodes, including those removed by batch extractMin.
+     * @return the number of extracted nodes.
+     */
+    public long getExtractMins() {
+        return extractMins;
+    }
+
+    /**
+     * Returns the number of decreaseKey calls.
+     * @return the number of decreaseKey calls.
+     */
+    public long getDecreaseKeys() {
+        return decreaseKeys;
+    }
+
+    /**
+     * Returns the number of increaseKey calls, including updateKey calls that raised a key.
+     * @return the number of increaseKey calls.
+     */
+    public long getIncreaseKeys() {
+        return increaseKeys;
+    }
+
+    /**
+     * Returns the number of deleted nodes.
+     * @return the number of delete calls.
+     */
+    public long getDeletes() {
+        return deletes;
+    }
+
+    /**
+     * Returns the number of union calls.
+     * @return the number of union calls.
+     */
+    public long getUnions() {
+        return unions;
+    }
+
+    /**
+     * Returns the number of times the root list was consolidated.
+     * @return the number of consolidations.
+     */
+    public long getConsolidations() {
+        return consolidations;
+    }
+
+    /**
+     * Returns the total length of the root lists seen by every consolidation.
+     * @return the sum of the root list lengths.
+     */
+    public long getConsolidatedRoots() {
+        return consolidatedRoots;
+    }
+
+    /**
+     * Returns the longest root list seen by a single consolidation.
+     * @return the maximum root list length.
+     */
+    public int getMaxRootListLength() {
+        return maxRootListLength;
+    }
+
+    /**
+     * Returns the average length of the root list seen by a consolidation.
+     * @return the average root list length, or 0 if there was no consolidation.
+     */
+    public double getAverageRootListLength() {
+        return consolidations == 0 ? 0 : (double) consolidatedRoots / consolidations;
+    }
+
+    /**
+     * Returns the number of trees linked under another tree during consolidation.
+     * @return the total number of links.
+     */
+    public long getLinks() {
+        return links;
+    }
+
+    /**
+     * Returns the largest number of links performed by a single consolidation.
+     * @return the maximum number of links per consolidation.
+     */
+    public int getMaxLinksPerConsolidate() {
+        return maxLinksPerConsolidate;
+    }
+
+    /**
+     * Returns the average number of links performed by a consolidation.
+     * @return the average number of links, or 0 if there was no consolidation.
+     */
+    public double getAverageLinksPerConsolidate() {
+        return consolidations == 0 ? 0 : (double) links / consolidations;
+    }
+
+    /**
+     * Returns the number of nodes cut from their parent, including cascading cuts.
+     * @return the total number of cuts.
+     */
+    public long getCuts() {
+        return cuts;
+    }
+
+    /**
+     * Returns the number of cuts of marked ancestors triggered by another cut.
+     * @return the number of cascading cuts.
+     */
+    public long getCascadingCuts() {
+        return cascadingCuts;
+    }
+
+    /**
+     * Returns the longest chain of cascading cuts triggered by a single decreaseKey.
+     * @return the maximum cascade depth, 0 if no cut ever cascaded.
+     */
+    public int getMaxCascadeDepth() {
+        return maxCascadeDepth;
+    }
+
+    /**
+     * Returns the largest root degree seen after a consolidation.
+     * @return the maximum degree.
+     */
+    public int getMaxDegree() {
+        return maxDegree;
+    }
+
+    @Override
+    public String toString() {
+        return "HeapStats{inserts=" + inserts + ", extractMins=" + extractMins
+                + ", decreaseKeys=" + decreaseKeys + ", increaseKeys=" + increaseKeys
+                + ", deletes=" + deletes + ", unions=" + unions
+                + ", consolidations=" + consolidations + ", maxRootListLength=" + maxRootListLength
+                + ", averageRootListLength=" + getAverageRootListLength()
+                + ", links=" + links + ", maxLinksPerConsolidate=" + maxLinksPerConsolidate
+                + ", cuts=" + cuts + ", cascadingCuts=" + cascadingCuts
+                + ", maxCascadeDepth=" + maxCascadeDepth + ", maxDegree=" + maxDegree + "}";
+    }
+}
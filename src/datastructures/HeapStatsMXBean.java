@@ -0,0 +1,45 @@
+package datastructures;
+
+/**
+ * The JMX view of the {@link HeapStats} of a {@link FibonacciHeap}, registered with
+ * {@link HeapStatsMonitor#register(String)}. Every attribute matches the getter of the
+ * same name in {@link HeapStats}.
+ */
+public interface HeapStatsMXBean {
+
+    boolean isEnabled();
+
+    int getSize();
+
+    long getInserts();
+
+    long getExtractMins();
+
+    long getDecreaseKeys();
+
+    long getIncreaseKeys();
+
+    long getDeletes();
+
+    long getUnions();
+
+    long getConsolidations();
+
+    int getMaxRootListLength();
+
+    double getAverageRootListLength();
+
+    long getLinks();
+
+    int getMaxLinksPerConsolidate();
+
+    double getAverageLinksPerConsolidate();
+
+    long getCuts();
+
+    long getCascadingCuts();
+
+    int getMaxCascadeDepth();
+
+    int getMaxDegree();
+}
@@ -0,0 +1,140 @@
+package datastructures;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Publishes the metrics of a {@link FibonacciHeap} as a JMX MXBean, so they can be read
+ * with JConsole or any other JMX client. Metrics must be enabled on the heap with
+ * {@link FibonacciHeap#enableMetrics()}; until then every counter reads 0. <br>
+ *
+ * The heap is not thread-safe and the JMX client reads the counters from another thread
+ * without synchronization, so a value may be slightly out of date.
+ */
+public class HeapStatsMonitor implements HeapStatsMXBean {
+
+    private static final HeapStats EMPTY = new HeapMetrics().snapshot();
+
+    private final FibonacciHeap<?> heap;
+
+    /**
+     * Initializes a monitor for a heap.
+     * @param heap the heap whose metrics are published.
+     */
+    public HeapStatsMonitor(FibonacciHeap<?> heap) {
+        this.heap = heap;
+    }
+
+    /**
+     * Registers this monitor with the platform MBean server under
+     * {@code datastructures:type=FibonacciHeap,name=<name>}.
+     * @param name the name that identifies the heap.
+     * @return the name the monitor was registered under.
+     * @throws JMException If the name is invalid or already registered.
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = new ObjectName("datastructures:type=FibonacciHeap,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /**
+     * Returns the current stats of the heap.
+     * @return a snapshot of the counters, all 0 if metrics are disabled.
+     */
+    private HeapStats stats() {
+        HeapStats stats = heap.getStats();
+        return stats == null ? EMPTY : stats;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return heap.getStats() != null;
+    }
+
+    @Override
+    public int getSize() {
+        return heap.size();
+    }
+
+    @Override
+    public long getInserts() {
+        return stats().getInserts();
+    }
+
+    @Override
+    public long getExtractMins() {
+        return stats().getExtractMins();
+    }
+
+    @Override
+    public long getDecreaseKeys() {
+        return stats().getDecreaseKeys();
+    }
+
+    @Override
+    public long getIncreaseKeys() {
+        return stats().getIncreaseKeys();
+    }
+
+    @Override
+    public long getDeletes() {
+        return stats().getDeletes();
+    }
+
+    @Override
+    public long getUnions() {
+        return stats().getUnions();
+    }
+
+    @Override
+    public long getConsolidations() {
+        return stats().getConsolidations();
+    }
+
+    @Override
+    public int getMaxRootListLength() {
+        return stats().getMaxRootListLength();
+    }
+
+    @Override
+    public double getAverageRootListLength() {
+        return stats().getAverageRootListLength();
+    }
+
+    @Override
+    public long getLinks() {
+        return stats().getLinks();
+    }
+
+    @Override
+    public int getMaxLinksPerConsolidate() {
+        return stats().getMaxLinksPerConsolidate();
+    }
+
+    @Override
+    public double getAverageLinksPerConsolidate() {
+        return stats().getAverageLinksPerConsolidate();
+    }
+
+    @Override
+    public long getCuts() {
+        return stats().getCuts();
+    }
+
+    @Override
+    public long getCascadingCuts() {
+        return stats().getCascadingCuts();
+    }
+
+    @Override
+    public int getMaxCascadeDepth() {
+        return stats().getMaxCascadeDepth();
+    }
+
+    @Override
+    public int getMaxDegree() {
+        return stats().getMaxDegree();
+    }
+}
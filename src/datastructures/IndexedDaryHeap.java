@@ -0,0 +1,365 @@
+package datastructures;
+
+import java.util.Arrays;
+
+/**
+ * An implicit d-ary min-heap over primitive {@code int} keys with {@code int} handles, for
+ * small and medium queues where an array heap's locality beats the pointer-chasing of
+ * {@link FibonacciHeap}. <br>
+ *
+ * The heap is stored as two parallel arrays in heap order, the key and the handle at
+ * each position, so sifting reads a node's d children from consecutive memory. A third
+ * array maps every handle to its current position, which lets {@link #decreaseKey(int, int)}
+ * and {@link #delete(int)} find their node in O(1) and finish in O(log_d n). A larger arity
+ * makes the tree shallower, so decreaseKey and insert get cheaper while extractMin compares
+ * more children per level; 4 is a good default and 8 suits decreaseKey-heavy use. <br>
+ *
+ * Handles are recycled. Positions at or above {@link #size()} hold the free handles, so a
+ * removed node's handle and key stay readable with {@link #getKey(int)} until the next
+ * insert reuses the handle, the same contract as {@link IntFibonacciHeap}.
+ */
+public class IndexedDaryHeap {
+
+    /**
+     * The handle returned when there is no node, e.g. by {@link #minimum()} on an empty heap.
+     */
+    public static final int NIL = -1;
+
+    /**
+     * The arity used by the no-argument constructor.
+     */
+    public static final int DEFAULT_ARITY = 4;
+
+    /**
+     * The number of slots allocated when no capacity is given.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * log2 of the arity, so that the children of position p start at (p << shift) + 1.
+     */
+    private final int shift;
+
+    /**
+     * The key at each position. Positions below size are in heap order.
+     */
+    private int[] heapKey;
+
+    /**
+     * The handle at each position. Positions from size to top hold the free handles.
+     */
+    private int[] heapHandle;
+
+    /**
+     * The position of each handle.
+     */
+    private int[] position;
+
+    /**
+     * The number of nodes in the heap.
+     */
+    private int size;
+
+    /**
+     * The number of handles that have ever been handed out.
+     */
+    private int top;
+
+    /**
+     * Initializes an empty 4-ary heap.
+     */
+    public IndexedDaryHeap() {
+        this(DEFAULT_ARITY, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initializes an empty heap with the given arity.
+     * @param arity the number of children per node, a power of two from 2 to 64.
+     * @throws IllegalArgumentException if arity is not a power of two from 2 to 64.
+     */
+    public IndexedDaryHeap(int arity) {
+        this(arity, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initializes an empty heap with the given arity and room for initialCapacity nodes
+     * before the arrays have to grow.
+     * @param arity the number of children per node, a power of two from 2 to 64.
+     * @param initialCapacity the number of slots to allocate up front.
+     * @throws IllegalArgumentException if arity is not a power of two from 2 to 64, or
+     * initialCapacity is negative.
+     */
+    public IndexedDaryHeap(int arity, int initialCapacity) {
+        if (arity < 2 || arity > 64 || Integer.bitCount(arity) != 1) {
+            throw new IllegalArgumentException("The arity must be a power of two from 2 to 64");
+        }
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("The initial capacity must not be negative");
+        }
+        shift = Integer.numberOfTrailingZeros(arity);
+        heapKey = new int[initialCapacity];
+        heapHandle = new int[initialCapacity];
+        position = new int[initialCapacity];
+        size = 0;
+        top = 0;
+    }
+
+    /**
+     * Returns the number of children per node.
+     * @return the arity of the heap.
+     */
+    public int arity() {
+        return 1 << shift;
+    }
+
+    /**
+     * Inserts a new node and sifts it up. Operation is performed in O(log_d n) time.
+     * @param key the key of the new node.
+     * @return the handle of the new node.
+     */
+    public int insert(int key) {
+        int node = allocate();
+        siftUp(size++, node, key);
+        return node;
+    }
+
+    /**
+     * Inserts a node for every key. If the new keys are at least as many as the nodes
+     * already in the heap, the whole array is rebuilt bottom-up in O(n) time (Floyd's
+     * heapify); otherwise each new node is sifted up.
+     * @param keys the key of every new node.
+     * @return the handles of the new nodes, in the same order as keys.
+     */
+    public int[] insertAll(int[] keys) {
+        final int[] handles = new int[keys.length];
+        final boolean rebuild = keys.length >= size;
+        ensureCapacity(size + keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            int node = allocate();
+            handles[i] = node;
+            if (rebuild) {
+                place(size++, node, keys[i]);
+            } else {
+                siftUp(size++, node, keys[i]);
+            }
+        }
+        if (rebuild) {
+            for (int pos = (size - 2) >> shift; pos >= 0; pos--) {
+                siftDown(pos, heapHandle[pos], heapKey[pos]);
+            }
+        }
+        return handles;
+    }
+
+    /**
+     * Returns the handle of the node with the smallest key.
+     * @return the handle of the minimum node, or {@link #NIL} if the heap is empty.
+     */
+    public int minimum() {
+        return size == 0 ? NIL : heapHandle[0];
+    }
+
+    /**
+     * Returns the key of a node. The key of a removed node can still be read until its
+     * handle is reused by the next insert.
+     * @param node the handle of the node.
+     * @return the key of the node.
+     * @throws IllegalArgumentException if the handle was never issued by this heap.
+     */
+    public int getKey(int node) {
+        if (node < 0 || node >= top) {
+            throw new IllegalArgumentException("Invalid handle: " + node);
+        }
+        return heapKey[position[node]];
+    }
+
+    /**
+     * Removes the node with the smallest key and returns its handle. The last node takes
+     * its place and is sifted down. Operation is performed in O(d log_d n) time.
+     * @return the handle of the node with the smallest key, or {@link #NIL} if the heap is empty.
+     */
+    public int extractMin() {
+        if (size == 0) {
+            return NIL;
+        }
+        int node = heapHandle[0];
+        removeAt(0);
+        return node;
+    }
+
+    /**
+     * Decreases the key of a node and sifts it up. Operation is performed in O(log_d n) time.
+     * @param node the handle of the node whose key is to be decreased.
+     * @param newKey the new key, which must be smaller than the current key.
+     * @throws IllegalArgumentException if the handle is not in the heap or the new key
+     * is greater than or equal to the current key.
+     */
+    public void decreaseKey(int node, int newKey) {
+        checkHandle(node);
+        int pos = position[node];
+        if (newKey >= heapKey[pos]) {
+            throw new IllegalArgumentException("The new key must be less than the current key");
+        }
+        siftUp(pos, node, newKey);
+    }
+
+    /**
+     * Removes a node. The last node takes its place and is sifted up or down.
+     * Operation is performed in O(d log_d n) time.
+     * @param node the handle of the node to be deleted.
+     * @throws IllegalArgumentException if the handle is not in the heap.
+     */
+    public void delete(int node) {
+        checkHandle(node);
+        removeAt(position[node]);
+    }
+
+    /**
+     * Returns the number of nodes in the heap.
+     * @return the total number of nodes in the heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the heap is empty.
+     * @return {@code true} if the heap is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every node. All handles become free for reuse.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Removes the node at a position, moves the last node into the hole and stores the
+     * removed node just past the end, where its key stays readable.
+     * @param pos the position of the node to remove.
+     */
+    private void removeAt(int pos) {
+        final int removed = heapHandle[pos];
+        final int removedKey = heapKey[pos];
+        final int last = --size;
+        final int moved = heapHandle[last];
+        final int movedKey = heapKey[last];
+        place(last, removed, removedKey);
+        if (pos != last) {
+            if (pos > 0 && movedKey < heapKey[(pos - 1) >> shift]) {
+                siftUp(pos, moved, movedKey);
+            } else {
+                siftDown(pos, moved, movedKey);
+            }
+        }
+    }
+
+    /**
+     * Moves a node towards the root until its parent's key is not larger.
+     * @param pos the position of the hole the node starts in.
+     * @param node the handle of the node.
+     * @param key the key of the node.
+     */
+    private void siftUp(int pos, int node, int key) {
+        while (pos > 0) {
+            int parent = (pos - 1) >> shift;
+            int parentKey = heapKey[parent];
+            if (parentKey <= key) {
+                break;
+            }
+            place(pos, heapHandle[parent], parentKey);
+            pos = parent;
+        }
+        place(pos, node, key);
+    }
+
+    /**
+     * Moves a node away from the root until no child has a smaller key.
+     * @param pos the position of the hole the node starts in.
+     * @param node the handle of the node.
+     * @param key the key of the node.
+     */
+    private void siftDown(int pos, int node, int key) {
+        while (true) {
+            int first = (pos << shift) + 1;
+            if (first >= size) {
+                break;
+            }
+            int end = Math.min(first + (1 << shift), size);
+            int smallest = first;
+            int smallestKey = heapKey[first];
+            for (int child = first + 1; child < end; child++) {
+                if (heapKey[child] < smallestKey) {
+                    smallest = child;
+                    smallestKey = heapKey[child];
+                }
+            }
+            if (smallestKey >= key) {
+                break;
+            }
+            place(pos, heapHandle[smallest], smallestKey);
+            pos = smallest;
+        }
+        place(pos, node, key);
+    }
+
+    /**
+     * Stores a node at a position and records the position for its handle.
+     */
+    private void place(int pos, int node, int key) {
+        heapKey[pos] = key;
+        heapHandle[pos] = node;
+        position[node] = pos;
+    }
+
+    /**
+     * Returns a free handle: the one stored just past the end of the heap, if any,
+     * or a new one.
+     * @return a handle that is not in the heap.
+     */
+    private int allocate() {
+        if (size < top) {
+            return heapHandle[size];
+        }
+        ensureCapacity(top + 1);
+        return top++;
+    }
+
+    /**
+     * Grows every array so that it holds at least the given number of slots.
+     * @param capacity the number of slots needed.
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > heapKey.length) {
+            int newCapacity = Math.max(capacity, Math.max(DEFAULT_CAPACITY, heapKey.length + (heapKey.length >> 1)));
+            heapKey = Arrays.copyOf(heapKey, newCapacity);
+            heapHandle = Arrays.copyOf(heapHandle, newCapacity);
+            position = Arrays.copyOf(position, newCapacity);
+        }
+    }
+
+    /**
+     * Throws if the handle does not refer to a node currently in the heap.
+     * @param node the handle to check.
+     * @throws IllegalArgumentException if the handle is not in the heap.
+     */
+    private void checkHandle(int node) {
+        if (node < 0 || node >= top || position[node] >= size) {
+            throw new IllegalArgumentException("Invalid or released handle: " + node);
+        }
+    }
+
+    /**
+     * Returns a string representation of the heap.
+     * @return a string with the arity, the minimum key and the size of the heap.
+     */
+    @Override
+    public String toString() {
+        return "IndexedDaryHeap{arity=" + arity() + ", min=" + (size == 0 ? "none" : heapKey[0])
+                + ", size=" + size + "}";
+    }
+}
@@ -0,0 +1,607 @@
+package datastructures;
+
+import java.util.Arrays;
+
+/**
+ * A Fibonacci Heap over primitive {@code int} keys that stores its nodes as parallel
+ * primitive arrays (struct-of-arrays) instead of {@link FibonacciHeap.Node} objects.
+ * Every node is identified by an {@code int} handle, which is the index of its slot in
+ * the arrays. Inserting never allocates an object, and slots freed by {@link #extractMin()}
+ * and {@link #delete(int)} are recycled by later inserts. <br>
+ *
+ * The heap supports the same operations as {@link FibonacciHeap} with the same amortized
+ * bounds, but it carries no values: callers that need to associate data with a node keep
+ * their own array indexed by handle.
+ */
+public class IntFibonacciHeap {
+
+    /**
+     * The handle returned when there is no node, e.g. by {@link #minimum()} on an empty heap.
+     */
+    public static final int NIL = -1;
+
+    /**
+     * Stored in {@link #parent} for slots that are on the free list.
+     */
+    private static final int FREE = -2;
+
+    /**
+     * The number of slots allocated by the no-argument constructor.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The key of each slot. Used for ordering the node in the heap.
+     */
+    private int[] key;
+
+    /**
+     * The parent of each slot, {@link #NIL} for nodes in the root list
+     * or {@link #FREE} for slots that are waiting to be recycled.
+     */
+    private int[] parent;
+
+    /**
+     * The first child of each slot, or {@link #NIL} if the node has no children.
+     */
+    private int[] child;
+
+    /**
+     * The left sibling of each slot in its doubly linked circular sibling list.
+     */
+    private int[] left;
+
+    /**
+     * The right sibling of each slot in its doubly linked circular sibling list.
+     * For free slots this links the free list instead.
+     */
+    private int[] right;
+
+    /**
+     * The number of direct children of each slot.
+     */
+    private int[] degree;
+
+    /**
+     * Whether each slot has lost a child since it last became a child of another node.
+     */
+    private boolean[] marked;
+
+    /**
+     * The handle of the minimum node, or {@link #NIL} if the heap is empty.
+     */
+    private int min;
+
+    /**
+     * The total number of nodes in the heap.
+     */
+    private int size;
+
+    /**
+     * The number of slots that have ever been handed out. Slots at or above this index
+     * have never been used.
+     */
+    private int top;
+
+    /**
+     * The head of the list of recycled slots, chained through {@link #right}.
+     */
+    private int freeList;
+
+    /**
+     * The degree table used by {@link #consolidate()}. It is kept between calls and
+     * is always filled with {@link #NIL} outside of consolidation.
+     */
+    private int[] degreeTable;
+
+    /**
+     * The largest heap size {@link #degreeTable} is long enough for.
+     */
+    private int degreeTableLimit;
+
+    /**
+     * Initializes an empty heap with room for a small number of nodes.
+     */
+    public IntFibonacciHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initializes an empty heap with room for {@code initialCapacity} nodes before the
+     * arrays have to grow.
+     * @param initialCapacity the number of slots to allocate up front.
+     * @throws IllegalArgumentException if initialCapacity is negative.
+     */
+    public IntFibonacciHeap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("The initial capacity must not be negative");
+        }
+        key = new int[initialCapacity];
+        parent = new int[initialCapacity];
+        child = new int[initialCapacity];
+        left = new int[initialCapacity];
+        right = new int[initialCapacity];
+        degree = new int[initialCapacity];
+        marked = new boolean[initialCapacity];
+        degreeTable = new int[0];
+        degreeTableLimit = 0;
+        clear();
+    }
+
+    /**
+     * Inserts a new node in the root list to the right of the current minimum node.
+     * No consolidation is performed when a new node is inserted.
+     * Operation is performed in O(1) amortized time.
+     *
+     * @param key the key of the new node.
+     * @return the handle of the new node.
+     */
+    public int insert(int key) {
+        int node = allocate(key);
+        addToRootList(node);
+        size++;
+        return node;
+    }
+
+    /**
+     * Merges other into this heap. Because the nodes live in per-heap arrays, other's
+     * slots are copied into this heap, which takes time linear in the number of slots
+     * other has used. A node with handle {@code h} in other has handle {@code h + offset}
+     * in this heap, where offset is the returned value. Other is left unchanged.
+     *
+     * @param other the heap which is being merged with this heap.
+     * @return the offset to add to other's handles to get their handles in this heap.
+     * @throws IllegalArgumentException If other is this heap.
+     */
+    public int union(IntFibonacciHeap other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot union a heap with itself");
+        }
+        final int offset = top;
+        if (other.top == 0) {
+            return offset;
+        }
+        ensureCapacity(top + other.top);
+        System.arraycopy(other.key, 0, key, offset, other.top);
+        System.arraycopy(other.degree, 0, degree, offset, other.top);
+        System.arraycopy(other.marked, 0, marked, offset, other.top);
+        for (int i = 0; i < other.top; i++) {
+            parent[offset + i] = shift(other.parent[i], offset);
+            child[offset + i] = shift(other.child[i], offset);
+            left[offset + i] = shift(other.left[i], offset);
+            right[offset + i] = shift(other.right[i], offset);
+        }
+        top += other.top;
+
+        // Move other's recycled slots onto this heap's free list.
+        int free = other.freeList;
+        while (free != NIL) {
+            int next = other.right[free];
+            right[free + offset] = freeList;
+            freeList = free + offset;
+            free = next;
+        }
+
+        if (other.min != NIL) {
+            int otherMin = other.min + offset;
+            if (min == NIL) {
+                min = otherMin;
+            } else {
+                int oldThisLeft = left[min];
+                int oldOtherLeft = left[otherMin];
+                right[oldThisLeft] = otherMin;
+                left[otherMin] = oldThisLeft;
+                right[oldOtherLeft] = min;
+                left[min] = oldOtherLeft;
+                if (key[otherMin] < key[min]) {
+                    min = otherMin;
+                }
+            }
+            size += other.size;
+        }
+        return offset;
+    }
+
+    /**
+     * Returns the handle of the minimum node in the heap.
+     * @return the handle of the node with the minimum key, or {@link #NIL} if the heap is empty.
+     */
+    public int minimum() {
+        return min;
+    }
+
+    /**
+     * Returns the key of a node. The key of a node returned by {@link #extractMin()}
+     * can still be read until its slot is recycled by the next insert.
+     * @param node the handle of the node.
+     * @return the key of the node.
+     * @throws IllegalArgumentException if the handle was never issued by this heap.
+     */
+    public int getKey(int node) {
+        if (node < 0 || node >= top) {
+            throw new IllegalArgumentException("Invalid handle: " + node);
+        }
+        return key[node];
+    }
+
+    /**
+     * Removes the node with the smallest key from the heap and returns its handle. <br>
+     *
+     * The children of the minimum node are moved to the root list, the minimum node is
+     * removed and the remaining roots are consolidated, exactly as in
+     * {@link FibonacciHeap#extractMin()}. The slot of the removed node is recycled by a
+     * later insert, so its handle must not be used afterwards except to read its key
+     * before the next insert.
+     *
+     * @return the handle of the node with the smallest key, or {@link #NIL} if the heap is empty.
+     */
+    public int extractMin() {
+        final int extractedMin = min;
+        if (extractedMin != NIL) {
+            final int firstChild = child[extractedMin];
+            if (firstChild != NIL) {
+                // Move all children of extractedMin to root list.
+                int current = firstChild;
+                do {
+                    int next = right[current]; // addToRootList updates right so save right before it is called.
+                    parent[current] = NIL;
+                    addToRootList(current);
+                    current = next;
+                } while (current != firstChild);
+                child[extractedMin] = NIL;
+            }
+            size--;
+
+            if (right[extractedMin] == extractedMin) {
+                min = NIL; // no other nodes in heap so min is now null.
+            } else {
+                right[left[extractedMin]] = right[extractedMin];
+                left[right[extractedMin]] = left[extractedMin];
+                min = right[extractedMin]; // arbitrary min, min will be updated in consolidate.
+
+                consolidate();
+            }
+            release(extractedMin);
+        }
+        return extractedMin;
+    }
+
+    /**
+     * Returns the number of nodes in the heap.
+     * @return the total number of nodes in the heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the heap is empty.
+     * @return {@code true} if the heap is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return min == NIL;
+    }
+
+    /**
+     * Clears the heap, removing all nodes. Every handle issued so far becomes invalid,
+     * but the arrays keep their capacity.
+     */
+    public void clear() {
+        min = NIL;
+        size = 0;
+        top = 0;
+        freeList = NIL;
+    }
+
+    /**
+     * Decreases the key of a node. If the new key violates the heap property, the node
+     * is cut from its parent and added to the root list, which may trigger cascading cuts.
+     *
+     * @param node the handle of the node whose key is to be decreased.
+     * @param newKey the new key, which must be smaller than the current key.
+     * @throws IllegalArgumentException if the handle is not in the heap or the new key
+     * is greater than or equal to the current key.
+     */
+    public void decreaseKey(int node, int newKey) {
+        checkHandle(node);
+        if (newKey >= key[node]) {
+            throw new IllegalArgumentException("The new key must be less than the current key");
+        }
+
+        key[node] = newKey;
+
+        if (parent[node] != NIL && newKey < key[parent[node]]) {
+            cut(node, parent[node]);
+        }
+
+        // A node that ties with its parent is not cut, and only roots may become min.
+        if (parent[node] == NIL && newKey <= key[min]) {
+            min = node;
+        }
+    }
+
+    /**
+     * Deletes a node from the heap. The node is cut from its parent without changing its
+     * key, made the minimum and then extracted, so unlike {@link FibonacciHeap#delete}
+     * it works for nodes whose key is {@link Integer#MIN_VALUE}.
+     *
+     * @param node the handle of the node to be deleted.
+     * @throws IllegalArgumentException if the handle is not in the heap.
+     */
+    public void delete(int node) {
+        checkHandle(node);
+        if (parent[node] != NIL) {
+            cut(node, parent[node]);
+        }
+        min = node;
+        extractMin();
+    }
+
+    /**
+     * Links two trees of the same degree by making node y a child of node x.
+     * @param y the root to be made a child. It is removed from the root list.
+     * @param x the root that becomes the parent of y.
+     */
+    private void link(int y, int x) {
+        left[right[y]] = left[y];
+        right[left[y]] = right[y];
+
+        parent[y] = x;
+        degree[x]++;
+        marked[y] = false;
+
+        int first = child[x];
+        if (first == NIL) {
+            child[x] = y;
+            left[y] = y;
+            right[y] = y;
+        } else {
+            left[y] = first;
+            right[y] = right[first];
+            left[right[first]] = y;
+            right[first] = y;
+        }
+    }
+
+    /**
+     * Cuts a node from its parent and moves it to the root list, then performs the
+     * cascading cuts on its marked ancestors.
+     * @param node the node to be cut.
+     * @param parentNode the parent of the node being cut.
+     */
+    private void cut(int node, int parentNode) {
+        while (true) {
+            if (right[node] == node) {
+                child[parentNode] = NIL;
+            } else {
+                left[right[node]] = left[node];
+                right[left[node]] = right[node];
+                if (child[parentNode] == node) {
+                    child[parentNode] = right[node];
+                }
+            }
+
+            degree[parentNode]--;
+            parent[node] = NIL;
+            marked[node] = false;
+
+            addToRootList(node);
+
+            // Ensure we aren't going to cascade cut a node in the root list
+            int grandparent = parent[parentNode];
+            if (grandparent == NIL) {
+                return;
+            }
+            if (!marked[parentNode]) {
+                marked[parentNode] = true;
+                return;
+            }
+            node = parentNode;
+            parentNode = grandparent;
+        }
+    }
+
+    /**
+     * Consolidates the root list so that no two roots have the same degree, and
+     * updates min. The root list is walked in place, saving each root's right
+     * neighbor before it can be linked away, and the degree table is reused
+     * between calls, so no memory is allocated unless the heap has grown past
+     * the size the table was sized for.
+     */
+    private void consolidate() {
+        if (size > degreeTableLimit) {
+            growDegreeTable();
+        }
+
+        int roots = 0;
+        int current = min;
+        do {
+            roots++;
+            current = right[current];
+        } while (current != min);
+
+        for (int i = 0; i < roots; i++) {
+            final int next = right[current];
+            int node = current;
+            int d = degree[node];
+            while (degreeTable[d] != NIL) {
+                int collisionNode = degreeTable[d];
+                degreeTable[d] = NIL;
+                if (key[collisionNode] < key[node]) {
+                    int swap = node;
+                    node = collisionNode;
+                    collisionNode = swap;
+                }
+                link(collisionNode, node);
+                d++;
+            }
+            degreeTable[d] = node;
+            current = next;
+        }
+
+        min = NIL;
+        for (int d = 0; d < degreeTable.length; d++) {
+            int node = degreeTable[d];
+            if (node != NIL) {
+                if (min == NIL || key[node] < key[min]) {
+                    min = node;
+                }
+                degreeTable[d] = NIL;
+            }
+        }
+    }
+
+    /**
+     * Grows the degree table so it can hold every degree possible in a heap of the
+     * current size. A node of degree k has at least F(k + 2) descendants, where F is
+     * the Fibonacci sequence, so the largest degree is the largest k with F(k + 2) <= size.
+     */
+    private void growDegreeTable() {
+        int maxDegree = 0;
+        long previous = 1; // F(2)
+        long current = 2; // F(3)
+        while (current <= size) {
+            long next = previous + current;
+            previous = current;
+            current = next;
+            maxDegree++;
+        }
+        degreeTable = new int[maxDegree + 1];
+        Arrays.fill(degreeTable, NIL);
+        degreeTableLimit = (int) Math.min(current - 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Adds a single node to the root list to the right of min and updates min.
+     * @param node a node with no neighbors.
+     */
+    private void addToRootList(int node) {
+        if (min != NIL) {
+            left[node] = min;
+            right[node] = right[min];
+            left[right[min]] = node;
+            right[min] = node;
+            if (key[node] < key[min]) {
+                min = node;
+            }
+        } else {
+            left[node] = node;
+            right[node] = node;
+            min = node;
+        }
+    }
+
+    /**
+     * Takes a slot from the free list, or the next unused slot, and initializes it
+     * as a node with no neighbors.
+     * @param newKey the key of the new node.
+     * @return the handle of the slot.
+     */
+    private int allocate(int newKey) {
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = right[node];
+        } else {
+            ensureCapacity(top + 1);
+            node = top++;
+        }
+        key[node] = newKey;
+        parent[node] = NIL;
+        child[node] = NIL;
+        left[node] = node;
+        right[node] = node;
+        degree[node] = 0;
+        marked[node] = false;
+        return node;
+    }
+
+    /**
+     * Puts a removed node's slot on the free list.
+     * @param node the handle of a node that is no longer in the heap.
+     */
+    private void release(int node) {
+        parent[node] = FREE;
+        right[node] = freeList;
+        freeList = node;
+    }
+
+    /**
+     * Grows every array so that it holds at least the given number of slots.
+     * @param capacity the number of slots needed.
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > key.length) {
+            int newCapacity = Math.max(capacity, Math.max(DEFAULT_CAPACITY, key.length + (key.length >> 1)));
+            key = Arrays.copyOf(key, newCapacity);
+            parent = Arrays.copyOf(parent, newCapacity);
+            child = Arrays.copyOf(child, newCapacity);
+            left = Arrays.copyOf(left, newCapacity);
+            right = Arrays.copyOf(right, newCapacity);
+            degree = Arrays.copyOf(degree, newCapacity);
+            marked = Arrays.copyOf(marked, newCapacity);
+        }
+    }
+
+    /**
+     * Throws if the handle does not refer to a node currently in the heap.
+     * @param node the handle to check.
+     * @throws IllegalArgumentException if the handle is not in the heap.
+     */
+    private void checkHandle(int node) {
+        if (node < 0 || node >= top || parent[node] == FREE) {
+            throw new IllegalArgumentException("Invalid or released handle: " + node);
+        }
+    }
+
+    /**
+     * Shifts a link copied from another heap by offset, leaving the markers alone.
+     * @param link a handle, {@link #NIL} or {@link #FREE}.
+     * @param offset the offset to add to real handles.
+     * @return the shifted link.
+     */
+    private static int shift(int link, int offset) {
+        return link < 0 ? link : link + offset;
+    }
+
+    /**
+     * Returns a string representation of the heap focusing on the keys of the nodes,
+     * in the same format as {@link FibonacciHeap#toKeyString()}.
+     * @return a string representing the keys of the nodes in the heap.
+     */
+    @Override
+    public String toString() {
+        StringBuilder str = new StringBuilder();
+        str.append("IntFibonacciHeap{[");
+        if (min != NIL) {
+            str.append("Min");
+            appendNode(str, min);
+        }
+        str.append("], size=").append(size).append("}");
+        return str.toString();
+    }
+
+    /**
+     * Appends a node, its siblings and their children to the provided StringBuilder.
+     * @param str the {@code StringBuilder} to which the nodes will be appended.
+     * @param node the starting node in the circular doubly-linked list to process.
+     */
+    private void appendNode(StringBuilder str, int node) {
+        int current = node;
+        do {
+            if (current != min && parent[current] == NIL) {
+                str.append("Root");
+            }
+            str.append("{").append(key[current]).append("}");
+            if (child[current] != NIL) {
+                str.append(":[");
+                appendNode(str, child[current]);
+                str.append("]");
+            }
+            if (right[current] != node) {
+                str.append(", ");
+            }
+            current = right[current];
+        } while (current != node);
+    }
+}
@@ -0,0 +1,262 @@
+package datastructures;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A relaxed concurrent priority queue (a MultiQueue) built from independent
+ * {@link FibonacciHeap} shards, each guarded by its own lock. <br>
+ *
+ * {@link #insert(Object, int)} adds to a random shard whose lock is free.
+ * {@link #extractMin()} samples two random shards, compares their cached minimum keys and
+ * pops from the smaller one. Threads rarely wait for each other, so throughput scales with
+ * the number of cores, but the extracted node is only close to the global minimum rather
+ * than exactly the minimum. With c shards per thread the expected rank of an extracted
+ * node among the remaining nodes is O(c * threads). <br>
+ *
+ * A node stays in the shard it was inserted into, so the {@link Handle} returned by insert
+ * remembers its shard and {@link #decreaseKey(Handle, int)} and {@link #delete(Handle)}
+ * only lock that shard.
+ *
+ * @param <T> The type of the values stored in the queue. This can be any object type.
+ */
+public class MultiFibonacciQueue<T> {
+
+    /**
+     * The cached minimum key of an empty shard. Larger than every {@code int} key.
+     */
+    private static final long EMPTY = Long.MAX_VALUE;
+
+    /**
+     * How many times extractMin samples two shards before it falls back to a full scan.
+     */
+    private static final int SAMPLE_ATTEMPTS = 16;
+
+    private final Shard<T>[] shards;
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * A node in the queue together with the index of the shard that holds it.
+     * @param <T> the type of the value.
+     */
+    public static final class Handle<T> {
+        private final FibonacciHeap.Node<T> node;
+        private final int shard;
+
+        private Handle(FibonacciHeap.Node<T> node, int shard) {
+            this.node = node;
+            this.shard = shard;
+        }
+
+        public T getValue() {
+            return node.getValue();
+        }
+
+        /**
+         * Returns the key of the node. The key is changed under the shard's lock, so this
+         * may be stale while other threads decrease it.
+         * @return the key of the node.
+         */
+        public int getKey() {
+            return node.getKey();
+        }
+
+        @Override
+        public String toString() {
+            return "Handle{shard=" + shard + ", node=" + node + "}";
+        }
+    }
+
+    /**
+     * One heap, its lock and a copy of its minimum key that can be read without the lock.
+     * @param <T> the type of the values.
+     */
+    private static final class Shard<T> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final FibonacciHeap<T> heap = new FibonacciHeap<>();
+        private volatile long top = EMPTY;
+
+        /**
+         * Refreshes {@link #top}. Must be called with the lock held after changing the heap.
+         */
+        private void updateTop() {
+            FibonacciHeap.Node<T> min = heap.minimum();
+            top = min == null ? EMPTY : min.getKey();
+        }
+    }
+
+    /**
+     * Initializes a queue with two shards per available processor.
+     */
+    public MultiFibonacciQueue() {
+        this(2, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Initializes a queue with shardsPerThread * threads shards.
+     * @param shardsPerThread the number of shards per thread, c. Larger values reduce
+     *                        contention but increase the rank error.
+     * @param threads the number of threads expected to use the queue, P.
+     * @throws IllegalArgumentException If either argument isn't positive.
+     */
+    @SuppressWarnings("unchecked")
+    public MultiFibonacciQueue(int shardsPerThread, int threads) {
+        if (shardsPerThread < 1 || threads < 1) {
+            throw new IllegalArgumentException("Please ensure shardsPerThread and threads are >= 1");
+        }
+        shards = new Shard[Math.multiplyExact(shardsPerThread, threads)];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard<>();
+        }
+    }
+
+    /**
+     * Inserts a new node into a random shard whose lock is free.
+     * @param value the value of the new node.
+     * @param key the key of the new node.
+     * @return the handle of the new node.
+     */
+    public Handle<T> insert(T value, int key) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            int index = random.nextInt(shards.length);
+            Shard<T> shard = shards[index];
+            if (shard.lock.tryLock()) {
+                try {
+                    FibonacciHeap.Node<T> node = shard.heap.insert(value, key);
+                    if (key < shard.top) {
+                        shard.top = key;
+                    }
+                    size.incrementAndGet();
+                    return new Handle<>(node, index);
+                } finally {
+                    shard.lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes and returns a node with a small key: the minimum of the better of two random
+     * shards. If sampling keeps finding empty or locked shards, every shard is scanned so
+     * that {@code null} is only returned when the queue is empty.
+     * @return the handle of a node with a small key, or {@code null} if the queue is empty.
+     */
+    public Handle<T> extractMin() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int attempt = 0; attempt < SAMPLE_ATTEMPTS; attempt++) {
+            int first = random.nextInt(shards.length);
+            int second = random.nextInt(shards.length);
+            int index = shards[second].top < shards[first].top ? second : first;
+            Shard<T> shard = shards[index];
+            if (shard.top != EMPTY && shard.lock.tryLock()) {
+                try {
+                    FibonacciHeap.Node<T> node = shard.heap.extractMin();
+                    if (node != null) {
+                        shard.updateTop();
+                        size.decrementAndGet();
+                        return new Handle<>(node, index);
+                    }
+                } finally {
+                    shard.lock.unlock();
+                }
+            }
+        }
+        return extractFromAnyShard(random.nextInt(shards.length));
+    }
+
+    /**
+     * Locks the shards one at a time, starting at start, and extracts the minimum of the
+     * first non-empty one.
+     * @param start the index of the first shard to try.
+     * @return the handle of the extracted node, or {@code null} if every shard was empty.
+     */
+    private Handle<T> extractFromAnyShard(int start) {
+        for (int i = 0; i < shards.length; i++) {
+            int index = (start + i) % shards.length;
+            Shard<T> shard = shards[index];
+            shard.lock.lock();
+            try {
+                FibonacciHeap.Node<T> node = shard.heap.extractMin();
+                if (node != null) {
+                    shard.updateTop();
+                    size.decrementAndGet();
+                    return new Handle<>(node, index);
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Decreases the key of a node, locking only the shard that holds it. The node must not
+     * have been extracted already.
+     * @param handle the handle of the node whose key is to be decreased.
+     * @param newKey the new key value, which must be smaller than the current key.
+     * @throws IllegalArgumentException If the new key is greater than or equal to the current key.
+     * @see FibonacciHeap#decreaseKey(FibonacciHeap.Node, int)
+     */
+    public void decreaseKey(Handle<T> handle, int newKey) {
+        Shard<T> shard = shards[handle.shard];
+        shard.lock.lock();
+        try {
+            shard.heap.decreaseKey(handle.node, newKey);
+            if (newKey < shard.top) {
+                shard.top = newKey;
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes a node, locking only the shard that holds it. The node must not have been
+     * extracted already.
+     * @param handle the handle of the node to be deleted.
+     * @see FibonacciHeap#delete(FibonacciHeap.Node)
+     */
+    public void delete(Handle<T> handle) {
+        Shard<T> shard = shards[handle.shard];
+        shard.lock.lock();
+        try {
+            shard.heap.delete(handle.node);
+            shard.updateTop();
+            size.decrementAndGet();
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of nodes in the queue. Concurrent operations may change it at any time.
+     * @return the total number of nodes in all shards.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Checks if the queue is empty. Concurrent operations may change it at any time.
+     * @return {@code true} if the queue is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+    /**
+     * Returns the number of shards.
+     * @return the number of independent heaps in the queue.
+     */
+    public int shardCount() {
+        return shards.length;
+    }
+
+    @Override
+    public String toString() {
+        return "MultiFibonacciQueue{shards=" + shards.length + ", size=" + size.get() + "}";
+    }
+}
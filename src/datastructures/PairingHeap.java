@@ -0,0 +1,319 @@
+package datastructures;
+
+/**
+ * A pairing heap: a heap-ordered multiway tree in which every node only knows its first
+ * child, its next sibling and its previous sibling (or parent, for a first child).
+ * Compared with {@link FibonacciHeap}, nodes are smaller and there is no degree, mark or
+ * consolidation table, which usually makes it faster in practice even though its
+ * decreaseKey bound is only o(log n) amortized instead of O(1). <br>
+ *
+ * insert, decreaseKey and union meld two trees with a single comparison. extractMin and
+ * delete combine the children of the removed node with the two-pass pairing step:
+ * first neighbouring children are melded in pairs from left to right, then the pairs
+ * are melded from right to left. Both passes are loops, so no operation recurses and
+ * arbitrarily deep heaps cannot overflow the stack. <br>
+ *
+ * The {@link Node}s returned by insert are the handles for decreaseKey and delete, just
+ * as in {@link FibonacciHeap}.
+ *
+ * @param <T> The type of the values stored in the heap. This can be any object type.
+ */
+public class PairingHeap<T> implements AddressablePriorityQueue<T> {
+
+    /**
+     * The root of the tree, which holds the smallest key, or {@code null} if the heap is empty.
+     */
+    private Node<T> root;
+
+    /**
+     * The total number of nodes in the heap.
+     */
+    private int size;
+
+    /**
+     * A node in a pairing heap which has a value and a key.
+     * @param <T> the type of the value.
+     */
+    public static final class Node<T> implements AddressablePriorityQueue.Handle<T> {
+
+        private final T value;
+
+        private int key;
+
+        /**
+         * The first child of this node, or {@code null} if it has none.
+         */
+        private Node<T> child;
+
+        /**
+         * The next sibling of this node, or {@code null} if it is the last child.
+         */
+        private Node<T> next;
+
+        /**
+         * The previous sibling of this node, or its parent if it is the first child.
+         * {@code null} for the root and for nodes that are not in a heap.
+         */
+        private Node<T> prev;
+
+        private Node(T value, int key) {
+            this.value = value;
+            this.key = key;
+        }
+
+        @Override
+        public T getValue() {
+            return value;
+        }
+
+        @Override
+        public int getKey() {
+            return key;
+        }
+
+        @Override
+        public String toString() {
+            return "Node{value=" + value + ", key=" + key + "}";
+        }
+    }
+
+    /**
+     * Inserts a new node by melding it with the root. Operation is performed in O(1) time.
+     * @param value the value of the new node.
+     * @param key the key of the new node.
+     * @return the new node.
+     */
+    @Override
+    public Node<T> insert(T value, int key) {
+        Node<T> node = new Node<>(value, key);
+        root = root == null ? node : link(root, node);
+        size++;
+        return node;
+    }
+
+    /**
+     * Returns the root, which has the smallest key.
+     * @return the node with the minimum key in the heap, or {@code null} if the heap is empty.
+     */
+    @Override
+    public Node<T> minimum() {
+        return root;
+    }
+
+    /**
+     * Removes and returns the root and pairs its children into the new root.
+     * @return the node with the smallest key, or {@code null} if the heap is empty.
+     */
+    @Override
+    public Node<T> extractMin() {
+        Node<T> extractedMin = root;
+        if (extractedMin != null) {
+            root = mergePairs(extractedMin.child);
+            extractedMin.child = null;
+            size--;
+        }
+        return extractedMin;
+    }
+
+    /**
+     * Decreases the key of a node. Unless the node is the root, its subtree is cut out and
+     * melded with the root.
+     * @param node the node whose key is to be decreased.
+     * @param newKey the new key value, which must be smaller than the current key.
+     * @throws IllegalArgumentException If the new key is greater than or equal to the current key.
+     */
+    public void decreaseKey(Node<T> node, int newKey) {
+        if (newKey >= node.key) {
+            throw new IllegalArgumentException("The new key must be less than the current key");
+        }
+        node.key = newKey;
+        if (node != root) {
+            detach(node);
+            root = link(root, node);
+        }
+    }
+
+    /**
+     * Deletes a node. Its subtree is cut out, its children are paired into one tree and
+     * that tree is melded with the root. The key is never changed, so keys equal to
+     * {@link Integer#MIN_VALUE} are fine.
+     * @param node the node to be deleted.
+     */
+    public void delete(Node<T> node) {
+        if (node == root) {
+            extractMin();
+            return;
+        }
+        detach(node);
+        Node<T> children = mergePairs(node.child);
+        node.child = null;
+        if (children != null) {
+            root = link(root, children);
+        }
+        size--;
+    }
+
+    @Override
+    public void decreaseKey(AddressablePriorityQueue.Handle<T> handle, int newKey) {
+        decreaseKey(node(handle), newKey);
+    }
+
+    @Override
+    public void delete(AddressablePriorityQueue.Handle<T> handle) {
+        delete(node(handle));
+    }
+
+    /**
+     * Melds other into this heap with a single comparison and empties other.
+     * Operation is performed in O(1) time.
+     * @param other the heap which is being merged with this heap.
+     * @throws IllegalArgumentException If other is this heap.
+     */
+    public void union(PairingHeap<T> other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot union a heap with itself");
+        }
+        if (other.root != null) {
+            root = root == null ? other.root : link(root, other.root);
+            size += other.size;
+            other.root = null;
+            other.size = 0;
+        }
+    }
+
+    /**
+     * Merges another heap into this one. See {@link #union(PairingHeap)}.
+     * @param other a pairing heap.
+     * @throws IllegalArgumentException If other is not a {@link PairingHeap}, or is this heap.
+     */
+    @Override
+    public void union(AddressablePriorityQueue<T> other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot union a heap with itself");
+        }
+        if (!(other instanceof PairingHeap)) {
+            throw new IllegalArgumentException("Can only union with another PairingHeap, not "
+                    + other.getClass().getName());
+        }
+        union((PairingHeap<T>) other);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * Makes the root with the larger key the first child of the other.
+     * @param a a root with no siblings.
+     * @param b another root with no siblings.
+     * @return the root with the smaller key, a on ties.
+     */
+    private static <T> Node<T> link(Node<T> a, Node<T> b) {
+        if (b.key < a.key) {
+            Node<T> swap = a;
+            a = b;
+            b = swap;
+        }
+        b.prev = a;
+        b.next = a.child;
+        if (a.child != null) {
+            a.child.prev = b;
+        }
+        a.child = b;
+        return a;
+    }
+
+    /**
+     * Removes a non-root node, with its subtree, from its sibling list.
+     * @param node a node that is not the root.
+     */
+    private static <T> void detach(Node<T> node) {
+        if (node.prev.child == node) {
+            node.prev.child = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    /**
+     * Combines a sibling list into one tree with the two-pass pairing step. The first pass
+     * melds the siblings in pairs from left to right and pushes each pair onto a stack
+     * chained through {@link Node#next}; the second pass pops the stack, melding the pairs
+     * from right to left.
+     * @param first the first node of a sibling list, or {@code null}.
+     * @return the root of the combined tree, or {@code null} if the list was empty.
+     */
+    private static <T> Node<T> mergePairs(Node<T> first) {
+        if (first == null) {
+            return null;
+        }
+
+        Node<T> pairs = null;
+        Node<T> current = first;
+        while (current != null) {
+            Node<T> second = current.next;
+            Node<T> rest = second == null ? null : second.next;
+            current.prev = null;
+            current.next = null;
+            Node<T> pair = current;
+            if (second != null) {
+                second.prev = null;
+                second.next = null;
+                pair = link(current, second);
+            }
+            pair.next = pairs;
+            pairs = pair;
+            current = rest;
+        }
+
+        Node<T> result = pairs;
+        pairs = pairs.next;
+        result.next = null;
+        while (pairs != null) {
+            Node<T> next = pairs.next;
+            pairs.next = null;
+            result = link(result, pairs);
+            pairs = next;
+        }
+        return result;
+    }
+
+    /**
+     * Casts a handle to the node it must be.
+     * @param handle a handle returned by this heap.
+     * @return the handle as a node.
+     * @throws IllegalArgumentException If the handle is not a {@link Node}.
+     */
+    private static <T> Node<T> node(AddressablePriorityQueue.Handle<T> handle) {
+        if (!(handle instanceof Node)) {
+            throw new IllegalArgumentException("Not a PairingHeap handle: " + handle);
+        }
+        return (Node<T>) handle;
+    }
+
+    /**
+     * Returns a string representation of the heap.
+     * @return a string with the minimum key and the size of the heap.
+     */
+    @Override
+    public String toString() {
+        return "PairingHeap{min=" + (root == null ? "none" : root.key) + ", size=" + size + "}";
+    }
+}
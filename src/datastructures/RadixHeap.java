@@ -0,0 +1,328 @@
+package datastructures;
+
+/**
+ * A radix heap over {@code long} keys for monotone workloads, where a key is never
+ * smaller than the last extracted key. Event-time processing and Dijkstra's algorithm
+ * both have this property. <br>
+ *
+ * Nodes are kept in 65 buckets by the highest bit in which their key differs from the
+ * last extracted key: bucket 0 holds keys equal to it and bucket i holds keys whose
+ * highest differing bit is bit i - 1. insert and decreaseKey only compute the bucket and
+ * link the node in, in O(1) time. extractMin takes the first non-empty bucket; if that is
+ * not bucket 0 it finds the bucket's minimum, makes it the new last key and redistributes
+ * the bucket's nodes, which all land in lower buckets. A node can only move down, at most
+ * 64 times, so extractMin is O(log C) amortized for keys spanning a range of C. <br>
+ *
+ * Inserting a key, or decreasing a key to a value, smaller than the last extracted key
+ * would break the bucket invariant, so it is rejected with an
+ * {@link IllegalArgumentException}. Keys of the full signed {@code long} range are
+ * supported. The {@link Node}s returned by insert are the handles for decreaseKey and
+ * delete; a handle is invalid once its node has been extracted or deleted.
+ *
+ * @param <T> The type of the values stored in the heap. This can be any object type.
+ */
+public class RadixHeap<T> {
+
+    /**
+     * The number of buckets: one for keys equal to the last key and one per bit.
+     */
+    private static final int BUCKETS = Long.SIZE + 1;
+
+    /**
+     * The first node of every bucket. Each bucket is a doubly linked list.
+     */
+    private final Node<T>[] buckets;
+
+    /**
+     * Bit i - 1 is set while bucket i (1 to 64) is non-empty.
+     */
+    private long nonEmpty;
+
+    /**
+     * The last extracted key, mapped with {@link #unsigned(long)}. No key in the heap is smaller.
+     */
+    private long last;
+
+    /**
+     * The total number of nodes in the heap.
+     */
+    private int size;
+
+    /**
+     * A node in a radix heap which has a value and a key.
+     * @param <T> the type of the value.
+     */
+    public static final class Node<T> {
+
+        private final T value;
+
+        private long key;
+
+        /**
+         * The index of the bucket holding the node, or -1 once it has been removed.
+         */
+        private int bucket;
+
+        private Node<T> prev;
+
+        private Node<T> next;
+
+        private Node(T value, long key) {
+            this.value = value;
+            this.key = key;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public long getKey() {
+            return key;
+        }
+
+        @Override
+        public String toString() {
+            return "Node{value=" + value + ", key=" + key + "}";
+        }
+    }
+
+    /**
+     * Initializes a new, empty radix heap. Every key is allowed until the first extractMin.
+     */
+    @SuppressWarnings("unchecked")
+    public RadixHeap() {
+        buckets = new Node[BUCKETS];
+        nonEmpty = 0;
+        last = unsigned(Long.MIN_VALUE);
+        size = 0;
+    }
+
+    /**
+     * Inserts a new node. Operation is performed in O(1) time.
+     * @param value the value of the new node.
+     * @param key the key of the new node, which must not be smaller than the last extracted key.
+     * @return the new node.
+     * @throws IllegalArgumentException If key is smaller than the last extracted key.
+     */
+    public Node<T> insert(T value, long key) {
+        checkMonotone(key);
+        Node<T> node = new Node<>(value, key);
+        push(node, bucketOf(unsigned(key)));
+        size++;
+        return node;
+    }
+
+    /**
+     * Returns a node with the smallest key without removing it. If the smallest key is not
+     * equal to the last extracted key this scans one bucket.
+     * @return a node with the minimum key, or {@code null} if the heap is empty.
+     */
+    public Node<T> minimum() {
+        if (buckets[0] != null) {
+            return buckets[0];
+        }
+        if (nonEmpty == 0) {
+            return null;
+        }
+        return minimumOf(buckets[Long.numberOfTrailingZeros(nonEmpty) + 1]);
+    }
+
+    /**
+     * Removes and returns a node with the smallest key, which becomes the last extracted key.
+     * @return a node with the smallest key, or {@code null} if the heap is empty.
+     */
+    public Node<T> extractMin() {
+        if (buckets[0] == null) {
+            if (nonEmpty == 0) {
+                return null;
+            }
+            redistribute(Long.numberOfTrailingZeros(nonEmpty) + 1);
+        }
+        Node<T> extractedMin = buckets[0];
+        unlink(extractedMin);
+        size--;
+        return extractedMin;
+    }
+
+    /**
+     * Decreases the key of a node and moves it to its new bucket. Operation is performed
+     * in O(1) time.
+     * @param node a node of this heap.
+     * @param newKey the new key, smaller than the current key and not smaller than the last
+     *               extracted key.
+     * @throws IllegalArgumentException If the new key is not smaller than the current key, is
+     *                                  smaller than the last extracted key, or the node is
+     *                                  no longer in the heap.
+     */
+    public void decreaseKey(Node<T> node, long newKey) {
+        checkInHeap(node);
+        if (newKey >= node.key) {
+            throw new IllegalArgumentException("The new key must be less than the current key");
+        }
+        checkMonotone(newKey);
+        node.key = newKey;
+        int bucket = bucketOf(unsigned(newKey));
+        if (bucket != node.bucket) {
+            unlink(node);
+            push(node, bucket);
+        }
+    }
+
+    /**
+     * Removes a node. Operation is performed in O(1) time.
+     * @param node a node of this heap.
+     * @throws IllegalArgumentException If the node is no longer in the heap.
+     */
+    public void delete(Node<T> node) {
+        checkInHeap(node);
+        unlink(node);
+        size--;
+    }
+
+    /**
+     * Returns the last extracted key. Keys smaller than this are rejected.
+     * @return the last extracted key, or {@link Long#MIN_VALUE} before the first extraction.
+     */
+    public long lastExtractedKey() {
+        return last ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * Returns the number of nodes in the heap.
+     * @return the total number of nodes in the heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the heap is empty.
+     * @return {@code true} if the heap is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every node. The last extracted key is kept.
+     */
+    public void clear() {
+        for (int i = 0; i < BUCKETS; i++) {
+            for (Node<T> node = buckets[i]; node != null; node = node.next) {
+                node.bucket = -1;
+            }
+            buckets[i] = null;
+        }
+        nonEmpty = 0;
+        size = 0;
+    }
+
+    /**
+     * Makes the minimum of a bucket the last key and moves every node of the bucket to the
+     * bucket for its key relative to the new last key, which is always a lower bucket.
+     * @param bucket a non-empty bucket other than 0.
+     */
+    private void redistribute(int bucket) {
+        Node<T> node = buckets[bucket];
+        last = unsigned(minimumOf(node).key);
+        buckets[bucket] = null;
+        nonEmpty &= ~(1L << (bucket - 1));
+        while (node != null) {
+            Node<T> next = node.next;
+            push(node, bucketOf(unsigned(node.key)));
+            node = next;
+        }
+    }
+
+    /**
+     * Finds the node with the smallest key in a bucket.
+     * @param first the first node of the bucket.
+     * @return the node with the smallest key.
+     */
+    private static <T> Node<T> minimumOf(Node<T> first) {
+        Node<T> min = first;
+        for (Node<T> node = first.next; node != null; node = node.next) {
+            if (node.key < min.key) {
+                min = node;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Adds a node to the front of a bucket.
+     */
+    private void push(Node<T> node, int bucket) {
+        Node<T> head = buckets[bucket];
+        node.bucket = bucket;
+        node.prev = null;
+        node.next = head;
+        if (head != null) {
+            head.prev = node;
+        }
+        buckets[bucket] = node;
+        if (bucket != 0) {
+            nonEmpty |= 1L << (bucket - 1);
+        }
+    }
+
+    /**
+     * Removes a node from its bucket.
+     */
+    private void unlink(Node<T> node) {
+        int bucket = node.bucket;
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            buckets[bucket] = node.next;
+            if (node.next == null && bucket != 0) {
+                nonEmpty &= ~(1L << (bucket - 1));
+            }
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+        node.bucket = -1;
+    }
+
+    /**
+     * Returns the bucket for a key: 0 if it equals the last key, otherwise one more than
+     * the index of the highest bit in which they differ.
+     * @param unsignedKey a key mapped with {@link #unsigned(long)}.
+     */
+    private int bucketOf(long unsignedKey) {
+        return Long.SIZE - Long.numberOfLeadingZeros(unsignedKey ^ last);
+    }
+
+    /**
+     * Flips the sign bit so that signed keys compare correctly as unsigned numbers, which is
+     * the order the bucket scheme relies on.
+     */
+    private static long unsigned(long key) {
+        return key ^ Long.MIN_VALUE;
+    }
+
+    private void checkMonotone(long key) {
+        if (Long.compareUnsigned(unsigned(key), last) < 0) {
+            throw new IllegalArgumentException("Key " + key + " is smaller than the last extracted key "
+                    + lastExtractedKey() + "; a radix heap only supports monotone keys");
+        }
+    }
+
+    private static void checkInHeap(Node<?> node) {
+        if (node.bucket < 0) {
+            throw new IllegalArgumentException("The node is not in the heap");
+        }
+    }
+
+    /**
+     * Returns a string representation of the heap.
+     * @return a string with the size and the last extracted key.
+     */
+    @Override
+    public String toString() {
+        return "RadixHeap{size=" + size + ", lastExtractedKey=" + lastExtractedKey() + "}";
+    }
+}
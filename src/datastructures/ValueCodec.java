@@ -0,0 +1,129 @@
+package datastructures;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Turns the values of a heap into bytes and back, so that {@link FibonacciHeapSnapshot}
+ * can store heaps of any value type. {@code null} values are handled by the snapshot
+ * itself and never reach the codec. <br>
+ *
+ * A codec must write exactly {@link #encodedSize(Object)} bytes, and
+ * {@link #decode(ByteBuffer)} is given a buffer holding exactly those bytes. The buffer
+ * may be a view of a memory-mapped file, so decode must copy what it needs instead of
+ * keeping a reference to it.
+ *
+ * @param <T> the type of the values.
+ */
+public interface ValueCodec<T> {
+
+    /**
+     * Returns the number of bytes {@link #encode(Object, ByteBuffer)} writes for a value.
+     * @param value a non-null value.
+     * @return the encoded length in bytes.
+     */
+    int encodedSize(T value);
+
+    /**
+     * Writes a value at the buffer's position and advances it by {@link #encodedSize(Object)}.
+     * @param value a non-null value.
+     * @param out a buffer with at least encodedSize(value) bytes remaining.
+     */
+    void encode(T value, ByteBuffer out);
+
+    /**
+     * Reads a value from all the remaining bytes of the buffer.
+     * @param in a buffer holding exactly one encoded value.
+     * @return the decoded value.
+     */
+    T decode(ByteBuffer in);
+
+    /**
+     * Returns a codec that stores an {@link Integer} in 4 bytes.
+     * @return the codec.
+     */
+    static ValueCodec<Integer> integers() {
+        return new ValueCodec<>() {
+            @Override
+            public int encodedSize(Integer value) {
+                return Integer.BYTES;
+            }
+
+            @Override
+            public void encode(Integer value, ByteBuffer out) {
+                out.putInt(value);
+            }
+
+            @Override
+            public Integer decode(ByteBuffer in) {
+                return in.getInt();
+            }
+        };
+    }
+
+    /**
+     * Returns a codec that stores a {@link Long} in 8 bytes.
+     * @return the codec.
+     */
+    static ValueCodec<Long> longs() {
+        return new ValueCodec<>() {
+            @Override
+            public int encodedSize(Long value) {
+                return Long.BYTES;
+            }
+
+            @Override
+            public void encode(Long value, ByteBuffer out) {
+                out.putLong(value);
+            }
+
+            @Override
+            public Long decode(ByteBuffer in) {
+                return in.getLong();
+            }
+        };
+    }
+
+    /**
+     * Returns a codec that stores a {@link String} as UTF-8.
+     * @return the codec.
+     */
+    static ValueCodec<String> strings() {
+        return new ValueCodec<>() {
+            @Override
+            public int encodedSize(String value) {
+                int length = value.length();
+                int bytes = 0;
+                for (int i = 0; i < length; i++) {
+                    char c = value.charAt(i);
+                    if (c < 0x80) {
+                        bytes++;
+                    } else if (c < 0x800) {
+                        bytes += 2;
+                    } else if (!Character.isSurrogate(c)) {
+                        bytes += 3;
+                    } else if (Character.isHighSurrogate(c) && i + 1 < length
+                            && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        bytes += 4;
+                        i++;
+                    } else {
+                        bytes++; // A lone surrogate is encoded as '?'.
+                    }
+                }
+                return bytes;
+            }
+
+            @Override
+            public void encode(String value, ByteBuffer out) {
+                out.put(value.getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public String decode(ByteBuffer in) {
+                byte[] bytes = new byte[in.remaining()];
+                in.get(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+}
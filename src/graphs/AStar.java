@@ -0,0 +1,76 @@
+package graphs;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+import datastructures.IntFibonacciHeap;
+
+/**
+ * A* search for the shortest path between two vertices of a {@link CsrGraph}. It is
+ * {@link Dijkstra} with every vertex keyed by its distance from the source plus a
+ * heuristic estimate of its distance to the target, so vertices towards the target are
+ * settled first. Improved distances are decreaseKey calls on an {@link IntFibonacciHeap}. <br>
+ *
+ * The heuristic must be consistent: h(target) is 0 and h(u) <= w(u, v) + h(v) for every
+ * edge (u, v). A straight-line distance scaled by the smallest weight per unit of
+ * length is a common choice. With a consistent heuristic every vertex is settled at
+ * most once and the returned path is a shortest path.
+ */
+public final class AStar {
+
+    private AStar() {
+    }
+
+    /**
+     * Searches for the shortest path from source to target.
+     * @param graph the graph to search.
+     * @param source the source vertex.
+     * @param target the target vertex.
+     * @param heuristic a consistent lower bound on the distance from a vertex to target.
+     * @return the shortest paths found before the target was settled. Use
+     *         {@link ShortestPaths#distanceTo(int)} and {@link ShortestPaths#pathTo(int)}
+     *         with target; other vertices may not have their final distance.
+     * @throws IllegalArgumentException If source or target is not a vertex of graph.
+     * @throws ArithmeticException If a path plus its heuristic is longer than {@code Integer.MAX_VALUE - 1}.
+     */
+    public static ShortestPaths shortestPath(CsrGraph graph, int source, int target, IntUnaryOperator heuristic) {
+        graph.checkVertex(source);
+        graph.checkVertex(target);
+        final int n = graph.vertexCount();
+        final ShortestPaths paths = ShortestPaths.start(n, source);
+        final int[] handleOf = new int[n];
+        final int[] vertexOf = new int[n];
+        Arrays.fill(handleOf, Dijkstra.UNSEEN);
+        final IntFibonacciHeap heap = new IntFibonacciHeap();
+
+        int handle = heap.insert(heuristic.applyAsInt(source));
+        handleOf[source] = handle;
+        vertexOf[handle] = source;
+        while (!heap.isEmpty()) {
+            final int u = vertexOf[heap.extractMin()];
+            handleOf[u] = Dijkstra.SETTLED;
+            if (u == target) {
+                break;
+            }
+            final int distance = paths.distanceTo(u);
+            for (int edge = graph.firstEdge(u), end = graph.endEdge(u); edge < end; edge++) {
+                final int v = graph.target(edge);
+                final int vHandle = handleOf[v];
+                if (vHandle == Dijkstra.SETTLED) {
+                    continue;
+                }
+                final int newDistance = Math.addExact(distance, graph.weight(edge));
+                if (vHandle == Dijkstra.UNSEEN) {
+                    paths.relax(v, newDistance, u);
+                    handle = heap.insert(Math.addExact(newDistance, heuristic.applyAsInt(v)));
+                    handleOf[v] = handle;
+                    vertexOf[handle] = v;
+                } else if (newDistance < paths.distanceTo(v)) {
+                    // h(v) is unchanged, so the key drops by the same amount as the distance.
+                    heap.decreaseKey(vHandle, heap.getKey(vHandle) - (paths.distanceTo(v) - newDistance));
+                    paths.relax(v, newDistance, u);
+                }
+            }
+        }
+        return paths;
+    }
+}
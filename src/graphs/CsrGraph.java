@@ -0,0 +1,185 @@
+package graphs;
+
+/**
+ * An immutable weighted graph in compressed sparse row (CSR) form. The outgoing edges of
+ * vertex {@code v} are the edge indices from {@link #firstEdge(int)} (inclusive) to
+ * {@link #endEdge(int)} (exclusive), and {@link #target(int)} and {@link #weight(int)}
+ * return the head and the weight of an edge. All edges are stored in three flat
+ * {@code int} arrays, so a graph with m edges takes about 8m bytes plus 4 bytes per
+ * vertex, and scanning a vertex's edges reads consecutive memory. <br>
+ *
+ * Vertices are numbered from 0 to {@code vertexCount() - 1}. Edge weights must not be
+ * negative, which is what {@link Dijkstra}, {@link AStar} and {@link Prim} expect.
+ */
+public final class CsrGraph {
+
+    /**
+     * offsets[v] is the index of the first edge of vertex v; offsets[vertexCount] is the edge count.
+     */
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+
+    private CsrGraph(int[] offsets, int[] targets, int[] weights) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Builds a directed graph with one edge from sources[i] to targets[i] with weight
+     * weights[i] for every i. Parallel edges and self loops are kept. Takes O(n + m) time.
+     *
+     * @param vertexCount the number of vertices, n.
+     * @param sources the tail of every edge.
+     * @param targets the head of every edge.
+     * @param weights the weight of every edge.
+     * @return the graph.
+     * @throws IllegalArgumentException If the arrays have different lengths, a vertex is out
+     *                                  of range or a weight is negative.
+     */
+    public static CsrGraph directed(int vertexCount, int[] sources, int[] targets, int[] weights) {
+        return build(vertexCount, sources, targets, weights, false);
+    }
+
+    /**
+     * Builds an undirected graph: every edge is stored once in each direction.
+     * @param vertexCount the number of vertices, n.
+     * @param sources one end of every edge.
+     * @param targets the other end of every edge.
+     * @param weights the weight of every edge.
+     * @return the graph.
+     * @throws IllegalArgumentException If the arrays have different lengths, a vertex is out
+     *                                  of range or a weight is negative.
+     * @see #directed(int, int[], int[], int[])
+     */
+    public static CsrGraph undirected(int vertexCount, int[] sources, int[] targets, int[] weights) {
+        return build(vertexCount, sources, targets, weights, true);
+    }
+
+    /**
+     * Counts the edges of every vertex, turns the counts into offsets and places every edge
+     * in its slot (a counting sort by tail).
+     */
+    private static CsrGraph build(int vertexCount, int[] sources, int[] targets, int[] weights, boolean undirected) {
+        if (vertexCount < 0) {
+            throw new IllegalArgumentException("vertexCount must not be negative");
+        }
+        if (sources.length != targets.length || sources.length != weights.length) {
+            throw new IllegalArgumentException("sources, targets and weights must have the same length");
+        }
+        final int edgeCount = Math.multiplyExact(sources.length, undirected ? 2 : 1);
+        final int[] offsets = new int[vertexCount + 1];
+        for (int i = 0; i < sources.length; i++) {
+            checkVertex(vertexCount, sources[i]);
+            checkVertex(vertexCount, targets[i]);
+            if (weights[i] < 0) {
+                throw new IllegalArgumentException("Edge weights must not be negative: " + weights[i]);
+            }
+            offsets[sources[i] + 1]++;
+            if (undirected) {
+                offsets[targets[i] + 1]++;
+            }
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        final int[] next = new int[vertexCount];
+        System.arraycopy(offsets, 0, next, 0, vertexCount);
+        final int[] edgeTargets = new int[edgeCount];
+        final int[] edgeWeights = new int[edgeCount];
+        for (int i = 0; i < sources.length; i++) {
+            int edge = next[sources[i]]++;
+            edgeTargets[edge] = targets[i];
+            edgeWeights[edge] = weights[i];
+            if (undirected) {
+                edge = next[targets[i]]++;
+                edgeTargets[edge] = sources[i];
+                edgeWeights[edge] = weights[i];
+            }
+        }
+        return new CsrGraph(offsets, edgeTargets, edgeWeights);
+    }
+
+    private static void checkVertex(int vertexCount, int vertex) {
+        if (vertex < 0 || vertex >= vertexCount) {
+            throw new IllegalArgumentException("Vertex " + vertex + " is not in [0, " + vertexCount + ")");
+        }
+    }
+
+    /**
+     * Returns the number of vertices.
+     * @return the number of vertices.
+     */
+    public int vertexCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Returns the number of stored edges. An undirected edge counts twice.
+     * @return the number of edges.
+     */
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the index of the first outgoing edge of a vertex.
+     * @param vertex the vertex.
+     * @return the first edge index of vertex.
+     */
+    public int firstEdge(int vertex) {
+        return offsets[vertex];
+    }
+
+    /**
+     * Returns the index one past the last outgoing edge of a vertex.
+     * @param vertex the vertex.
+     * @return the end edge index of vertex.
+     */
+    public int endEdge(int vertex) {
+        return offsets[vertex + 1];
+    }
+
+    /**
+     * Returns the number of outgoing edges of a vertex.
+     * @param vertex the vertex.
+     * @return the out-degree of vertex.
+     */
+    public int degree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    /**
+     * Returns the vertex an edge points to.
+     * @param edge the edge index.
+     * @return the head of the edge.
+     */
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Returns the weight of an edge.
+     * @param edge the edge index.
+     * @return the weight of the edge.
+     */
+    public int weight(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * Checks that a vertex belongs to this graph.
+     * @param vertex the vertex.
+     * @throws IllegalArgumentException If vertex is out of range.
+     */
+    void checkVertex(int vertex) {
+        checkVertex(vertexCount(), vertex);
+    }
+
+    @Override
+    public String toString() {
+        return "CsrGraph{vertices=" + vertexCount() + ", edges=" + edgeCount() + "}";
+    }
+}
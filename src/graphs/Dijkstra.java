@@ -0,0 +1,97 @@
+package graphs;
+
+import java.util.Arrays;
+import datastructures.IntFibonacciHeap;
+
+/**
+ * Dijkstra's single-source shortest path algorithm on a {@link CsrGraph}, using an
+ * {@link IntFibonacciHeap} so that every improved distance is a decreaseKey on the
+ * vertex's existing node instead of a duplicate entry. That bounds the heap at one node
+ * per vertex and gives O(m + n log n) time. <br>
+ *
+ * The search keeps two primitive arrays instead of a map: the heap handle of every
+ * vertex, and the vertex of every handle.
+ */
+public final class Dijkstra {
+
+    /**
+     * The handle of a vertex that has not been reached yet.
+     */
+    static final int UNSEEN = IntFibonacciHeap.NIL;
+
+    /**
+     * The handle of a vertex whose distance is final.
+     */
+    static final int SETTLED = -2;
+
+    private Dijkstra() {
+    }
+
+    /**
+     * Computes the shortest paths from a source to every vertex.
+     * @param graph the graph to search.
+     * @param source the source vertex.
+     * @return the distance to and the shortest path tree of every vertex.
+     * @throws IllegalArgumentException If source is not a vertex of graph.
+     * @throws ArithmeticException If a path is longer than {@code Integer.MAX_VALUE - 1}.
+     */
+    public static ShortestPaths shortestPaths(CsrGraph graph, int source) {
+        return search(graph, source, ShortestPaths.NO_VERTEX);
+    }
+
+    /**
+     * Computes the shortest path from a source to a target, stopping as soon as the target's
+     * distance is final. Only the target and vertices closer than it are guaranteed to
+     * have their final distance in the result.
+     * @param graph the graph to search.
+     * @param source the source vertex.
+     * @param target the target vertex.
+     * @return the shortest paths found before the target was settled.
+     * @throws IllegalArgumentException If source or target is not a vertex of graph.
+     * @throws ArithmeticException If a path is longer than {@code Integer.MAX_VALUE - 1}.
+     */
+    public static ShortestPaths shortestPath(CsrGraph graph, int source, int target) {
+        graph.checkVertex(target);
+        return search(graph, source, target);
+    }
+
+    private static ShortestPaths search(CsrGraph graph, int source, int target) {
+        graph.checkVertex(source);
+        final int n = graph.vertexCount();
+        final ShortestPaths paths = ShortestPaths.start(n, source);
+        final int[] handleOf = new int[n];
+        final int[] vertexOf = new int[n]; // At most n nodes are ever in the heap at once.
+        Arrays.fill(handleOf, UNSEEN);
+        final IntFibonacciHeap heap = new IntFibonacciHeap();
+
+        int handle = heap.insert(0);
+        handleOf[source] = handle;
+        vertexOf[handle] = source;
+        while (!heap.isEmpty()) {
+            final int u = vertexOf[heap.extractMin()];
+            handleOf[u] = SETTLED;
+            if (u == target) {
+                break;
+            }
+            final int distance = paths.distanceTo(u);
+            for (int edge = graph.firstEdge(u), end = graph.endEdge(u); edge < end; edge++) {
+                final int v = graph.target(edge);
+                final int vHandle = handleOf[v];
+                if (vHandle == SETTLED) {
+                    continue;
+                }
+                final int newDistance = Math.addExact(distance, graph.weight(edge));
+                if (vHandle == UNSEEN) {
+                    paths.relax(v, newDistance, u);
+                    handle = heap.insert(newDistance);
+                    handleOf[v] = handle;
+                    vertexOf[handle] = v;
+                } else if (newDistance < paths.distanceTo(v)) {
+                    paths.relax(v, newDistance, u);
+                    heap.decreaseKey(vHandle, newDistance);
+                }
+            }
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,65 @@
+package graphs;
+
+import java.util.Arrays;
+import datastructures.IntFibonacciHeap;
+
+/**
+ * Prim's minimum spanning tree algorithm on an undirected {@link CsrGraph}, using an
+ * {@link IntFibonacciHeap} keyed by the lightest known edge into each vertex outside the
+ * tree. A lighter edge is a decreaseKey on the vertex's node, which gives O(m + n log n)
+ * time. If the graph is not connected the result is a minimum spanning forest with one
+ * tree per component.
+ */
+public final class Prim {
+
+    private Prim() {
+    }
+
+    /**
+     * Computes a minimum spanning forest.
+     * @param graph an undirected graph, as built by {@link CsrGraph#undirected(int, int[], int[], int[])}.
+     * @return the parent of every vertex in its tree and the total weight.
+     */
+    public static SpanningForest minimumSpanningForest(CsrGraph graph) {
+        final int n = graph.vertexCount();
+        final int[] parent = new int[n];
+        final int[] edgeWeight = new int[n];
+        final int[] handleOf = new int[n];
+        final int[] vertexOf = new int[n];
+        Arrays.fill(parent, ShortestPaths.NO_VERTEX);
+        Arrays.fill(handleOf, Dijkstra.UNSEEN);
+        final IntFibonacciHeap heap = new IntFibonacciHeap();
+
+        long totalWeight = 0;
+        for (int root = 0; root < n; root++) {
+            if (handleOf[root] != Dijkstra.UNSEEN) {
+                continue;
+            }
+            int handle = heap.insert(0);
+            handleOf[root] = handle;
+            vertexOf[handle] = root;
+            while (!heap.isEmpty()) {
+                final int u = vertexOf[heap.extractMin()];
+                handleOf[u] = Dijkstra.SETTLED;
+                totalWeight += edgeWeight[u];
+                for (int edge = graph.firstEdge(u), end = graph.endEdge(u); edge < end; edge++) {
+                    final int v = graph.target(edge);
+                    final int vHandle = handleOf[v];
+                    final int weight = graph.weight(edge);
+                    if (vHandle == Dijkstra.UNSEEN) {
+                        parent[v] = u;
+                        edgeWeight[v] = weight;
+                        handle = heap.insert(weight);
+                        handleOf[v] = handle;
+                        vertexOf[handle] = v;
+                    } else if (vHandle != Dijkstra.SETTLED && weight < edgeWeight[v]) {
+                        parent[v] = u;
+                        edgeWeight[v] = weight;
+                        heap.decreaseKey(vHandle, weight);
+                    }
+                }
+            }
+        }
+        return new SpanningForest(parent, totalWeight);
+    }
+}
@@ -0,0 +1,105 @@
+package graphs;
+
+import java.util.Arrays;
+
+/**
+ * The result of a shortest path search from one source vertex: the distance to every
+ * vertex and the predecessor of every vertex on its shortest path.
+ */
+public final class ShortestPaths {
+
+    /**
+     * The distance reported for vertices that cannot be reached from the source.
+     */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    /**
+     * The predecessor of the source and of unreachable vertices.
+     */
+    public static final int NO_VERTEX = -1;
+
+    private final int source;
+    private final int[] distance;
+    private final int[] predecessor;
+
+    ShortestPaths(int source, int[] distance, int[] predecessor) {
+        this.source = source;
+        this.distance = distance;
+        this.predecessor = predecessor;
+    }
+
+    /**
+     * Creates the starting state of a search: every vertex unreachable except the source.
+     * @param vertexCount the number of vertices.
+     * @param source the source vertex.
+     * @return a result with only the source at distance 0.
+     */
+    static ShortestPaths start(int vertexCount, int source) {
+        int[] distance = new int[vertexCount];
+        int[] predecessor = new int[vertexCount];
+        Arrays.fill(distance, UNREACHABLE);
+        Arrays.fill(predecessor, NO_VERTEX);
+        distance[source] = 0;
+        return new ShortestPaths(source, distance, predecessor);
+    }
+
+    /**
+     * Lowers the distance of a vertex and records the vertex it was reached from.
+     */
+    void relax(int vertex, int newDistance, int from) {
+        distance[vertex] = newDistance;
+        predecessor[vertex] = from;
+    }
+
+    public int source() {
+        return source;
+    }
+
+    /**
+     * Returns the length of the shortest path from the source to a vertex.
+     * @param vertex the vertex.
+     * @return the distance, or {@link #UNREACHABLE} if there is no path.
+     */
+    public int distanceTo(int vertex) {
+        return distance[vertex];
+    }
+
+    /**
+     * Checks if there is a path from the source to a vertex.
+     * @param vertex the vertex.
+     * @return {@code true} if vertex is reachable.
+     */
+    public boolean hasPathTo(int vertex) {
+        return distance[vertex] != UNREACHABLE;
+    }
+
+    /**
+     * Returns the vertex before a vertex on its shortest path.
+     * @param vertex the vertex.
+     * @return the predecessor, or {@link #NO_VERTEX} for the source and unreachable vertices.
+     */
+    public int predecessorOf(int vertex) {
+        return predecessor[vertex];
+    }
+
+    /**
+     * Returns the vertices of the shortest path from the source to a vertex.
+     * @param vertex the last vertex of the path.
+     * @return the path, starting with the source and ending with vertex,
+     *         or an empty array if vertex is unreachable.
+     */
+    public int[] pathTo(int vertex) {
+        if (!hasPathTo(vertex)) {
+            return new int[0];
+        }
+        int length = 1;
+        for (int v = vertex; v != source; v = predecessor[v]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int v = vertex, i = length - 1; i >= 0; v = predecessor[v], i--) {
+            path[i] = v;
+        }
+        return path;
+    }
+}
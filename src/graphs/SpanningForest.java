@@ -0,0 +1,46 @@
+package graphs;
+
+/**
+ * A spanning forest of a graph, stored as the parent of every vertex in its tree.
+ */
+public final class SpanningForest {
+
+    private final int[] parent;
+    private final long totalWeight;
+
+    SpanningForest(int[] parent, long totalWeight) {
+        this.parent = parent;
+        this.totalWeight = totalWeight;
+    }
+
+    /**
+     * Returns the parent of a vertex, so that (parentOf(v), v) is a tree edge.
+     * @param vertex the vertex.
+     * @return the parent, or {@link ShortestPaths#NO_VERTEX} if vertex is the root of its tree.
+     */
+    public int parentOf(int vertex) {
+        return parent[vertex];
+    }
+
+    /**
+     * Returns the sum of the weights of all tree edges.
+     * @return the total weight.
+     */
+    public long totalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * Returns the number of trees, which is the number of connected components.
+     * @return the number of roots.
+     */
+    public int treeCount() {
+        int trees = 0;
+        for (int p : parent) {
+            if (p == ShortestPaths.NO_VERTEX) {
+                trees++;
+            }
+        }
+        return trees;
+    }
+}
@@ -0,0 +1,460 @@
+package scheduling;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import datastructures.LongFibonacciHeap;
+
+/**
+ * A delay scheduler that keeps its pending tasks in a {@link LongFibonacciHeap} keyed by
+ * deadline in nanoseconds. Each {@link ScheduledTask} holds the node of its entry, so
+ * {@link ScheduledTask#cancel()} is a direct delete and moving a task to an earlier time is a
+ * decreaseKey, both O(1) amortized. A binary-heap executor pays O(log n) for both, or leaves
+ * cancelled entries in the queue until they expire. <br>
+ *
+ * A single timer thread sleeps until the earliest deadline, takes every due task from the
+ * heap and hands them to a dispatcher, so slow tasks never delay the timer. By default the
+ * dispatcher starts a virtual thread per task when the runtime has them (Java 21 and later)
+ * and falls back to a cached pool of daemon threads otherwise. <br>
+ *
+ * All methods are thread-safe. Tasks run at most once; a task that has been handed to the
+ * dispatcher can no longer be cancelled or rescheduled. A task the dispatcher rejects is
+ * reported as cancelled and passed to the rejection handler, if one was given, and a
+ * rejection by a dispatcher that has been shut down also shuts the scheduler down.
+ */
+public class FibonacciScheduler implements AutoCloseable {
+
+    /**
+     * Longer delays are clamped so that deadlines never overflow.
+     */
+    private static final long MAX_DELAY_NANOS = Long.MAX_VALUE >> 1;
+
+    /**
+     * The most tasks the timer takes from the heap per lock acquisition, so that a burst of
+     * due tasks does not block schedule and cancel for the whole burst.
+     */
+    private static final int MAX_BATCH = 1024;
+
+    private static final int PENDING = 0;
+    private static final int DISPATCHED = 1;
+    private static final int CANCELLED = 2;
+
+    private final LongFibonacciHeap<ScheduledTask> heap = new LongFibonacciHeap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Signalled when the earliest deadline moves forward or the scheduler shuts down.
+     */
+    private final Condition wakeUp = lock.newCondition();
+
+    /**
+     * Deadlines are relative to this instant, so they start near zero and cannot overflow.
+     */
+    private final long origin = System.nanoTime();
+
+    private final ExecutorService dispatcher;
+
+    private final boolean ownsDispatcher;
+
+    /**
+     * Called on the timer thread with each command the dispatcher rejects.
+     */
+    private final BiConsumer<Runnable, RejectedExecutionException> rejectionHandler;
+
+    private final Thread timer;
+
+    private boolean shutdown;
+
+    /**
+     * A task waiting in a {@link FibonacciScheduler}.
+     */
+    public final class ScheduledTask implements Delayed {
+        private final Runnable command;
+
+        /**
+         * The heap entry while the task is pending, {@code null} afterwards. Guarded by lock.
+         */
+        private LongFibonacciHeap.Node<ScheduledTask> node;
+
+        /**
+         * The deadline the task had when it left the heap. Guarded by lock.
+         */
+        private long lastDeadline;
+
+        private volatile int state = PENDING;
+
+        private ScheduledTask(Runnable command) {
+            this.command = command;
+        }
+
+        /**
+         * Removes the task from the scheduler if it has not been dispatched yet.
+         * @return {@code true} if the task was pending and will not run.
+         */
+        public boolean cancel() {
+            return FibonacciScheduler.this.cancel(this);
+        }
+
+        /**
+         * Moves the task to a new delay from now if it has not been dispatched yet.
+         * An earlier deadline is a decreaseKey on the task's node; a later one reinserts it.
+         * @param delay the new delay, negative delays run the task as soon as possible.
+         * @param unit the unit of delay.
+         * @return {@code true} if the task was pending and has been moved.
+         */
+        public boolean reschedule(long delay, TimeUnit unit) {
+            return FibonacciScheduler.this.reschedule(this, delay, unit);
+        }
+
+        /**
+         * @return {@code true} if the task was cancelled before it was dispatched.
+         */
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        /**
+         * @return {@code true} if the task has been dispatched or cancelled.
+         */
+        public boolean isDone() {
+            return state != PENDING;
+        }
+
+        /**
+         * Returns the remaining delay, which is zero or negative once the task is due.
+         * A task that is no longer pending reports the delay of its last deadline.
+         */
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(currentDeadline() - elapsed(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        private long currentDeadline() {
+            lock.lock();
+            try {
+                return node != null ? node.getKey() : lastDeadline;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Creates a scheduler that runs each due task on a new virtual thread, or on a cached
+     * pool of daemon threads if the runtime has no virtual threads.
+     */
+    public FibonacciScheduler() {
+        this(newDispatcher(), true, (command, e) -> { });
+    }
+
+    /**
+     * Creates a scheduler that runs due tasks on the given executor.
+     * The executor is not shut down by {@link #shutdown()}. Rejected tasks are only
+     * reported as cancelled.
+     * @param dispatcher runs the tasks once they are due.
+     */
+    public FibonacciScheduler(ExecutorService dispatcher) {
+        this(dispatcher, (command, e) -> { });
+    }
+
+    /**
+     * Creates a scheduler that runs due tasks on the given executor and reports the tasks it
+     * rejects to rejectionHandler. The handler runs on the timer thread, so it should return
+     * quickly; an exception it throws goes to the timer thread's uncaught exception handler
+     * and does not stop the timer. The executor is not shut down by {@link #shutdown()}.
+     * @param dispatcher runs the tasks once they are due.
+     * @param rejectionHandler receives each rejected command and the exception the dispatcher threw.
+     */
+    public FibonacciScheduler(ExecutorService dispatcher, BiConsumer<Runnable, RejectedExecutionException> rejectionHandler) {
+        this(Objects.requireNonNull(dispatcher, "dispatcher"), false, Objects.requireNonNull(rejectionHandler, "rejectionHandler"));
+    }
+
+    private FibonacciScheduler(ExecutorService dispatcher, boolean ownsDispatcher,
+                               BiConsumer<Runnable, RejectedExecutionException> rejectionHandler) {
+        this.dispatcher = dispatcher;
+        this.ownsDispatcher = ownsDispatcher;
+        this.rejectionHandler = rejectionHandler;
+        this.timer = new Thread(this::runTimer, "fibonacci-scheduler-timer");
+        this.timer.setDaemon(true);
+        this.timer.start();
+    }
+
+    /**
+     * Schedules a task to run once after a delay.
+     * @param command the task to run.
+     * @param delay the delay from now, negative delays run the task as soon as possible.
+     * @param unit the unit of delay.
+     * @return the handle to cancel or reschedule the task.
+     * @throws RejectedExecutionException If the scheduler has been shut down.
+     */
+    public ScheduledTask schedule(Runnable command, long delay, TimeUnit unit) {
+        Objects.requireNonNull(command, "command");
+        final ScheduledTask task = new ScheduledTask(command);
+        lock.lock();
+        try {
+            if (shutdown) {
+                throw new RejectedExecutionException("The scheduler has been shut down");
+            }
+            task.node = heap.insert(task, deadline(delay, unit));
+            if (heap.minimum() == task.node) {
+                wakeUp.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return task;
+    }
+
+    /**
+     * Returns the number of tasks that are waiting for their deadline.
+     * @return the number of pending tasks.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return heap.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the timer and cancels every pending task. Tasks that have already been dispatched
+     * keep running. A dispatcher created by this scheduler is shut down by the timer thread
+     * once it has handed over its last batch.
+     * @return the commands of the cancelled tasks, earliest deadline first.
+     */
+    public List<Runnable> shutdown() {
+        final List<Runnable> pending = new ArrayList<>();
+        lock.lock();
+        try {
+            if (shutdown) {
+                return pending;
+            }
+            shutdown = true;
+            LongFibonacciHeap.Node<ScheduledTask> node;
+            while ((node = heap.extractMin()) != null) {
+                final ScheduledTask task = node.getValue();
+                retire(task, CANCELLED);
+                pending.add(task.command);
+            }
+            wakeUp.signal();
+        } finally {
+            lock.unlock();
+        }
+        return pending;
+    }
+
+    /**
+     * @return {@code true} once {@link #shutdown()} has been called.
+     */
+    public boolean isShutdown() {
+        lock.lock();
+        try {
+            return shutdown;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for the timer to stop after {@link #shutdown()} and, if this scheduler created its
+     * dispatcher, for the dispatched tasks to finish.
+     * @param timeout the maximum time to wait.
+     * @param unit the unit of timeout.
+     * @return {@code true} if everything stopped within the timeout.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        final long end = System.nanoTime() + unit.toNanos(timeout);
+        TimeUnit.NANOSECONDS.timedJoin(timer, Math.max(0, end - System.nanoTime()));
+        if (timer.isAlive()) {
+            return false;
+        }
+        return !ownsDispatcher || dispatcher.awaitTermination(Math.max(0, end - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Shuts the scheduler down and waits for it to terminate.
+     */
+    @Override
+    public void close() {
+        shutdown();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (awaitTermination(1, TimeUnit.DAYS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean cancel(ScheduledTask task) {
+        lock.lock();
+        try {
+            if (task.state != PENDING) {
+                return false;
+            }
+            // The timer may sleep until the old deadline, finds nothing due and sleeps again.
+            heap.delete(task.node);
+            retire(task, CANCELLED);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean reschedule(ScheduledTask task, long delay, TimeUnit unit) {
+        final long deadline = deadline(delay, unit);
+        lock.lock();
+        try {
+            if (task.state != PENDING) {
+                return false;
+            }
+            if (deadline < task.node.getKey()) {
+                heap.decreaseKey(task.node, deadline);
+            } else if (deadline > task.node.getKey()) {
+                heap.delete(task.node);
+                task.node = heap.insert(task, deadline);
+            }
+            if (heap.minimum() == task.node) {
+                wakeUp.signal();
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks a task that has left the heap. Must hold lock.
+     */
+    private void retire(ScheduledTask task, int state) {
+        task.lastDeadline = task.node.getKey();
+        task.node = null;
+        task.state = state;
+    }
+
+    private void runTimer() {
+        try {
+            dispatchDueTasks();
+        } finally {
+            if (ownsDispatcher) {
+                dispatcher.shutdown();
+            }
+        }
+    }
+
+    /**
+     * The timer loop. Returns after shutdown, or if the timer thread is interrupted.
+     */
+    private void dispatchDueTasks() {
+        final List<ScheduledTask> due = new ArrayList<>();
+        while (true) {
+            lock.lock();
+            try {
+                while (!shutdown) {
+                    final LongFibonacciHeap.Node<ScheduledTask> first = heap.minimum();
+                    if (first == null) {
+                        wakeUp.await();
+                    } else {
+                        final long wait = first.getKey() - elapsed();
+                        if (wait <= 0) {
+                            break;
+                        }
+                        wakeUp.awaitNanos(wait);
+                    }
+                }
+                if (shutdown) {
+                    return;
+                }
+                final long now = elapsed();
+                LongFibonacciHeap.Node<ScheduledTask> first;
+                while (due.size() < MAX_BATCH && (first = heap.minimum()) != null && first.getKey() <= now) {
+                    heap.extractMin();
+                    final ScheduledTask task = first.getValue();
+                    retire(task, DISPATCHED);
+                    due.add(task);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            dispatch(due);
+            due.clear();
+        }
+    }
+
+    /**
+     * Hands due tasks to the dispatcher. A task the dispatcher rejects did not run, so it is
+     * marked as cancelled and passed to the rejection handler. If the dispatcher has been
+     * shut down no later task could run either, so the scheduler shuts down too.
+     * @param due the tasks taken from the heap.
+     */
+    private void dispatch(List<ScheduledTask> due) {
+        boolean rejected = false;
+        for (ScheduledTask task : due) {
+            try {
+                dispatcher.execute(task.command);
+            } catch (RejectedExecutionException e) {
+                task.state = CANCELLED;
+                rejected = true;
+                try {
+                    rejectionHandler.accept(task.command, e);
+                } catch (RuntimeException handlerFailure) {
+                    timer.getUncaughtExceptionHandler().uncaughtException(timer, handlerFailure);
+                }
+            }
+        }
+        if (rejected && dispatcher.isShutdown()) {
+            shutdown();
+        }
+    }
+
+    private long elapsed() {
+        return System.nanoTime() - origin;
+    }
+
+    private long deadline(long delay, TimeUnit unit) {
+        return elapsed() + Math.min(Math.max(unit.toNanos(delay), 0), MAX_DELAY_NANOS);
+    }
+
+    /**
+     * Looks up {@code Executors.newVirtualThreadPerTaskExecutor()} at run time, so the class
+     * still compiles and runs on runtimes without virtual threads.
+     */
+    private static ExecutorService newDispatcher() {
+        try {
+            final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return Executors.newCachedThreadPool(command -> {
+                final Thread thread = new Thread(command, "fibonacci-scheduler-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,51 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import graphs.AStar;
+import graphs.CsrGraph;
+import graphs.Dijkstra;
+
+import java.util.Random;
+
+class AStarTest {
+
+    @Test
+    void testMatchesDijkstraOnGrid() {
+        int width = 30;
+        Random random = new Random(3);
+        int edges = 2 * width * (width - 1);
+        int[] sources = new int[edges];
+        int[] targets = new int[edges];
+        int[] weights = new int[edges];
+        int e = 0;
+        for (int v = 0; v < width * width; v++) {
+            if (v % width + 1 < width) {
+                sources[e] = v;
+                targets[e] = v + 1;
+                weights[e++] = 1 + random.nextInt(9);
+            }
+            if (v + width < width * width) {
+                sources[e] = v;
+                targets[e] = v + width;
+                weights[e++] = 1 + random.nextInt(9);
+            }
+        }
+        CsrGraph graph = CsrGraph.undirected(width * width, sources, targets, weights);
+
+        for (int round = 0; round < 10; round++) {
+            int source = random.nextInt(width * width);
+            int target = random.nextInt(width * width);
+            int expected = Dijkstra.shortestPaths(graph, source).distanceTo(target);
+            int actual = AStar.shortestPath(graph, source, target,
+                    v -> Math.abs(v % width - target % width) + Math.abs(v / width - target / width))
+                    .distanceTo(target);
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void testUnreachableTarget() {
+        CsrGraph graph = CsrGraph.directed(3, new int[] {0}, new int[] {1}, new int[] {1});
+        assertFalse(AStar.shortestPath(graph, 0, 2, v -> 0).hasPathTo(2));
+        assertThrows(IllegalArgumentException.class, () -> AStar.shortestPath(graph, 0, 3, v -> 0));
+    }
+}
@@ -0,0 +1,176 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import datastructures.AddressablePriorityQueue;
+import datastructures.AddressablePriorityQueue.Handle;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Tests every {@link AddressablePriorityQueue} engine must pass. Each engine has a
+ * subclass that only implements {@link #create()}.
+ */
+abstract class AddressablePriorityQueueConformance {
+
+    /**
+     * Creates an empty queue of the engine under test.
+     * @return a new queue.
+     */
+    protected abstract <T> AddressablePriorityQueue<T> create();
+
+    @Test
+    void testEmptyQueue() {
+        AddressablePriorityQueue<String> queue = create();
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+        assertNull(queue.minimum());
+        assertNull(queue.extractMin());
+    }
+
+    @Test
+    void testInsertMinimumExtractMin() {
+        AddressablePriorityQueue<String> queue = create();
+        queue.insert("B", 20);
+        Handle<String> a = queue.insert("A", 10);
+        queue.insert("C", 30);
+
+        assertEquals(3, queue.size());
+        assertSame(a, queue.minimum());
+        assertEquals("A", queue.extractMin().getValue());
+        assertEquals("B", queue.extractMin().getValue());
+        assertEquals("C", queue.extractMin().getValue());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void testDecreaseKey() {
+        AddressablePriorityQueue<String> queue = create();
+        queue.insert("A", 10);
+        Handle<String> b = queue.insert("B", 20);
+        queue.insert("C", 30);
+        queue.extractMin();
+
+        queue.decreaseKey(b, 5);
+        assertEquals(5, b.getKey());
+        assertSame(b, queue.minimum());
+        assertThrows(IllegalArgumentException.class, () -> queue.decreaseKey(b, 5));
+    }
+
+    @Test
+    void testDelete() {
+        AddressablePriorityQueue<String> queue = create();
+        queue.insert("A", 10);
+        Handle<String> b = queue.insert("B", 20);
+        queue.insert("C", 30);
+
+        queue.delete(b);
+        assertEquals(2, queue.size());
+        assertEquals("A", queue.extractMin().getValue());
+        assertEquals("C", queue.extractMin().getValue());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void testUnion() {
+        AddressablePriorityQueue<String> queue = create();
+        AddressablePriorityQueue<String> other = create();
+        queue.insert("B", 20);
+        Handle<String> a = other.insert("A", 10);
+        other.insert("C", 30);
+
+        queue.union(other);
+        assertEquals(3, queue.size());
+        assertSame(a, queue.minimum());
+        queue.decreaseKey(a, 1);
+        assertEquals("A", queue.extractMin().getValue());
+        assertEquals("B", queue.extractMin().getValue());
+        assertEquals("C", queue.extractMin().getValue());
+    }
+
+    @Test
+    void testUnionIntoEmptyQueue() {
+        AddressablePriorityQueue<String> queue = create();
+        AddressablePriorityQueue<String> other = create();
+        Handle<String> b = other.insert("B", 20);
+        other.insert("A", 10);
+
+        queue.union(other);
+        assertEquals(2, queue.size());
+        queue.decreaseKey(b, 5);
+        assertEquals("B", queue.extractMin().getValue());
+        assertEquals("A", queue.extractMin().getValue());
+        assertTrue(queue.isEmpty());
+
+        queue.union(create()); // Both empty.
+        assertTrue(queue.isEmpty());
+        assertNull(queue.minimum());
+    }
+
+    @Test
+    void testUnionWithItselfIsRejected() {
+        AddressablePriorityQueue<String> queue = create();
+        queue.insert("A", 10);
+        queue.insert("B", 20);
+
+        assertThrows(IllegalArgumentException.class, () -> queue.union(queue));
+        assertEquals(2, queue.size());
+        assertEquals("A", queue.extractMin().getValue());
+        assertEquals("B", queue.extractMin().getValue());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void testClear() {
+        AddressablePriorityQueue<String> queue = create();
+        queue.insert("A", 1);
+        queue.insert("B", 2);
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        assertNull(queue.extractMin());
+    }
+
+    @Test
+    void testRandomOperationsMatchModel() {
+        Random random = new Random(12);
+        AddressablePriorityQueue<Integer> queue = create();
+        Map<Handle<Integer>, Integer> live = new HashMap<>();
+        List<Handle<Integer>> handles = new ArrayList<>();
+        for (int op = 0; op < 20_000; op++) {
+            int choice = random.nextInt(10);
+            if (choice < 4 || live.isEmpty()) {
+                int key = random.nextInt(1000);
+                Handle<Integer> handle = queue.insert(op, key);
+                live.put(handle, key);
+                handles.add(handle);
+            } else {
+                Handle<Integer> handle = handles.get(random.nextInt(handles.size()));
+                if (!live.containsKey(handle)) {
+                    handles.remove(handle);
+                } else if (choice < 6) {
+                    int expected = live.values().stream().min(Integer::compare).get();
+                    Handle<Integer> min = queue.extractMin();
+                    assertEquals(expected, min.getKey());
+                    live.remove(min);
+                } else if (choice < 9) {
+                    int newKey = live.get(handle) - 1 - random.nextInt(100);
+                    queue.decreaseKey(handle, newKey);
+                    live.put(handle, newKey);
+                } else {
+                    queue.delete(handle);
+                    live.remove(handle);
+                }
+            }
+            assertEquals(live.size(), queue.size());
+        }
+        while (!live.isEmpty()) {
+            int expected = live.values().stream().min(Integer::compare).get();
+            Handle<Integer> min = queue.extractMin();
+            assertEquals(expected, min.getKey());
+            live.remove(min);
+        }
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,175 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import datastructures.ConcurrentFibonacciHeap;
+import datastructures.FibonacciHeap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ConcurrentFibonacciHeapTest {
+
+    @Test
+    void testSingleThreadedOperations() {
+        ConcurrentFibonacciHeap<String> heap = new ConcurrentFibonacciHeap<>();
+        assertTrue(heap.isEmpty());
+
+        heap.insert("A", 10);
+        FibonacciHeap.Node<String> b = heap.insert("B", 20);
+        FibonacciHeap.Node<String> c = heap.insert("C", 15);
+        assertEquals(3, heap.size());
+        assertEquals("A", heap.minimum().getValue());
+
+        heap.decreaseKey(b, 5);
+        assertEquals("B", heap.minimum().getValue());
+        heap.delete(c);
+        assertEquals("B", heap.extractMin().getValue());
+        assertEquals("A", heap.extractMin().getValue());
+        assertNull(heap.extractMin());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void testFailuresAreThrownToTheCaller() {
+        ConcurrentFibonacciHeap<String> heap = new ConcurrentFibonacciHeap<>();
+        FibonacciHeap.Node<String> node = heap.insert("A", 10);
+
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(node, 20));
+        assertEquals(node, heap.extractMin());
+    }
+
+    @Test
+    void testErrorsAreThrownToTheOwner() throws InterruptedException {
+        if (!FibonacciHeap.class.desiredAssertionStatus()) {
+            return; // The error comes from an assertion.
+        }
+        FibonacciHeap<String> pool = new FibonacciHeap<>(4);
+        pool.insert("X", 1);
+        FibonacciHeap.Node<String> released = pool.extractMin();
+        pool.release(released);
+
+        ConcurrentFibonacciHeap<String> heap = new ConcurrentFibonacciHeap<>();
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicInteger otherFailures = new AtomicInteger();
+        // Keeps combining so that the failing request is often applied by this thread.
+        Thread contender = new Thread(() -> {
+            while (!stop.get()) {
+                try {
+                    heap.insert("B", 2);
+                    heap.extractMin();
+                } catch (Throwable e) {
+                    otherFailures.incrementAndGet();
+                }
+            }
+        });
+        contender.start();
+        AtomicInteger ownerFailures = new AtomicInteger();
+        Thread owner = new Thread(() -> {
+            for (int i = 0; i < 1000; i++) {
+                try {
+                    heap.decreaseKey(released, 0);
+                } catch (AssertionError e) {
+                    ownerFailures.incrementAndGet();
+                }
+            }
+        });
+        owner.start();
+        owner.join(10_000);
+        stop.set(true);
+        contender.join(10_000);
+
+        assertFalse(owner.isAlive());
+        assertEquals(1000, ownerFailures.get());
+        assertEquals(0, otherFailures.get());
+    }
+
+    @Test
+    void testIdleThreadsAreServedAfterTheirRecordsAgeOut() throws InterruptedException {
+        ConcurrentFibonacciHeap<Integer> heap = new ConcurrentFibonacciHeap<>();
+        // Short-lived threads whose records the combiner unlinks once they are idle.
+        for (int t = 0; t < 50; t++) {
+            final int key = t;
+            Thread thread = new Thread(() -> heap.insert(key, key));
+            thread.start();
+            thread.join();
+        }
+        CountDownLatch idle = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        AtomicInteger served = new AtomicInteger();
+        Thread sleeper = new Thread(() -> {
+            heap.insert(-1, -1);
+            idle.countDown();
+            try {
+                resume.await();
+            } catch (InterruptedException e) {
+                return;
+            }
+            for (int i = 0; i < 100; i++) {
+                heap.insert(1000 + i, 1000 + i);
+                served.incrementAndGet();
+            }
+        });
+        sleeper.start();
+        assertTrue(idle.await(10, TimeUnit.SECONDS));
+
+        // Enough combining passes to age out every other thread's record.
+        for (int i = 0; i < 5000; i++) {
+            heap.insert(-2, -2);
+            assertEquals(-2, heap.extractMin().getKey());
+        }
+        resume.countDown();
+        sleeper.join(10_000);
+
+        assertFalse(sleeper.isAlive());
+        assertEquals(100, served.get());
+        assertEquals(151, heap.size());
+        assertEquals(-1, heap.extractMin().getKey());
+        for (int key = 0; key < 50; key++) {
+            assertEquals(key, heap.extractMin().getKey());
+        }
+        for (int key = 1000; key < 1100; key++) {
+            assertEquals(key, heap.extractMin().getKey());
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void testConcurrentInsertAndExtractMin() throws InterruptedException {
+        final int threads = 8;
+        final int perThread = 20_000;
+        ConcurrentFibonacciHeap<Integer> heap = new ConcurrentFibonacciHeap<>();
+        AtomicInteger extracted = new AtomicInteger();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int offset = t * perThread;
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    heap.insert(offset + i, offset + i);
+                    if (i % 2 == 1 && heap.extractMin() != null) {
+                        extracted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(threads * perThread / 2, extracted.get());
+        assertEquals(threads * perThread - extracted.get(), heap.size());
+        int previous = Integer.MIN_VALUE;
+        int remaining = 0;
+        for (FibonacciHeap.Node<Integer> node = heap.extractMin(); node != null; node = heap.extractMin()) {
+            assertTrue(node.getKey() >= previous);
+            previous = node.getKey();
+            remaining++;
+        }
+        assertEquals(threads * perThread - extracted.get(), remaining);
+    }
+}
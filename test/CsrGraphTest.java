@@ -0,0 +1,48 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import graphs.CsrGraph;
+
+class CsrGraphTest {
+
+    @Test
+    void testDirectedEdgesAreGroupedBySource() {
+        CsrGraph graph = CsrGraph.directed(4,
+                new int[] {2, 0, 2, 1},
+                new int[] {3, 1, 0, 2},
+                new int[] {5, 1, 7, 2});
+        assertEquals(4, graph.vertexCount());
+        assertEquals(4, graph.edgeCount());
+        assertEquals(1, graph.degree(0));
+        assertEquals(1, graph.degree(1));
+        assertEquals(2, graph.degree(2));
+        assertEquals(0, graph.degree(3));
+
+        int edge = graph.firstEdge(2);
+        assertEquals(3, graph.target(edge));
+        assertEquals(5, graph.weight(edge));
+        assertEquals(0, graph.target(edge + 1));
+        assertEquals(7, graph.weight(edge + 1));
+        assertEquals(graph.endEdge(2), edge + 2);
+    }
+
+    @Test
+    void testUndirectedStoresBothDirections() {
+        CsrGraph graph = CsrGraph.undirected(3, new int[] {0, 1}, new int[] {1, 2}, new int[] {4, 6});
+        assertEquals(4, graph.edgeCount());
+        assertEquals(1, graph.degree(0));
+        assertEquals(2, graph.degree(1));
+        assertEquals(1, graph.degree(2));
+        assertEquals(1, graph.target(graph.firstEdge(2)));
+        assertEquals(6, graph.weight(graph.firstEdge(2)));
+    }
+
+    @Test
+    void testInvalidEdges() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CsrGraph.directed(2, new int[] {0}, new int[] {2}, new int[] {1}));
+        assertThrows(IllegalArgumentException.class,
+                () -> CsrGraph.directed(2, new int[] {0}, new int[] {1}, new int[] {-1}));
+        assertThrows(IllegalArgumentException.class,
+                () -> CsrGraph.directed(2, new int[] {0, 1}, new int[] {1}, new int[] {1}));
+    }
+}
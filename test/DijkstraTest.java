@@ -0,0 +1,102 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import graphs.CsrGraph;
+import graphs.Dijkstra;
+import graphs.ShortestPaths;
+
+import java.util.Arrays;
+import java.util.Random;
+
+class DijkstraTest {
+
+    @Test
+    void testSmallGraph() {
+        //   0 --4--> 1 --1--> 3
+        //   |        ^
+        //   1        2
+        //   v        |
+        //   2 -------+        4 is unreachable
+        CsrGraph graph = CsrGraph.directed(5,
+                new int[] {0, 0, 2, 1},
+                new int[] {1, 2, 1, 3},
+                new int[] {4, 1, 2, 1});
+        ShortestPaths paths = Dijkstra.shortestPaths(graph, 0);
+        assertEquals(0, paths.distanceTo(0));
+        assertEquals(3, paths.distanceTo(1));
+        assertEquals(1, paths.distanceTo(2));
+        assertEquals(4, paths.distanceTo(3));
+        assertArrayEquals(new int[] {0, 2, 1, 3}, paths.pathTo(3));
+        assertFalse(paths.hasPathTo(4));
+        assertEquals(ShortestPaths.UNREACHABLE, paths.distanceTo(4));
+        assertEquals(0, paths.pathTo(4).length);
+    }
+
+    @Test
+    void testMatchesBellmanFordOnRandomGraphs() {
+        Random random = new Random(11);
+        for (int round = 0; round < 20; round++) {
+            int n = 1 + random.nextInt(200);
+            int m = random.nextInt(n * 5);
+            int[] sources = new int[m];
+            int[] targets = new int[m];
+            int[] weights = new int[m];
+            for (int i = 0; i < m; i++) {
+                sources[i] = random.nextInt(n);
+                targets[i] = random.nextInt(n);
+                weights[i] = random.nextInt(50);
+            }
+            CsrGraph graph = CsrGraph.directed(n, sources, targets, weights);
+            int source = random.nextInt(n);
+            ShortestPaths paths = Dijkstra.shortestPaths(graph, source);
+
+            long[] expected = bellmanFord(n, sources, targets, weights, source);
+            for (int v = 0; v < n; v++) {
+                if (expected[v] == Long.MAX_VALUE) {
+                    assertFalse(paths.hasPathTo(v));
+                } else {
+                    assertEquals(expected[v], paths.distanceTo(v));
+                    assertEquals(paths.distanceTo(v), pathLength(graph, paths.pathTo(v)));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testStopsAtTarget() {
+        CsrGraph graph = CsrGraph.undirected(4, new int[] {0, 1, 2}, new int[] {1, 2, 3}, new int[] {1, 1, 1});
+        ShortestPaths paths = Dijkstra.shortestPath(graph, 0, 1);
+        assertEquals(1, paths.distanceTo(1));
+        assertFalse(paths.hasPathTo(3));
+    }
+
+    static long[] bellmanFord(int n, int[] sources, int[] targets, int[] weights, int source) {
+        long[] distance = new long[n];
+        Arrays.fill(distance, Long.MAX_VALUE);
+        distance[source] = 0;
+        for (int round = 0; round < n; round++) {
+            for (int i = 0; i < sources.length; i++) {
+                if (distance[sources[i]] != Long.MAX_VALUE) {
+                    distance[targets[i]] = Math.min(distance[targets[i]], distance[sources[i]] + weights[i]);
+                }
+            }
+        }
+        return distance;
+    }
+
+    /**
+     * Returns the length of a path using the lightest edge between consecutive vertices.
+     */
+    static int pathLength(CsrGraph graph, int[] path) {
+        int length = 0;
+        for (int i = 1; i < path.length; i++) {
+            int lightest = Integer.MAX_VALUE;
+            for (int edge = graph.firstEdge(path[i - 1]); edge < graph.endEdge(path[i - 1]); edge++) {
+                if (graph.target(edge) == path[i]) {
+                    lightest = Math.min(lightest, graph.weight(edge));
+                }
+            }
+            length += lightest;
+        }
+        return length;
+    }
+}
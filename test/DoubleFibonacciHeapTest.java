@@ -0,0 +1,104 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import datastructures.DoubleFibonacciHeap;
+
+class DoubleFibonacciHeapTest {
+
+    @Test
+    void testFractionalKeys() {
+        DoubleFibonacciHeap<String> heap = new DoubleFibonacciHeap<>();
+
+        heap.insert("A", 0.75);
+        heap.insert("B", 0.25);
+        heap.insert("C", 0.5);
+
+        assertEquals("B", heap.extractMin().getValue());
+        assertEquals("C", heap.extractMin().getValue());
+        assertEquals("A", heap.extractMin().getValue());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void testDecreaseKey() {
+        DoubleFibonacciHeap<String> heap = new DoubleFibonacciHeap<>();
+
+        heap.insert("A", 1.0);
+        DoubleFibonacciHeap.Node<String> node = heap.insert("B", 2.0);
+
+        heap.decreaseKey(node, 0.999);
+        assertEquals("B", heap.minimum().getValue());
+        assertEquals(0.999, heap.minimum().getKey());
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(node, 0.999));
+    }
+
+    @Test
+    void testNaNIsRejected() {
+        DoubleFibonacciHeap<String> heap = new DoubleFibonacciHeap<>();
+        DoubleFibonacciHeap.Node<String> node = heap.insert("A", 1.0);
+
+        assertThrows(IllegalArgumentException.class, () -> heap.insert("B", Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(node, Double.NaN));
+        assertEquals(1, heap.size());
+    }
+
+    @Test
+    void testDeleteInfiniteKeys() {
+        DoubleFibonacciHeap<String> heap = new DoubleFibonacciHeap<>();
+
+        DoubleFibonacciHeap.Node<String> low = heap.insert("A", Double.NEGATIVE_INFINITY);
+        DoubleFibonacciHeap.Node<String> high = heap.insert("B", Double.POSITIVE_INFINITY);
+        heap.insert("C", 3.5);
+
+        heap.delete(low);
+        assertEquals("C", heap.minimum().getValue());
+        heap.delete(high);
+        assertEquals(1, heap.size());
+        assertEquals("C", heap.extractMin().getValue());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void testUnion() {
+        DoubleFibonacciHeap<Integer> heap1 = new DoubleFibonacciHeap<>(new double[] {1.5, 2.5});
+        DoubleFibonacciHeap<Integer> heap2 = new DoubleFibonacciHeap<>(new double[] {-0.5});
+
+        heap1.union(heap2);
+
+        assertEquals(-0.5, heap1.minimum().getKey());
+        assertEquals(3, heap1.size());
+    }
+
+    @Test
+    void testUnionIntoEmptyHeap() {
+        DoubleFibonacciHeap<Integer> heap1 = new DoubleFibonacciHeap<>();
+        DoubleFibonacciHeap<Integer> heap2 = new DoubleFibonacciHeap<>(new double[] {-0.5});
+
+        heap1.union(heap2);
+
+        assertEquals(-0.5, heap1.minimum().getKey());
+        assertEquals(1, heap1.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDeleteKeepsChildrenAndMin() {
+        DoubleFibonacciHeap<Integer> heap = new DoubleFibonacciHeap<>();
+        DoubleFibonacciHeap.Node<Integer>[] nodes = new DoubleFibonacciHeap.Node[9];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = heap.insert(i, i + 0.5);
+        }
+        heap.extractMin(); // Links keys 1 to 8 into a single tree.
+
+        heap.delete(nodes[5]); // An inner node with children.
+        heap.delete(nodes[8]); // A leaf.
+        assertSame(nodes[1], heap.minimum());
+        assertEquals(6, heap.size());
+        heap.delete(nodes[1]); // The min.
+        assertSame(nodes[2], heap.minimum());
+        assertEquals(5, heap.size());
+        for (int expected : new int[] {2, 3, 4, 6, 7}) {
+            assertEquals(expected, heap.extractMin().getValue());
+        }
+        assertTrue(heap.isEmpty());
+    }
+}
@@ -0,0 +1,239 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import datastructures.DurableFibonacciHeap;
+import datastructures.DurableFibonacciHeap.FsyncPolicy;
+import datastructures.DurableFibonacciHeap.Handle;
+import datastructures.ValueCodec;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+class DurableFibonacciHeapTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testOperationsSurviveReopen() throws IOException {
+        long decreasedId;
+        long deletedId;
+        try (DurableFibonacciHeap<String> heap = DurableFibonacciHeap.open(directory, ValueCodec.strings(), FsyncPolicy.always())) {
+            heap.insert("a", 10);
+            Handle<String> b = heap.insert("b", 20);
+            Handle<String> c = heap.insert("c", 30);
+            heap.insert(null, 40);
+            assertEquals("a", heap.extractMin().getValue());
+            heap.decreaseKey(c, 5);
+            heap.delete(b);
+            decreasedId = c.getId();
+            deletedId = b.getId();
+        }
+
+        try (DurableFibonacciHeap<String> heap = DurableFibonacciHeap.open(directory, ValueCodec.strings(), FsyncPolicy.always())) {
+            assertEquals(2, heap.size());
+            assertNull(heap.get(deletedId));
+            Handle<String> c = heap.get(decreasedId);
+            assertEquals("c", c.getValue());
+            assertEquals(5, c.getKey());
+            assertEquals(c.getId(), heap.extractMin().getId());
+            Handle<String> last = heap.extractMin();
+            assertNull(last.getValue());
+            assertEquals(40, last.getKey());
+            assertEquals(4, heap.insert("e", 1).getId());
+        }
+    }
+
+    @Test
+    void testRecoversWithoutClose() throws IOException {
+        DurableFibonacciHeap<Integer> crashed = DurableFibonacciHeap.open(directory, ValueCodec.integers(), FsyncPolicy.always());
+        for (int i = 0; i < 100; i++) {
+            crashed.insert(i, 100 - i);
+        }
+        crashed.extractMin();
+
+        try (DurableFibonacciHeap<Integer> heap = DurableFibonacciHeap.open(directory, ValueCodec.integers(), FsyncPolicy.none())) {
+            assertEquals(99, heap.size());
+            assertEquals(98, heap.minimum().getValue());
+        }
+        crashed.close();
+    }
+
+    @Test
+    void testTornRecordIsDropped() throws IOException {
+        try (DurableFibonacciHeap<Integer> heap = DurableFibonacciHeap.open(directory, ValueCodec.integers(), FsyncPolicy.none())) {
+            heap.insert(1, 1);
+            heap.insert(2, 2);
+        }
+        Path log = directory.resolve("log-0");
+        long validSize = Files.size(log);
+        Files.write(log, new byte[]{0, 0, 0, 21, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (DurableFibonacciHeap<Integer> heap = DurableFibonacciHeap.open(directory, ValueCodec.integers(), FsyncPolicy.none())) {
+            assertEquals(2, heap.size());
+            assertEquals(validSize, Files.size(log));
+            heap.insert(3, 3);
+        }
+        try (DurableFibonacciHeap<Integer> heap = DurableFibonacciHeap.open(directory, ValueCodec.integers(), FsyncPolicy.none())) {
+            assertEquals(3, heap.size());
+        }
+    }
+
+    @Test
+    void testCompactionFoldsLogIntoSnapshot() throws IOException {
+        Random generator = new Random(3);
+        List<Long> values = new ArrayList<>();
+        try (DurableFibonacciHeap<Long> heap = DurableFibonacciHeap.open(directory, ValueCodec.longs(), FsyncPolicy.none(), 4096)) {
+            List<Handle<Long>> handles = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) {
+                handles.add(heap.insert((long) i, generator.nextInt(100_000)));
+                if (i % 3 == 0) {
+                    heap.extractMin();
+                }
+                if (i % 5 == 0) {
+                    Handle<Long> handle = handles.get(generator.nextInt(handles.size()));
+                    if (heap.get(handle.getId()) != null && handle.getKey() > 0) {
+                        heap.decreaseKey(handle, handle.getKey() - 1);
+                    }
+                }
+            }
+            heap.sync();
+        }
+        assertEquals(1, countFiles("snapshot-"));
+        assertEquals(1, countFiles("log-"));
+
+        try (DurableFibonacciHeap<Long> heap = DurableFibonacciHeap.open(directory, ValueCodec.longs(), FsyncPolicy.none())) {
+            int lastKey = Integer.MIN_VALUE;
+            while (!heap.isEmpty()) {
+                Handle<Long> min = heap.extractMin();
+                assertTrue(min.getKey() >= lastKey);
+                lastKey = min.getKey();
+                values.add(min.getValue());
+            }
+            assertEquals(2_000 - 667, values.size());
+        }
+    }
+
+    @Test
+    void testUnfinishedCompactionIsDiscarded() throws IOException {
+        try (DurableFibonacciHeap<Integer> heap = DurableFibonacciHeap.open(directory, ValueCodec.integers(), FsyncPolicy.always())) {
+            heap.insert(1, 1);
+            heap.insert(2, 2);
+            heap.insert(3, 3);
+        }
+        // A crash after the next log was created but before the snapshot was renamed into place.
+        byte[] header = new byte[16];
+        System.arraycopy(Files.readAllBytes(directory.resolve("log-0")), 0, header, 0, header.length);
+        Files.write(directory.resolve("log-1"), header);
+        Files.write(directory.resolve("snapshot-1.tmp"), new byte[]{1, 2, 3});
+
+        try (DurableFibonacciHeap<Integer> heap = DurableFibonacciHeap.open(directory, ValueCodec.integers(), FsyncPolicy.always())) {
+            assertEquals(3, heap.size());
+            assertFalse(Files.exists(directory.resolve("log-1")));
+            assertFalse(Files.exists(directory.resolve("snapshot-1.tmp")));
+            assertEquals(3, heap.insert(4, 4).getId());
+            heap.compact();
+        }
+        try (DurableFibonacciHeap<Integer> heap = DurableFibonacciHeap.open(directory, ValueCodec.integers(), FsyncPolicy.always())) {
+            assertEquals(4, heap.size());
+            assertEquals(4, heap.insert(5, 5).getId());
+        }
+    }
+
+    @Test
+    void testReplayMatchesLiveHeap() throws IOException {
+        List<Long> liveOrder = new ArrayList<>();
+        try (DurableFibonacciHeap<Integer> heap = DurableFibonacciHeap.open(directory.resolve("live"), ValueCodec.integers(), FsyncPolicy.none())) {
+            applyTieHeavyOperations(heap);
+            while (!heap.isEmpty()) {
+                liveOrder.add(heap.extractMin().getId());
+            }
+        }
+
+        Path replayed = directory.resolve("replayed");
+        try (DurableFibonacciHeap<Integer> heap = DurableFibonacciHeap.open(replayed, ValueCodec.integers(), FsyncPolicy.periodic(5))) {
+            applyTieHeavyOperations(heap);
+        }
+        try (DurableFibonacciHeap<Integer> heap = DurableFibonacciHeap.open(replayed, ValueCodec.integers(), FsyncPolicy.none())) {
+            heap.compact();
+        }
+        List<Long> replayedOrder = new ArrayList<>();
+        try (DurableFibonacciHeap<Integer> heap = DurableFibonacciHeap.open(replayed, ValueCodec.integers(), FsyncPolicy.none())) {
+            while (!heap.isEmpty()) {
+                replayedOrder.add(heap.extractMin().getId());
+            }
+        }
+        assertEquals(liveOrder, replayedOrder);
+    }
+
+    @Test
+    void testInvalidOperationsAreNotLogged() throws IOException {
+        try (DurableFibonacciHeap<Integer> heap = DurableFibonacciHeap.open(directory, ValueCodec.integers(), FsyncPolicy.always())) {
+            Handle<Integer> node = heap.insert(1, 10);
+            assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(node, 10));
+            assertThrows(IllegalArgumentException.class, () -> heap.delete(42));
+            heap.extractMin();
+            assertThrows(IllegalArgumentException.class, () -> heap.delete(node));
+            assertNull(heap.extractMin());
+        }
+        DurableFibonacciHeap<Integer> reopened = DurableFibonacciHeap.open(directory, ValueCodec.integers(), FsyncPolicy.always());
+        assertTrue(reopened.isEmpty());
+        reopened.close();
+        assertThrows(IllegalStateException.class, () -> reopened.insert(1, 1));
+    }
+
+    @Test
+    void testConcurrentInsertsShareFsyncs() throws Exception {
+        final int threads = 4;
+        final int perThread = 200;
+        try (DurableFibonacciHeap<Integer> heap = DurableFibonacciHeap.open(directory, ValueCodec.integers(), FsyncPolicy.always())) {
+            Thread[] workers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                final int offset = t * perThread;
+                workers[t] = new Thread(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        heap.insert(offset + i, offset + i);
+                    }
+                });
+                workers[t].start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        }
+        try (DurableFibonacciHeap<Integer> heap = DurableFibonacciHeap.open(directory, ValueCodec.integers(), FsyncPolicy.none())) {
+            assertEquals(threads * perThread, heap.size());
+            for (int i = 0; i < threads * perThread; i++) {
+                assertEquals(i, heap.extractMin().getValue());
+            }
+        }
+    }
+
+    /**
+     * Inserts nodes with many equal keys, so that only identical tree shapes extract them
+     * in the same order.
+     */
+    private static void applyTieHeavyOperations(DurableFibonacciHeap<Integer> heap) {
+        Random generator = new Random(11);
+        for (int i = 0; i < 500; i++) {
+            Handle<Integer> handle = heap.insert(i, generator.nextInt(50));
+            if (i % 4 == 0) {
+                heap.extractMin();
+            }
+            if (i % 7 == 0 && handle.getKey() > 0 && heap.get(handle.getId()) != null) {
+                heap.decreaseKey(handle, handle.getKey() - 1);
+            }
+        }
+    }
+
+    private long countFiles(String prefix) throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(prefix)).count();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import datastructures.ExternalFibonacciHeap;
+import datastructures.ValueCodec;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+class ExternalFibonacciHeapTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testSmallQueueStaysInMemory() throws IOException {
+        try (ExternalFibonacciHeap<String> heap = new ExternalFibonacciHeap<>(directory, ValueCodec.strings(), 8)) {
+            assertTrue(heap.isEmpty());
+            assertNull(heap.extractMin());
+            assertThrows(NoSuchElementException.class, heap::minimumKey);
+
+            heap.insert("b", 2);
+            heap.insert("a", 1);
+            heap.insert(null, 3);
+            assertEquals(1, heap.minimumKey());
+            assertEquals("a", heap.extractMin().getValue());
+            assertEquals("b", heap.extractMin().getValue());
+            assertNull(heap.extractMin().getValue());
+            assertEquals(0, heap.getRunCount());
+            assertEquals(0, heap.getBytesWritten());
+        }
+    }
+
+    @Test
+    void testSpillsAndExtractsInOrder() throws IOException {
+        Random generator = new Random(5);
+        PriorityQueue<Integer> reference = new PriorityQueue<>();
+        try (ExternalFibonacciHeap<Integer> heap = new ExternalFibonacciHeap<>(directory, ValueCodec.integers(), 64)) {
+            for (int i = 0; i < 20_000; i++) {
+                int key = generator.nextInt(1_000_000);
+                heap.insert(key, key);
+                reference.add(key);
+                if (i % 3 == 0) {
+                    ExternalFibonacciHeap.Item<Integer> min = heap.extractMin();
+                    int expected = reference.poll();
+                    assertEquals(expected, min.getKey());
+                    assertEquals(expected, min.getValue());
+                }
+                assertTrue(heap.memorySize() <= 64);
+            }
+            assertTrue(heap.getSpills() > 0);
+            assertTrue(heap.getBytesWritten() > 0);
+            // 20,000 inserts with room for 64 items need at most log_8(625) < 4 levels.
+            assertTrue(heap.getRunCount() <= 4 * (ExternalFibonacciHeap.MERGE_FACTOR - 1));
+            assertEquals(reference.size(), heap.size());
+
+            while (!reference.isEmpty()) {
+                assertEquals(reference.poll(), heap.extractMin().getKey());
+            }
+            assertTrue(heap.isEmpty());
+            assertEquals(0, heap.getRunCount());
+            assertTrue(heap.getBytesRead() > 0);
+        }
+    }
+
+    @Test
+    void testTieredMergesBoundTheBytesWritten() throws IOException {
+        int count = 50_000;
+        int memoryLimit = 64;
+        try (ExternalFibonacciHeap<Integer> heap = new ExternalFibonacciHeap<>(directory, ValueCodec.integers(), memoryLimit)) {
+            Random generator = new Random(18);
+            for (int i = 0; i < count; i++) {
+                heap.insert(i, generator.nextInt());
+            }
+            // A record is the key, the value length and a 4-byte value. Every item is written
+            // once when spilled and at most once per level, and log_8(2 * 50,000 / 64) < 4.
+            long recordSize = 3 * Integer.BYTES;
+            assertTrue(heap.getBytesWritten() <= recordSize * count * 5);
+            assertTrue(heap.getRunCount() <= 4 * (ExternalFibonacciHeap.MERGE_FACTOR - 1));
+
+            int previous = Integer.MIN_VALUE;
+            while (!heap.isEmpty()) {
+                int key = heap.extractMin().getKey();
+                assertTrue(key >= previous);
+                previous = key;
+            }
+        }
+    }
+
+    @Test
+    void testCloseDeletesRuns() throws IOException {
+        ExternalFibonacciHeap<Long> heap = new ExternalFibonacciHeap<>(directory, ValueCodec.longs(), 4);
+        for (long i = 100; i > 0; i--) {
+            heap.insert(i, (int) i);
+        }
+        assertTrue(heap.getRunCount() > 0);
+        try (var files = Files.list(directory)) {
+            assertTrue(files.findAny().isPresent());
+        }
+
+        heap.close();
+        try (var files = Files.list(directory)) {
+            assertFalse(files.findAny().isPresent());
+        }
+        assertThrows(IllegalStateException.class, () -> heap.insert(1L, 1));
+    }
+
+    @Test
+    void testInvalidMemoryLimit() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ExternalFibonacciHeap<>(directory, ValueCodec.integers(), 1));
+    }
+}
@@ -0,0 +1,43 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import datastructures.AddressablePriorityQueue;
+import datastructures.AddressablePriorityQueues;
+import datastructures.FibonacciHeap;
+
+import java.util.Properties;
+
+class FibonacciHeapConformanceTest extends AddressablePriorityQueueConformance {
+
+    @Override
+    protected <T> AddressablePriorityQueue<T> create() {
+        return AddressablePriorityQueues.create("fibonacci");
+    }
+
+    @Test
+    void testFactoryCreatesFibonacciHeap() {
+        assertTrue(AddressablePriorityQueues.engines().contains("fibonacci"));
+        assertTrue(AddressablePriorityQueues.create(new Properties()) instanceof FibonacciHeap);
+        Properties config = new Properties();
+        config.setProperty(AddressablePriorityQueues.ENGINE_PROPERTY, "fibonacci");
+        assertTrue(AddressablePriorityQueues.create(config) instanceof FibonacciHeap);
+        assertThrows(IllegalArgumentException.class, () -> AddressablePriorityQueues.create("unknown"));
+    }
+
+    @Test
+    void testUnionRejectsOtherEngines() {
+        AddressablePriorityQueue<String> heap = create();
+        heap.insert("A", 1);
+        AddressablePriorityQueue<String> other = new AddressablePriorityQueue<String>() {
+            public Handle<String> insert(String value, int key) { return null; }
+            public Handle<String> minimum() { return null; }
+            public Handle<String> extractMin() { return null; }
+            public void decreaseKey(Handle<String> handle, int newKey) { }
+            public void delete(Handle<String> handle) { }
+            public void union(AddressablePriorityQueue<String> other) { }
+            public int size() { return 0; }
+            public boolean isEmpty() { return true; }
+            public void clear() { }
+        };
+        assertThrows(IllegalArgumentException.class, () -> heap.union(other));
+    }
+}
@@ -0,0 +1,142 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import datastructures.FibonacciHeap;
+import datastructures.FibonacciHeapQueue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.stream.Collectors;
+
+class FibonacciHeapQueueTest {
+
+    @Test
+    void testPollReturnsValuesInKeyOrder() {
+        Queue<String> queue = new FibonacciHeapQueue<>(String::length);
+        queue.addAll(Arrays.asList("ccc", "a", "dddd", "bb"));
+        assertEquals(4, queue.size());
+        assertEquals("a", queue.peek());
+
+        List<String> polled = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            polled.add(queue.poll());
+        }
+        assertEquals(Arrays.asList("a", "bb", "ccc", "dddd"), polled);
+        assertNull(queue.poll());
+        assertNull(queue.peek());
+    }
+
+    @Test
+    void testRejectsNull() {
+        Queue<String> queue = new FibonacciHeapQueue<>(String::length);
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+    }
+
+    @Test
+    void testCollectionViewsDoNotChangeTheHeap() {
+        FibonacciHeapQueue<Integer> queue = new FibonacciHeapQueue<>(Integer::intValue);
+        for (int i = 100; i > 0; i--) {
+            queue.offer(i);
+        }
+        queue.poll(); // Builds trees.
+
+        assertTrue(queue.contains(50));
+        assertFalse(queue.contains(1));
+        assertEquals(99, queue.toArray().length);
+        assertEquals(5049, queue.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(5049, queue.parallelStream().mapToInt(Integer::intValue).sum());
+        assertEquals(99, queue.size());
+        assertEquals(2, queue.peek());
+    }
+
+    @Test
+    void testParallelToArrayOnLargeQueue() {
+        FibonacciHeapQueue<Integer> queue = new FibonacciHeapQueue<>(Integer::intValue);
+        for (int i = 0; i <= 100_000; i++) {
+            queue.offer(i);
+        }
+        queue.poll();
+
+        assertEquals(100_000, queue.parallelStream().toArray().length);
+        assertEquals(100_000, queue.parallelStream().collect(Collectors.toSet()).size());
+    }
+
+    @Test
+    void testRemoveObject() {
+        FibonacciHeapQueue<Integer> queue = new FibonacciHeapQueue<>(Integer::intValue);
+        for (int i = 0; i < 20; i++) {
+            queue.offer(i);
+        }
+        queue.poll();
+        assertTrue(queue.remove(7));
+        assertFalse(queue.remove(7));
+        assertFalse(queue.remove(null));
+        assertEquals(18, queue.size());
+
+        int previous = Integer.MIN_VALUE;
+        while (!queue.isEmpty()) {
+            int value = queue.poll();
+            assertNotEquals(7, value);
+            assertTrue(value > previous);
+            previous = value;
+        }
+    }
+
+    @Test
+    void testRemoveIfAndRemoveAll() {
+        FibonacciHeapQueue<Integer> queue = new FibonacciHeapQueue<>(Integer::intValue);
+        for (int i = 0; i < 100; i++) {
+            queue.offer(i);
+        }
+        queue.poll(); // Builds trees.
+
+        assertTrue(queue.removeIf(value -> value % 3 == 0));
+        assertFalse(queue.removeIf(value -> value % 3 == 0));
+        assertTrue(queue.removeAll(Arrays.asList(1, 2, 50)));
+        assertEquals(63, queue.size());
+
+        int previous = Integer.MIN_VALUE;
+        while (!queue.isEmpty()) {
+            int value = queue.poll();
+            assertNotEquals(0, value % 3);
+            assertNotEquals(50, value);
+            assertTrue(value > previous);
+            previous = value;
+        }
+    }
+
+    @Test
+    void testRetainAll() {
+        FibonacciHeapQueue<Integer> queue = new FibonacciHeapQueue<>(Integer::intValue);
+        for (int i = 0; i < 50; i++) {
+            queue.offer(i);
+        }
+        queue.poll();
+
+        assertTrue(queue.retainAll(Arrays.asList(0, 7, 12, 49, 99)));
+        assertFalse(queue.retainAll(Arrays.asList(7, 12, 49)));
+        List<Integer> polled = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            polled.add(queue.poll());
+        }
+        assertEquals(Arrays.asList(7, 12, 49), polled);
+    }
+
+    @Test
+    void testIteratorFailsFastAndSharesTheHeap() {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        FibonacciHeapQueue<Integer> queue = new FibonacciHeapQueue<>(heap, Integer::intValue);
+        queue.offer(3);
+        queue.offer(4);
+        assertSame(heap, queue.heap());
+        assertEquals(3, heap.minimum().getValue());
+
+        Iterator<Integer> iterator = queue.iterator();
+        iterator.next();
+        queue.offer(1);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+}
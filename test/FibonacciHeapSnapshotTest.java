@@ -0,0 +1,148 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import datastructures.FibonacciHeap;
+import datastructures.FibonacciHeapSnapshot;
+import datastructures.ValueCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+class FibonacciHeapSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRoundTripKeepsShape() throws IOException {
+        Random generator = new Random(7);
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        @SuppressWarnings("unchecked")
+        FibonacciHeap.Node<Integer>[] nodes = new FibonacciHeap.Node[2_000];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = heap.insert(i, generator.nextInt(1_000_000));
+        }
+        heap.extractMin();
+        for (int i = 0; i < nodes.length; i += 5) {
+            if (nodes[i].getKey() > 0 && nodes[i] != heap.minimum()) {
+                heap.decreaseKey(nodes[i], generator.nextInt(nodes[i].getKey()));
+            }
+        }
+
+        Path file = directory.resolve("heap.snapshot");
+        long bytes = FibonacciHeapSnapshot.write(heap, file, ValueCodec.integers());
+        assertEquals(Files.size(file), bytes);
+        FibonacciHeap<Integer> restored = FibonacciHeapSnapshot.read(file, ValueCodec.integers());
+
+        assertEquals(heap.toString(), restored.toString());
+        assertEquals(heap.size(), restored.size());
+        while (!heap.isEmpty()) {
+            FibonacciHeap.Node<Integer> expected = heap.extractMin();
+            FibonacciHeap.Node<Integer> actual = restored.extractMin();
+            assertEquals(expected.getKey(), actual.getKey());
+            assertEquals(expected.getValue(), actual.getValue());
+        }
+        assertTrue(restored.isEmpty());
+    }
+
+    @Test
+    void testEmptyHeap() throws IOException {
+        Path file = directory.resolve("empty.snapshot");
+        FibonacciHeapSnapshot.write(new FibonacciHeap<String>(), file, ValueCodec.strings());
+        FibonacciHeap<String> restored = FibonacciHeapSnapshot.read(file, ValueCodec.strings());
+        assertTrue(restored.isEmpty());
+        assertNull(restored.minimum());
+    }
+
+    @Test
+    void testStringsAndNullValues() throws IOException {
+        FibonacciHeap<String> heap = new FibonacciHeap<>();
+        heap.insert("plain", 3);
+        heap.insert(null, 1);
+        heap.insert("caf\u00e9 \u20ac \ud83d\ude00", 2);
+        heap.insert("", 4);
+
+        Path file = directory.resolve("strings.snapshot");
+        FibonacciHeapSnapshot.write(heap, file, ValueCodec.strings());
+        FibonacciHeap<String> restored = FibonacciHeapSnapshot.read(file, ValueCodec.strings());
+
+        assertNull(restored.extractMin().getValue());
+        assertEquals("caf\u00e9 \u20ac \ud83d\ude00", restored.extractMin().getValue());
+        assertEquals("plain", restored.extractMin().getValue());
+        assertEquals("", restored.extractMin().getValue());
+    }
+
+    @Test
+    void testRestoredHeapAcceptsOperations() throws IOException {
+        FibonacciHeap<Long> heap = new FibonacciHeap<>();
+        for (int i = 0; i < 100; i++) {
+            heap.insert((long) i, 100 - i);
+        }
+        heap.extractMin();
+
+        Path file = directory.resolve("longs.snapshot");
+        FibonacciHeapSnapshot.write(heap, file, ValueCodec.longs());
+        FibonacciHeap<Long> restored = FibonacciHeapSnapshot.read(file, ValueCodec.longs());
+
+        FibonacciHeap.Node<Long> node = restored.insert(-1L, 50);
+        restored.decreaseKey(node, 0);
+        assertEquals(-1L, restored.extractMin().getValue());
+        assertEquals(2, restored.extractMin().getKey());
+        assertEquals(98, restored.size());
+    }
+
+    @Test
+    void testCorruptPayloadIsRejected() throws IOException {
+        Path file = writeSmallSnapshot();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.READ)) {
+            ByteBuffer b = ByteBuffer.allocate(1);
+            channel.read(b, 40);
+            b.put(0, (byte) (b.get(0) ^ 0x5A));
+            b.rewind();
+            channel.write(b, 40);
+        }
+        IOException error = assertThrows(IOException.class,
+                () -> FibonacciHeapSnapshot.read(file, ValueCodec.integers()));
+        assertTrue(error.getMessage().contains("checksum"));
+    }
+
+    @Test
+    void testWrongMagicAndVersionAreRejected() throws IOException {
+        Path notSnapshot = directory.resolve("other.bin");
+        Files.write(notSnapshot, new byte[64]);
+        assertThrows(IOException.class, () -> FibonacciHeapSnapshot.read(notSnapshot, ValueCodec.integers()));
+
+        Path file = writeSmallSnapshot();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, FibonacciHeapSnapshot.VERSION + 1), 4);
+        }
+        IOException error = assertThrows(IOException.class,
+                () -> FibonacciHeapSnapshot.read(file, ValueCodec.integers()));
+        assertTrue(error.getMessage().contains("version"));
+    }
+
+    @Test
+    void testTruncatedFileIsRejected() throws IOException {
+        Path file = writeSmallSnapshot();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        assertThrows(IOException.class, () -> FibonacciHeapSnapshot.read(file, ValueCodec.integers()));
+    }
+
+    private Path writeSmallSnapshot() throws IOException {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        for (int i = 0; i < 10; i++) {
+            heap.insert(i, i * 10);
+        }
+        heap.extractMin();
+        Path file = directory.resolve("small.snapshot");
+        FibonacciHeapSnapshot.write(heap, file, ValueCodec.integers());
+        return file;
+    }
+}
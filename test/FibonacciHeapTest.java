@@ -1,6 +1,20 @@
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 import datastructures.FibonacciHeap;
+import datastructures.HeapStats;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 class FibonacciHeapTest {
 
@@ -117,4 +131,721 @@ class FibonacciHeapTest {
         assertTrue(heapString.contains("MinNode{value=1, key=1, degree=0, marked=false"));
         assertTrue(heapString.contains("RootNode{value=2, key=2, degree=0, marked=false"));
     }
+
+    @Test
+    void testExtractsInSortedOrderWithDuplicateKeys() {
+        Random generator = new Random(7);
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        for (int i = 0; i < 5_000; i++) {
+            heap.insert(i, generator.nextInt(100));
+        }
+
+        int[] extracted = new int[heap.size()];
+        for (int i = 0; i < extracted.length; i++) {
+            assertEquals(extracted.length - i, heap.size());
+            extracted[i] = heap.extractMin().getKey();
+        }
+        int[] sorted = extracted.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(sorted, extracted);
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void testOf() {
+        FibonacciHeap<String> heap = FibonacciHeap.of(new int[] {10, 5, 15}, new String[] {"A", "B", "C"});
+
+        assertEquals(3, heap.size());
+        assertEquals("B", heap.extractMin().getValue());
+        assertEquals("A", heap.extractMin().getValue());
+        assertEquals("C", heap.extractMin().getValue());
+        assertTrue(heap.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> FibonacciHeap.of(new int[] {1}, new String[0]));
+    }
+
+    @Test
+    void testInsertAll() {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        heap.insert(7, 7);
+
+        FibonacciHeap.Node<Integer>[] nodes = heap.insertAll(new int[] {9, 3, 8}, null);
+        assertEquals(4, heap.size());
+        assertEquals(nodes[1], heap.minimum());
+        assertEquals(0, heap.insertAll(new int[0], null).length);
+
+        heap.decreaseKey(nodes[2], 1);
+        assertEquals(nodes[2], heap.minimum());
+        int[] expected = {1, 3, 7, 9};
+        for (int key : expected) {
+            assertEquals(key, heap.extractMin().getKey());
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void testExtractMinBatch() {
+        Random generator = new Random(11);
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        int[] keys = new int[2_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = generator.nextInt(500);
+        }
+        heap.insertAll(keys, null);
+        heap.extractMin();
+        Arrays.sort(keys);
+
+        List<Integer> extracted = new ArrayList<>();
+        assertEquals(100, heap.extractMin(100, node -> extracted.add(node.getKey())));
+        assertEquals(1_899, heap.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(keys[i + 1], extracted.get(i));
+        }
+        assertEquals(keys[101], heap.minimum().getKey());
+        assertEquals(keys[101], heap.extractMin().getKey());
+
+        assertEquals(1_898, heap.extractMin(5_000, node -> extracted.add(node.getKey())));
+        assertTrue(heap.isEmpty());
+        assertEquals(0, heap.extractMin(1, node -> fail("heap is empty")));
+        assertThrows(IllegalArgumentException.class, () -> heap.extractMin(-1, node -> { }));
+    }
+
+    @Test
+    void testDrainTo() {
+        FibonacciHeap<String> heap = FibonacciHeap.of(new int[] {3, 1, 2}, new String[] {"C", "A", "B"});
+        List<FibonacciHeap.Node<String>> drained = new ArrayList<>();
+
+        assertEquals(2, heap.drainTo(drained, 2));
+        assertEquals("A", drained.get(0).getValue());
+        assertEquals("B", drained.get(1).getValue());
+        assertEquals("C", heap.minimum().getValue());
+        assertEquals(1, heap.size());
+    }
+
+    @Test
+    void testReleaseReusesNodes() {
+        FibonacciHeap<String> heap = new FibonacciHeap<>(1);
+        heap.insert("A", 1);
+        heap.insert("B", 2);
+        FibonacciHeap.Node<String> first = heap.extractMin();
+        FibonacciHeap.Node<String> second = heap.extractMin();
+
+        assertTrue(heap.release(first));
+        assertFalse(heap.release(second)); // pool is full
+        FibonacciHeap.Node<String> reused = heap.insert("C", 5);
+        assertSame(first, reused);
+        assertEquals("C", reused.getValue());
+        assertEquals(5, reused.getKey());
+        heap.insert("D", 4);
+        assertEquals("D", heap.extractMin().getValue());
+        assertSame(reused, heap.extractMin());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void testReleaseLazilyDeletedNode() {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>(4);
+        heap.enableLazyDelete();
+        FibonacciHeap.Node<Integer>[] nodes = heap.insertAll(IntStream.range(0, 64).toArray(), null);
+        heap.extractMin();
+        heap.delete(nodes[10]);
+
+        assertTrue(heap.release(nodes[10]));
+        assertEquals(62, heap.size());
+        for (int key = 1; key < 64; key++) {
+            if (key != 10) {
+                assertEquals(key, heap.extractMin().getKey());
+            }
+        }
+        assertTrue(heap.isEmpty());
+        assertSame(nodes[10], heap.insert(null, 7));
+    }
+
+    @Test
+    void testReleaseWithoutPool() {
+        FibonacciHeap<String> heap = new FibonacciHeap<>();
+        heap.insert("A", 1);
+        assertFalse(heap.release(heap.extractMin()));
+        assertThrows(IllegalArgumentException.class, () -> new FibonacciHeap<String>(-1));
+    }
+
+    @Test
+    void testUseAfterReleaseIsDetected() {
+        if (!FibonacciHeap.class.desiredAssertionStatus()) {
+            return; // Only detected with assertions enabled.
+        }
+        FibonacciHeap<String> heap = new FibonacciHeap<>(4);
+        heap.insert("A", 1);
+        FibonacciHeap.Node<String> node = heap.extractMin();
+        heap.release(node);
+
+        assertThrows(AssertionError.class, node::getKey);
+        assertThrows(AssertionError.class, () -> heap.decreaseKey(node, 0));
+        assertThrows(AssertionError.class, () -> heap.release(node));
+    }
+
+    @Test
+    void testMetricsDisabledByDefault() {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        heap.insert(1, 1);
+        assertNull(heap.getStats());
+    }
+
+    @Test
+    void testMetricsCountOperations() {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        heap.enableMetrics();
+        FibonacciHeap.Node<Integer>[] nodes = heap.insertAll(new int[] {5, 3, 8, 1, 9, 2, 7, 4}, null);
+        heap.extractMin();
+        heap.decreaseKey(nodes[6], 0);
+        heap.delete(nodes[4]);
+
+        HeapStats stats = heap.getStats();
+        assertEquals(8, stats.getInserts());
+        assertEquals(1, stats.getExtractMins());
+        assertEquals(1, stats.getDecreaseKeys());
+        assertEquals(1, stats.getDeletes());
+        assertEquals(1, stats.getConsolidations()); // Deleting a non-min node does not consolidate.
+        assertEquals(7, stats.getMaxRootListLength());
+        assertEquals(4, stats.getMaxLinksPerConsolidate());
+        assertEquals(2, stats.getMaxDegree());
+        assertEquals(6, heap.size());
+
+        heap.disableMetrics();
+        assertNull(heap.getStats());
+    }
+
+    @Test
+    void testMetricsRecordCascadingCuts() {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        FibonacciHeap.Node<Integer>[] nodes = heap.insertAll(new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8}, null);
+        heap.extractMin(); // Links keys 1 to 8 into a single tree of degree 3.
+        heap.enableMetrics();
+
+        // Cutting two children of the same non-root node cuts that node as well.
+        heap.decreaseKey(nodes[8], -1);
+        heap.decreaseKey(nodes[7], -2);
+        heap.decreaseKey(nodes[6], -3);
+
+        HeapStats stats = heap.getStats();
+        assertEquals(3, stats.getDecreaseKeys());
+        assertEquals(1, stats.getCascadingCuts());
+        assertEquals(1, stats.getMaxCascadeDepth());
+        assertEquals(4, stats.getCuts());
+        assertEquals(-3, heap.minimum().getKey());
+    }
+
+    @Test
+    void testDecreaseKeyToParentKeyKeepsMinInRootList() {
+        FibonacciHeap<String> heap = new FibonacciHeap<>();
+        heap.insert("A", 0);
+        FibonacciHeap.Node<String> parent = heap.insert("B", 5);
+        FibonacciHeap.Node<String> child = heap.insert("C", 10);
+        heap.extractMin(); // Links C under B.
+
+        heap.decreaseKey(child, 5); // Ties with its parent, so it is not cut.
+        assertSame(parent, heap.minimum());
+        assertSame(parent, heap.extractMin());
+        assertSame(child, heap.extractMin());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void testIteratorVisitsEveryNodeOnce() {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        List<FibonacciHeap.Node<Integer>> nodes = new ArrayList<>();
+        Random random = new Random(19);
+        for (int i = 0; i < 1000; i++) {
+            nodes.add(heap.insert(i, i));
+        }
+        heap.extractMin(); // Builds trees.
+        for (int i = 0; i < 100; i++) {
+            FibonacciHeap.Node<Integer> node = nodes.get(1 + random.nextInt(999));
+            heap.decreaseKey(node, node.getKey() - 1 - random.nextInt(100)); // Cuts and marks.
+        }
+
+        Set<FibonacciHeap.Node<Integer>> seen = new HashSet<>();
+        for (FibonacciHeap.Node<Integer> node : heap) {
+            assertTrue(seen.add(node));
+        }
+        assertEquals(heap.size(), seen.size());
+        assertFalse(new FibonacciHeap<Integer>().iterator().hasNext());
+    }
+
+    @Test
+    void testIteratorFailsFast() {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        FibonacciHeap.Node<Integer> node = heap.insert(1, 10);
+        heap.insert(2, 20);
+        Iterator<FibonacciHeap.Node<Integer>> iterator = heap.iterator();
+        iterator.next();
+        heap.decreaseKey(node, 5);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
+    @Test
+    void testSpliteratorSplitsIntoDisjointSubtrees() {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        for (int i = 0; i < 1025; i++) {
+            heap.insert(i, i);
+        }
+        heap.extractMin(); // Leaves a single binomial tree of 1024 nodes.
+
+        Spliterator<FibonacciHeap.Node<Integer>> right = heap.spliterator();
+        assertTrue(right.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(1024, right.estimateSize());
+        assertNotNull(right.trySplit());
+        assertFalse(right.hasCharacteristics(Spliterator.SIZED));
+        right = heap.spliterator();
+        List<Spliterator<FibonacciHeap.Node<Integer>>> parts = new ArrayList<>();
+        parts.add(right);
+        for (int round = 0; round < 4; round++) {
+            List<Spliterator<FibonacciHeap.Node<Integer>>> next = new ArrayList<>();
+            for (Spliterator<FibonacciHeap.Node<Integer>> part : parts) {
+                Spliterator<FibonacciHeap.Node<Integer>> prefix = part.trySplit();
+                if (prefix != null) {
+                    next.add(prefix);
+                }
+                next.add(part);
+            }
+            parts = next;
+        }
+        assertTrue(parts.size() > 8);
+
+        Set<Integer> seen = new HashSet<>();
+        for (Spliterator<FibonacciHeap.Node<Integer>> part : parts) {
+            part.forEachRemaining(node -> assertTrue(seen.add(node.getValue())));
+        }
+        assertEquals(1024, seen.size());
+    }
+
+    @Test
+    void testParallelStreamMatchesSequential() {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        Random random = new Random(7);
+        long expected = 0;
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(1_000_000);
+            heap.insert(i, key);
+            expected += key;
+        }
+        FibonacciHeap.Node<Integer> min = heap.extractMin();
+        expected -= min.getKey();
+
+        assertEquals(expected, heap.stream().mapToLong(FibonacciHeap.Node::getKey).sum());
+        assertEquals(expected, heap.stream().parallel().mapToLong(FibonacciHeap.Node::getKey).sum());
+        assertEquals(heap.size(), heap.stream().parallel().map(FibonacciHeap.Node::getValue)
+                .collect(Collectors.toSet()).size());
+    }
+
+    @Test
+    void testParallelToArrayAndCollect() {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        for (int i = 0; i < 100_001; i++) {
+            heap.insert(i, i);
+        }
+        heap.extractMin();
+
+        Object[] nodes = heap.stream().parallel().toArray();
+        assertEquals(100_000, nodes.length);
+        List<Integer> values = heap.stream().parallel().map(FibonacciHeap.Node::getValue)
+                .collect(Collectors.toList());
+        assertEquals(100_000, values.size());
+        assertEquals(100_000, new HashSet<>(values).size());
+    }
+
+    @Test
+    void testOrderedIteratorReturnsAscendingKeys() {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        List<FibonacciHeap.Node<Integer>> nodes = new ArrayList<>();
+        Random random = new Random(20);
+        for (int i = 0; i < 2000; i++) {
+            nodes.add(heap.insert(i, random.nextInt(500)));
+        }
+        heap.extractMin();
+        for (int i = 0; i < 200; i++) {
+            FibonacciHeap.Node<Integer> node = nodes.get(random.nextInt(2000));
+            if (node != heap.minimum() && node.getKey() > -1000) {
+                heap.decreaseKey(node, node.getKey() - 1 - random.nextInt(50));
+            }
+        }
+        String before = heap.toKeyString();
+
+        int[] expected = new int[heap.size()];
+        int count = 0;
+        for (FibonacciHeap.Node<Integer> node : heap) {
+            expected[count++] = node.getKey();
+        }
+        Arrays.sort(expected);
+        Iterator<FibonacciHeap.Node<Integer>> ordered = heap.orderedIterator();
+        for (int key : expected) {
+            assertEquals(key, ordered.next().getKey());
+        }
+        assertFalse(ordered.hasNext());
+        assertEquals(before, heap.toKeyString());
+    }
+
+    @Test
+    void testPeekTopKLeavesHeapUnchanged() {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        for (int i = 100; i > 0; i--) {
+            heap.insert(i, i);
+        }
+        heap.extractMin();
+        String before = heap.toKeyString();
+
+        List<FibonacciHeap.Node<Integer>> top = heap.peek(5);
+        assertEquals(5, top.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i + 2, top.get(i).getKey());
+        }
+        assertEquals(before, heap.toKeyString());
+        assertEquals(99, heap.size());
+        assertSame(top.get(0), heap.minimum());
+
+        assertEquals(99, heap.peek(1000).size());
+        assertTrue(heap.peek(0).isEmpty());
+        assertTrue(new FibonacciHeap<Integer>().peek(3).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> heap.peek(-1));
+    }
+
+    @Test
+    void testOrderedIteratorFailsFast() {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        heap.insert(1, 1);
+        heap.insert(2, 2);
+        Iterator<FibonacciHeap.Node<Integer>> ordered = heap.orderedIterator();
+        ordered.next();
+        heap.extractMin();
+        assertThrows(ConcurrentModificationException.class, ordered::next);
+    }
+
+    @Test
+    void testUnionAllSplicesEveryHeap() {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        FibonacciHeap<Integer> a = new FibonacciHeap<>();
+        FibonacciHeap<Integer> b = new FibonacciHeap<>();
+        FibonacciHeap<Integer> c = new FibonacciHeap<>();
+        a.insert(1, 30);
+        a.insert(2, 10);
+        c.insert(3, 20);
+
+        heap.unionAll(a, b, c);
+        assertEquals(3, heap.size());
+        assertEquals(2, heap.extractMin().getValue());
+        assertEquals(3, heap.extractMin().getValue());
+        assertEquals(1, heap.extractMin().getValue());
+        assertTrue(heap.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> heap.unionAll(heap));
+    }
+
+    @Test
+    void testParallelCollectorBuildsCompleteHeap() {
+        int n = 200_000;
+        FibonacciHeap<Integer> heap = IntStream.range(0, n).parallel().boxed()
+                .collect(FibonacciHeap.collector((Integer i) -> (i * 7919) % n));
+        assertEquals(n, heap.size());
+        for (int key = 0; key < n; key++) {
+            assertEquals(key, heap.extractMin().getKey());
+        }
+        assertTrue(heap.isEmpty());
+
+        FibonacciHeap<String> empty = IntStream.range(0, 0).boxed().map(String::valueOf)
+                .collect(FibonacciHeap.collector(String::length));
+        assertTrue(empty.isEmpty());
+    }
+
+    @Test
+    void testDeleteKeepsKeyAndAllowsMinValueKeys() {
+        FibonacciHeap<String> heap = new FibonacciHeap<>();
+        FibonacciHeap.Node<String> x = heap.insert("X", Integer.MIN_VALUE);
+        FibonacciHeap.Node<String> y = heap.insert("Y", Integer.MIN_VALUE);
+        heap.insert("Z", 5);
+        FibonacciHeap.Node<String> min = heap.minimum();
+        FibonacciHeap.Node<String> other = min == x ? y : x;
+
+        heap.delete(other); // Ties with min but is not min.
+        assertEquals(Integer.MIN_VALUE, other.getKey());
+        assertEquals(2, heap.size());
+        assertSame(min, heap.extractMin());
+        assertEquals("Z", heap.extractMin().getValue());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void testDirectDeleteMatchesModel() {
+        assertDeletesMatchModel(false);
+    }
+
+    @Test
+    void testLazyDeleteMatchesModel() {
+        assertDeletesMatchModel(true);
+    }
+
+    /**
+     * Runs random inserts, decreaseKeys, deletes and extractMins and checks every extracted
+     * key against a PriorityQueue.
+     */
+    private static void assertDeletesMatchModel(boolean lazy) {
+        Random random = new Random(22);
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        if (lazy) {
+            heap.enableLazyDelete();
+        }
+        PriorityQueue<Integer> model = new PriorityQueue<>();
+        List<FibonacciHeap.Node<Integer>> live = new ArrayList<>();
+        for (int op = 0; op < 50_000; op++) {
+            int choice = random.nextInt(10);
+            if (choice < 4 || live.isEmpty()) {
+                int key = random.nextInt(1000) - 500;
+                live.add(heap.insert(op, key));
+                model.add(key);
+            } else if (choice < 6) {
+                int index = random.nextInt(live.size());
+                FibonacciHeap.Node<Integer> node = live.get(index);
+                live.set(index, live.get(live.size() - 1));
+                live.remove(live.size() - 1);
+                model.remove(node.getKey());
+                heap.delete(node);
+            } else if (choice < 8) {
+                FibonacciHeap.Node<Integer> node = live.get(random.nextInt(live.size()));
+                model.remove(node.getKey());
+                int key = node.getKey() - 1 - random.nextInt(100);
+                heap.decreaseKey(node, key);
+                model.add(key);
+            } else {
+                FibonacciHeap.Node<Integer> node = heap.extractMin();
+                assertEquals(model.poll().intValue(), node.getKey());
+                assertTrue(live.remove(node));
+            }
+            assertEquals(model.size(), heap.size());
+        }
+        int count = 0;
+        for (FibonacciHeap.Node<Integer> node : heap) {
+            count++;
+        }
+        assertEquals(model.size(), count);
+        while (!model.isEmpty()) {
+            assertEquals(model.poll().intValue(), heap.extractMin().getKey());
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void testOrderedIteratorSkipsTombstonesWithoutPurging() {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        heap.enableLazyDelete();
+        FibonacciHeap.Node<Integer>[] nodes = heap.insertAll(IntStream.range(0, 17).toArray(), null);
+        heap.extractMin(); // Links keys 1 to 16 into a single tree.
+        heap.delete(nodes[2]); // An inner node whose children must still be returned.
+        heap.delete(nodes[9]);
+        String before = heap.toKeyString();
+
+        Iterator<FibonacciHeap.Node<Integer>> ordered = heap.orderedIterator();
+        assertEquals(Arrays.asList(1, 3, 4, 5), heap.peek(4).stream()
+                .map(FibonacciHeap.Node::getKey).collect(Collectors.toList()));
+        List<Integer> keys = new ArrayList<>();
+        ordered.forEachRemaining(node -> keys.add(node.getKey()));
+        List<Integer> expected = IntStream.range(1, 17).filter(key -> key != 2 && key != 9)
+                .boxed().collect(Collectors.toList());
+        assertEquals(expected, keys);
+        assertEquals(before, heap.toKeyString()); // The tombstones are still linked in.
+    }
+
+    @Test
+    void testLazyDeleteDefersRemoval() {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        heap.enableLazyDelete();
+        FibonacciHeap.Node<Integer>[] nodes = heap.insertAll(new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8}, null);
+        heap.extractMin();
+        String before = heap.toKeyString();
+
+        heap.delete(nodes[3]);
+        heap.delete(nodes[5]);
+        assertEquals(6, heap.size());
+        // Still linked in, but no longer counted.
+        assertEquals(before.replace("size=8", "size=6"), heap.toKeyString());
+        assertTrue(heap.toString().endsWith("size=6}"));
+        assertSame(nodes[1], heap.minimum());
+
+        heap.delete(nodes[1]); // The minimum is removed at once.
+        assertEquals(5, heap.size());
+        assertSame(nodes[2], heap.minimum());
+        assertEquals(5, heap.stream().count());
+        assertEquals(Arrays.asList(2, 4, 6, 7, 8), heap.peek(10).stream()
+                .map(FibonacciHeap.Node::getKey).collect(Collectors.toList()));
+
+        heap.delete(nodes[7]);
+        heap.disableLazyDelete();
+        assertEquals(4, heap.size());
+        assertEquals(2, heap.extractMin().getKey());
+        assertEquals(4, heap.extractMin().getKey());
+        assertEquals(6, heap.extractMin().getKey());
+        assertEquals(8, heap.extractMin().getKey());
+        assertNull(heap.extractMin());
+    }
+
+    @Test
+    void testIncrementalConsolidationMatchesModel() {
+        Random random = new Random(23);
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        heap.enableIncrementalConsolidation(4);
+        PriorityQueue<Integer> model = new PriorityQueue<>();
+        List<FibonacciHeap.Node<Integer>> live = new ArrayList<>();
+        for (int op = 0; op < 60_000; op++) {
+            int choice = random.nextInt(20);
+            if (choice < 7 || live.isEmpty()) {
+                int key = random.nextInt(1000) - 500;
+                live.add(heap.insert(op, key));
+                model.add(key);
+            } else if (choice < 9) {
+                FibonacciHeap.Node<Integer> node = live.remove(random.nextInt(live.size()));
+                model.remove(node.getKey());
+                heap.delete(node);
+            } else if (choice < 12) {
+                FibonacciHeap.Node<Integer> node = live.get(random.nextInt(live.size()));
+                model.remove(node.getKey());
+                int key = node.getKey() - 1 - random.nextInt(100);
+                heap.decreaseKey(node, key);
+                model.add(key);
+            } else if (choice < 18) {
+                FibonacciHeap.Node<Integer> node = heap.extractMin();
+                assertEquals(model.poll().intValue(), node.getKey());
+                assertTrue(live.remove(node));
+            } else if (choice == 18) {
+                FibonacciHeap<Integer> other = new FibonacciHeap<>();
+                int[] keys = random.ints(random.nextInt(50), -500, 500).toArray();
+                live.addAll(Arrays.asList(other.insertAll(keys, null)));
+                for (int key : keys) {
+                    model.add(key);
+                }
+                heap.union(other);
+            } else if (random.nextInt(20) == 0) {
+                // Switching modes must keep every root reachable.
+                heap.disableIncrementalConsolidation();
+                if (random.nextBoolean()) {
+                    heap.enableIncrementalConsolidation(1 + random.nextInt(8));
+                }
+            }
+            assertEquals(model.size(), heap.size());
+            if (!model.isEmpty()) {
+                assertEquals(model.peek().intValue(), heap.minimum().getKey());
+            }
+        }
+        while (!model.isEmpty()) {
+            assertEquals(model.poll().intValue(), heap.extractMin().getKey());
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void testIncrementalConsolidationBoundsWorkAfterInsertBurst() {
+        int budget = 64;
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        heap.enableIncrementalConsolidation(budget);
+        heap.enableMetrics();
+        Random random = new Random(5);
+        for (int i = 0; i < 100_000; i++) {
+            heap.insert(i, random.nextInt());
+        }
+        long linksBefore = heap.getStats().getLinks();
+        int previous = Integer.MIN_VALUE;
+        for (int i = 0; i < 1000; i++) {
+            FibonacciHeap.Node<Integer> node = heap.extractMin();
+            assertTrue(node.getKey() >= previous);
+            previous = node.getKey();
+            long links = heap.getStats().getLinks();
+            assertTrue(links - linksBefore <= budget);
+            linksBefore = links;
+        }
+        assertEquals(99_000, heap.size());
+
+        heap.disableIncrementalConsolidation();
+        while (!heap.isEmpty()) {
+            int key = heap.extractMin().getKey();
+            assertTrue(key >= previous);
+            previous = key;
+        }
+    }
+
+    @Test
+    void testIncreaseKeyKeepsHandleValid() {
+        FibonacciHeap<String> heap = new FibonacciHeap<>();
+        heap.enableMetrics();
+        FibonacciHeap.Node<String>[] nodes = heap.insertAll(new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8}, null);
+        heap.extractMin(); // Links keys 1 to 8 into a single tree.
+
+        heap.increaseKey(nodes[5], 50); // An inner node with children.
+        heap.increaseKey(nodes[1], 10); // The min.
+        assertEquals(2, heap.minimum().getKey());
+        assertEquals(50, nodes[5].getKey());
+        assertEquals(2, heap.getStats().getIncreaseKeys());
+        assertEquals(8, heap.size());
+
+        heap.decreaseKey(nodes[5], -1); // The handle still works.
+        assertSame(nodes[5], heap.extractMin());
+        int[] expected = {2, 3, 4, 6, 7, 8, 10};
+        for (int key : expected) {
+            assertEquals(key, heap.extractMin().getKey());
+        }
+        assertTrue(heap.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> heap.increaseKey(nodes[2], 2));
+    }
+
+    @Test
+    void testIncreaseMinKeyWithTombstones() {
+        FibonacciHeap<String> heap = new FibonacciHeap<>();
+        heap.enableLazyDelete();
+        FibonacciHeap.Node<String> a = heap.insert("A", 1);
+        FibonacciHeap.Node<String> b = heap.insert("B", 2);
+        heap.insert("C", 3);
+        heap.delete(b);
+
+        heap.increaseKey(a, 10);
+        assertEquals("C", heap.minimum().getValue());
+        assertEquals(2, heap.size());
+        assertEquals("C", heap.extractMin().getValue());
+        assertSame(a, heap.extractMin());
+        assertTrue(heap.isEmpty());
+        assertEquals(0, heap.size());
+    }
+
+    @Test
+    void testUpdateKeyMatchesModel() {
+        for (int budget : new int[] {0, 4}) {
+            Random random = new Random(24 + budget);
+            FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+            if (budget > 0) {
+                heap.enableIncrementalConsolidation(budget);
+            }
+            PriorityQueue<Integer> model = new PriorityQueue<>();
+            List<FibonacciHeap.Node<Integer>> live = new ArrayList<>();
+            for (int op = 0; op < 40_000; op++) {
+                int choice = random.nextInt(10);
+                if (choice < 4 || live.isEmpty()) {
+                    int key = random.nextInt(1000);
+                    live.add(heap.insert(op, key));
+                    model.add(key);
+                } else if (choice < 7) {
+                    FibonacciHeap.Node<Integer> node = random.nextBoolean()
+                            ? heap.minimum() : live.get(random.nextInt(live.size()));
+                    int key = node.getKey() + random.nextInt(201) - 100;
+                    model.remove(node.getKey());
+                    model.add(key);
+                    heap.updateKey(node, key);
+                    assertEquals(key, node.getKey());
+                } else {
+                    FibonacciHeap.Node<Integer> node = heap.extractMin();
+                    assertEquals(model.poll().intValue(), node.getKey());
+                    assertTrue(live.remove(node));
+                }
+                assertEquals(model.size(), heap.size());
+                if (!model.isEmpty()) {
+                    assertEquals(model.peek().intValue(), heap.minimum().getKey());
+                }
+            }
+            while (!model.isEmpty()) {
+                assertEquals(model.poll().intValue(), heap.extractMin().getKey());
+            }
+        }
+    }
 }
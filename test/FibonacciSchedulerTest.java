@@ -0,0 +1,205 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import scheduling.FibonacciScheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class FibonacciSchedulerTest {
+
+    @Test
+    void testTasksRunInDeadlineOrder() throws InterruptedException {
+        ExecutorService dispatcher = Executors.newSingleThreadExecutor();
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(4);
+        try (FibonacciScheduler scheduler = new FibonacciScheduler(dispatcher)) {
+            for (int i : new int[] {3, 1, 4, 2}) {
+                scheduler.schedule(() -> {
+                    order.add(i);
+                    done.countDown();
+                }, i * 40L, TimeUnit.MILLISECONDS);
+            }
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        } finally {
+            dispatcher.shutdown();
+        }
+        assertEquals(Arrays.asList(1, 2, 3, 4), order);
+    }
+
+    @Test
+    void testCancelledTaskDoesNotRun() throws InterruptedException {
+        AtomicInteger cancelledRuns = new AtomicInteger();
+        CountDownLatch laterRan = new CountDownLatch(1);
+        try (FibonacciScheduler scheduler = new FibonacciScheduler()) {
+            FibonacciScheduler.ScheduledTask cancelled = scheduler.schedule(cancelledRuns::incrementAndGet, 1, TimeUnit.HOURS);
+            FibonacciScheduler.ScheduledTask later = scheduler.schedule(laterRan::countDown, 2, TimeUnit.HOURS);
+            assertEquals(2, scheduler.size());
+
+            assertTrue(cancelled.cancel());
+            assertTrue(cancelled.isCancelled());
+            assertTrue(cancelled.isDone());
+            assertFalse(cancelled.cancel());
+            assertFalse(cancelled.reschedule(0, TimeUnit.MILLISECONDS));
+            assertEquals(1, scheduler.size());
+
+            assertTrue(later.reschedule(0, TimeUnit.MILLISECONDS));
+            assertTrue(laterRan.await(5, TimeUnit.SECONDS));
+            assertTrue(later.isDone());
+            assertFalse(later.isCancelled());
+            assertFalse(later.cancel());
+            assertEquals(0, scheduler.size());
+        }
+        assertEquals(0, cancelledRuns.get());
+    }
+
+    @Test
+    void testRescheduleEarlierAndLater() {
+        FibonacciScheduler scheduler = new FibonacciScheduler();
+        Runnable a = () -> { };
+        Runnable b = () -> { };
+        Runnable c = () -> { };
+        FibonacciScheduler.ScheduledTask taskA = scheduler.schedule(a, 1, TimeUnit.HOURS);
+        scheduler.schedule(b, 2, TimeUnit.HOURS);
+        FibonacciScheduler.ScheduledTask taskC = scheduler.schedule(c, 3, TimeUnit.HOURS);
+
+        assertTrue(taskA.reschedule(4, TimeUnit.HOURS));
+        assertTrue(taskC.reschedule(30, TimeUnit.MINUTES));
+        assertTrue(taskA.getDelay(TimeUnit.MINUTES) > 3 * 60);
+        assertTrue(taskC.getDelay(TimeUnit.MINUTES) < 30);
+        assertEquals(3, scheduler.size());
+
+        // shutdown hands back the pending commands earliest deadline first.
+        assertEquals(Arrays.asList(c, b, a), scheduler.shutdown());
+    }
+
+    @Test
+    void testShutdownReturnsPendingTasks() throws InterruptedException {
+        FibonacciScheduler scheduler = new FibonacciScheduler();
+        Runnable first = () -> { };
+        Runnable second = () -> { };
+        FibonacciScheduler.ScheduledTask task = scheduler.schedule(second, 2, TimeUnit.HOURS);
+        scheduler.schedule(first, 1, TimeUnit.HOURS);
+
+        assertEquals(Arrays.asList(first, second), scheduler.shutdown());
+        assertTrue(scheduler.isShutdown());
+        assertTrue(task.isCancelled());
+        assertEquals(0, scheduler.size());
+        assertTrue(scheduler.shutdown().isEmpty());
+        assertThrows(RejectedExecutionException.class, () -> scheduler.schedule(first, 1, TimeUnit.SECONDS));
+        assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testManyTasksWithCancellations() throws InterruptedException {
+        int count = 2000;
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(count / 2);
+        List<FibonacciScheduler.ScheduledTask> tasks = new ArrayList<>();
+        try (FibonacciScheduler scheduler = new FibonacciScheduler()) {
+            for (int i = 0; i < count; i++) {
+                tasks.add(scheduler.schedule(() -> {
+                    runs.incrementAndGet();
+                    done.countDown();
+                }, 60 + i % 50, TimeUnit.MINUTES));
+            }
+            for (int i = 1; i < count; i += 2) {
+                assertTrue(tasks.get(i).cancel());
+            }
+            assertEquals(count / 2, scheduler.size());
+            for (int i = 0; i < count; i += 2) {
+                assertTrue(tasks.get(i).reschedule(0, TimeUnit.MILLISECONDS));
+            }
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        }
+        assertEquals(count / 2, runs.get());
+        for (int i = 0; i < count; i++) {
+            assertTrue(tasks.get(i).isDone());
+            assertEquals(i % 2 == 1, tasks.get(i).isCancelled());
+        }
+    }
+
+    @Test
+    void testRejectedTaskDoesNotStopTheTimer() throws InterruptedException {
+        AtomicInteger rejections = new AtomicInteger(1);
+        ExecutorService dispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
+            @Override
+            public void execute(Runnable command) {
+                if (rejections.getAndDecrement() > 0) {
+                    throw new RejectedExecutionException("saturated");
+                }
+                super.execute(command);
+            }
+        };
+        CountDownLatch ran = new CountDownLatch(1);
+        List<Runnable> reported = Collections.synchronizedList(new ArrayList<>());
+        Runnable command = () -> { };
+        try (FibonacciScheduler scheduler = new FibonacciScheduler(dispatcher, (r, e) -> reported.add(r))) {
+            FibonacciScheduler.ScheduledTask rejected = scheduler.schedule(command, 0, TimeUnit.MILLISECONDS);
+            FibonacciScheduler.ScheduledTask later = scheduler.schedule(ran::countDown, 100, TimeUnit.MILLISECONDS);
+
+            assertTrue(ran.await(5, TimeUnit.SECONDS));
+            assertEquals(Collections.singletonList(command), reported);
+            assertTrue(rejected.isCancelled());
+            assertTrue(later.isDone());
+            assertFalse(later.isCancelled());
+            assertFalse(scheduler.isShutdown());
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void testShutDownDispatcherShutsTheSchedulerDown() throws InterruptedException {
+        ExecutorService dispatcher = Executors.newSingleThreadExecutor();
+        dispatcher.shutdown();
+        AtomicInteger rejections = new AtomicInteger();
+        FibonacciScheduler scheduler = new FibonacciScheduler(dispatcher, (r, e) -> rejections.incrementAndGet());
+        FibonacciScheduler.ScheduledTask pending = scheduler.schedule(() -> { }, 1, TimeUnit.HOURS);
+        FibonacciScheduler.ScheduledTask task = scheduler.schedule(() -> { }, 0, TimeUnit.MILLISECONDS);
+
+        assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(1, rejections.get());
+        assertTrue(scheduler.isShutdown());
+        assertTrue(task.isCancelled());
+        assertTrue(pending.isCancelled());
+        assertThrows(RejectedExecutionException.class, () -> scheduler.schedule(() -> { }, 0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testFailingRejectionHandlerGoesToUncaughtExceptionHandler() throws InterruptedException {
+        ExecutorService dispatcher = Executors.newSingleThreadExecutor();
+        dispatcher.shutdown();
+        FibonacciScheduler scheduler = new FibonacciScheduler(dispatcher, (r, e) -> {
+            throw new IllegalStateException("handler");
+        });
+        Thread.UncaughtExceptionHandler previous = Thread.getDefaultUncaughtExceptionHandler();
+        List<Throwable> uncaught = Collections.synchronizedList(new ArrayList<>());
+        Thread.setDefaultUncaughtExceptionHandler((thread, e) -> uncaught.add(e));
+        try {
+            scheduler.schedule(() -> { }, 0, TimeUnit.MILLISECONDS);
+            assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+        } finally {
+            Thread.setDefaultUncaughtExceptionHandler(previous);
+        }
+        assertTrue(scheduler.isShutdown());
+        assertEquals(1, uncaught.size());
+        assertEquals("handler", uncaught.get(0).getMessage());
+    }
+
+    @Test
+    void testNullCommand() {
+        try (FibonacciScheduler scheduler = new FibonacciScheduler()) {
+            assertThrows(NullPointerException.class, () -> scheduler.schedule(null, 1, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import datastructures.FibonacciHeap;
+import datastructures.HeapStatsMonitor;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+class HeapStatsMonitorTest {
+
+    @Test
+    void testReadsZeroWhileDisabled() {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        heap.insert(1, 1);
+        HeapStatsMonitor monitor = new HeapStatsMonitor(heap);
+        assertFalse(monitor.isEnabled());
+        assertEquals(0, monitor.getInserts());
+        assertEquals(1, monitor.getSize());
+    }
+
+    @Test
+    void testRegisteredAttributes() throws JMException {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        heap.enableMetrics();
+        heap.insert(1, 1);
+        heap.insert(2, 2);
+        heap.extractMin();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new HeapStatsMonitor(heap).register("monitor-test");
+        try {
+            assertEquals(true, server.getAttribute(name, "Enabled"));
+            assertEquals(2L, server.getAttribute(name, "Inserts"));
+            assertEquals(1L, server.getAttribute(name, "ExtractMins"));
+            assertEquals(1, server.getAttribute(name, "Size"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
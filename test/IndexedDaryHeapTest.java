@@ -0,0 +1,171 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import datastructures.IndexedDaryHeap;
+
+import java.util.Arrays;
+import java.util.Random;
+
+class IndexedDaryHeapTest {
+
+    @Test
+    void testInsertAndMinimum() {
+        IndexedDaryHeap heap = new IndexedDaryHeap();
+        assertTrue(heap.isEmpty());
+        assertEquals(IndexedDaryHeap.NIL, heap.minimum());
+        assertEquals(4, heap.arity());
+
+        int node1 = heap.insert(10);
+        assertFalse(heap.isEmpty());
+        assertEquals(node1, heap.minimum());
+
+        int node2 = heap.insert(5);
+        assertEquals(node2, heap.minimum());
+
+        heap.insert(15);
+        assertEquals(5, heap.getKey(heap.minimum()));
+    }
+
+    @Test
+    void testInvalidArity() {
+        assertThrows(IllegalArgumentException.class, () -> new IndexedDaryHeap(1));
+        assertThrows(IllegalArgumentException.class, () -> new IndexedDaryHeap(6));
+        assertThrows(IllegalArgumentException.class, () -> new IndexedDaryHeap(128));
+        assertThrows(IllegalArgumentException.class, () -> new IndexedDaryHeap(4, -1));
+    }
+
+    @Test
+    void testExtractMin() {
+        IndexedDaryHeap heap = new IndexedDaryHeap(8);
+
+        int a = heap.insert(10);
+        int b = heap.insert(5);
+        int c = heap.insert(15);
+
+        assertEquals(b, heap.extractMin());
+        assertEquals(5, heap.getKey(b));
+        assertEquals(a, heap.minimum());
+        assertEquals(a, heap.extractMin());
+        assertEquals(c, heap.extractMin());
+        assertTrue(heap.isEmpty());
+        assertEquals(IndexedDaryHeap.NIL, heap.extractMin());
+    }
+
+    @Test
+    void testDecreaseKey() {
+        IndexedDaryHeap heap = new IndexedDaryHeap();
+
+        heap.insert(10);
+        int node2 = heap.insert(20);
+        int node3 = heap.insert(15);
+
+        heap.decreaseKey(node3, 5);
+        assertEquals(node3, heap.minimum());
+
+        heap.decreaseKey(node2, 1);
+        assertEquals(1, heap.getKey(heap.minimum()));
+        assertEquals(node2, heap.minimum());
+
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(node2, 1));
+    }
+
+    @Test
+    void testDelete() {
+        IndexedDaryHeap heap = new IndexedDaryHeap(2);
+
+        int node1 = heap.insert(10);
+        int node2 = heap.insert(20);
+        heap.insert(15);
+
+        heap.delete(node1);
+        assertEquals(2, heap.size());
+        assertEquals(15, heap.getKey(heap.minimum()));
+        assertThrows(IllegalArgumentException.class, () -> heap.delete(node1));
+
+        heap.delete(node2);
+        assertEquals(1, heap.size());
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(node2, 0));
+    }
+
+    @Test
+    void testSizeAndClear() {
+        IndexedDaryHeap heap = new IndexedDaryHeap();
+        heap.insert(1);
+        heap.insert(2);
+        assertEquals(2, heap.size());
+
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertEquals(IndexedDaryHeap.NIL, heap.minimum());
+        heap.insert(3);
+        assertEquals(3, heap.getKey(heap.minimum()));
+    }
+
+    @Test
+    void testHandlesAreRecycled() {
+        IndexedDaryHeap heap = new IndexedDaryHeap(4, 0);
+        int node1 = heap.insert(1);
+        heap.insert(2);
+
+        assertEquals(node1, heap.extractMin());
+        assertEquals(node1, heap.insert(3));
+    }
+
+    @Test
+    void testInsertAllHeapifies() {
+        IndexedDaryHeap heap = new IndexedDaryHeap();
+        int[] handles = heap.insertAll(new int[]{7, 3, 9, 1, 8, 2, 6});
+        assertEquals(7, heap.size());
+        assertEquals(handles[3], heap.minimum());
+        assertEquals(9, heap.getKey(handles[2]));
+
+        heap.insertAll(new int[]{0});
+        int[] extracted = new int[heap.size()];
+        for (int i = 0; i < extracted.length; i++) {
+            extracted[i] = heap.getKey(heap.extractMin());
+        }
+        assertArrayEquals(new int[]{0, 1, 2, 3, 6, 7, 8, 9}, extracted);
+    }
+
+    @Test
+    void testExtractsInSortedOrder() {
+        for (int arity : new int[]{2, 4, 8}) {
+            Random generator = new Random(42);
+            IndexedDaryHeap heap = new IndexedDaryHeap(arity);
+            int[] keys = new int[10_000];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = generator.nextInt(1_000_000);
+            }
+            int[] handles = heap.insertAll(keys);
+            for (int i = 0; i < keys.length; i += 3) {
+                if (keys[i] > 0) {
+                    keys[i] -= generator.nextInt(keys[i]) + 1;
+                    heap.decreaseKey(handles[i], keys[i]);
+                }
+            }
+            for (int i = 1; i < keys.length; i += 7) {
+                heap.delete(handles[i]);
+            }
+
+            int[] extracted = new int[heap.size()];
+            for (int i = 0; i < extracted.length; i++) {
+                extracted[i] = heap.getKey(heap.extractMin());
+            }
+            int[] sorted = extracted.clone();
+            Arrays.sort(sorted);
+            assertArrayEquals(sorted, extracted);
+            assertTrue(heap.isEmpty());
+        }
+    }
+
+    @Test
+    void testToString() {
+        IndexedDaryHeap heap = new IndexedDaryHeap(8);
+        heap.insert(2);
+        heap.insert(1);
+
+        String heapString = heap.toString();
+        assertTrue(heapString.contains("arity=8"));
+        assertTrue(heapString.contains("min=1"));
+        assertTrue(heapString.contains("size=2"));
+    }
+}
@@ -0,0 +1,219 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import datastructures.IntFibonacciHeap;
+
+import java.util.Arrays;
+import java.util.Random;
+
+class IntFibonacciHeapTest {
+
+    @Test
+    void testInsertAndMinimum() {
+        IntFibonacciHeap heap = new IntFibonacciHeap();
+        assertTrue(heap.isEmpty());
+        assertEquals(IntFibonacciHeap.NIL, heap.minimum());
+
+        int node1 = heap.insert(10);
+        assertFalse(heap.isEmpty());
+        assertEquals(node1, heap.minimum());
+
+        int node2 = heap.insert(5);
+        assertEquals(node2, heap.minimum());
+
+        heap.insert(15);
+        assertEquals(5, heap.getKey(heap.minimum()));
+    }
+
+    @Test
+    void testExtractMin() {
+        IntFibonacciHeap heap = new IntFibonacciHeap();
+
+        int a = heap.insert(10);
+        int b = heap.insert(5);
+        int c = heap.insert(15);
+
+        assertEquals(b, heap.extractMin());
+        assertEquals(a, heap.minimum());
+        assertEquals(a, heap.extractMin());
+        assertEquals(c, heap.extractMin());
+        assertTrue(heap.isEmpty());
+        assertEquals(IntFibonacciHeap.NIL, heap.extractMin());
+    }
+
+    @Test
+    void testDecreaseKey() {
+        IntFibonacciHeap heap = new IntFibonacciHeap();
+
+        heap.insert(10);
+        int node2 = heap.insert(20);
+        int node3 = heap.insert(15);
+
+        heap.decreaseKey(node3, 5);
+        assertEquals(5, heap.getKey(heap.minimum()));
+        assertEquals(node3, heap.minimum());
+
+        heap.decreaseKey(node2, 1);
+        assertEquals(1, heap.getKey(heap.minimum()));
+        assertEquals(node2, heap.minimum());
+
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(node2, 1));
+    }
+
+    @Test
+    void testDelete() {
+        IntFibonacciHeap heap = new IntFibonacciHeap();
+
+        int node1 = heap.insert(10);
+        int node2 = heap.insert(5);
+        int node3 = heap.insert(15);
+
+        heap.delete(node2);
+        assertEquals(node1, heap.minimum());
+
+        heap.delete(node1);
+        assertEquals(node3, heap.minimum());
+
+        heap.delete(node3);
+        assertTrue(heap.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> heap.delete(node3));
+    }
+
+    @Test
+    void testDeleteMinValueKey() {
+        IntFibonacciHeap heap = new IntFibonacciHeap();
+        int node1 = heap.insert(Integer.MIN_VALUE);
+        heap.insert(3);
+
+        heap.delete(node1);
+        assertEquals(1, heap.size());
+        assertEquals(3, heap.getKey(heap.minimum()));
+    }
+
+    @Test
+    void testUnion() {
+        IntFibonacciHeap heap1 = new IntFibonacciHeap();
+        IntFibonacciHeap heap2 = new IntFibonacciHeap();
+
+        heap1.insert(10);
+        heap1.insert(20);
+
+        heap2.insert(5);
+        int node = heap2.insert(15);
+
+        int offset = heap1.union(heap2);
+
+        assertEquals(5, heap1.getKey(heap1.minimum()));
+        assertEquals(4, heap1.size());
+        heap1.decreaseKey(node + offset, 1);
+        assertEquals(node + offset, heap1.minimum());
+    }
+
+    @Test
+    void testUnionIntoEmptyHeap() {
+        IntFibonacciHeap heap1 = new IntFibonacciHeap();
+        IntFibonacciHeap heap2 = new IntFibonacciHeap();
+        heap2.insert(7);
+
+        heap1.union(heap2);
+
+        assertEquals(7, heap1.getKey(heap1.minimum()));
+        assertEquals(1, heap1.size());
+    }
+
+    @Test
+    void testUnionWithItselfIsRejected() {
+        IntFibonacciHeap heap = new IntFibonacciHeap();
+        heap.insert(10);
+        heap.insert(20);
+
+        assertThrows(IllegalArgumentException.class, () -> heap.union(heap));
+        assertEquals(2, heap.size());
+        assertEquals(10, heap.getKey(heap.extractMin()));
+        assertEquals(20, heap.getKey(heap.extractMin()));
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void testSizeAndClear() {
+        IntFibonacciHeap heap = new IntFibonacciHeap();
+        assertTrue(heap.isEmpty());
+        assertEquals(0, heap.size());
+
+        heap.insert(1);
+        heap.insert(2);
+        heap.insert(3);
+
+        assertFalse(heap.isEmpty());
+        assertEquals(3, heap.size());
+
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertEquals(0, heap.size());
+    }
+
+    @Test
+    void testSlotsAreRecycled() {
+        IntFibonacciHeap heap = new IntFibonacciHeap(0);
+        int node1 = heap.insert(1);
+        heap.insert(2);
+
+        assertEquals(node1, heap.extractMin());
+        assertEquals(node1, heap.insert(3));
+    }
+
+    @Test
+    void testExtractsInSortedOrder() {
+        Random generator = new Random(42);
+        IntFibonacciHeap heap = new IntFibonacciHeap();
+        int[] keys = new int[10_000];
+        int[] handles = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = generator.nextInt(1_000_000);
+            handles[i] = heap.insert(keys[i]);
+        }
+        int extractedFirst = heap.extractMin();
+        for (int i = 0; i < keys.length; i += 3) {
+            if (handles[i] != extractedFirst && keys[i] > 0) {
+                keys[i] -= generator.nextInt(keys[i]) + 1;
+                heap.decreaseKey(handles[i], keys[i]);
+            }
+        }
+
+        int[] extracted = new int[heap.size()];
+        for (int i = 0; i < extracted.length; i++) {
+            extracted[i] = heap.getKey(heap.extractMin());
+        }
+        int[] sorted = extracted.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(sorted, extracted);
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void testToString() {
+        IntFibonacciHeap heap = new IntFibonacciHeap();
+        heap.insert(1);
+        heap.insert(2);
+        heap.insert(3);
+
+        String heapString = heap.toString();
+        assertTrue(heapString.contains("size=3"));
+        assertTrue(heapString.contains("Min{1}"));
+        assertTrue(heapString.contains("Root{2}"));
+    }
+
+    @Test
+    void testDecreaseKeyToParentKeyKeepsMinInRootList() {
+        IntFibonacciHeap heap = new IntFibonacciHeap();
+        heap.insert(0);
+        int parent = heap.insert(5);
+        int child = heap.insert(10);
+        heap.extractMin(); // Links 10 under 5.
+
+        heap.decreaseKey(child, 5); // Ties with its parent, so it is not cut.
+        assertEquals(parent, heap.minimum());
+        assertEquals(parent, heap.extractMin());
+        assertEquals(child, heap.extractMin());
+        assertTrue(heap.isEmpty());
+    }
+}
@@ -0,0 +1,131 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import datastructures.LongFibonacciHeap;
+
+class LongFibonacciHeapTest {
+
+    @Test
+    void testInsertAndMinimumBeyondIntRange() {
+        LongFibonacciHeap<String> heap = new LongFibonacciHeap<>();
+        assertTrue(heap.isEmpty());
+
+        heap.insert("A", 10_000_000_000L);
+        heap.insert("B", 10_000_000_001L);
+        assertEquals("A", heap.minimum().getValue());
+
+        heap.insert("C", 9_999_999_999L);
+        assertEquals("C", heap.minimum().getValue());
+        assertEquals(9_999_999_999L, heap.minimum().getKey());
+    }
+
+    @Test
+    void testExtractMin() {
+        LongFibonacciHeap<String> heap = new LongFibonacciHeap<>();
+
+        heap.insert("A", 1L << 40);
+        heap.insert("B", 1L << 33);
+        heap.insert("C", 1L << 50);
+
+        assertEquals("B", heap.extractMin().getValue());
+        assertEquals("A", heap.extractMin().getValue());
+        assertEquals("C", heap.extractMin().getValue());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void testDecreaseKey() {
+        LongFibonacciHeap<Integer> heap = new LongFibonacciHeap<>();
+
+        heap.insert(10, 10L);
+        LongFibonacciHeap.Node<Integer> node2 = heap.insert(20, 20L);
+
+        heap.decreaseKey(node2, Long.MIN_VALUE);
+        assertEquals(node2, heap.minimum());
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(node2, Long.MIN_VALUE));
+    }
+
+    @Test
+    void testDeleteMinValueKey() {
+        LongFibonacciHeap<String> heap = new LongFibonacciHeap<>();
+
+        LongFibonacciHeap.Node<String> node1 = heap.insert("A", Long.MIN_VALUE);
+        LongFibonacciHeap.Node<String> node2 = heap.insert("B", Long.MIN_VALUE);
+        heap.insert("C", 15L);
+
+        heap.delete(node1);
+        assertEquals("B", heap.minimum().getValue());
+        assertEquals(Long.MIN_VALUE, node1.getKey());
+
+        heap.delete(node2);
+        assertEquals("C", heap.minimum().getValue());
+        assertEquals(1, heap.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDeleteNonRootNode() {
+        LongFibonacciHeap<Integer> heap = new LongFibonacciHeap<>();
+        LongFibonacciHeap.Node<Integer>[] nodes = new LongFibonacciHeap.Node[16];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = heap.insert(i, i);
+        }
+        heap.extractMin();
+
+        heap.delete(nodes[15]);
+        heap.delete(nodes[8]);
+        assertEquals(13, heap.size());
+        for (long expected = 1; expected < 15; expected++) {
+            if (expected != 8) {
+                assertEquals(expected, heap.extractMin().getKey());
+            }
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void testUnion() {
+        LongFibonacciHeap<Integer> heap1 = new LongFibonacciHeap<>(new long[] {10L, 20L});
+        LongFibonacciHeap<Integer> heap2 = new LongFibonacciHeap<>(new long[] {5L, 15L});
+
+        heap1.union(heap2);
+
+        assertEquals(5L, heap1.minimum().getKey());
+        assertEquals(4, heap1.size());
+    }
+
+    @Test
+    void testUnionIntoEmptyHeap() {
+        LongFibonacciHeap<Integer> heap1 = new LongFibonacciHeap<>();
+        LongFibonacciHeap<Integer> heap2 = new LongFibonacciHeap<>(new long[] {5L, 15L});
+
+        heap1.union(heap2);
+
+        assertEquals(5L, heap1.extractMin().getKey());
+        assertEquals(15L, heap1.extractMin().getKey());
+        assertTrue(heap1.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> heap1.union(heap1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDeleteKeepsChildrenAndMin() {
+        LongFibonacciHeap<Integer> heap = new LongFibonacciHeap<>();
+        LongFibonacciHeap.Node<Integer>[] nodes = new LongFibonacciHeap.Node[9];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = heap.insert(i, i + 0L);
+        }
+        heap.extractMin(); // Links keys 1 to 8 into a single tree.
+
+        heap.delete(nodes[5]); // An inner node with children.
+        heap.delete(nodes[8]); // A leaf.
+        assertSame(nodes[1], heap.minimum());
+        assertEquals(6, heap.size());
+        heap.delete(nodes[1]); // The min.
+        assertSame(nodes[2], heap.minimum());
+        assertEquals(5, heap.size());
+        for (int expected : new int[] {2, 3, 4, 6, 7}) {
+            assertEquals(expected, heap.extractMin().getValue());
+        }
+        assertTrue(heap.isEmpty());
+    }
+}
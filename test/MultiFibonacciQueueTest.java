@@ -0,0 +1,85 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import datastructures.MultiFibonacciQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class MultiFibonacciQueueTest {
+
+    @Test
+    void testSingleShardIsExact() {
+        MultiFibonacciQueue<String> queue = new MultiFibonacciQueue<>(1, 1);
+        assertTrue(queue.isEmpty());
+
+        queue.insert("A", 10);
+        MultiFibonacciQueue.Handle<String> b = queue.insert("B", 20);
+        MultiFibonacciQueue.Handle<String> c = queue.insert("C", 15);
+
+        queue.decreaseKey(b, 5);
+        queue.delete(c);
+        assertEquals(2, queue.size());
+        assertEquals("B", queue.extractMin().getValue());
+        assertEquals("A", queue.extractMin().getValue());
+        assertNull(queue.extractMin());
+    }
+
+    @Test
+    void testExtractMinFindsEveryNode() {
+        MultiFibonacciQueue<Integer> queue = new MultiFibonacciQueue<>(4, 4);
+        assertEquals(16, queue.shardCount());
+        for (int i = 0; i < 1000; i++) {
+            queue.insert(i, i);
+        }
+
+        boolean[] seen = new boolean[1000];
+        for (int i = 0; i < 1000; i++) {
+            MultiFibonacciQueue.Handle<Integer> node = queue.extractMin();
+            assertEquals((int) node.getValue(), node.getKey());
+            assertFalse(seen[node.getValue()]);
+            seen[node.getValue()] = true;
+        }
+        assertNull(queue.extractMin());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void testInvalidShardCounts() {
+        assertThrows(IllegalArgumentException.class, () -> new MultiFibonacciQueue<>(0, 4));
+        assertThrows(IllegalArgumentException.class, () -> new MultiFibonacciQueue<>(2, 0));
+    }
+
+    @Test
+    void testConcurrentInsertAndExtractMin() throws InterruptedException {
+        final int threads = 8;
+        final int perThread = 20_000;
+        MultiFibonacciQueue<Integer> queue = new MultiFibonacciQueue<>(2, threads);
+        AtomicInteger extracted = new AtomicInteger();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    queue.insert(i, i);
+                    if (i % 2 == 1 && queue.extractMin() != null) {
+                        extracted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(threads * perThread / 2, extracted.get());
+        int remaining = 0;
+        while (queue.extractMin() != null) {
+            remaining++;
+        }
+        assertEquals(threads * perThread - extracted.get(), remaining);
+        assertTrue(queue.isEmpty());
+    }
+}
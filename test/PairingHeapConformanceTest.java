@@ -0,0 +1,10 @@
+import datastructures.AddressablePriorityQueue;
+import datastructures.AddressablePriorityQueues;
+
+class PairingHeapConformanceTest extends AddressablePriorityQueueConformance {
+
+    @Override
+    protected <T> AddressablePriorityQueue<T> create() {
+        return AddressablePriorityQueues.create("pairing");
+    }
+}
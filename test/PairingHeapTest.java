@@ -0,0 +1,62 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import datastructures.PairingHeap;
+
+class PairingHeapTest {
+
+    @Test
+    void testDeepHeapDoesNotOverflowStack() {
+        // Descending inserts build a single path of n nodes.
+        PairingHeap<Integer> heap = new PairingHeap<>();
+        int n = 1_000_000;
+        for (int i = n; i > 0; i--) {
+            heap.insert(null, i);
+        }
+        for (int i = 1; i <= n; i++) {
+            assertEquals(i, heap.extractMin().getKey());
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void testDeleteNodeWithMinValueKey() {
+        PairingHeap<String> heap = new PairingHeap<>();
+        heap.insert("A", Integer.MIN_VALUE);
+        PairingHeap.Node<String> b = heap.insert("B", Integer.MIN_VALUE);
+        heap.insert("C", 0);
+
+        heap.delete(b);
+        assertEquals(2, heap.size());
+        assertEquals("A", heap.extractMin().getValue());
+        assertEquals("C", heap.extractMin().getValue());
+    }
+
+    @Test
+    void testDecreaseKeyOfInnerNode() {
+        PairingHeap<String> heap = new PairingHeap<>();
+        heap.insert("A", 1);
+        PairingHeap.Node<String> b = heap.insert("B", 2);
+        heap.insert("C", 3);
+        PairingHeap.Node<String> d = heap.insert("D", 4);
+        heap.extractMin(); // Pairs B, C and D below each other.
+
+        heap.decreaseKey(d, 0);
+        assertSame(d, heap.minimum());
+        assertSame(d, heap.extractMin());
+        assertSame(b, heap.extractMin());
+        assertEquals("C", heap.extractMin().getValue());
+    }
+
+    @Test
+    void testUnionEmptiesOther() {
+        PairingHeap<String> heap = new PairingHeap<>();
+        PairingHeap<String> other = new PairingHeap<>();
+        other.insert("A", 1);
+        heap.union(other);
+        assertEquals(1, heap.size());
+        assertTrue(other.isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> heap.union(heap));
+        assertEquals(1, heap.size());
+    }
+}
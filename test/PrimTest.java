@@ -0,0 +1,73 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import graphs.CsrGraph;
+import graphs.Prim;
+import graphs.ShortestPaths;
+import graphs.SpanningForest;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+class PrimTest {
+
+    @Test
+    void testSmallGraph() {
+        // A square 0-1-2-3 with a heavy diagonal and an isolated vertex 4.
+        CsrGraph graph = CsrGraph.undirected(5,
+                new int[] {0, 1, 2, 3, 0},
+                new int[] {1, 2, 3, 0, 2},
+                new int[] {1, 2, 3, 4, 1});
+        SpanningForest forest = Prim.minimumSpanningForest(graph);
+        assertEquals(5, forest.totalWeight());
+        assertEquals(2, forest.treeCount());
+        assertEquals(ShortestPaths.NO_VERTEX, forest.parentOf(4));
+    }
+
+    @Test
+    void testMatchesKruskalOnRandomGraphs() {
+        Random random = new Random(5);
+        for (int round = 0; round < 20; round++) {
+            int n = 1 + random.nextInt(200);
+            int m = random.nextInt(n * 4);
+            int[][] edges = new int[m][];
+            int[] sources = new int[m];
+            int[] targets = new int[m];
+            int[] weights = new int[m];
+            for (int i = 0; i < m; i++) {
+                sources[i] = random.nextInt(n);
+                targets[i] = random.nextInt(n);
+                weights[i] = random.nextInt(100);
+                edges[i] = new int[] {sources[i], targets[i], weights[i]};
+            }
+            SpanningForest forest = Prim.minimumSpanningForest(CsrGraph.undirected(n, sources, targets, weights));
+
+            // Kruskal with union-find.
+            Arrays.sort(edges, Comparator.comparingInt(edge -> edge[2]));
+            int[] component = new int[n];
+            for (int v = 0; v < n; v++) {
+                component[v] = v;
+            }
+            long expectedWeight = 0;
+            int trees = n;
+            for (int[] edge : edges) {
+                int a = find(component, edge[0]);
+                int b = find(component, edge[1]);
+                if (a != b) {
+                    component[a] = b;
+                    expectedWeight += edge[2];
+                    trees--;
+                }
+            }
+            assertEquals(expectedWeight, forest.totalWeight());
+            assertEquals(trees, forest.treeCount());
+        }
+    }
+
+    private static int find(int[] component, int v) {
+        while (component[v] != v) {
+            v = component[v];
+        }
+        return v;
+    }
+}
@@ -0,0 +1,107 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import datastructures.RadixHeap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+
+class RadixHeapTest {
+
+    @Test
+    void testExtractsInOrder() {
+        RadixHeap<String> heap = new RadixHeap<>();
+        assertNull(heap.minimum());
+        assertNull(heap.extractMin());
+        heap.insert("C", 30);
+        heap.insert("A", -10);
+        heap.insert("B", 20);
+
+        assertEquals(3, heap.size());
+        assertEquals("A", heap.minimum().getValue());
+        assertEquals("A", heap.extractMin().getValue());
+        assertEquals(-10, heap.lastExtractedKey());
+        assertEquals("B", heap.extractMin().getValue());
+        assertEquals("C", heap.extractMin().getValue());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void testFullLongRange() {
+        RadixHeap<String> heap = new RadixHeap<>();
+        heap.insert("max", Long.MAX_VALUE);
+        heap.insert("zero", 0);
+        heap.insert("min", Long.MIN_VALUE);
+        assertEquals(Long.MIN_VALUE, heap.extractMin().getKey());
+        assertEquals(0, heap.extractMin().getKey());
+        assertEquals(Long.MAX_VALUE, heap.extractMin().getKey());
+    }
+
+    @Test
+    void testRejectsMonotonicityViolations() {
+        RadixHeap<String> heap = new RadixHeap<>();
+        heap.insert("A", 10);
+        RadixHeap.Node<String> b = heap.insert("B", 20);
+        heap.extractMin();
+
+        assertThrows(IllegalArgumentException.class, () -> heap.insert("C", 9));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(b, 9));
+        heap.insert("D", 10); // Equal to the last extracted key is fine.
+        heap.decreaseKey(b, 10);
+        assertEquals(2, heap.size());
+    }
+
+    @Test
+    void testDecreaseKeyAndDelete() {
+        RadixHeap<String> heap = new RadixHeap<>();
+        RadixHeap.Node<String> a = heap.insert("A", 100);
+        RadixHeap.Node<String> b = heap.insert("B", 200);
+        RadixHeap.Node<String> c = heap.insert("C", 300);
+
+        heap.decreaseKey(c, 50);
+        heap.delete(a);
+        assertSame(c, heap.extractMin());
+        assertSame(b, heap.extractMin());
+        assertTrue(heap.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> heap.delete(a));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(b, 0));
+    }
+
+    @Test
+    void testMonotoneWorkloadMatchesPriorityQueue() {
+        Random random = new Random(14);
+        RadixHeap<Long> heap = new RadixHeap<>();
+        PriorityQueue<Long> expected = new PriorityQueue<>();
+        List<RadixHeap.Node<Long>> inserted = new ArrayList<>();
+        Set<RadixHeap.Node<Long>> inHeap = Collections.newSetFromMap(new IdentityHashMap<>());
+        long now = -1_000_000;
+        for (int op = 0; op < 100_000; op++) {
+            int choice = random.nextInt(10);
+            if (choice < 5 || expected.isEmpty()) {
+                long key = now + random.nextInt(1 << random.nextInt(30));
+                RadixHeap.Node<Long> node = heap.insert(key, key);
+                inserted.add(node);
+                inHeap.add(node);
+                expected.add(key);
+            } else if (choice < 8) {
+                RadixHeap.Node<Long> min = heap.extractMin();
+                assertEquals(expected.poll(), min.getKey());
+                inHeap.remove(min);
+                now = min.getKey();
+            } else {
+                RadixHeap.Node<Long> node = inserted.get(random.nextInt(inserted.size()));
+                if (inHeap.contains(node) && node.getKey() > now) {
+                    long newKey = now + (node.getKey() - now) / 2;
+                    expected.remove(node.getKey());
+                    heap.decreaseKey(node, newKey);
+                    expected.add(newKey);
+                }
+            }
+            assertEquals(expected.size(), heap.size());
+        }
+    }
+}